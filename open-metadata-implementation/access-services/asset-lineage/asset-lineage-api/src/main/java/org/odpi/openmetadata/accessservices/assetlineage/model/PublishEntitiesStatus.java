@@ -0,0 +1,113 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.model;
+
+/**
+ * Progress of a bulk publishing of the entities of a type on the Asset Lineage Out Topic.
+ */
+public class PublishEntitiesStatus {
+    private String entityType;
+    private boolean running;
+    private int resumedFrom;
+    private long processedCount;
+    private long publishedCount;
+    private long failedCount;
+    private Long startTime;
+    private Long endTime;
+    private double entitiesPerSecond;
+
+    public PublishEntitiesStatus() {
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    /**
+     * Returns the number of entities skipped because they were published by an interrupted run.
+     *
+     * @return the starting offset of the run
+     */
+    public int getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public void setResumedFrom(int resumedFrom) {
+        this.resumedFrom = resumedFrom;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    public void setPublishedCount(long publishedCount) {
+        this.publishedCount = publishedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Long endTime) {
+        this.endTime = endTime;
+    }
+
+    public double getEntitiesPerSecond() {
+        return entitiesPerSecond;
+    }
+
+    public void setEntitiesPerSecond(double entitiesPerSecond) {
+        this.entitiesPerSecond = entitiesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishEntitiesStatus{" +
+                "entityType='" + entityType + '\'' +
+                ", running=" + running +
+                ", resumedFrom=" + resumedFrom +
+                ", processedCount=" + processedCount +
+                ", publishedCount=" + publishedCount +
+                ", failedCount=" + failedCount +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", entitiesPerSecond=" + entitiesPerSecond +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.assetlineage.model.PublishEntitiesStatus;
+import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * PublishEntitiesStatusResponse is the response structure used on the Asset Lineage OMAS REST API call that returns
+ * the progress of the publishing of the entities of a type.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PublishEntitiesStatusResponse extends FFDCResponseBase {
+    private static final long serialVersionUID = 1L;
+
+    private PublishEntitiesStatus status;
+
+    public PublishEntitiesStatusResponse() {
+        super();
+    }
+
+    public PublishEntitiesStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PublishEntitiesStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishEntitiesStatusResponse{" +
+                "status=" + status +
+                ", exceptionClassName='" + getExceptionClassName() + '\'' +
+                ", exceptionCausedBy='" + getExceptionCausedBy() + '\'' +
+                ", actionDescription='" + getActionDescription() + '\'' +
+                ", relatedHTTPCode=" + getRelatedHTTPCode() +
+                ", exceptionErrorMessage='" + getExceptionErrorMessage() + '\'' +
+                ", exceptionErrorMessageId='" + getExceptionErrorMessageId() + '\'' +
+                ", exceptionErrorMessageParameters=" + Arrays.toString(getExceptionErrorMessageParameters()) +
+                ", exceptionSystemAction='" + getExceptionSystemAction() + '\'' +
+                ", exceptionUserAction='" + getExceptionUserAction() + '\'' +
+                ", exceptionProperties=" + getExceptionProperties() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object objectToCompare) {
+        if (this == objectToCompare) {
+            return true;
+        }
+        if (!(objectToCompare instanceof PublishEntitiesStatusResponse)) {
+            return false;
+        }
+        if (!super.equals(objectToCompare)) {
+            return false;
+        }
+        PublishEntitiesStatusResponse that = (PublishEntitiesStatusResponse) objectToCompare;
+        return Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), status);
+    }
+}
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.assetlineage;
 
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.commonservices.ffdc.rest.CountResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCRESTClient;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
@@ -57,25 +58,25 @@ public class AssetLineage extends FFDCRESTClient implements AssetLineageInterfac
      * {@inheritDoc}
      */
     @Override
-    public List<String> publishEntities(String serverName, String userId, String entityType, Optional<LocalDateTime> updatedAfterDate)
+    public long publishEntities(String serverName, String userId, String entityType, Optional<LocalDateTime> updatedAfterDate)
             throws org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
         String methodName = "publishEntities";
 
         invalidParameterHandler.validateUserId(methodName, userId);
         String urlTemplate = serverPlatformURLRoot + BASE_PATH + PUBLISH_ENTITIES;
 
-        GUIDListResponse response;
+        CountResponse response;
         if(updatedAfterDate.isPresent()) {
-            response = callGUIDListGetRESTCall(methodName, urlTemplate + UPDATED_AFTER_DATE,
+            response = callCountGetRESTCall(methodName, urlTemplate + UPDATED_AFTER_DATE,
                     serverName, userId, entityType, updatedAfterDate.get());
         } else {
-            response = callGUIDListGetRESTCall(methodName, urlTemplate, serverName, userId, entityType);
+            response = callCountGetRESTCall(methodName, urlTemplate, serverName, userId, entityType);
         }
         exceptionHandler.detectAndThrowInvalidParameterException(response);
         exceptionHandler.detectAndThrowUserNotAuthorizedException(response);
         exceptionHandler.detectAndThrowPropertyServerException(response);
 
-        return response.getGUIDs();
+        return response.getCount();
     }
 
     /**
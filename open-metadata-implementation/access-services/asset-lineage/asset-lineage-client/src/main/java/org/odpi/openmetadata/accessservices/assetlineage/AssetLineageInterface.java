@@ -17,19 +17,19 @@ public interface AssetLineageInterface {
 
     /**
      * Scan the cohort based on the given entity type and publish the contexts for the found entities to the out topic
-     * Returns a list that contains entities GUID that were published out.
+     * Returns the number of entities whose context was published out.
      *
      * @param serverName        the server name
      * @param userId            the user id
      * @param entityType        the entity type
      * @param updatedAfterDate  take into account just the entities updated after the specified date, if any (otherwise
      *                          it loads everything)
-     * @return the list of entities GUIDs that were published out
+     * @return the number of entities whose context was published out
      * @throws InvalidParameterException  one of the parameters is null or invalid.
      * @throws PropertyServerException    there is a problem retrieving information from the property server(s).
      * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
      */
-    List<String> publishEntities(String serverName, String userId, String entityType, Optional<LocalDateTime> updatedAfterDate)
+    long publishEntities(String serverName, String userId, String entityType, Optional<LocalDateTime> updatedAfterDate)
             throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException;
 
     /**
@@ -7,16 +7,14 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
-import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.CountResponse;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
-import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -57,28 +55,28 @@ public class AssetLineageClientTest {
      */
     @Test
     public void testPublishEntities() throws Exception {
-        GUIDListResponse response = mockGUIDListResponse();
+        CountResponse response = mockCountResponse();
 
         when(connector.callGetRESTCall(eq("publishEntities"),
-                eq(GUIDListResponse.class),
+                eq(CountResponse.class),
                 anyString(),
                 eq(SERVER_NAME),
                 eq(USER_ID),
                 eq(ENTITY_TYPE),
                 eq(UPDATED_AFTER_DATE))).thenReturn(response);
 
-        List<String> GUIDs = assetLineage.publishEntities(SERVER_NAME,
+        long count = assetLineage.publishEntities(SERVER_NAME,
                 USER_ID,
                 ENTITY_TYPE,
                 Optional.of(UPDATED_AFTER_DATE));
 
 
-        assertArrayEquals(GUIDs.toArray(new String[0]), response.getGUIDs().toArray(new String[0]));
+        assertEquals(response.getCount(), count);
     }
 
-    private GUIDListResponse mockGUIDListResponse() {
-        GUIDListResponse response = new GUIDListResponse();
-        response.setGUIDs(Arrays.asList("xyz", "abd", "abc"));
+    private CountResponse mockCountResponse() {
+        CountResponse response = new CountResponse();
+        response.setCount(3);
         return response;
     }
 
@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -68,8 +69,14 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
                     auditLog);
 
             Set<String> lineageClassificationTypes = getLineageClassificationTypes(accessServiceConfigurationProperties);
+            Map<String, Object> accessServiceOptions = accessServiceConfigurationProperties.getAccessServiceOptions();
             this.instance = new AssetLineageServicesInstance(repositoryConnector,
-                    supportedZones, lineageClassificationTypes, serverUserName, auditLog);
+                    supportedZones, lineageClassificationTypes, serverUserName, auditLog,
+                    getIntegerOption(accessServiceOptions, AssetLineageConstants.PUBLISH_WORKER_POOL_SIZE_KEY,
+                            AssetLineageConstants.DEFAULT_PUBLISH_WORKER_POOL_SIZE),
+                    getIntegerOption(accessServiceOptions, AssetLineageConstants.PUBLISH_PAGE_SIZE_KEY,
+                            AssetLineageConstants.DEFAULT_PUBLISH_PAGE_SIZE),
+                    getPublishCheckpointDirectory(accessServiceOptions, repositoryConnector.getServerName()));
             this.serverName = instance.getServerName();
 
             Connection outTopicConnection = accessServiceConfigurationProperties.getAccessServiceOutTopic();
@@ -123,6 +130,41 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
         return AssetLineageConstants.immutableDefaultLineageClassifications;
     }
 
+    /**
+     * Returns a positive integer access service option
+     *
+     * @param accessServiceOptions the access service options
+     * @param key                  the name of the option
+     * @param defaultValue         the value used when the option is not set or is not a positive integer
+     * @return the value of the option
+     */
+    private int getIntegerOption(Map<String, Object> accessServiceOptions, String key, int defaultValue) {
+        if (accessServiceOptions != null) {
+            Object value = accessServiceOptions.get(key);
+            if (value instanceof Integer && (Integer) value > 0) {
+                return (Integer) value;
+            }
+            if (value != null) {
+                log.warn("Ignoring the value {} of the Asset Lineage option {}, using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the directory of the checkpoint files of the entities publishing
+     *
+     * @param accessServiceOptions the access service options
+     * @param serverName           the name of the server
+     * @return the directory configured in the options or the default directory of the server
+     */
+    private String getPublishCheckpointDirectory(Map<String, Object> accessServiceOptions, String serverName) {
+        if (accessServiceOptions != null && accessServiceOptions.get(AssetLineageConstants.PUBLISH_CHECKPOINT_DIRECTORY_KEY) instanceof String) {
+            return (String) accessServiceOptions.get(AssetLineageConstants.PUBLISH_CHECKPOINT_DIRECTORY_KEY);
+        }
+        return "data/servers/" + serverName + "/asset-lineage";
+    }
+
     /**
      * Shutdown the access service.
      */
@@ -71,7 +71,13 @@ public enum AssetLineageAuditCode implements AuditLogMessageSet {
             "The asset context for the entity with guid {0} is requested through REST endpoint and will be " +
                     "retrieved on the out topic.",
             "The Asset Lineage OMAS retrieves entity's asset context.",
-            "No action is required.");
+            "No action is required."),
+
+    PUBLISH_CHECKPOINT_ERROR("OMAS-ASSET-LINEAGE-0011",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The checkpoint {0} of the publishing of the entities of type {1} could not be accessed",
+            "The Asset Lineage OMAS continues publishing, but an interrupted run will start again from the first entity.",
+            "Check that the server can read and write the checkpoint directory.");
 
     private AuditLogMessageDefinition messageDefinition;
 
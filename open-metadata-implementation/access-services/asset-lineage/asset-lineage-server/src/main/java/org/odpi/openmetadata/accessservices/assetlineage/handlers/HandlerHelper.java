@@ -15,6 +15,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
@@ -185,11 +186,35 @@ public class HandlerHelper {
     public List<EntityDetail> findEntitiesByType(String userId, String entityTypeName, SearchProperties searchProperties,
                                                  FindEntitiesParameters findEntitiesParameters)
             throws UserNotAuthorizedException, PropertyServerException {
+        return findEntitiesByType(userId, entityTypeName, searchProperties, findEntitiesParameters,
+                findEntitiesParameters.getSequencingOrder(), 0, 0);
+    }
+
+    /**
+     * Retrieves a page of the entities matching the search criteria passed
+     *
+     * @param userId                 the user id
+     * @param entityTypeName         the name of the entity type
+     * @param searchProperties       searchProperties used in the filtering
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param sequencingOrder        the order of the results, overriding the one in findEntitiesParameters
+     * @param startFrom              the starting element number of the page
+     * @param pageSize               the maximum number of elements in the page
+     *
+     * @return a list with entities matching the supplied parameters;
+     *
+     * @throws UserNotAuthorizedException the user is not authorized to make this request.
+     * @throws PropertyServerException    something went wrong with the REST call stack.
+     */
+    public List<EntityDetail> findEntitiesByType(String userId, String entityTypeName, SearchProperties searchProperties,
+                                                 FindEntitiesParameters findEntitiesParameters, SequencingOrder sequencingOrder,
+                                                 int startFrom, int pageSize)
+            throws UserNotAuthorizedException, PropertyServerException {
         final String methodName = "findEntitiesByType";
         String typeDefGUID = getTypeByName(userId, entityTypeName);
         return repositoryHandler.findEntities(userId, typeDefGUID, findEntitiesParameters.getEntitySubtypeGUIDs(),
                 searchProperties, findEntitiesParameters.getLimitResultsByStatus(), findEntitiesParameters.getSearchClassifications(), null,
-                findEntitiesParameters.getSequencingProperty(), findEntitiesParameters.getSequencingOrder(), 0, 0, methodName);
+                findEntitiesParameters.getSequencingProperty(), sequencingOrder, startFrom, pageSize, methodName);
     }
 
     /**
@@ -7,6 +7,8 @@ import org.odpi.openmetadata.accessservices.assetlineage.handlers.Classification
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.GlossaryContextHandler;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.ProcessContextHandler;
+import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
+import org.odpi.openmetadata.accessservices.assetlineage.model.PublishEntitiesStatus;
 import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.multitenant.OMASServiceInstanceHandler;
@@ -157,6 +159,53 @@ public class AssetLineageInstanceHandler extends OMASServiceInstanceHandler
         return null;
     }
 
+    /**
+     * Create the job publishing the entities of a type, unless one is already running for this type on the server.
+     *
+     * @param userId                 the user id
+     * @param serverName             the server name
+     * @param serviceOperationName   the service operation name
+     * @param entityType             the type of the entities to publish
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @return the new job or null if a job is already running for this type
+     * @throws InvalidParameterException  the invalid parameter exception
+     * @throws UserNotAuthorizedException the user not authorized exception
+     * @throws PropertyServerException    the property server exception
+     */
+    PublishEntitiesJob startPublishEntitiesJob(String userId, String serverName, String serviceOperationName, String entityType,
+                                               FindEntitiesParameters findEntitiesParameters)
+            throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
+
+        AssetLineageServicesInstance instance = (AssetLineageServicesInstance) super.getServerServiceInstance(userId, serverName, serviceOperationName);
+        if (instance != null) {
+            return instance.startPublishEntitiesJob(entityType, findEntitiesParameters);
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieve the progress of the last job publishing the entities of a type on the server.
+     *
+     * @param userId               the user id
+     * @param serverName           the server name
+     * @param serviceOperationName the service operation name
+     * @param entityType           the type of the entities
+     * @return the status or null if no job was started for this type
+     * @throws InvalidParameterException  the invalid parameter exception
+     * @throws UserNotAuthorizedException the user not authorized exception
+     * @throws PropertyServerException    the property server exception
+     */
+    public PublishEntitiesStatus getPublishEntitiesStatus(String userId, String serverName, String serviceOperationName, String entityType)
+            throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
+
+        AssetLineageServicesInstance instance = (AssetLineageServicesInstance) super.getServerServiceInstance(userId, serverName, serviceOperationName);
+        if (instance != null) {
+            return instance.getPublishEntitiesStatus(entityType);
+        }
+
+        return null;
+    }
 
     /**
      * Retrieve the AuditLog from the service instance.
@@ -6,15 +6,15 @@ package org.odpi.openmetadata.accessservices.assetlineage.server;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.PredicateUtils;
 import org.odpi.openmetadata.accessservices.assetlineage.auditlog.AssetLineageAuditCode;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.AssetContextHandler;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
 import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
 import org.odpi.openmetadata.accessservices.assetlineage.model.RelationshipsContext;
 import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
+import org.odpi.openmetadata.accessservices.assetlineage.rest.PublishEntitiesStatusResponse;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
+import org.odpi.openmetadata.commonservices.ffdc.rest.CountResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
@@ -22,8 +22,6 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,7 +30,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.GLOSSARY_TERM;
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.PROCESS;
@@ -59,25 +56,46 @@ public class AssetLineageRestServices {
      * Scan the cohort for the given type and filtering based on the findEntitiesParameters.
      * Providing only the updatedAfter filed in findEntitiesParameters will publish only the entities that were updated
      * in the cohort after that date.
-     * Publish the context for each entity on the AL OMAS out Topic
+     * Publish the context for each entity on the AL OMAS out Topic. The entities are retrieved one page at a time and
+     * the entities of a page are published in parallel. An interrupted run of the same search is resumed from its
+     * last checkpoint.
      *
      * @param serverName             name of server instance to call
      * @param userId                 the name of the calling user
      * @param entityType             the type of the entity to search for
      * @param findEntitiesParameters filtering used to reduce the scope of the search
      *
-     * @return a list of unique identifiers (guids) of the available entityType as a response
+     * @return the number of entities whose context was published by this run
      */
-    public GUIDListResponse publishEntities(String serverName, String userId, String entityType,
-                                            FindEntitiesParameters findEntitiesParameters) {
-        GUIDListResponse response = new GUIDListResponse();
+    public CountResponse publishEntities(String serverName, String userId, String entityType,
+                                         FindEntitiesParameters findEntitiesParameters) {
+        CountResponse response = new CountResponse();
 
         String methodName = "publishEntities";
         try {
-            HandlerHelper handlerHelper = instanceHandler.getHandlerHelper(userId, serverName, methodName);
-            SearchProperties searchProperties = handlerHelper.getSearchPropertiesAfterUpdateTime(findEntitiesParameters.getUpdatedAfter());
-            List<EntityDetail> entitiesByTypeName = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters);
-            return publishEntitiesContext(userId, serverName, entityType, entitiesByTypeName);
+            AuditLog auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
+            AssetLineagePublisher publisher = instanceHandler.getAssetLineagePublisher(userId, serverName, methodName);
+            if (publisher == null) {
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISHER_NOT_AVAILABLE_ERROR.getMessageDefinition());
+                return response;
+            }
+
+            PublishEntitiesJob job = instanceHandler.startPublishEntitiesJob(userId, serverName, methodName, entityType, findEntitiesParameters);
+            if (job == null) {
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_ALREADY_RUNNING",
+                        entityType, "0"));
+                return response;
+            }
+
+            long publishedCount = job.run(userId, entityDetail -> publishContext(publisher, entityDetail, auditLog));
+            if (job.getStatus().getProcessedCount() == 0) {
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("ENTITIES_NOT_FOUND",
+                        entityType, "0"));
+            } else {
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_SEQUENCE_END",
+                        entityType, String.valueOf(publishedCount)));
+            }
+            response.setCount(publishedCount);
 
         } catch (InvalidParameterException e) {
             restExceptionHandler.captureInvalidParameterException(response, e);
@@ -90,34 +108,29 @@ public class AssetLineageRestServices {
         return response;
     }
 
-    private GUIDListResponse publishEntitiesContext(String userId, String serverName, String entityType, List<EntityDetail> entitiesByTypeName)
-            throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
-        String methodName = "publishEntitiesContext";
-        AuditLog auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
-
-        GUIDListResponse response = new GUIDListResponse();
-        if (entitiesByTypeName == null || CollectionUtils.isEmpty(entitiesByTypeName)) {
-            auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("ENTITIES_NOT_FOUND", entityType, "0"));
-            return response;
-        }
-
-        auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("ENTITIES_FOUND", entityType,
-                String.valueOf(entitiesByTypeName.size())));
-        auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("ENTITIES", entityType,
-                entitiesByTypeName.stream().map(InstanceHeader::getGUID).collect(Collectors.joining(","))));
+    /**
+     * Return the progress of the last publishing of the entities of the given type
+     *
+     * @param serverName name of server instance to call
+     * @param userId     the name of the calling user
+     * @param entityType the type of the published entities
+     *
+     * @return the status of the publishing, null if the entities of this type were not published since the server started
+     */
+    public PublishEntitiesStatusResponse getPublishEntitiesStatus(String serverName, String userId, String entityType) {
+        PublishEntitiesStatusResponse response = new PublishEntitiesStatusResponse();
 
-        AssetLineagePublisher publisher = instanceHandler.getAssetLineagePublisher(userId, serverName, methodName);
-        if (publisher == null) {
-            auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISHER_NOT_AVAILABLE_ERROR.getMessageDefinition());
-            return response;
+        String methodName = "getPublishEntitiesStatus";
+        try {
+            response.setStatus(instanceHandler.getPublishEntitiesStatus(userId, serverName, methodName, entityType));
+        } catch (InvalidParameterException e) {
+            restExceptionHandler.captureInvalidParameterException(response, e);
+        } catch (UserNotAuthorizedException e) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, e);
+        } catch (PropertyServerException e) {
+            restExceptionHandler.capturePropertyServerException(response, e);
         }
 
-        auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_SEQUENCE_START", entityType,
-                String.valueOf(entitiesByTypeName.size())));
-        List<String> publishedEntitiesContext = publishEntitiesContext(entitiesByTypeName, publisher, auditLog);
-        response.setGUIDs(publishedEntitiesContext);
-        auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_SEQUENCE_END", entityType,
-                String.valueOf(publishedEntitiesContext.size())));
         return response;
     }
 
@@ -168,32 +181,34 @@ public class AssetLineageRestServices {
 
 
     /**
-     * Returns the list of entity GUIDs that were published on the Out Topic
+     * Returns GUID that was published on the Out Topic
      *
-     * @param entitiesByType list of found entities for the requested type
-     * @param publisher      Asset Lineage publisher
+     * @param entityDetail the entity for which the event is published
+     * @param publisher    Asset Lineage publisher
      *
-     * @return the list of entity GUIDs published on the Asset Lineage Out Topic
+     * @return the GUID published on the Asset Lineage Out Topic
      */
-    private List<String> publishEntitiesContext(List<EntityDetail> entitiesByType, AssetLineagePublisher publisher, AuditLog auditLog) {
-
-        List<String> publishedGUIDs = entitiesByType.parallelStream().map(entityDetail ->
-                publishEntityContext(publisher, entityDetail, auditLog)).collect(Collectors.toList());
-
-        CollectionUtils.filter(publishedGUIDs, PredicateUtils.notNullPredicate());
-
-        return publishedGUIDs;
+    private String publishEntityContext(AssetLineagePublisher publisher, EntityDetail entityDetail, AuditLog auditLog) {
+        try {
+            return publishContext(publisher, entityDetail, auditLog);
+        } catch (OCFCheckedExceptionBase | JsonProcessingException | RuntimeException e) {
+            return null;
+        }
     }
 
     /**
-     * Returns GUID that was published on the Out Topic
+     * Build entity's context and publish it on Out Topic, recording the outcome in the audit log
      *
-     * @param entityDetail the entity for which the event is published
      * @param publisher    Asset Lineage publisher
+     * @param entityDetail the entity for which the event is published
      *
      * @return the GUID published on the Asset Lineage Out Topic
+     *
+     * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
+     * @throws JsonProcessingException exception parsing the event json
      */
-    private String publishEntityContext(AssetLineagePublisher publisher, EntityDetail entityDetail, AuditLog auditLog) {
+    private String publishContext(AssetLineagePublisher publisher, EntityDetail entityDetail, AuditLog auditLog) throws OCFCheckedExceptionBase,
+                                                                                                                    JsonProcessingException {
         String methodName = "publishEntityContext";
 
         try {
@@ -203,13 +218,13 @@ public class AssetLineageRestServices {
             auditLog.logMessage(methodName, AssetLineageAuditCode.ENTITY_INFO.getMessageDefinition("PUBLISHED",
                     entityDetail.getType().getTypeDefName(), entityDetail.getGUID()));
             return result;
-        } catch (Exception e) {
+        } catch (OCFCheckedExceptionBase | JsonProcessingException | RuntimeException e) {
             auditLog.logMessage(methodName, AssetLineageAuditCode.ENTITY_INFO.getMessageDefinition("FAILED_TO_PUBLISH",
                     entityDetail.getType().getTypeDefName(), entityDetail.getGUID()));
             auditLog.logException(methodName, AssetLineageAuditCode.ENTITY_ERROR.getMessageDefinition(entityDetail.getType().getTypeDefName(),
                     entityDetail.getGUID()), e);
+            throw e;
         }
-        return null;
     }
 
     /**
@@ -9,6 +9,8 @@ import org.odpi.openmetadata.accessservices.assetlineage.handlers.Classification
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.GlossaryContextHandler;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
 import org.odpi.openmetadata.accessservices.assetlineage.handlers.ProcessContextHandler;
+import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
+import org.odpi.openmetadata.accessservices.assetlineage.model.PublishEntitiesStatus;
 import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.multitenant.OMASServiceInstance;
@@ -16,8 +18,14 @@ import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInsta
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AssetLineageServicesInstance caches references to OMRS objects for a specific server.
@@ -31,6 +39,10 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
     private ClassificationHandler classificationHandler;
     private AssetLineagePublisher assetLineagePublisher;
     private HandlerHelper handlerHelper;
+    private final ExecutorService publishWorkerPool;
+    private final int publishPageSize;
+    private final String publishCheckpointDirectory;
+    private final Map<String, PublishEntitiesJob> publishEntitiesJobs = new HashMap<>();
 
     /**
      * Set up the handlers for this server.
@@ -40,12 +52,17 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
      * @param lineageClassificationTypes list of lineage classification supported
      * @param localServerUserId          userId used for server initiated actions
      * @param auditLog                   destination for audit log events.
+     * @param publishWorkerPoolSize      number of threads publishing the entities found by publishEntities
+     * @param publishPageSize            number of entities retrieved at a time by publishEntities
+     * @param publishCheckpointDirectory directory of the checkpoint files of publishEntities, null for no checkpoint
      * @throws NewInstanceException a problem occurred during initialization
      */
     public AssetLineageServicesInstance(OMRSRepositoryConnector repositoryConnector,
                                         List<String> supportedZones,
                                         Set<String> lineageClassificationTypes,
-                                        String localServerUserId, AuditLog auditLog) throws NewInstanceException {
+                                        String localServerUserId, AuditLog auditLog,
+                                        int publishWorkerPoolSize, int publishPageSize,
+                                        String publishCheckpointDirectory) throws NewInstanceException {
         super(myDescription.getAccessServiceFullName(),
                 repositoryConnector,
                 auditLog,
@@ -53,6 +70,10 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
                 repositoryConnector.getMaxPageSize());
 
         super.supportedZones = supportedZones;
+        this.publishWorkerPool = Executors.newFixedThreadPool(publishWorkerPoolSize,
+                getPublishThreadFactory(repositoryConnector.getServerName()));
+        this.publishPageSize = publishPageSize;
+        this.publishCheckpointDirectory = publishCheckpointDirectory;
 
         if (repositoryHandler != null) {
             assetContextHandler = new AssetContextHandler(
@@ -96,6 +117,23 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
         }
     }
 
+    /**
+     * Return the factory of the publishing threads. They are named after the server so they can be identified in
+     * thread dumps, and are daemon threads so a publishing run does not keep the JVM alive.
+     *
+     * @param serverName the name of the server
+     *
+     * @return the thread factory
+     */
+    static ThreadFactory getPublishThreadFactory(String serverName) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "AssetLineagePublisher-" + serverName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * Return the specialized glossary handler for Asset Lineage OMAS.
      *
@@ -153,6 +191,47 @@ public class AssetLineageServicesInstance extends OMASServiceInstance {
     public AuditLog getAuditLog() {
         return super.getAuditLog();
     }
+
+    /**
+     * Create the job publishing the entities of a type, unless one is already running for this type.
+     *
+     * @param entityType             the type of the entities to publish
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     *
+     * @return the new job or null if a job is already running for this type
+     */
+    synchronized PublishEntitiesJob startPublishEntitiesJob(String entityType, FindEntitiesParameters findEntitiesParameters) {
+        PublishEntitiesJob job = publishEntitiesJobs.get(entityType);
+        if (job != null && job.isRunning()) {
+            return null;
+        }
+
+        job = new PublishEntitiesJob(entityType, findEntitiesParameters, handlerHelper, publishWorkerPool, publishPageSize,
+                publishCheckpointDirectory, getAuditLog());
+        publishEntitiesJobs.put(entityType, job);
+        return job;
+    }
+
+    /**
+     * Return the progress of the last job publishing the entities of a type.
+     *
+     * @param entityType the type of the entities
+     *
+     * @return the status or null if no job was started for this type
+     */
+    synchronized PublishEntitiesStatus getPublishEntitiesStatus(String entityType) {
+        PublishEntitiesJob job = publishEntitiesJobs.get(entityType);
+        return job == null ? null : job.getStatus();
+    }
+
+    /**
+     * Stop the publishing workers and unregister from the instance map.
+     */
+    @Override
+    public void shutdown() {
+        publishWorkerPool.shutdownNow();
+        super.shutdown();
+    }
 }
 
 
@@ -0,0 +1,279 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.server;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.odpi.openmetadata.accessservices.assetlineage.auditlog.AssetLineageAuditCode;
+import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
+import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
+import org.odpi.openmetadata.accessservices.assetlineage.model.PublishEntitiesStatus;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the context of all the entities of a type that match a search, one page at a time. The entities of a
+ * page are published in parallel on the worker pool of the server instance and a failure to publish an entity does
+ * not stop the others. After each page the offset of the next page is written to a checkpoint file, so a run that
+ * was interrupted is resumed from the first page that was not completely published when the same search is
+ * requested again.
+ */
+class PublishEntitiesJob {
+
+    /**
+     * Builds and publishes the context of an entity.
+     */
+    interface EntityContextPublisher {
+
+        /**
+         * @param entityDetail the entity
+         *
+         * @return the entity GUID if a context was published, null otherwise
+         *
+         * @throws Exception the context could not be published
+         */
+        String publish(EntityDetail entityDetail) throws Exception;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(PublishEntitiesJob.class);
+    private static final String CHECKPOINT_SEARCH = "search";
+    private static final String CHECKPOINT_NEXT_START_FROM = "nextStartFrom";
+
+    private final String entityType;
+    private final FindEntitiesParameters findEntitiesParameters;
+    private final HandlerHelper handlerHelper;
+    private final ExecutorService workerPool;
+    private final int pageSize;
+    private final Path checkpointFile;
+    private final AuditLog auditLog;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+    private volatile boolean running = true;
+    private volatile int resumedFrom;
+    private volatile Long endTime;
+
+    /**
+     * The job is created as running, so the server instance can refuse a second run for the same type
+     * before this one has started.
+     *
+     * @param entityType             the type of the entities to publish
+     * @param findEntitiesParameters filtering used to reduce the scope of the search
+     * @param handlerHelper          the helper used to search the entities
+     * @param workerPool             the pool used to publish the entities of a page
+     * @param pageSize               the number of entities retrieved at a time
+     * @param checkpointDirectory    the directory of the checkpoint file, null for no checkpoint
+     * @param auditLog               the audit log
+     */
+    PublishEntitiesJob(String entityType, FindEntitiesParameters findEntitiesParameters, HandlerHelper handlerHelper,
+                       ExecutorService workerPool, int pageSize, String checkpointDirectory, AuditLog auditLog) {
+        this.entityType = entityType;
+        this.findEntitiesParameters = findEntitiesParameters;
+        this.handlerHelper = handlerHelper;
+        this.workerPool = workerPool;
+        this.pageSize = pageSize;
+        this.checkpointFile = checkpointDirectory == null ? null : Paths.get(checkpointDirectory, entityType + ".checkpoint");
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Publishes the context of the entities, starting from the checkpoint of an interrupted run of the same search.
+     *
+     * @param userId    the name of the calling user
+     * @param publisher builds and publishes the context of one entity
+     *
+     * @return the number of entities published by this run
+     *
+     * @throws UserNotAuthorizedException the user is not authorized to make this request
+     * @throws PropertyServerException    the entities could not be retrieved
+     */
+    long run(String userId, EntityContextPublisher publisher) throws UserNotAuthorizedException, PropertyServerException {
+        final String methodName = "publishEntities";
+
+        SearchProperties searchProperties = handlerHelper.getSearchPropertiesAfterUpdateTime(findEntitiesParameters.getUpdatedAfter());
+        SequencingOrder sequencingOrder = getSequencingOrder();
+
+        int startFrom = readCheckpoint();
+        resumedFrom = startFrom;
+        if (startFrom > 0) {
+            auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_RESUMED",
+                    entityType, String.valueOf(startFrom)));
+        }
+
+        try {
+            List<EntityDetail> page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters,
+                    sequencingOrder, startFrom, pageSize);
+            while (CollectionUtils.isNotEmpty(page)) {
+                publishPage(page, publisher);
+
+                startFrom += page.size();
+                writeCheckpoint(startFrom);
+                auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition("PUBLISH_PAGE_END",
+                        entityType, String.valueOf(processedCount.get())));
+
+                if (page.size() < pageSize) {
+                    break;
+                }
+                page = handlerHelper.findEntitiesByType(userId, entityType, searchProperties, findEntitiesParameters,
+                        sequencingOrder, startFrom, pageSize);
+            }
+            deleteCheckpoint();
+        } catch (InterruptedException e) {
+            log.warn("Publishing of the entities of type {} was interrupted after {} entities", entityType, processedCount.get());
+            Thread.currentThread().interrupt();
+        } finally {
+            endTime = System.currentTimeMillis();
+            running = false;
+        }
+
+        return publishedCount.get();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns a snapshot of the progress of the job.
+     *
+     * @return the status
+     */
+    PublishEntitiesStatus getStatus() {
+        PublishEntitiesStatus status = new PublishEntitiesStatus();
+        Long end = endTime;
+
+        status.setEntityType(entityType);
+        status.setRunning(running);
+        status.setResumedFrom(resumedFrom);
+        status.setProcessedCount(processedCount.get());
+        status.setPublishedCount(publishedCount.get());
+        status.setFailedCount(failedCount.get());
+        status.setStartTime(startTime);
+        status.setEndTime(end);
+
+        long elapsed = (end == null ? System.currentTimeMillis() : end) - startTime;
+        status.setEntitiesPerSecond(elapsed > 0 ? processedCount.get() * 1000.0 / elapsed : 0);
+        return status;
+    }
+
+    private void publishPage(List<EntityDetail> page, EntityContextPublisher publisher) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(page.size());
+        for (EntityDetail entityDetail : page) {
+            tasks.add(() -> publisher.publish(entityDetail));
+        }
+
+        for (Future<String> future : workerPool.invokeAll(tasks)) {
+            try {
+                if (future.get() != null) {
+                    publishedCount.incrementAndGet();
+                }
+            } catch (ExecutionException e) {
+                failedCount.incrementAndGet();
+            }
+            processedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Pages are requested by offset, so the entities need a stable order. Unless the caller asked for a specific
+     * order, the entities are sorted by creation date: entities created during the run are added at the end and
+     * updates do not move the entities between pages.
+     */
+    private SequencingOrder getSequencingOrder() {
+        if (findEntitiesParameters.getSequencingOrder() == null && findEntitiesParameters.getSequencingProperty() == null) {
+            return SequencingOrder.CREATION_DATE_OLDEST;
+        }
+        return findEntitiesParameters.getSequencingOrder();
+    }
+
+    private String getSearchKey() {
+        return entityType + "|" + findEntitiesParameters.getUpdatedAfter() + "|" + findEntitiesParameters.getEntitySubtypeGUIDs()
+                + "|" + findEntitiesParameters.getLimitResultsByStatus() + "|" + findEntitiesParameters.getSearchClassifications()
+                + "|" + findEntitiesParameters.getSequencingProperty() + "|" + findEntitiesParameters.getSequencingOrder();
+    }
+
+    private int readCheckpoint() {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return 0;
+        }
+
+        Properties checkpoint = new Properties();
+        try (InputStream inputStream = Files.newInputStream(checkpointFile)) {
+            checkpoint.load(inputStream);
+        } catch (IOException e) {
+            logCheckpointError(e);
+            return 0;
+        }
+
+        if (!getSearchKey().equals(checkpoint.getProperty(CHECKPOINT_SEARCH))) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(checkpoint.getProperty(CHECKPOINT_NEXT_START_FROM, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(int nextStartFrom) {
+        if (checkpointFile == null) {
+            return;
+        }
+
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(CHECKPOINT_SEARCH, getSearchKey());
+        checkpoint.setProperty(CHECKPOINT_NEXT_START_FROM, String.valueOf(nextStartFrom));
+
+        Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(checkpointFile.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                checkpoint.store(outputStream, null);
+            }
+            Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logCheckpointError(e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(checkpointFile);
+        } catch (IOException e) {
+            logCheckpointError(e);
+        }
+    }
+
+    private void logCheckpointError(IOException e) {
+        final String methodName = "publishEntities";
+        auditLog.logException(methodName, AssetLineageAuditCode.PUBLISH_CHECKPOINT_ERROR.getMessageDefinition(checkpointFile.toString(),
+                entityType), e);
+    }
+}
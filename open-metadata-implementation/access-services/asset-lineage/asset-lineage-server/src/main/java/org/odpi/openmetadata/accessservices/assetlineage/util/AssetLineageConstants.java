@@ -14,6 +14,11 @@ import java.util.Set;
 public final class AssetLineageConstants {
 
     public static final String LINEAGE_CLASSIFICATION_TYPES_KEY = "LineageClassificationTypes";
+    public static final String PUBLISH_WORKER_POOL_SIZE_KEY = "publishWorkerPoolSize";
+    public static final String PUBLISH_PAGE_SIZE_KEY = "publishPageSize";
+    public static final String PUBLISH_CHECKPOINT_DIRECTORY_KEY = "publishCheckpointDirectory";
+    public static final int DEFAULT_PUBLISH_WORKER_POOL_SIZE = 4;
+    public static final int DEFAULT_PUBLISH_PAGE_SIZE = 500;
     public static final String ASSET_LINEAGE_OMAS = "AssetLineageOmas";
     public static final String REFERENCEABLE = "Referenceable";
     public static final String GUID_PARAMETER = "guid";
@@ -0,0 +1,192 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.accessservices.assetlineage.handlers.HandlerHelper;
+import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
+import org.odpi.openmetadata.accessservices.assetlineage.model.PublishEntitiesStatus;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Publish entities job test.
+ */
+public class PublishEntitiesJobTest {
+
+    private static final String USER_ID = "zebra91";
+    private static final String ENTITY_TYPE = "GlossaryTerm";
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private HandlerHelper handlerHelper;
+
+    @Mock
+    private AuditLog auditLog;
+
+    private ExecutorService workerPool;
+    private File checkpointDirectory;
+
+    @Before
+    public void before() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        workerPool = Executors.newFixedThreadPool(2, AssetLineageServicesInstance.getPublishThreadFactory("TestServer"));
+        checkpointDirectory = Files.createTempDirectory("publishEntitiesJobTest").toFile();
+    }
+
+    @After
+    public void after() {
+        workerPool.shutdownNow();
+
+        File[] files = checkpointDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        checkpointDirectory.delete();
+    }
+
+    /**
+     * Test that every page is published and the count of published entities is returned
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testRunReturnsPublishedCount() throws Exception {
+        mockPage(0, "guid1", "guid2");
+        mockPage(2, "guid3");
+
+        PublishEntitiesJob job = getJob();
+        long publishedCount = job.run(USER_ID, EntityDetail::getGUID);
+
+        assertEquals(3, publishedCount);
+        assertFalse(job.isRunning());
+        assertFalse(getCheckpointFile().exists());
+
+        PublishEntitiesStatus status = job.getStatus();
+        assertEquals(3, status.getProcessedCount());
+        assertEquals(3, status.getPublishedCount());
+        assertEquals(0, status.getFailedCount());
+    }
+
+    /**
+     * Test that a failure to publish an entity is counted and does not stop the other entities
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testFailuresAreCounted() throws Exception {
+        mockPage(0, "guid1", "guid2");
+        mockPage(2, "guid3");
+
+        PublishEntitiesJob job = getJob();
+        long publishedCount = job.run(USER_ID, entityDetail -> {
+            if ("guid2".equals(entityDetail.getGUID())) {
+                throw new IllegalStateException("Test failure");
+            }
+            return "guid3".equals(entityDetail.getGUID()) ? null : entityDetail.getGUID();
+        });
+
+        assertEquals(1, publishedCount);
+
+        PublishEntitiesStatus status = job.getStatus();
+        assertEquals(3, status.getProcessedCount());
+        assertEquals(1, status.getPublishedCount());
+        assertEquals(1, status.getFailedCount());
+    }
+
+    /**
+     * Test that an interrupted run is resumed from the first page that was not published
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testRunResumesFromCheckpoint() throws Exception {
+        mockPage(0, "guid1", "guid2");
+        when(handlerHelper.findEntitiesByType(eq(USER_ID), eq(ENTITY_TYPE), any(), any(), any(), eq(2), eq(PAGE_SIZE)))
+                .thenThrow(PropertyServerException.class);
+
+        try {
+            getJob().run(USER_ID, EntityDetail::getGUID);
+            fail("The failure to retrieve the second page should stop the run");
+        } catch (PropertyServerException e) {
+            assertTrue(getCheckpointFile().exists());
+        }
+
+        mockPage(2, "guid3");
+
+        List<String> publishedGUIDs = new ArrayList<>();
+        PublishEntitiesJob job = getJob();
+        long publishedCount = job.run(USER_ID, entityDetail -> {
+            synchronized (publishedGUIDs) {
+                publishedGUIDs.add(entityDetail.getGUID());
+            }
+            return entityDetail.getGUID();
+        });
+
+        assertEquals(1, publishedCount);
+        assertEquals(2, job.getStatus().getResumedFrom());
+        assertEquals(1, publishedGUIDs.size());
+        assertEquals("guid3", publishedGUIDs.get(0));
+        assertFalse(getCheckpointFile().exists());
+    }
+
+    /**
+     * Test that the publishing threads are named after the server and do not keep the JVM alive
+     */
+    @Test
+    public void testPublishThreadsAreNamedDaemonThreads() {
+        ThreadFactory threadFactory = AssetLineageServicesInstance.getPublishThreadFactory("TestServer");
+
+        Thread first = threadFactory.newThread(() -> {});
+        Thread second = threadFactory.newThread(() -> {});
+
+        assertEquals("AssetLineagePublisher-TestServer-1", first.getName());
+        assertEquals("AssetLineagePublisher-TestServer-2", second.getName());
+        assertTrue(first.isDaemon());
+    }
+
+    private PublishEntitiesJob getJob() {
+        return new PublishEntitiesJob(ENTITY_TYPE, new FindEntitiesParameters.Builder().build(), handlerHelper, workerPool, PAGE_SIZE,
+                checkpointDirectory.getAbsolutePath(), auditLog);
+    }
+
+    private File getCheckpointFile() {
+        return new File(checkpointDirectory, ENTITY_TYPE + ".checkpoint");
+    }
+
+    private void mockPage(int startFrom, String... guids) throws Exception {
+        List<EntityDetail> page = new ArrayList<>();
+        for (String guid : guids) {
+            EntityDetail entityDetail = new EntityDetail();
+            entityDetail.setGUID(guid);
+            page.add(entityDetail);
+        }
+
+        when(handlerHelper.findEntitiesByType(eq(USER_ID), eq(ENTITY_TYPE), any(), any(), any(), eq(startFrom), eq(PAGE_SIZE)))
+                .thenReturn(page);
+    }
+}
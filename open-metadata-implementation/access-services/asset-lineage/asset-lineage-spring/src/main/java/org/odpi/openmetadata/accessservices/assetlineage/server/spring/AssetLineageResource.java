@@ -5,7 +5,9 @@ package org.odpi.openmetadata.accessservices.assetlineage.server.spring;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParameters;
+import org.odpi.openmetadata.accessservices.assetlineage.rest.PublishEntitiesStatusResponse;
 import org.odpi.openmetadata.accessservices.assetlineage.server.AssetLineageRestServices;
+import org.odpi.openmetadata.commonservices.ffdc.rest.CountResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
@@ -48,18 +50,18 @@ public class AssetLineageResource {
      * @param sequencingProperty    String name of the entity property that is to be used to sequence the results.
      *                              Null means do not sequence on a property name (see SequencingOrder).
      * @param sequencingOrder       Enum defining how the results should be ordered.
-     * @return a list of unique identifiers (guids) of the available entities with the given type provided as a response
+     * @return the number of entities with the given type whose context was published
      */
     @GetMapping(path = "/publish-entities/{entityType}")
-    public GUIDListResponse publishEntities(@PathVariable String serverName,
-                                            @PathVariable String userId,
-                                            @PathVariable String entityType,
-                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfterDate,
-                                            @RequestParam(required = false) List<String> entitySubtypeGUIDs,
-                                            @RequestParam(required = false) List<InstanceStatus> limitResultsByStatus,
-                                            @RequestParam(required = false) SearchClassifications searchClassifications,
-                                            @RequestParam(required = false) String sequencingProperty,
-                                            @RequestParam(required = false) SequencingOrder sequencingOrder) {
+    public CountResponse publishEntities(@PathVariable String serverName,
+                                         @PathVariable String userId,
+                                         @PathVariable String entityType,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfterDate,
+                                         @RequestParam(required = false) List<String> entitySubtypeGUIDs,
+                                         @RequestParam(required = false) List<InstanceStatus> limitResultsByStatus,
+                                         @RequestParam(required = false) SearchClassifications searchClassifications,
+                                         @RequestParam(required = false) String sequencingProperty,
+                                         @RequestParam(required = false) SequencingOrder sequencingOrder) {
 
         FindEntitiesParameters findEntitiesParameters = new FindEntitiesParameters.Builder()
                 .withUpdatedAfter(updatedAfterDate)
@@ -72,6 +74,21 @@ public class AssetLineageResource {
         return restAPI.publishEntities(serverName, userId, entityType, findEntitiesParameters);
     }
 
+    /**
+     * Return the progress of the last publishing of the entities of the given type
+     *
+     * @param serverName name of server instance to call
+     * @param userId     the name of the calling user
+     * @param entityType the name of the entity type
+     * @return the counts of processed, published and failed entities and the throughput of the publishing
+     */
+    @GetMapping(path = "/publish-entities/{entityType}/status")
+    public PublishEntitiesStatusResponse getPublishEntitiesStatus(@PathVariable String serverName,
+                                                                  @PathVariable String userId,
+                                                                  @PathVariable String entityType) {
+        return restAPI.getPublishEntitiesStatus(serverName, userId, entityType);
+    }
+
     /**
      * Find the entity by guid and publish the context for it
      *
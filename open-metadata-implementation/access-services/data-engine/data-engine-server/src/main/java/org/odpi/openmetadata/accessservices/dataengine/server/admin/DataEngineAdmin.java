@@ -6,6 +6,7 @@ import org.odpi.openmetadata.accessservices.dataengine.connectors.intopic.DataEn
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineAuditCode;
 import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineInTopicListener;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineOMRSTopicListener;
 import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
 import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
@@ -22,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DataEngineAdmin is the class that is called by the OMAG Server to initialize and terminate
@@ -35,6 +37,9 @@ public class DataEngineAdmin extends AccessServiceAdmin {
     private String serverName;
 
     private static final Logger log = LoggerFactory.getLogger(DataEngineAdmin.class);
+    private static final String INGESTION_THREADS_PROPERTY = "IngestionThreads";
+    private static final String QUALIFIED_NAME_CACHE_SIZE_PROPERTY = "QualifiedNameCacheSize";
+    private static final int DEFAULT_QUALIFIED_NAME_CACHE_SIZE = 50000;
 
     /**
      * Initialize the access service.
@@ -66,10 +71,20 @@ public class DataEngineAdmin extends AccessServiceAdmin {
                     super.getOutTopicConnection(accessServiceConfig.getAccessServiceInTopic(),
                             AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceFullName(),
                             DataEngineInTopicClientProvider.class.getName(),
-                            auditLog)); //TODO: using getOutTopicConnection temporary, we need getInTopicConnection... Check the correct way to create connection for the omas instance - using dedicated client provider class name (current impl.) or provided by the accessServiceConfig.getAccessServiceInTopic() (?)
+                            auditLog), //TODO: using getOutTopicConnection temporary, we need getInTopicConnection... Check the correct way to create connection for the omas instance - using dedicated client provider class name (current impl.) or provided by the accessServiceConfig.getAccessServiceInTopic() (?)
+                    getIngestionThreads(accessServiceConfig.getAccessServiceOptions()),
+                    getQualifiedNameCacheSize(accessServiceConfig.getAccessServiceOptions()));
 
             serverName = instance.getServerName();
 
+            if (enterpriseOMRSTopicConnector != null) {
+                DataEngineOMRSTopicListener omrsTopicListener = new DataEngineOMRSTopicListener(accessServiceConfig.getAccessServiceName(),
+                        repositoryConnector.getRepositoryHelper(), instance.getQualifiedNameCache(), auditLog);
+
+                super.registerWithEnterpriseTopic(accessServiceConfig.getAccessServiceName(), serverName, enterpriseOMRSTopicConnector,
+                        omrsTopicListener, auditLog);
+            }
+
             if (accessServiceConfig.getAccessServiceInTopic() != null) {
                 DataEngineEventProcessor dataEngineEventProcessor = new DataEngineEventProcessor(instance, auditLog);
                 DataEngineInTopicListener dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventProcessor);
@@ -101,6 +116,9 @@ public class DataEngineAdmin extends AccessServiceAdmin {
     public void shutdown() {
 
         if (instance != null) {
+            log.info("Data Engine OMAS qualified name cache of server {}: {} hits, {} misses, hit ratio {}", serverName,
+                    instance.getQualifiedNameCache().getHitCount(), instance.getQualifiedNameCache().getMissCount(),
+                    instance.getQualifiedNameCache().getHitRatio());
             instance.shutdown();
         }
 
@@ -111,6 +129,50 @@ public class DataEngineAdmin extends AccessServiceAdmin {
         }
     }
 
+    /**
+     * Returns the number of threads processing the elements of batch requests, set with the IngestionThreads
+     * option. It defaults to the number of processors.
+     *
+     * @param accessServiceOptions the options of the access service
+     *
+     * @return the number of threads
+     */
+    private int getIngestionThreads(Map<String, Object> accessServiceOptions) {
+        if (accessServiceOptions != null) {
+            Object ingestionThreads = accessServiceOptions.get(INGESTION_THREADS_PROPERTY);
+            if (ingestionThreads instanceof Integer && (Integer) ingestionThreads > 0) {
+                return (Integer) ingestionThreads;
+            }
+            if (ingestionThreads != null) {
+                log.warn("Invalid value {} of the {} option of the Data Engine OMAS, using the number of processors", ingestionThreads,
+                        INGESTION_THREADS_PROPERTY);
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the maximum number of qualified names kept in the cache of entity GUIDs, set with the QualifiedNameCacheSize
+     * option. A size of 0 disables the cache.
+     *
+     * @param accessServiceOptions the options of the access service
+     *
+     * @return the size of the cache
+     */
+    private int getQualifiedNameCacheSize(Map<String, Object> accessServiceOptions) {
+        if (accessServiceOptions != null) {
+            Object cacheSize = accessServiceOptions.get(QUALIFIED_NAME_CACHE_SIZE_PROPERTY);
+            if (cacheSize instanceof Integer && (Integer) cacheSize >= 0) {
+                return (Integer) cacheSize;
+            }
+            if (cacheSize != null) {
+                log.warn("Invalid value {} of the {} option of the Data Engine OMAS, using {}", cacheSize, QUALIFIED_NAME_CACHE_SIZE_PROPERTY,
+                        DEFAULT_QUALIFIED_NAME_CACHE_SIZE);
+            }
+        }
+        return DEFAULT_QUALIFIED_NAME_CACHE_SIZE;
+    }
+
     /**
      * Returns the connector created from topic connection properties
      *
@@ -22,10 +22,12 @@ import org.odpi.openmetadata.accessservices.dataengine.server.converters.Collect
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineCommonHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEnginePortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineProcessHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineQualifiedNameCache;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineRegistrationHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineRelationalDataHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineCollectionHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.service.DataEngineIngestionExecutor;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.generichandlers.AssetHandler;
 import org.odpi.openmetadata.commonservices.generichandlers.OpenMetadataAPIGenericHandler;
@@ -54,6 +56,8 @@ public class DataEngineServicesInstance extends OMASServiceInstance {
     private final DataEnginePortHandler dataEnginePortHandler;
     private final DataEngineRelationalDataHandler dataEngineRelationalDataHandler;
     private final Connection inTopicConnection;
+    private final DataEngineIngestionExecutor ingestionExecutor;
+    private final DataEngineQualifiedNameCache qualifiedNameCache;
 
     /**
      * Set up the local repository connector that will service the REST Calls
@@ -64,18 +68,23 @@ public class DataEngineServicesInstance extends OMASServiceInstance {
      * @param auditLog            logging destination
      * @param localServerUserId   userId used for server initiated actions
      * @param maxPageSize         max number of results to return on single request
+     * @param inTopicConnection   connection of the input topic
+     * @param ingestionThreads    number of threads processing the elements of batch requests
+     * @param qualifiedNameCacheSize maximum number of qualified names kept in the cache of entity GUIDs
      *
      * @throws NewInstanceException a problem occurred during initialization
      */
     DataEngineServicesInstance(OMRSRepositoryConnector repositoryConnector, List<String> supportedZones, List<String> defaultZones,
-                               AuditLog auditLog, String localServerUserId, int maxPageSize, Connection inTopicConnection) throws
-                                                                                                                           NewInstanceException {
+                               AuditLog auditLog, String localServerUserId, int maxPageSize, Connection inTopicConnection,
+                               int ingestionThreads, int qualifiedNameCacheSize) throws NewInstanceException {
 
 
         super(description.getAccessServiceFullName(), repositoryConnector, supportedZones, defaultZones, null, auditLog,
                 localServerUserId, maxPageSize);
 
         this.inTopicConnection = inTopicConnection;
+        this.ingestionExecutor = new DataEngineIngestionExecutor(serverName, ingestionThreads);
+        this.qualifiedNameCache = new DataEngineQualifiedNameCache(qualifiedNameCacheSize);
 
         if (repositoryHandler != null) {
 
@@ -127,7 +136,7 @@ public class DataEngineServicesInstance extends OMASServiceInstance {
                     repositoryHelper);
 
             DataEngineCommonHandler dataEngineCommonHandler = new DataEngineCommonHandler(serviceName, serverName, invalidParameterHandler,
-                    repositoryHandler, repositoryHelper, dataEngineRegistrationHandler);
+                    repositoryHandler, repositoryHelper, dataEngineRegistrationHandler, qualifiedNameCache);
             processHandler = new DataEngineProcessHandler(serviceName, serverName, invalidParameterHandler, repositoryHandler, repositoryHelper,
                     assetHandler, dataEngineRegistrationHandler, dataEngineCommonHandler);
             dataEngineSchemaTypeHandler = new DataEngineSchemaTypeHandler(serviceName, serverName, invalidParameterHandler, repositoryHandler,
@@ -206,4 +215,31 @@ public class DataEngineServicesInstance extends OMASServiceInstance {
     Connection getInTopicConnection() {
         return inTopicConnection;
     }
+
+    /**
+     * Return the executor processing the elements of batch requests
+     *
+     * @return executor object
+     */
+    DataEngineIngestionExecutor getIngestionExecutor() {
+        return ingestionExecutor;
+    }
+
+    /**
+     * Return the cache of the entity GUIDs indexed by qualified name
+     *
+     * @return cache object
+     */
+    DataEngineQualifiedNameCache getQualifiedNameCache() {
+        return qualifiedNameCache;
+    }
+
+    /**
+     * Stop the ingestion threads and unregister from the instance map.
+     */
+    @Override
+    public void shutdown() {
+        ingestionExecutor.shutdown();
+        super.shutdown();
+    }
 }
@@ -36,6 +36,7 @@ public class DataEngineCommonHandler {
     private final OMRSRepositoryHelper repositoryHelper;
     private final InvalidParameterHandler invalidParameterHandler;
     private final DataEngineRegistrationHandler dataEngineRegistrationHandler;
+    private final DataEngineQualifiedNameCache qualifiedNameCache;
 
     private static final Logger log = LoggerFactory.getLogger(DataEngineCommonHandler.class);
 
@@ -48,16 +49,19 @@ public class DataEngineCommonHandler {
      * @param repositoryHandler             manages calls to the repository services
      * @param repositoryHelper              provides utilities for manipulating the repository services objects
      * @param dataEngineRegistrationHandler provides calls for retrieving external data engine guid
+     * @param qualifiedNameCache            remembers the GUIDs of the entities by qualified name
      */
     public DataEngineCommonHandler(String serviceName, String serverName, InvalidParameterHandler invalidParameterHandler,
                                    RepositoryHandler repositoryHandler, OMRSRepositoryHelper repositoryHelper,
-                                   DataEngineRegistrationHandler dataEngineRegistrationHandler) {
+                                   DataEngineRegistrationHandler dataEngineRegistrationHandler,
+                                   DataEngineQualifiedNameCache qualifiedNameCache) {
         this.serviceName = serviceName;
         this.serverName = serverName;
         this.invalidParameterHandler = invalidParameterHandler;
         this.repositoryHelper = repositoryHelper;
         this.repositoryHandler = repositoryHandler;
         this.dataEngineRegistrationHandler = dataEngineRegistrationHandler;
+        this.qualifiedNameCache = qualifiedNameCache;
     }
 
     /**
@@ -85,8 +89,14 @@ public class DataEngineCommonHandler {
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, entityTypeName);
 
-        return repositoryHandler.createEntity(userId, entityTypeDef.getGUID(), entityTypeDef.getName(), externalSourceGUID,
+        String entityGUID = repositoryHandler.createEntity(userId, entityTypeDef.getGUID(), entityTypeDef.getName(), externalSourceGUID,
                 externalSourceName, instanceProperties, instanceStatus, methodName);
+
+        String qualifiedName = repositoryHelper.getStringProperty(serviceName, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, instanceProperties,
+                methodName);
+        qualifiedNameCache.put(entityTypeName, qualifiedName, entityGUID);
+
+        return entityGUID;
     }
 
     /**
@@ -149,7 +159,9 @@ public class DataEngineCommonHandler {
     }
 
     /**
-     * Find out if the entity is already stored in the repository. It uses the fully qualified name to retrieve the entity
+     * Find out if the entity is already stored in the repository. It uses the fully qualified name to retrieve the entity.
+     * The GUID of an entity found before is taken from the cache and the entity is retrieved by GUID, avoiding the search
+     * of the qualified name in all the repositories.
      *
      * @param userId         the name of the calling user
      * @param qualifiedName  the qualifiedName name of the entity to be searched
@@ -169,22 +181,68 @@ public class DataEngineCommonHandler {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateName(qualifiedName, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
 
-        qualifiedName = repositoryHelper.getExactMatchRegex(qualifiedName);
+        Optional<EntityDetail> cachedEntity = findCachedEntity(userId, qualifiedName, entityTypeName);
+        if (cachedEntity.isPresent()) {
+            return cachedEntity;
+        }
+
+        String qualifiedNameRegex = repositoryHelper.getExactMatchRegex(qualifiedName);
 
         InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME,
-                qualifiedName, methodName);
+                qualifiedNameRegex, methodName);
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, entityTypeName);
 
-        Optional<EntityDetail> retrievedEntity = Optional.ofNullable(repositoryHandler.getUniqueEntityByName(userId, qualifiedName,
+        Optional<EntityDetail> retrievedEntity = Optional.ofNullable(repositoryHandler.getUniqueEntityByName(userId, qualifiedNameRegex,
                 CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, properties, entityTypeDef.getGUID(), entityTypeDef.getName(), methodName));
 
-        log.trace("Searching for entity with qualifiedName: {}. Result is {}", qualifiedName,
+        log.trace("Searching for entity with qualifiedName: {}. Result is {}", qualifiedNameRegex,
                 retrievedEntity.map(InstanceHeader::getGUID).orElse(null));
 
+        retrievedEntity.ifPresent(entityDetail -> qualifiedNameCache.put(entityTypeName, qualifiedName, entityDetail.getGUID()));
+
         return retrievedEntity;
     }
 
+    /**
+     * Retrieve by GUID an entity whose qualified name is in the cache. The cache entry is removed if the entity no longer exists
+     * or no longer has this qualified name.
+     *
+     * @param userId         the name of the calling user
+     * @param qualifiedName  the qualifiedName name of the entity to be searched
+     * @param entityTypeName the type name of the entity
+     *
+     * @return optional with entity details if found, empty optional if the entity needs to be searched
+     *
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    private Optional<EntityDetail> findCachedEntity(String userId, String qualifiedName, String entityTypeName) throws UserNotAuthorizedException,
+                                                                                                                       PropertyServerException {
+        final String methodName = "findEntity";
+
+        String cachedGUID = qualifiedNameCache.get(entityTypeName, qualifiedName);
+        if (cachedGUID == null) {
+            return Optional.empty();
+        }
+
+        EntityDetail entityDetail = null;
+        try {
+            entityDetail = repositoryHandler.getEntityByGUID(userId, cachedGUID, CommonMapper.GUID_PROPERTY_NAME, entityTypeName, methodName);
+        } catch (InvalidParameterException e) {
+            log.debug("Entity {} cached for qualifiedName {} is no longer available", cachedGUID, qualifiedName);
+        }
+
+        if (entityDetail != null && entityDetail.getStatus() != InstanceStatus.DELETED && qualifiedName.equals(
+                repositoryHelper.getStringProperty(serviceName, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, entityDetail.getProperties(), methodName))) {
+            log.trace("Found entity with qualifiedName: {} in the cache. Result is {}", qualifiedName, cachedGUID);
+            return Optional.of(entityDetail);
+        }
+
+        qualifiedNameCache.evict(entityTypeName, qualifiedName);
+        return Optional.empty();
+    }
+
     /**
      * Create or updates an external relationship between two entities. Verifies that the relationship is not present before creating it. If the
      * relationship is present, verifies the instanceProperties for the relationship to be updated.
@@ -259,6 +317,7 @@ public class DataEngineCommonHandler {
         repositoryHandler.removeEntity(userId, externalSourceGUID, externalSourceName, entityGUID,
                 "entityGUID", entityTypeDef.getGUID(), entityTypeDef.getName(),
                 null, null, methodName);
+        qualifiedNameCache.invalidate(entityGUID);
     }
 
     /**
@@ -0,0 +1,157 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.handlers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DataEngineQualifiedNameCache remembers the GUID of the entities found or created by the Data Engine OMAS, indexed by
+ * entity type name and qualified name. A lookup that hits the cache retrieves the entity by GUID instead of searching
+ * all the repositories for its qualified name.
+ *
+ * The least recently used entries are removed once the cache is full. The entries of an entity are removed when the
+ * entity is deleted, re-identified or re-typed, or when its qualified name changes.
+ */
+public class DataEngineQualifiedNameCache {
+    private final int maxEntries;
+    private final LinkedHashMap<String, String> guidsByKey = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByGUID = new HashMap<>();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Create an empty cache.
+     *
+     * @param maxEntries maximum number of qualified names kept in the cache, 0 to disable the cache
+     */
+    public DataEngineQualifiedNameCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return the GUID of an entity, counting the lookup as a hit or a miss.
+     *
+     * @param entityTypeName the type name used to look up the entity
+     * @param qualifiedName  the qualified name of the entity
+     *
+     * @return the GUID or null if it is not cached
+     */
+    public synchronized String get(String entityTypeName, String qualifiedName) {
+        String guid = guidsByKey.get(getKey(entityTypeName, qualifiedName));
+        if (guid == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return guid;
+    }
+
+    /**
+     * Store the GUID of an entity.
+     *
+     * @param entityTypeName the type name used to look up the entity
+     * @param qualifiedName  the qualified name of the entity
+     * @param guid           the unique identifier of the entity
+     */
+    public synchronized void put(String entityTypeName, String qualifiedName, String guid) {
+        if (maxEntries <= 0 || qualifiedName == null || guid == null) {
+            return;
+        }
+
+        String key = getKey(entityTypeName, qualifiedName);
+        removeKey(key);
+        guidsByKey.put(key, guid);
+        keysByGUID.computeIfAbsent(guid, k -> new HashSet<>()).add(key);
+
+        if (guidsByKey.size() > maxEntries) {
+            Iterator<String> leastRecentlyUsed = guidsByKey.keySet().iterator();
+            removeKey(leastRecentlyUsed.next());
+        }
+    }
+
+    /**
+     * Remove a stale entry found while looking up an entity. The lookup is counted as a miss instead of a hit.
+     *
+     * @param entityTypeName the type name used to look up the entity
+     * @param qualifiedName  the qualified name of the entity
+     */
+    public synchronized void evict(String entityTypeName, String qualifiedName) {
+        if (removeKey(getKey(entityTypeName, qualifiedName)) != null) {
+            hitCount--;
+            missCount++;
+        }
+    }
+
+    /**
+     * Remove all the entries of an entity.
+     *
+     * @param guid the unique identifier of the entity
+     */
+    public synchronized void invalidate(String guid) {
+        Set<String> keys = keysByGUID.remove(guid);
+        if (keys != null) {
+            keys.forEach(guidsByKey::remove);
+        }
+    }
+
+    /**
+     * Return the number of lookups answered from the cache.
+     *
+     * @return number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of lookups that had to search the repositories.
+     *
+     * @return number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the share of the lookups answered from the cache.
+     *
+     * @return hit ratio between 0 and 1, 0 if there was no lookup
+     */
+    public synchronized double getHitRatio() {
+        long lookupCount = hitCount + missCount;
+        return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }
+
+    /**
+     * Return the number of qualified names in the cache.
+     *
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return guidsByKey.size();
+    }
+
+    private String removeKey(String key) {
+        String guid = guidsByKey.remove(key);
+        if (guid != null) {
+            Set<String> keys = keysByGUID.get(guid);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByGUID.remove(guid);
+                }
+            }
+        }
+        return guid;
+    }
+
+    private String getKey(String entityTypeName, String qualifiedName) {
+        return entityTypeName + "::" + qualifiedName;
+    }
+}
@@ -0,0 +1,104 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.listeners;
+
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineQualifiedNameCache;
+import org.odpi.openmetadata.accessservices.dataengine.server.mappers.CommonMapper;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.Objects;
+
+/**
+ * The Data Engine OMRS topic listener receives the instance events of the cohorts the local server is connected to.
+ * It removes from the qualified name cache the entities that are deleted, re-identified or re-typed, and the entities
+ * whose qualified name changes.
+ */
+public class DataEngineOMRSTopicListener extends OMRSTopicListenerBase {
+    private final String serviceName;
+    private final OMRSRepositoryHelper repositoryHelper;
+    private final DataEngineQualifiedNameCache qualifiedNameCache;
+
+    /**
+     * The constructor is given the cache to keep up to date.
+     *
+     * @param serviceName        name of this service
+     * @param repositoryHelper   provides utilities for manipulating the repository services objects
+     * @param qualifiedNameCache the qualified name cache of the server instance
+     * @param auditLog           audit log
+     */
+    public DataEngineOMRSTopicListener(String serviceName, OMRSRepositoryHelper repositoryHelper, DataEngineQualifiedNameCache qualifiedNameCache,
+                                       AuditLog auditLog) {
+        super(serviceName, auditLog);
+
+        this.serviceName = serviceName;
+        this.repositoryHelper = repositoryHelper;
+        this.qualifiedNameCache = qualifiedNameCache;
+    }
+
+    @Override
+    public void processUpdatedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, EntityDetail oldEntity,
+                                          EntityDetail newEntity) {
+        final String methodName = "processUpdatedEntityEvent";
+
+        if (newEntity == null) {
+            return;
+        }
+        if (oldEntity == null || !Objects.equals(getQualifiedName(oldEntity, methodName), getQualifiedName(newEntity, methodName))) {
+            qualifiedNameCache.invalidate(newEntity.getGUID());
+        }
+    }
+
+    @Override
+    public void processUndoneEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                         String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processDeletedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processPurgedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                         String originatorServerType, String originatorOrganizationName, String typeDefGUID,
+                                         String typeDefName, String instanceGUID) {
+        qualifiedNameCache.invalidate(instanceGUID);
+    }
+
+    @Override
+    public void processDeletePurgedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                               String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processReIdentifiedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                               String originatorServerType, String originatorOrganizationName, String originalEntityGUID,
+                                               EntityDetail entity) {
+        qualifiedNameCache.invalidate(originalEntityGUID);
+    }
+
+    @Override
+    public void processReTypedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, TypeDefSummary originalTypeDefSummary,
+                                          EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    private void invalidate(EntityDetail entity) {
+        if (entity != null) {
+            qualifiedNameCache.invalidate(entity.getGUID());
+        }
+    }
+
+    private String getQualifiedName(EntityDetail entity, String methodName) {
+        return repositoryHelper.getStringProperty(serviceName, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, entity.getProperties(), methodName);
+    }
+}
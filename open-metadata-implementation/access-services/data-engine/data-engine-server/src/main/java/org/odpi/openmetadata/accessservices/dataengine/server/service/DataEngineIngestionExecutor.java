@@ -0,0 +1,179 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * DataEngineIngestionExecutor runs the elements of a batch request of a Data Engine OMAS server instance in parallel on
+ * a dedicated pool of threads, so batch requests do not compete with the other requests of the platform for the common
+ * fork join pool.
+ *
+ * Each element is processed while holding a lock for each of the qualified names it creates or updates. Elements that
+ * share a qualified name, for example two processes defining the same port alias, are processed one after the other,
+ * while all the others run in parallel. The locks of an element are always taken in the same (sorted) order, so two
+ * elements can not wait for each other.
+ */
+public class DataEngineIngestionExecutor {
+
+    private final ExecutorService executorService;
+    private final ThreadLocal<Boolean> isWorkerThread = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final Map<String, KeyLock> keyLocks = new HashMap<>();
+
+    /**
+     * Lock of a qualified name, removed from the map when no element uses it.
+     */
+    private static class KeyLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users = 0;
+    }
+
+    /**
+     * Create the executor and its pool of threads.
+     *
+     * @param serverName  name of the server instance, used in the names of the threads
+     * @param threadCount number of threads processing the elements
+     */
+    public DataEngineIngestionExecutor(String serverName, int threadCount) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(() -> {
+                isWorkerThread.set(Boolean.TRUE);
+                runnable.run();
+            }, "DataEngineIngestion-" + serverName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executorService = Executors.newFixedThreadPool(threadCount, threadFactory);
+    }
+
+    /**
+     * Process all the elements and wait for the results.
+     *
+     * A call made from one of the threads of this executor (for example the lineage mappings of a process) processes
+     * the elements sequentially in the calling thread, so the pool can not run out of threads waiting for itself.
+     *
+     * @param elements  elements of the batch request
+     * @param keys      returns the qualified names the element creates or updates
+     * @param processor processes an element, capturing its exceptions in its result
+     * @param <E>       type of the elements
+     * @param <R>       type of the results
+     *
+     * @return the results, in the order of the elements; the result of an element that was not processed because the
+     *         calling thread was interrupted is null
+     */
+    public <E, R> List<R> processAll(List<E> elements, Function<E, Set<String>> keys, Function<E, R> processor) {
+        List<R> results = new ArrayList<>(elements.size());
+
+        if (isWorkerThread.get() || elements.size() == 1) {
+            for (E element : elements) {
+                results.add(processWithLocks(element, keys, processor));
+            }
+            return results;
+        }
+
+        List<Future<R>> futures = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            futures.add(executorService.submit(() -> processWithLocks(element, keys, processor)));
+        }
+
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(remaining -> remaining.cancel(true));
+                while (results.size() < elements.size()) {
+                    results.add(null);
+                }
+                break;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw (Error) e.getCause();
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Stop the threads of the executor.
+     */
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    private <E, R> R processWithLocks(E element, Function<E, Set<String>> keys, Function<E, R> processor) {
+        SortedSet<String> lockedKeys = new TreeSet<>();
+        for (String key : keys.apply(element)) {
+            if (key != null) {
+                lockedKeys.add(key);
+            }
+        }
+
+        List<String> acquiredKeys = new ArrayList<>(lockedKeys.size());
+        try {
+            for (String key : lockedKeys) {
+                lock(key);
+                acquiredKeys.add(key);
+            }
+            return processor.apply(element);
+        } finally {
+            for (int i = acquiredKeys.size() - 1; i >= 0; i--) {
+                unlock(acquiredKeys.get(i));
+            }
+        }
+    }
+
+    private void lock(String key) {
+        KeyLock keyLock;
+        synchronized (keyLocks) {
+            keyLock = keyLocks.computeIfAbsent(key, k -> new KeyLock());
+            keyLock.users++;
+        }
+
+        try {
+            keyLock.lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            release(key, keyLock);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lock of " + key, e);
+        }
+    }
+
+    private void unlock(String key) {
+        KeyLock keyLock;
+        synchronized (keyLocks) {
+            keyLock = keyLocks.get(key);
+        }
+
+        keyLock.lock.unlock();
+        release(key, keyLock);
+    }
+
+    private void release(String key, KeyLock keyLock) {
+        synchronized (keyLocks) {
+            keyLock.users--;
+            if (keyLock.users == 0) {
+                keyLocks.remove(key);
+            }
+        }
+    }
+}
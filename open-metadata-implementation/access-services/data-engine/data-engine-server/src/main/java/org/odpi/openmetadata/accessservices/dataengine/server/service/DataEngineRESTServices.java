@@ -31,13 +31,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -56,6 +54,7 @@ public class DataEngineRESTServices {
     public static final String EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING = "Exception while adding lineage mapping {} : {}";
     public static final String EXCEPTION_WHILE_CREATING_PROCESS = "Exception while creating process {} : {}";
     public static final String EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY = "Exception while creating process relationships for process {} : {}";
+    private static final String LINEAGE_MAPPING_KEY_SEPARATOR = "->";
 
     private final RESTExceptionHandler restExceptionHandler = new RESTExceptionHandler();
 
@@ -520,22 +519,37 @@ public class DataEngineRESTServices {
         }
 
         DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
+        DataEngineIngestionExecutor ingestionExecutor = instanceHandler.getIngestionExecutor(userId, serverName, methodName);
 
-        lineageMappings.parallelStream().forEach(lineageMapping -> {
-            try {
-                dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
-                        lineageMapping.getTargetAttribute(), externalSourceName);
-            } catch (InvalidParameterException error) {
-                log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+        ingestionExecutor.processAll(lineageMappings,
+                lineageMapping -> Collections.singleton(lineageMapping.getSourceAttribute() + LINEAGE_MAPPING_KEY_SEPARATOR +
+                        lineageMapping.getTargetAttribute()),
+                lineageMapping -> addLineageMapping(userId, dataEngineSchemaTypeHandler, lineageMapping, response, externalSourceName));
+    }
+
+    private boolean addLineageMapping(String userId, DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler, LineageMapping lineageMapping,
+                                      FFDCResponseBase response, String externalSourceName) {
+        try {
+            dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
+                    lineageMapping.getTargetAttribute(), externalSourceName);
+            return true;
+        } catch (InvalidParameterException error) {
+            log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+            synchronized (response) {
                 restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+            }
+        } catch (PropertyServerException error) {
+            log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+            synchronized (response) {
                 restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+            }
+        } catch (UserNotAuthorizedException error) {
+            log.error(EXCEPTION_WHILE_ADDING_LINEAGE_MAPPING, lineageMapping.toString(), error.toString());
+            synchronized (response) {
                 restExceptionHandler.captureUserNotAuthorizedException(response, error);
             }
-        });
+        }
+        return false;
     }
 
     /**
@@ -551,37 +565,38 @@ public class DataEngineRESTServices {
 
         log.trace(DEBUG_MESSAGE_METHOD_DETAILS, methodName, processes);
 
-        Predicate<? super Process> hasPortImplementationsPredicate = process -> CollectionUtils.isNotEmpty(process.getPortImplementations());
-        Map<Boolean, List<Process>> partitionedProcesses = processes.parallelStream().collect(partitioningBy(hasPortImplementationsPredicate));
-
-        List<GUIDResponse> createdProcesses = new ArrayList<>();
-        List<GUIDResponse> failedProcesses = new ArrayList<>();
-        Consumer<Process> processConsumer = process ->
-        {
-            GUIDResponse guidResponse = upsertProcess(userId, serverName, process, externalSourceName);
-            if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
-                String processGUID = guidResponse.getGUID();
-                process.setGUID(processGUID);
-                VoidResponse updateStatusResponse = updateProcessStatus(userId, serverName, process, InstanceStatus.ACTIVE,
-                        externalSourceName);
-                if (updateStatusResponse.getRelatedHTTPCode() != 200) {
-                    captureException(updateStatusResponse, guidResponse);
+        ProcessListResponse response = new ProcessListResponse();
+        try {
+            DataEngineIngestionExecutor ingestionExecutor = instanceHandler.getIngestionExecutor(userId, serverName, methodName);
+
+            // processes are upserted in parallel, except the ones that define the same ports or schema elements
+            List<GUIDResponse> processResponses = ingestionExecutor.processAll(processes, this::getUpsertedQualifiedNames,
+                    process -> upsertProcessAndActivate(userId, serverName, process, externalSourceName));
+
+            List<GUIDResponse> createdProcesses = new ArrayList<>();
+            List<GUIDResponse> failedProcesses = new ArrayList<>();
+            for (GUIDResponse guidResponse : processResponses) {
+                if (guidResponse == null) {
+                    continue;
+                }
+                if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
+                    createdProcesses.add(guidResponse);
+                } else {
+                    failedProcesses.add(guidResponse);
                 }
-                createdProcesses.add(guidResponse);
-            } else {
-                failedProcesses.add(guidResponse);
             }
-        };
 
-        partitionedProcesses.get(Boolean.TRUE).parallelStream().forEach(processConsumer);
-        // processes that have port aliases can not be processed in parallel, as multiple processes can define the same port alias
-        partitionedProcesses.get(Boolean.FALSE).forEach(processConsumer);
-
-        ProcessListResponse response = new ProcessListResponse();
-        response.setGUIDs(createdProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
-        handleFailedProcesses(response, failedProcesses);
+            response.setGUIDs(createdProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
+            handleFailedProcesses(response, failedProcesses);
 
-        addProcessHierarchyRelationships(userId, serverName, processes, response, externalSourceName);
+            addProcessHierarchyRelationships(userId, serverName, processes, response, externalSourceName, ingestionExecutor);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        } catch (PropertyServerException error) {
+            restExceptionHandler.capturePropertyServerException(response, error);
+        } catch (UserNotAuthorizedException error) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
 
         log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, response);
 
@@ -809,8 +824,8 @@ public class DataEngineRESTServices {
     }
 
     private void handleFailedProcesses(ProcessListResponse response, List<GUIDResponse> failedProcesses) {
-        response.setFailedGUIDs((failedProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
-        failedProcesses.parallelStream().forEach(guidResponse -> captureException(guidResponse, response));
+        response.setFailedGUIDs((failedProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
+        failedProcesses.forEach(guidResponse -> captureException(guidResponse, response));
     }
 
     private void captureException(FFDCResponseBase initialResponse, FFDCResponseBase response) {
@@ -846,6 +861,54 @@ public class DataEngineRESTServices {
         return response;
     }
 
+    private GUIDResponse upsertProcessAndActivate(String userId, String serverName, Process process, String externalSourceName) {
+        GUIDResponse guidResponse = upsertProcess(userId, serverName, process, externalSourceName);
+        if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
+            process.setGUID(guidResponse.getGUID());
+            VoidResponse updateStatusResponse = updateProcessStatus(userId, serverName, process, InstanceStatus.ACTIVE,
+                    externalSourceName);
+            if (updateStatusResponse.getRelatedHTTPCode() != HttpStatus.OK.value()) {
+                captureException(updateStatusResponse, guidResponse);
+            }
+        }
+        return guidResponse;
+    }
+
+    /**
+     * Returns the qualified names of the elements created or updated with the process: the process itself, its ports,
+     * the schema types and attributes of its port implementations and the ports its port aliases delegate to.
+     *
+     * @param process the process
+     *
+     * @return the qualified names
+     */
+    private Set<String> getUpsertedQualifiedNames(Process process) {
+        Set<String> qualifiedNames = new HashSet<>();
+        qualifiedNames.add(process.getQualifiedName());
+
+        if (CollectionUtils.isNotEmpty(process.getPortImplementations())) {
+            for (PortImplementation portImplementation : process.getPortImplementations()) {
+                qualifiedNames.add(portImplementation.getQualifiedName());
+                SchemaType schemaType = portImplementation.getSchemaType();
+                if (schemaType != null) {
+                    qualifiedNames.add(schemaType.getQualifiedName());
+                    if (CollectionUtils.isNotEmpty(schemaType.getAttributeList())) {
+                        schemaType.getAttributeList().forEach(attribute -> qualifiedNames.add(attribute.getQualifiedName()));
+                    }
+                }
+            }
+        }
+
+        if (CollectionUtils.isNotEmpty(process.getPortAliases())) {
+            for (PortAlias portAlias : process.getPortAliases()) {
+                qualifiedNames.add(portAlias.getQualifiedName());
+                qualifiedNames.add(portAlias.getDelegatesTo());
+            }
+        }
+
+        return qualifiedNames;
+    }
+
     /**
      * Create the process with ports, schema types and lineage mappings
      *
@@ -966,31 +1029,44 @@ public class DataEngineRESTServices {
     }
 
     private void addProcessHierarchyRelationships(String userId, String serverName, List<Process> processes, ProcessListResponse response,
-                                                  String externalSourceName) {
+                                                  String externalSourceName, DataEngineIngestionExecutor ingestionExecutor) {
+        // add the ProcessHierarchy relationships only for successfully created processes
+        List<Process> createdProcesses = processes.stream()
+                .filter(process -> response.getGUIDs() != null && response.getGUIDs().contains(process.getGUID()))
+                .filter(process -> CollectionUtils.isNotEmpty(process.getParentProcesses()))
+                .collect(Collectors.toList());
+
+        ingestionExecutor.processAll(createdProcesses, process -> Collections.singleton(process.getQualifiedName()),
+                process -> addProcessHierarchyRelationships(userId, serverName, process, response, externalSourceName));
+    }
+
+    private boolean addProcessHierarchyRelationships(String userId, String serverName, Process process, ProcessListResponse response,
+                                                     String externalSourceName) {
         final String methodName = "addProcessHierarchyRelationships";
 
-        // add the ProcessHierarchy relationships only for successfully created processes
-        processes.parallelStream().filter(process -> response.getGUIDs().contains(process.getGUID())).forEach(process -> {
-            List<ParentProcess> parentProcesses = process.getParentProcesses();
-            String processGUID = process.getGUID();
-            if (CollectionUtils.isNotEmpty(parentProcesses)) {
-                try {
-                    DataEngineProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
-                    for (ParentProcess parentProcess : parentProcesses) {
-                        processHandler.upsertProcessHierarchyRelationship(userId, parentProcess, processGUID, externalSourceName);
-                    }
-                } catch (InvalidParameterException error) {
-                    log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
-                    restExceptionHandler.captureInvalidParameterException(response, error);
-                } catch (PropertyServerException error) {
-                    log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
-                    restExceptionHandler.capturePropertyServerException(response, error);
-                } catch (UserNotAuthorizedException error) {
-                    log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
-                    restExceptionHandler.captureUserNotAuthorizedException(response, error);
-                }
+        try {
+            DataEngineProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
+            for (ParentProcess parentProcess : process.getParentProcesses()) {
+                processHandler.upsertProcessHierarchyRelationship(userId, parentProcess, process.getGUID(), externalSourceName);
             }
-        });
+            return true;
+        } catch (InvalidParameterException error) {
+            log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
+            synchronized (response) {
+                restExceptionHandler.captureInvalidParameterException(response, error);
+            }
+        } catch (PropertyServerException error) {
+            log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
+            synchronized (response) {
+                restExceptionHandler.capturePropertyServerException(response, error);
+            }
+        } catch (UserNotAuthorizedException error) {
+            log.error(EXCEPTION_WHILE_CREATING_PROCESS_HIERARCHY, process.getQualifiedName(), error.toString());
+            synchronized (response) {
+                restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            }
+        }
+        return false;
     }
 
     private void addProcessCollectionRelationships(String userId, String serverName, String processGUID, String collectionGUID,
@@ -1012,7 +1088,7 @@ public class DataEngineRESTServices {
 
         DataEngineProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
 
-        portGUIDs.parallelStream().forEach(portGUID -> {
+        portGUIDs.forEach(portGUID -> {
             try {
                 processHandler.addProcessPortRelationship(userId, processGUID, portGUID, externalSourceName);
             } catch (InvalidParameterException error) {
@@ -1041,8 +1117,8 @@ public class DataEngineRESTServices {
         Set<String> oldPortGUIDs = processHandler.getPortsForProcess(userId, processGUID, portTypeName);
 
         // delete ports that are not in the process payload anymore
-        List<String> obsoletePorts = oldPortGUIDs.parallelStream().collect(partitioningBy(newPortGUIDs::contains)).get(Boolean.FALSE);
-        obsoletePorts.parallelStream().forEach(portGUID -> {
+        List<String> obsoletePorts = oldPortGUIDs.stream().collect(partitioningBy(newPortGUIDs::contains)).get(Boolean.FALSE);
+        obsoletePorts.forEach(portGUID -> {
             try {
                 dataEnginePortHandler.removePort(userId, portGUID, portTypeName, externalSourceName);
             } catch (InvalidParameterException error) {
@@ -1062,7 +1138,7 @@ public class DataEngineRESTServices {
         Set<String> portImplementationGUIDs = new HashSet<>();
 
         if (CollectionUtils.isNotEmpty(portImplementations)) {
-            portImplementations.parallelStream().forEach(portImplementation ->
+            portImplementations.forEach(portImplementation ->
             {
                 try {
                     portImplementationGUIDs.add(upsertPortImplementationWithSchemaType(userId, serverName, portImplementation,
@@ -1085,7 +1161,7 @@ public class DataEngineRESTServices {
         Set<String> portAliasGUIDs = new HashSet<>();
 
         if (CollectionUtils.isNotEmpty(portAliases)) {
-            portAliases.parallelStream().forEach(portAlias -> {
+            portAliases.forEach(portAlias -> {
                 try {
                     portAliasGUIDs.add(upsertPortAliasWithDelegation(userId, serverName, portAlias, externalSourceName));
                 } catch (InvalidParameterException error) {
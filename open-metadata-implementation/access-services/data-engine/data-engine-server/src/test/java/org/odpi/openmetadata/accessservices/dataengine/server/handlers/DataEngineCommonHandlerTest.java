@@ -34,6 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -67,6 +68,9 @@ class DataEngineCommonHandlerTest {
     @Mock
     private InvalidParameterHandler invalidParameterHandler;
 
+    @Mock
+    private DataEngineQualifiedNameCache qualifiedNameCache;
+
     @InjectMocks
     private DataEngineCommonHandler dataEngineCommonHandler;
 
@@ -149,6 +153,44 @@ class DataEngineCommonHandlerTest {
 
         verify(invalidParameterHandler, times(1)).validateUserId(USER, methodName);
         verify(invalidParameterHandler, times(1)).validateName(QUALIFIED_NAME, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
+        verify(qualifiedNameCache, times(1)).put(ENTITY_TYPE_NAME, QUALIFIED_NAME, GUID);
+    }
+
+    @Test
+    void findEntity_cachedGUID() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        String methodName = "findEntity";
+        when(qualifiedNameCache.get(ENTITY_TYPE_NAME, QUALIFIED_NAME)).thenReturn(GUID);
+
+        EntityDetail mockedEntity = mock(EntityDetail.class);
+        when(mockedEntity.getGUID()).thenReturn(GUID);
+        when(mockedEntity.getStatus()).thenReturn(InstanceStatus.ACTIVE);
+        when(repositoryHandler.getEntityByGUID(USER, GUID, CommonMapper.GUID_PROPERTY_NAME, ENTITY_TYPE_NAME, methodName)).thenReturn(mockedEntity);
+        when(repositoryHelper.getStringProperty(any(), any(), any(), any())).thenReturn(QUALIFIED_NAME);
+
+        Optional<EntityDetail> result = dataEngineCommonHandler.findEntity(USER, QUALIFIED_NAME, ENTITY_TYPE_NAME);
+
+        assertTrue(result.isPresent());
+        assertEquals(GUID, result.get().getGUID());
+        verify(repositoryHandler, never()).getUniqueEntityByName(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void findEntity_staleCachedGUID() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        String methodName = "findEntity";
+        when(qualifiedNameCache.get(ENTITY_TYPE_NAME, QUALIFIED_NAME)).thenReturn(GUID);
+        when(repositoryHelper.getExactMatchRegex(QUALIFIED_NAME)).thenReturn(QUALIFIED_NAME);
+
+        EntityDetail mockedEntity = mock(EntityDetail.class);
+        when(mockedEntity.getGUID()).thenReturn(SECOND_GUID);
+        when(repositoryHandler.getUniqueEntityByName(USER, QUALIFIED_NAME, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME, null,
+                ENTITY_TYPE_GUID, ENTITY_TYPE_NAME, methodName)).thenReturn(mockedEntity);
+
+        Optional<EntityDetail> result = dataEngineCommonHandler.findEntity(USER, QUALIFIED_NAME, ENTITY_TYPE_NAME);
+
+        assertTrue(result.isPresent());
+        assertEquals(SECOND_GUID, result.get().getGUID());
+        verify(qualifiedNameCache, times(1)).evict(ENTITY_TYPE_NAME, QUALIFIED_NAME);
+        verify(qualifiedNameCache, times(1)).put(ENTITY_TYPE_NAME, QUALIFIED_NAME, SECOND_GUID);
     }
 
     @Test
@@ -0,0 +1,68 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DataEngineQualifiedNameCacheTest {
+    private static final String TYPE_NAME = "typeName";
+    private static final String QUALIFIED_NAME = "qualifiedName";
+    private static final String SECOND_QUALIFIED_NAME = "secondQualifiedName";
+    private static final String GUID = "guid";
+    private static final String SECOND_GUID = "secondGUID";
+
+    @Test
+    void get_countsHitsAndMisses() {
+        DataEngineQualifiedNameCache cache = new DataEngineQualifiedNameCache(10);
+
+        assertNull(cache.get(TYPE_NAME, QUALIFIED_NAME));
+        cache.put(TYPE_NAME, QUALIFIED_NAME, GUID);
+        assertEquals(GUID, cache.get(TYPE_NAME, QUALIFIED_NAME));
+        assertEquals(GUID, cache.get(TYPE_NAME, QUALIFIED_NAME));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRatio());
+    }
+
+    @Test
+    void put_removesLeastRecentlyUsed() {
+        DataEngineQualifiedNameCache cache = new DataEngineQualifiedNameCache(1);
+
+        cache.put(TYPE_NAME, QUALIFIED_NAME, GUID);
+        cache.put(TYPE_NAME, SECOND_QUALIFIED_NAME, SECOND_GUID);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(TYPE_NAME, QUALIFIED_NAME));
+        assertEquals(SECOND_GUID, cache.get(TYPE_NAME, SECOND_QUALIFIED_NAME));
+    }
+
+    @Test
+    void invalidate_removesAllEntriesOfEntity() {
+        DataEngineQualifiedNameCache cache = new DataEngineQualifiedNameCache(10);
+
+        cache.put(TYPE_NAME, QUALIFIED_NAME, GUID);
+        cache.put("otherTypeName", QUALIFIED_NAME, GUID);
+        cache.put(TYPE_NAME, SECOND_QUALIFIED_NAME, SECOND_GUID);
+        cache.invalidate(GUID);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(TYPE_NAME, QUALIFIED_NAME));
+    }
+
+    @Test
+    void evict_countsLookupAsMiss() {
+        DataEngineQualifiedNameCache cache = new DataEngineQualifiedNameCache(10);
+
+        cache.put(TYPE_NAME, QUALIFIED_NAME, GUID);
+        cache.get(TYPE_NAME, QUALIFIED_NAME);
+        cache.evict(TYPE_NAME, QUALIFIED_NAME);
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,76 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DataEngineIngestionExecutorTest {
+
+    private static final String SERVER_NAME = "server";
+
+    private final DataEngineIngestionExecutor ingestionExecutor = new DataEngineIngestionExecutor(SERVER_NAME, 4);
+
+    @AfterEach
+    void after() {
+        ingestionExecutor.shutdown();
+    }
+
+    @Test
+    void processAll_returnsResultsInOrder() {
+        List<Integer> elements = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+        List<Integer> results = ingestionExecutor.processAll(elements, element -> Collections.singleton("key" + element),
+                element -> element * 10);
+
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), results);
+    }
+
+    @Test
+    void processAll_serializesElementsWithSharedKeys() {
+        List<Integer> elements = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+        Map<String, AtomicInteger> runningByKey = new HashMap<>();
+        runningByKey.put("even", new AtomicInteger());
+        runningByKey.put("odd", new AtomicInteger());
+        AtomicInteger overlaps = new AtomicInteger();
+
+        ingestionExecutor.processAll(elements, element -> new HashSet<>(Collections.singletonList(element % 2 == 0 ? "even" : "odd")),
+                element -> {
+                    AtomicInteger running = runningByKey.get(element % 2 == 0 ? "even" : "odd");
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return element;
+                });
+
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    void processAll_runsNestedCallsInWorkerThread() {
+        List<Integer> elements = Arrays.asList(1, 2);
+
+        List<Boolean> results = ingestionExecutor.processAll(elements, element -> Collections.singleton("key" + element),
+                element -> ingestionExecutor.processAll(Arrays.asList(element, element + 10), nested -> Collections.emptySet(),
+                        nested -> Thread.currentThread().getName()).stream().distinct().count() == 1);
+
+        assertFalse(results.contains(Boolean.FALSE));
+    }
+}
@@ -129,6 +129,8 @@ class DataEngineRESTServicesTest {
     @Mock
     DataEngineRelationalDataHandler dataEngineRelationalDataHandler;
 
+    private final DataEngineIngestionExecutor ingestionExecutor = new DataEngineIngestionExecutor(SERVER_NAME, 2);
+
     private final PortImplementation portImplementation = getPortImplementation();
 
     private final PortAlias portAlias = getPortAlias();
@@ -510,6 +512,7 @@ class DataEngineRESTServicesTest {
 
     @Test
     void createProcess() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        mockIngestionExecutor("upsertProcesses");
         mockSchemaTypeHandler("upsertSchemaType");
         mockSchemaTypeHandler("addLineageMappings");
         mockSchemaTypeHandler("addAnchorGUID");
@@ -545,6 +548,7 @@ class DataEngineRESTServicesTest {
                                                                               NoSuchMethodException,
                                                                               InstantiationException,
                                                                               IllegalAccessException {
+        mockIngestionExecutor("upsertProcesses");
         mockSchemaTypeHandler("upsertSchemaType");
         mockPortHandler("upsertPortImplementationWithSchemaType");
         mockPortHandler("upsertPortAliasWithDelegation");
@@ -580,6 +584,7 @@ class DataEngineRESTServicesTest {
                                                                                NoSuchMethodException,
                                                                                InstantiationException,
                                                                                IllegalAccessException {
+        mockIngestionExecutor("upsertProcesses");
         mockSchemaTypeHandler("upsertSchemaType");
         mockSchemaTypeHandler("addLineageMappings");
         mockPortHandler("upsertPortImplementationWithSchemaType");
@@ -609,6 +614,7 @@ class DataEngineRESTServicesTest {
 
     @Test
     void updateProcess() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        mockIngestionExecutor("upsertProcesses");
         mockSchemaTypeHandler("upsertSchemaType");
         mockSchemaTypeHandler("deleteObsoleteSchemaType");
         mockSchemaTypeHandler("addLineageMappings");
@@ -723,6 +729,7 @@ class DataEngineRESTServicesTest {
 
     @Test
     void addLineageMappings() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        mockIngestionExecutor("addLineageMappings");
         mockSchemaTypeHandler("addLineageMappings");
 
         LineageMappingsRequestBody requestBody = mockLineageMappingsRequestBody();
@@ -741,6 +748,7 @@ class DataEngineRESTServicesTest {
                                                                                    NoSuchMethodException,
                                                                                    InstantiationException,
                                                                                    IllegalAccessException {
+        mockIngestionExecutor("addLineageMappings");
         String methodName = "addLineageMappings";
         mockSchemaTypeHandler(methodName);
 
@@ -763,6 +771,7 @@ class DataEngineRESTServicesTest {
                                                                                     NoSuchMethodException,
                                                                                     InstantiationException,
                                                                                     IllegalAccessException {
+        mockIngestionExecutor("addLineageMappings");
         String methodName = "addLineageMappings";
         mockSchemaTypeHandler(methodName);
 
@@ -849,6 +858,10 @@ class DataEngineRESTServicesTest {
         when(instanceHandler.getCollectionHandler(USER, SERVER_NAME, methodName)).thenReturn(dataEngineCollectionHandler);
     }
 
+    private void mockIngestionExecutor(String methodName) throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
+        when(instanceHandler.getIngestionExecutor(USER, SERVER_NAME, methodName)).thenReturn(ingestionExecutor);
+    }
+
     private void mockRelationalDataHandler(String methodName) throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
         when(instanceHandler.getRelationalDataHandler(USER, SERVER_NAME, methodName)).thenReturn(dataEngineRelationalDataHandler);
     }
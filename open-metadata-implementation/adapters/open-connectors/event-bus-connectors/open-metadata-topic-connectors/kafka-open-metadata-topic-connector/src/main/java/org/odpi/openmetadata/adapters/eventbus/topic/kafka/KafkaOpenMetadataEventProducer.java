@@ -7,11 +7,14 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -23,10 +26,13 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * Events are buffered as their UTF-8 encoded JSON payload and passed to Kafka as the record value without
+ * further conversion.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
+    private final List<byte[]> sendBuffer = Collections.synchronizedList(new ArrayList<>());
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -42,7 +48,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
     private final String                          localServerId;
     private final Properties                      producerProperties;
-    private Producer<String, String>        producer = null;
+    private Producer<String, byte[]>        producer = null;
 
     private KafkaOpenMetadataTopicConnector connector;
 
@@ -85,10 +91,10 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     /**
      * Sends the supplied event to the topic.  It retries if Kafka is not responding.
      *
-     * @param event object containing the event properties.
+     * @param event UTF-8 encoded event.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    private void publishEvent(byte[] event) throws ConnectorCheckedException
     {
         final String methodName = "publishEvent";
 
@@ -98,14 +104,17 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         if (producer == null)
         {
             log.debug("Creating Producer");
-            producer = new KafkaProducer<>(producerProperties);
+            producer = new KafkaProducer<>(producerProperties, new StringSerializer(), new ByteArraySerializer());
         }
         while (!eventSent)
         {
             try
             {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Sending message {}", new String(event, StandardCharsets.UTF_8));
+                }
+                ProducerRecord<String, byte[]> record = new ProducerRecord<>(topicName, localServerId, event);
                 producer.send(record).get();
                 eventSent = true;
                 messageSendCount++;
@@ -115,7 +124,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                 /*
                  * This may be a simple timeout or something else more
                  */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+                log.debug("Kafka had trouble sending event: " + new String(event, StandardCharsets.UTF_8) + "exception message is " + error.getMessage());
 
                 if (!isExceptionRetryable(error))
                 {
@@ -195,7 +204,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
+                byte[] bufferedEvent = this.getEvent();
 
                 /*
                  * If there are no events waiting then sleep
@@ -255,7 +264,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @param newEvent  event to publish
      */
-    private void putEvent(String  newEvent)
+    private void putEvent(byte[]  newEvent)
     {
         sendBuffer.add(newEvent);
     }
@@ -277,7 +286,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @return list of received events.
      */
-    private String getEvent()
+    private byte[] getEvent()
     {
         if (sendBuffer.isEmpty())
         {
@@ -294,6 +303,17 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      * @param event  OMRSEvent object containing the event properties.
      */
     public void sendEvent(String event)
+    {
+        this.putEvent(event.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Sends the supplied event to the topic.
+     *
+     * @param event  UTF-8 encoded event.
+     */
+    public void sendEvent(byte[] event)
     {
         this.putEvent(event);
     }
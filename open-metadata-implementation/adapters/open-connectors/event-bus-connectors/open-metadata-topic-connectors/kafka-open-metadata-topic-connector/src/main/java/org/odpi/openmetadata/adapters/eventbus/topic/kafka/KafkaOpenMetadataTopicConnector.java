@@ -88,7 +88,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("linger.ms", 0);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
         producerProperties.put("bring.up.retries", "10");
         producerProperties.put("bring.up.minSleepTime", "5000");
 
@@ -287,6 +287,22 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     }
 
 
+    /**
+     * Sends the supplied event to the topic.  The bytes are passed to Kafka without conversion.
+     *
+     * @param event UTF-8 encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    @Override
+    public void sendEvent(byte[] event) throws ConnectorCheckedException
+    {
+        if (producer != null)
+        {
+            producer.sendEvent(event);
+        }
+    }
+
+
     /**
      * Look to see if there is one of more new events to process.
      *
@@ -321,6 +337,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         log.debug("distribute event to listeners" + event);
         incomingEventsList.add(event);
+        super.notifyIncomingEvents();
     }
 
 
@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Least recently used cache of lineage query results. Each result is indexed by the guids of the vertices
+ * visited to build it, so a write to any of these vertices removes the result from the cache.
+ */
+class LineageCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, LineageVerticesAndEdges> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> guidsByKey = new HashMap<>();
+    private final Map<String, Set<String>> keysByGuid = new HashMap<>();
+
+    /**
+     * @param maxEntries the maximum number of results kept in the cache
+     */
+    LineageCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cache key of a query.
+     *
+     * @param guid             the guid of the queried node
+     * @param scope            the scope of the query
+     * @param includeProcesses whether processes are included
+     * @param maxDepth         the maximum depth of the query
+     * @param maxVertices      the maximum number of vertices of the query
+     *
+     * @return the cache key
+     */
+    static String getKey(String guid, Scope scope, boolean includeProcesses, int maxDepth, int maxVertices) {
+        return guid + "|" + scope + "|" + includeProcesses + "|" + maxDepth + "|" + maxVertices;
+    }
+
+    /**
+     * Returns a copy of the cached result, so that the caller may filter it.
+     *
+     * @param key the cache key
+     *
+     * @return the result or null if it is not cached
+     */
+    synchronized LineageVerticesAndEdges get(String key) {
+        LineageVerticesAndEdges result = results.get(key);
+        return result == null ? null : copy(result);
+    }
+
+    /**
+     * Stores a copy of a result in the cache.
+     *
+     * @param key    the cache key
+     * @param result the result of the query
+     * @param guids  the guids of the vertices visited by the query
+     */
+    synchronized void put(String key, LineageVerticesAndEdges result, Set<String> guids) {
+        remove(key);
+
+        results.put(key, copy(result));
+        guidsByKey.put(key, new HashSet<>(guids));
+        for (String guid : guids) {
+            keysByGuid.computeIfAbsent(guid, k -> new HashSet<>()).add(key);
+        }
+
+        if (results.size() > maxEntries) {
+            Iterator<String> leastRecentlyUsed = results.keySet().iterator();
+            remove(leastRecentlyUsed.next());
+        }
+    }
+
+    /**
+     * Removes the cached results that include a vertex.
+     *
+     * @param guid the guid of the changed vertex
+     */
+    synchronized void invalidate(String guid) {
+        Set<String> keys = keysByGuid.remove(guid);
+        if (keys != null) {
+            keys.forEach(this::remove);
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    synchronized void clear() {
+        results.clear();
+        guidsByKey.clear();
+        keysByGuid.clear();
+    }
+
+    private void remove(String key) {
+        results.remove(key);
+        Set<String> guids = guidsByKey.remove(key);
+        if (guids != null) {
+            for (String guid : guids) {
+                Set<String> keys = keysByGuid.get(guid);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        keysByGuid.remove(guid);
+                    }
+                }
+            }
+        }
+    }
+
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges result) {
+        LineageVerticesAndEdges copy = new LineageVerticesAndEdges(new LinkedHashSet<>(result.getLineageVertices()),
+                new HashSet<>(result.getLineageEdges()));
+        copy.setTruncated(result.isTruncated());
+        if (result.getContinuationNodeIDs() != null) {
+            copy.setContinuationNodeIDs(new HashSet<>(result.getContinuationNodeIDs()));
+        }
+        return copy;
+    }
+}
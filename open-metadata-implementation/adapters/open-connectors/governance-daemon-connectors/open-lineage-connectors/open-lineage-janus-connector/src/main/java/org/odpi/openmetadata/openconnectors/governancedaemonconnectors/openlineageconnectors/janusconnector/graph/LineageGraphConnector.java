@@ -17,6 +17,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.model.LineageRelationsh
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.graph.LineageGraphConnectorBase;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
@@ -31,7 +32,9 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -97,16 +100,60 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class LineageGraphConnector extends LineageGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(LineageGraphConnector.class);
+
+    /*
+     * Number of processes mapped in a single transaction by the lineage graph job.
+     */
+    private static final int PROCESS_BATCH_SIZE = 100;
+
+    /*
+     * Default maximum number of hops from a changed vertex to the processes that use it. This covers a column in a
+     * lineage mapping with a column of a process port: column - schema type - port implementation - port alias - process.
+     * Deployments that model deeper port hierarchies can raise it with the maxHopsToProcess configuration property.
+     */
+    private static final int DEFAULT_MAX_HOPS_TO_PROCESS = 5;
+
+
+    /*
+     * Maximum number of lineage query results kept in memory.
+     */
+    private static final int LINEAGE_CACHE_SIZE = 200;
+
     private LineageGraphConnectorHelper helper;
     private GraphTraversalSource g;
     private GraphFactory graphFactory;
     private AuditLog auditLog;
 
+    /*
+     * Guids of the vertices stored or updated since the last run of the lineage graph job. The first run maps
+     * every process since changes made before a restart are not known.
+     */
+    private final Set<String> changedVertexGUIDs = Collections.synchronizedSet(new HashSet<>());
+    private volatile boolean fullScanRequired = true;
+    private int maxHopsToProcess = DEFAULT_MAX_HOPS_TO_PROCESS;
+
+    /*
+     * Limits applied to the lineage queries that do not set their own. Lineage queries are not limited unless
+     * these are set in the configuration properties of the connection; 0 means no limit.
+     */
+    private int defaultMaxDepth = 0;
+    private int defaultMaxVertices = 0;
+    private long defaultTimeout = 0;
+
+    private volatile int lastJobProcessCount = 0;
+    private volatile long lastJobDuration = 0;
+
+    private final LineageCache lineageCache = new LineageCache(LINEAGE_CACHE_SIZE);
+
     /**
      * Instantiates the graph based on the configuration passed.
      */
     public void initializeGraphDB(AuditLog auditLog) throws OpenLineageException {
         this.auditLog = auditLog;
+        this.maxHopsToProcess = (int) getConfiguredLimit(LineageGraphConnectorProvider.MAX_HOPS_TO_PROCESS, DEFAULT_MAX_HOPS_TO_PROCESS);
+        this.defaultMaxDepth = (int) getConfiguredLimit(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_DEPTH, 0);
+        this.defaultMaxVertices = (int) getConfiguredLimit(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_VERTICES, 0);
+        this.defaultTimeout = getConfiguredLimit(LineageGraphConnectorProvider.LINEAGE_QUERY_TIMEOUT, 0);
         try {
             graphFactory = new GraphFactory();
             this.g = graphFactory.openGraph(connectionProperties.getConnectorType().getConnectorProviderClassName(), connectionProperties, auditLog);
@@ -149,29 +196,146 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
 
     }
 
+    /**
+     * Maps the column level lineage of the processes that were changed since the last run. Only the processes
+     * reachable from the stored or updated vertices are mapped, in transactions of at most PROCESS_BATCH_SIZE
+     * processes. The processes of a batch that fails are mapped again on the next run.
+     */
     @Override
     public void performLineageGraphJob() {
-        try {
-            //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
+        long startTime = System.currentTimeMillis();
+        int processCount = 0;
+
+        List<String> guidList = getProcessesToMap();
+
+        for (int fromIndex = 0; fromIndex < guidList.size(); fromIndex += PROCESS_BATCH_SIZE) {
+            List<String> batch = guidList.subList(fromIndex, Math.min(fromIndex + PROCESS_BATCH_SIZE, guidList.size()));
+            try {
+                //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
+                batch.forEach(
+                        guid -> findInputColumns(g, guid)
+                );
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+                processCount += batch.size();
+            } catch (Exception e) {
+                log.error("Something went wrong when trying to map a process. The error is: ", e);
+                auditLog.logException("Something went wrong when trying to map a process.", PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+                changedVertexGUIDs.addAll(batch);
+            }
+        }
+
+        lastJobProcessCount = processCount;
+        lastJobDuration = System.currentTimeMillis() - startTime;
+
+        log.debug("Lineage graph job mapped {} of {} processes in {} ms", processCount, guidList.size(), lastJobDuration);
+    }
+
+    /**
+     * Returns the number of processes mapped by the last run of the lineage graph job.
+     *
+     * @return number of processes
+     */
+    public int getLastJobProcessCount() {
+        return lastJobProcessCount;
+    }
 
-            List<String> guidList = vertices.stream()
-                    .map(v -> g.V(v.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString())
-                    .collect(Collectors.toList());
+    /**
+     * Returns the duration of the last run of the lineage graph job.
+     *
+     * @return duration in milliseconds
+     */
+    public long getLastJobDuration() {
+        return lastJobDuration;
+    }
 
-            guidList.forEach(
-                    guid -> findInputColumns(g, guid)
-            );
+    /**
+     * Records that a vertex was stored or updated so the processes that use it are mapped by the next run
+     * of the lineage graph job, and removes the cached lineage that includes it.
+     *
+     * @param lineageEntity the stored or updated entity
+     */
+    private void markChanged(LineageEntity lineageEntity) {
+        if (lineageEntity != null && lineageEntity.getGuid() != null) {
+            changedVertexGUIDs.add(lineageEntity.getGuid());
+            lineageCache.invalidate(lineageEntity.getGuid());
+        }
+    }
+
+    /**
+     * Returns the guids of the processes to map. The first run returns all the processes in the graph,
+     * later runs return the processes within maxHopsToProcess of the vertices changed since the previous run.
+     * The changed vertices are taken before the graph is read so that a change made during the run is kept
+     * for the next one.
+     *
+     * @return list of process guids
+     */
+    private List<String> getProcessesToMap() {
+        Set<String> processGUIDs = new HashSet<>();
+
+        List<String> changedGUIDs;
+        synchronized (changedVertexGUIDs) {
+            changedGUIDs = new ArrayList<>(changedVertexGUIDs);
+            changedVertexGUIDs.clear();
+        }
+
+        try {
+            if (fullScanRequired) {
+                fullScanRequired = false;
+                g.V().has(PROPERTY_KEY_LABEL, PROCESS).values(PROPERTY_KEY_ENTITY_GUID)
+                        .forEachRemaining(guid -> processGUIDs.add(guid.toString()));
+            } else {
+                for (String changedGUID : changedGUIDs) {
+                    g.V().has(PROPERTY_KEY_ENTITY_GUID, changedGUID)
+                            .emit()
+                            .repeat(__.both(LINEAGE_MAPPING, ATTRIBUTE_FOR_SCHEMA, PORT_SCHEMA, PORT_DELEGATION, PROCESS_PORT).simplePath())
+                            .times(maxHopsToProcess)
+                            .has(PROPERTY_KEY_LABEL, PROCESS)
+                            .dedup()
+                            .values(PROPERTY_KEY_ENTITY_GUID)
+                            .forEachRemaining(guid -> processGUIDs.add(guid.toString()));
+                }
+            }
             if (graphFactory.isSupportingTransactions()) {
                 g.tx().commit();
             }
         } catch (Exception e) {
-            log.error("Something went wrong when trying to map a process. The error is: ", e);
-            auditLog.logException("Something went wrong when trying to map a process.", PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+            log.error("Something went wrong when trying to find the processes to map. The error is: ", e);
             if (graphFactory.isSupportingTransactions()) {
                 g.tx().rollback();
             }
+            fullScanRequired = true;
+        }
+
+        return new ArrayList<>(processGUIDs);
+    }
+
+    /**
+     * Returns the value of a limit set in the configuration properties of the connection, or the default if it
+     * is not set or not a positive number.
+     *
+     * @param propertyName the name of the configuration property
+     * @param defaultLimit the default limit
+     *
+     * @return the limit to use
+     */
+    private long getConfiguredLimit(String propertyName, long defaultLimit) {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties != null && configurationProperties.get(propertyName) != null) {
+            try {
+                long limit = Long.parseLong(configurationProperties.get(propertyName).toString());
+                if (limit > 0) {
+                    return limit;
+                }
+            } catch (NumberFormatException e) {
+                log.error("Invalid value for configuration property {}, using the default", propertyName, e);
+            }
         }
+        return defaultLimit;
     }
 
     @Override
@@ -319,6 +483,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             }
 
             addAssetToProcessEdges(columnIn, columnOut, process);
+            invalidateLineage(columnInGuid, columnOutGuid, processGuid);
 
             log.info("OLS has added the corresponding subProcess node and edges for input column {}, output column {} and process {} ",
                     columnInGuid, columnOutGuid, processGuid);
@@ -401,6 +566,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 LineageEntity toEntity = entry.getToVertex();
 
                 upsertToGraph(fromEntity, toEntity, entry.getRelationshipType(), entry.getRelationshipGuid());
+                markChanged(fromEntity);
+                markChanged(toEntity);
             } catch (Exception e) {
                 log.error("An exception happened when trying to create vertices and relationships in LineageGraph. The error is", e);
             }
@@ -456,6 +623,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             String outVertexGuid = (String) edge.outVertex().property(PROPERTY_KEY_ENTITY_GUID).value();
             if (obsoleteNeighbours.contains(inVertexGuid) || obsoleteNeighbours.contains(outVertexGuid)) {
                 commit(graphFactory, g, dropEdgeFromGraph, edge, "Could not drop edge " + edge.id());
+                invalidateLineage(inVertexGuid, outVertexGuid);
             }
         }
     }
@@ -552,6 +720,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             if (graphFactory.isSupportingTransactions()) {
                 g.tx().commit();
             }
+            markChanged(lineageEntity);
         } catch (Exception e) {
             log.error("An exception happened during update of the properties with exception: ", e);
             if (graphFactory.isSupportingTransactions()) {
@@ -573,6 +742,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         LineageEntity secondEnd = lineageRelationship.getTargetEntity();
 
         upsertToGraph(firstEnd, secondEnd, lineageRelationship.getTypeDefName(), lineageRelationship.getGuid());
+        markChanged(firstEnd);
+        markChanged(secondEnd);
 
         Consumer<LineageRelationship> addOrUpdatePropertiesEdge = this::addOrUpdatePropertiesEdge;
         commit(graphFactory, g, addOrUpdatePropertiesEdge, lineageRelationship,
@@ -602,6 +773,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             if (graphFactory.isSupportingTransactions()) {
                 g.tx().commit();
             }
+            invalidateLineage(lineageRelationship.getSourceEntity().getGuid(), lineageRelationship.getTargetEntity().getGuid());
         } catch (Exception e) {
             log.debug("An exception happened during update of the properties with error:", e);
             if (graphFactory.isSupportingTransactions()) {
@@ -636,6 +808,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 if (graphFactory.isSupportingTransactions()) {
                     g.tx().commit();
                 }
+                invalidateLineage(graphContext.getFromVertex().getGuid(), classificationGuid);
                 break;
             }
         }
@@ -667,6 +840,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                         if (graphFactory.isSupportingTransactions()) {
                             g.tx().commit();
                         }
+                        invalidateLineage(context.getFromVertex().getGuid(), storedClassificationGuid);
                         break;
                     } catch (Exception e) {
                         log.debug("An exception happened during delete of classifications with error:", e);
@@ -697,6 +871,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         if (graphFactory.isSupportingTransactions()) {
             g.tx().commit();
         }
+        invalidateLineage(guid);
         log.debug("Vertex with guid {} deleted", guid);
     }
 
@@ -711,13 +886,27 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
 
-        g.E(edge.next().id()).drop();
+        Edge deletedEdge = edge.next();
+        invalidateLineage(getEdgeVertexGuid(deletedEdge.outVertex()), getEdgeVertexGuid(deletedEdge.inVertex()));
+
+        g.E(deletedEdge.id()).drop();
         if (graphFactory.isSupportingTransactions()) {
             g.tx().commit();
         }
         log.debug("Edge with guid {} deleted", guid);
     }
 
+    /**
+     * Returns the guid of a vertex at the end of an edge.
+     *
+     * @param vertex the vertex
+     *
+     * @return the guid, or null if the vertex has none
+     */
+    private String getEdgeVertexGuid(Vertex vertex) {
+        return vertex.property(PROPERTY_KEY_ENTITY_GUID).isPresent() ? vertex.property(PROPERTY_KEY_ENTITY_GUID).value().toString() : null;
+    }
+
     /**
      * Adds or updates properties of an edge.
      *
@@ -820,37 +1009,105 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      * {@inheritDoc}
      */
     public LineageResponse lineage(Scope scope, String guid, String displayNameMustContain, boolean includeProcesses) {
+        return lineage(guid, new LineageQueryParameters(scope, displayNameMustContain, includeProcesses));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LineageResponse lineage(String guid, LineageQueryParameters lineageQueryParameters) {
         GraphTraversal<Vertex, Vertex> vertexGraphTraversal = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid);
         if (!vertexGraphTraversal.hasNext()) {
             return new LineageResponse();
         }
 
-        Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = Optional.empty();
+        Scope scope = lineageQueryParameters.getScope();
+        boolean includeProcesses = lineageQueryParameters.isIncludeProcesses();
+        String displayNameMustContain = lineageQueryParameters.getDisplayNameMustContain();
+        int maxDepth = getLimit(lineageQueryParameters.getMaxDepth(), defaultMaxDepth);
+        int maxVertices = getLimit(lineageQueryParameters.getMaxVertices(), defaultMaxVertices);
+        long timeout = getLimit(lineageQueryParameters.getTimeout(), defaultTimeout);
+
+        String cacheKey = LineageCache.getKey(guid, scope, includeProcesses, maxDepth, maxVertices);
+        Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = Optional.ofNullable(lineageCache.get(cacheKey));
+
+        if (!lineageVerticesAndEdges.isPresent()) {
+            LineageQueryContext context = new LineageQueryContext(maxDepth, maxVertices, timeout);
+
+            switch (scope) {
+                case SOURCE_AND_DESTINATION:
+                    lineageVerticesAndEdges = helper.sourceAndDestination(guid, includeProcesses, context);
+                    break;
+                case END_TO_END:
+                    lineageVerticesAndEdges = helper.endToEnd(guid, includeProcesses, context);
+                    break;
+                case ULTIMATE_SOURCE:
+                    lineageVerticesAndEdges = helper.ultimateSource(guid, includeProcesses, context);
+                    break;
+                case ULTIMATE_DESTINATION:
+                    lineageVerticesAndEdges = helper.ultimateDestination(guid, includeProcesses, context);
+                    break;
+                case VERTICAL:
+                    lineageVerticesAndEdges = helper.verticalLineage(guid);
+                    break;
+            }
 
-        switch (scope) {
-            case SOURCE_AND_DESTINATION:
-                lineageVerticesAndEdges = helper.sourceAndDestination(guid, includeProcesses);
-                break;
-            case END_TO_END:
-                lineageVerticesAndEdges = helper.endToEnd(guid, includeProcesses);
-                break;
-            case ULTIMATE_SOURCE:
-                lineageVerticesAndEdges = helper.ultimateSource(guid, includeProcesses);
-                break;
-            case ULTIMATE_DESTINATION:
-                lineageVerticesAndEdges = helper.ultimateDestination(guid, includeProcesses);
-                break;
-            case VERTICAL:
-                lineageVerticesAndEdges = helper.verticalLineage(guid);
-                break;
+            if (lineageVerticesAndEdges.isPresent()) {
+                LineageVerticesAndEdges result = lineageVerticesAndEdges.get();
+                if (context.isTruncated()) {
+                    log.debug("Lineage of {} truncated at the limits maxDepth={}, maxVertices={}, timeout={}",
+                            guid, maxDepth, maxVertices, timeout);
+                    result.setTruncated(true);
+                    result.setContinuationNodeIDs(context.getContinuationNodeIDs());
+                }
+
+                // a result cut short by the timeout depends on the load of the server so it is not cached
+                if (!context.isTimedOut()) {
+                    Set<String> visitedGUIDs = new HashSet<>(context.getVisitedNodeIDs());
+                    visitedGUIDs.add(guid);
+                    result.getLineageVertices().forEach(vertex -> visitedGUIDs.add(vertex.getNodeID()));
+                    lineageCache.put(cacheKey, result, visitedGUIDs);
+                }
+            }
         }
-        if (lineageVerticesAndEdges.isPresent() && !displayNameMustContain.isEmpty()) {
+
+        if (lineageVerticesAndEdges.isPresent() && displayNameMustContain != null && !displayNameMustContain.isEmpty()) {
             helper.filterDisplayName(lineageVerticesAndEdges.get(), displayNameMustContain);
         }
 
         return new LineageResponse(lineageVerticesAndEdges.orElse(null));
     }
 
+    /**
+     * Returns the requested limit of a lineage query, or the default if none or an invalid limit is requested.
+     *
+     * @param limit        the requested limit
+     * @param defaultLimit the default limit
+     *
+     * @return the limit to use
+     */
+    private int getLimit(Integer limit, int defaultLimit) {
+        return limit == null || limit <= 0 ? defaultLimit : limit;
+    }
+
+    private long getLimit(Long limit, long defaultLimit) {
+        return limit == null || limit <= 0 ? defaultLimit : limit;
+    }
+
+    /**
+     * Removes the cached lineage that includes any of the given vertices.
+     *
+     * @param guids the guids of the changed vertices
+     */
+    private void invalidateLineage(String... guids) {
+        for (String guid : guids) {
+            if (guid != null) {
+                lineageCache.invalidate(guid);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
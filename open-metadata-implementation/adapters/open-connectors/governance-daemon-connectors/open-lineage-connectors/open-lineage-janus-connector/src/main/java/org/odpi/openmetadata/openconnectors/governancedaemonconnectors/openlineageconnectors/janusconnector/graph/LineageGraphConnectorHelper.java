@@ -4,7 +4,6 @@ package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openline
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
-import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -19,9 +18,11 @@ import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertices
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -36,8 +37,6 @@ import java.util.stream.Stream;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.bothE;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.until;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.AVRO_FILE;
@@ -107,6 +106,7 @@ public class LineageGraphConnectorHelper {
 
     private static final Logger log = LoggerFactory.getLogger(LineageGraphConnectorHelper.class);
     private static final String EMPTY_STRING = "";
+    private static final String SUB_GRAPH = "subGraph";
     private static final String COMMA_SPACE_DELIMITER = ", ";
     private static final String COLUMN_SPACE_DELIMITER = ": ";
     private static final List<String> EMBEDDED_PROPERTIES = Arrays.asList(PROPERTY_KEY_ADDITIONAL_PROPERTIES, PROPERTY_KEY_EXTENDED_PROPERTIES);
@@ -135,25 +135,33 @@ public class LineageGraphConnectorHelper {
      */
 
     public Optional<LineageVerticesAndEdges> ultimateSource(String guid, boolean includeProcesses) {
-        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next());
+        return ultimateSource(guid, includeProcesses, LineageQueryContext.unbounded());
+    }
+
+    /**
+     * Returns a subgraph containing all root of the full graph that are connected with the queried node, following
+     * edges only within the limits of the query context.
+     *
+     * @param guid             The guid of the node of which the lineage is queried of. This can be a column or a table.
+     * @param includeProcesses Will filter out all processes and subprocesses from the response if false.
+     * @param context          The limits of the query, updated with the vertices visited and the truncation.
+     *
+     * @return a subgraph in an Open Lineage specific format.
+     */
+    Optional<LineageVerticesAndEdges> ultimateSource(String guid, boolean includeProcesses, LineageQueryContext context) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(queriedVertex);
         if (!edgeLabelOptional.isPresent()) {
             return Optional.empty();
         }
         String edgeLabel = edgeLabelOptional.get();
         Graph sourceGraph = null;
-        List<Vertex> sourcesList = null;
+        List<Vertex> sourcesList = new ArrayList<>();
 
         try {
-            sourceGraph = (Graph)
-                    g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                            until(inE(edgeLabel).count().is(0)).
-                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().simplePath()).
-                            cap("subGraph").next();
-
-            sourcesList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                    until(inE(edgeLabel).count().is(0)).
-                    repeat(inE(edgeLabel).outV().simplePath()).
-                    dedup().toList();
+            Set<Object> edgeIds = new LinkedHashSet<>();
+            traverseLineage(queriedVertex, edgeLabel, Direction.IN, context, edgeIds, sourcesList);
+            sourceGraph = getSubGraph(queriedVertex, edgeLabel, edgeIds);
 
             commitTransaction();
 
@@ -177,25 +185,33 @@ public class LineageGraphConnectorHelper {
      * @return a subgraph in an Open Lineage specific format.
      */
     public Optional<LineageVerticesAndEdges> ultimateDestination(String guid, boolean includeProcesses) {
-        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next());
+        return ultimateDestination(guid, includeProcesses, LineageQueryContext.unbounded());
+    }
+
+    /**
+     * Returns a subgraph containing all leaf nodes of the full graph that are connected with the queried node,
+     * following edges only within the limits of the query context.
+     *
+     * @param guid             The guid of the node of which the lineage is queried of. This can be a column or table node.
+     * @param includeProcesses Will filter out all processes and subprocesses from the response if false.
+     * @param context          The limits of the query, updated with the vertices visited and the truncation.
+     *
+     * @return a subgraph in an Open Lineage specific format.
+     */
+    Optional<LineageVerticesAndEdges> ultimateDestination(String guid, boolean includeProcesses, LineageQueryContext context) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(queriedVertex);
         if (!edgeLabelOptional.isPresent()) {
             return Optional.empty();
         }
         String edgeLabel = edgeLabelOptional.get();
         Graph destinationGraph = null;
-        List<Vertex> destinationsList = null;
+        List<Vertex> destinationsList = new ArrayList<>();
 
         try {
-            destinationGraph = (Graph)
-                    g.V().has(PROPERTY_KEY_ENTITY_GUID, guid)
-                            .until(outE(edgeLabel).count().is(0))
-                            .repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().simplePath())
-                            .cap("subGraph").next();
-
-            destinationsList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                    until(outE(edgeLabel).count().is(0)).
-                    repeat(outE(edgeLabel).inV().simplePath()).
-                    dedup().toList();
+            Set<Object> edgeIds = new LinkedHashSet<>();
+            traverseLineage(queriedVertex, edgeLabel, Direction.OUT, context, edgeIds, destinationsList);
+            destinationGraph = getSubGraph(queriedVertex, edgeLabel, edgeIds);
 
             commitTransaction();
 
@@ -220,7 +236,22 @@ public class LineageGraphConnectorHelper {
      * @return a subgraph in an Open Lineage specific format.
      */
     public Optional<LineageVerticesAndEdges> endToEnd(String guid, boolean includeProcesses) {
-        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next());
+        return endToEnd(guid, includeProcesses, LineageQueryContext.unbounded());
+    }
+
+    /**
+     * Returns a subgraph containing the paths leading from root nodes to the queried node, and the paths leading from
+     * the queried node to leaf nodes, following edges only within the limits of the query context.
+     *
+     * @param guid             The guid of the node of which the lineage is queried of. This can be a column or a table.
+     * @param includeProcesses Will filter out all processes and subprocesses from the response if false.
+     * @param context          The limits of the query, updated with the vertices visited and the truncation.
+     *
+     * @return a subgraph in an Open Lineage specific format.
+     */
+    Optional<LineageVerticesAndEdges> endToEnd(String guid, boolean includeProcesses, LineageQueryContext context) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        Optional<String> edgeLabelOptional = getEdgeLabelForDataFlow(queriedVertex);
         if (!edgeLabelOptional.isPresent()) {
             return Optional.empty();
         }
@@ -228,14 +259,10 @@ public class LineageGraphConnectorHelper {
         Graph endToEndGraph = null;
 
         try {
-            endToEndGraph = (Graph)
-                    g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                            union(
-                                    until(inE(edgeLabel).count().is(0)).
-                                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().simplePath()),
-                                    until(outE(edgeLabel).count().is(0)).
-                                            repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().simplePath())
-                            ).cap("subGraph").next();
+            Set<Object> edgeIds = new LinkedHashSet<>();
+            traverseLineage(queriedVertex, edgeLabel, Direction.IN, context, edgeIds, new ArrayList<>());
+            traverseLineage(queriedVertex, edgeLabel, Direction.OUT, context, edgeIds, new ArrayList<>());
+            endToEndGraph = getSubGraph(queriedVertex, edgeLabel, edgeIds);
 
             commitTransaction();
 
@@ -259,8 +286,29 @@ public class LineageGraphConnectorHelper {
      * @return a subgraph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> sourceAndDestination(String guid, boolean includeProcesses) {
-        Optional<LineageVerticesAndEdges> ultimateSourceResponse = ultimateSource(guid, includeProcesses);
-        Optional<LineageVerticesAndEdges> ultimateDestinationResponse = ultimateDestination(guid, includeProcesses);
+        return sourceAndDestination(guid, includeProcesses, LineageQueryContext.unbounded());
+    }
+
+    /**
+     * Returns a subgraph containing all root and leaf nodes of the full graph that are connected with the queried node,
+     * following edges only within the limits of the query context.
+     *
+     * @param guid             The guid of the node of which the lineage is queried of. This can be a column or a table.
+     * @param includeProcesses Will filter out all processes and subprocesses from the response if false.
+     * @param context          The limits of the query, updated with the vertices visited and the truncation.
+     *
+     * @return a subgraph in an Open Lineage specific format
+     */
+    Optional<LineageVerticesAndEdges> sourceAndDestination(String guid, boolean includeProcesses, LineageQueryContext context) {
+        // the sources and the destinations are two separate queries, so each gets the full limits of the query
+        LineageQueryContext sourceContext = context.newTraversalContext();
+        LineageQueryContext destinationContext = context.newTraversalContext();
+
+        Optional<LineageVerticesAndEdges> ultimateSourceResponse = ultimateSource(guid, includeProcesses, sourceContext);
+        Optional<LineageVerticesAndEdges> ultimateDestinationResponse = ultimateDestination(guid, includeProcesses, destinationContext);
+
+        context.add(sourceContext);
+        context.add(destinationContext);
 
         if (ultimateSourceResponse.isPresent() && ultimateDestinationResponse.isPresent()) {
             Set<LineageVertex> sourceAndDestinationVertices = Stream.concat(ultimateSourceResponse.get().getLineageVertices().stream(),
@@ -387,6 +435,77 @@ public class LineageGraphConnectorHelper {
         }
     }
 
+    /**
+     * Follows the edges with the given label and direction from the queried vertex, breadth first, collecting the
+     * ids of the edges and the vertices that have no further edges. Vertices beyond the maximum depth, beyond the
+     * maximum number of vertices or reached after the timeout are not expanded and are recorded as continuations
+     * in the query context.
+     *
+     * @param queriedVertex    the vertex to start from
+     * @param edgeLabel        the label of the edges to follow
+     * @param direction        IN to follow the edges towards the sources, OUT towards the destinations
+     * @param context          the limits of the query
+     * @param edgeIds          collects the ids of the edges that were followed
+     * @param ultimateVertices collects the vertices with no further edges
+     */
+    private void traverseLineage(Vertex queriedVertex, String edgeLabel, Direction direction, LineageQueryContext context,
+                                 Set<Object> edgeIds, List<Vertex> ultimateVertices) {
+        Map<Object, Integer> depths = new HashMap<>();
+        Deque<Vertex> queue = new ArrayDeque<>();
+
+        depths.put(queriedVertex.id(), 0);
+        queue.add(queriedVertex);
+        context.visit(getNodeID(queriedVertex));
+
+        while (!queue.isEmpty()) {
+            Vertex vertex = queue.remove();
+            if (context.isTimedOut()) {
+                context.addContinuation(getNodeID(vertex));
+                queue.forEach(remaining -> context.addContinuation(getNodeID(remaining)));
+                return;
+            }
+
+            List<Edge> edges = g.V(vertex.id()).toE(direction, edgeLabel).toList();
+            if (edges.isEmpty()) {
+                ultimateVertices.add(vertex);
+                continue;
+            }
+
+            int depth = depths.get(vertex.id());
+            if (depth >= context.getMaxDepth()) {
+                context.addContinuation(getNodeID(vertex));
+                continue;
+            }
+
+            for (Edge edge : edges) {
+                Vertex nextVertex = direction == Direction.IN ? edge.outVertex() : edge.inVertex();
+                if (!depths.containsKey(nextVertex.id())) {
+                    if (!context.visit(getNodeID(nextVertex))) {
+                        context.addContinuation(getNodeID(vertex));
+                        break;
+                    }
+                    depths.put(nextVertex.id(), depth + 1);
+                    queue.add(nextVertex);
+                }
+                edgeIds.add(edge.id());
+            }
+        }
+    }
+
+    /**
+     * Returns the subgraph made of the given edges and their vertices.
+     *
+     * @param queriedVertex the vertex the edges were collected from
+     * @param edgeLabel     the label of the edges
+     * @param edgeIds       the ids of the edges
+     *
+     * @return the subgraph, empty if there are no edges
+     */
+    private Graph getSubGraph(Vertex queriedVertex, String edgeLabel, Set<Object> edgeIds) {
+        GraphTraversal<?, Edge> edges = edgeIds.isEmpty() ? g.V(queriedVertex.id()).bothE(edgeLabel).limit(0) : g.E(edgeIds.toArray());
+        return (Graph) edges.subgraph(SUB_GRAPH).cap(SUB_GRAPH).next();
+    }
+
     /**
      * Remove all nodes which displayname does not include the provided String. Any connected edges will also be removed.
      *
@@ -11,6 +11,11 @@ public class LineageGraphConnectorProvider extends LineageGraphProviderBase {
     static final String CONNECTOR_TYPE_NAME = "Janus Graph Connector";
     static final String CONNECTOR_TYPE_DESCRIPTION = "Connector supports storing and retrieving entities for lineage from Janus Graph.";
 
+    public static final String MAX_HOPS_TO_PROCESS = "maxHopsToProcess";
+    public static final String LINEAGE_QUERY_MAX_DEPTH = "lineageQueryMaxDepth";
+    public static final String LINEAGE_QUERY_MAX_VERTICES = "lineageQueryMaxVertices";
+    public static final String LINEAGE_QUERY_TIMEOUT = "lineageQueryTimeout";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * registry store implementation.
@@ -68,6 +68,10 @@ public class LineageGraphRemoteConnectorProvider extends LineageGraphProviderBas
         recognizedPropertyNames.add(CLUSTER_TRUST_STORE);
         recognizedPropertyNames.add(CLUSTER_TRUST_STORE_PASSWORD);
         recognizedPropertyNames.add(SCHEMA_MANAGEMENT_ENABLE);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.MAX_HOPS_TO_PROCESS);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_DEPTH);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_VERTICES);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_TIMEOUT);
 
 
         connectorType.setRecognizedConfigurationProperties(recognizedPropertyNames);
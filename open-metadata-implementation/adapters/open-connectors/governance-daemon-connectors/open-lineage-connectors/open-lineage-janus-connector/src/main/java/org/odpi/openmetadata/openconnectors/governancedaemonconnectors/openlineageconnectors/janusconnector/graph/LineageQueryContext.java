@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Holds the limits of a single lineage query and records how the traversals of the query were cut short.
+ * It also collects the guids of all the vertices visited so that a cached result can be invalidated when
+ * any of them changes.
+ */
+class LineageQueryContext {
+
+    private final int maxDepth;
+    private final int maxVertices;
+    private final long deadline;
+
+    private int vertexCount = 0;
+    private boolean truncated = false;
+    private boolean timedOut = false;
+    private final Set<String> continuationNodeIDs = new HashSet<>();
+    private final Set<String> visitedNodeIDs = new HashSet<>();
+
+    /**
+     * @param maxDepth    maximum number of edges followed from the queried vertex, 0 for no limit
+     * @param maxVertices maximum number of vertices visited by the query, 0 for no limit
+     * @param timeout     time in milliseconds after which no more edges are followed, 0 for no timeout
+     */
+    LineageQueryContext(int maxDepth, int maxVertices, long timeout) {
+        this.maxDepth = maxDepth > 0 ? maxDepth : Integer.MAX_VALUE;
+        this.maxVertices = maxVertices > 0 ? maxVertices : Integer.MAX_VALUE;
+        this.deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param queryContext the context whose limits and deadline are copied
+     */
+    private LineageQueryContext(LineageQueryContext queryContext) {
+        this.maxDepth = queryContext.maxDepth;
+        this.maxVertices = queryContext.maxVertices;
+        this.deadline = queryContext.deadline;
+    }
+
+    /**
+     * Returns a context without limits.
+     *
+     * @return the context
+     */
+    static LineageQueryContext unbounded() {
+        return new LineageQueryContext(0, 0, 0);
+    }
+
+    /**
+     * Returns a context with the same limits and deadline for a traversal that is independent of the others in the
+     * query, such as the traversal towards the destinations when the sources are also queried. Its results are
+     * added back to this context with {@link #add(LineageQueryContext)}.
+     *
+     * @return the context
+     */
+    LineageQueryContext newTraversalContext() {
+        return new LineageQueryContext(this);
+    }
+
+    /**
+     * Adds the visited vertices, continuations and truncation of a traversal context to this context.
+     *
+     * @param traversalContext the context of a traversal of this query
+     */
+    void add(LineageQueryContext traversalContext) {
+        truncated = truncated || traversalContext.truncated;
+        timedOut = timedOut || traversalContext.timedOut;
+        continuationNodeIDs.addAll(traversalContext.continuationNodeIDs);
+        visitedNodeIDs.addAll(traversalContext.visitedNodeIDs);
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Records a newly visited vertex if the vertex limit allows it. A vertex already visited by the query, like the
+     * queried vertex when the lineage is followed in both directions, is not counted again.
+     *
+     * @param nodeID the node id of the vertex
+     *
+     * @return false if the vertex limit has been reached
+     */
+    boolean visit(String nodeID) {
+        if (visitedNodeIDs.contains(nodeID)) {
+            return true;
+        }
+        if (vertexCount >= maxVertices) {
+            return false;
+        }
+        vertexCount++;
+        visitedNodeIDs.add(nodeID);
+        return true;
+    }
+
+    /**
+     * Returns true once the timeout has passed.
+     *
+     * @return whether the query has timed out
+     */
+    boolean isTimedOut() {
+        if (!timedOut && System.currentTimeMillis() >= deadline) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    /**
+     * Records a vertex whose edges were not followed because a limit was reached.
+     *
+     * @param nodeID the node id of the vertex
+     */
+    void addContinuation(String nodeID) {
+        truncated = true;
+        continuationNodeIDs.add(nodeID);
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    Set<String> getContinuationNodeIDs() {
+        return continuationNodeIDs;
+    }
+
+    Set<String> getVisitedNodeIDs() {
+        return visitedNodeIDs;
+    }
+}
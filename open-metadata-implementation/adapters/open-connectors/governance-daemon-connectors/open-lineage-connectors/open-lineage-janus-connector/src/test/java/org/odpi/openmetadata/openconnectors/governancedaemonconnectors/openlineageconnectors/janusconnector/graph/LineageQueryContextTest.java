@@ -0,0 +1,121 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.EDGE_LABEL_COLUMN_DATA_FLOW;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.NODE_LABEL_SUB_PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_GUID;
+
+/**
+ * Tests the limits applied to the lineage traversals through the query context, on the column lineage
+ * c1 - p1 - c2 - p2 - c3 - p3 - c4.
+ */
+public class LineageQueryContextTest {
+
+    private static LineageGraphConnectorHelper helper;
+
+    @BeforeAll
+    public static void beforeClass() {
+        GraphTraversalSource g = JanusGraphFactory.build().set("storage.backend", "inmemory").set("graph.timestamps", "NANO").open().traversal();
+
+        Vertex previous = getVertex(g, TABULAR_COLUMN, "c1");
+        for (int i = 1; i <= 3; i++) {
+            Vertex process = getVertex(g, NODE_LABEL_SUB_PROCESS, "p" + i);
+            Vertex column = getVertex(g, TABULAR_COLUMN, "c" + (i + 1));
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(previous).to(process).next();
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(process).to(column).next();
+            previous = column;
+        }
+        g.tx().commit();
+
+        helper = new LineageGraphConnectorHelper(g, true);
+    }
+
+    @Test
+    public void noLimitsByDefault() {
+        LineageQueryContext context = new LineageQueryContext(0, 0, 0);
+
+        LineageVerticesAndEdges lineage = helper.ultimateSource("c4", true, context).get();
+
+        assertFalse(context.isTruncated());
+        assertTrue(getNodeIDs(lineage).contains("c1"));
+    }
+
+    @Test
+    public void maxDepthTruncatesLineage() {
+        LineageQueryContext context = new LineageQueryContext(2, 0, 0);
+
+        LineageVerticesAndEdges lineage = helper.ultimateSource("c4", true, context).get();
+
+        assertTrue(context.isTruncated());
+        assertEquals(Collections.singleton("c3"), context.getContinuationNodeIDs());
+        assertFalse(getNodeIDs(lineage).contains("c1"));
+    }
+
+    @Test
+    public void maxVerticesTruncatesLineage() {
+        LineageQueryContext context = new LineageQueryContext(0, 3, 0);
+
+        helper.ultimateDestination("c1", true, context);
+
+        assertTrue(context.isTruncated());
+        assertEquals(Collections.singleton("c2"), context.getContinuationNodeIDs());
+    }
+
+    @Test
+    public void sourceAndDestinationHaveTheirOwnLimits() {
+        // three vertices cover c2 - p1 - c1 and c2 - p2 - c3 but not both together
+        LineageQueryContext context = new LineageQueryContext(0, 3, 0);
+
+        LineageVerticesAndEdges lineage = helper.sourceAndDestination("c2", true, context).get();
+
+        assertTrue(context.isTruncated());
+        assertEquals(Collections.singleton("c3"), context.getContinuationNodeIDs());
+        assertTrue(getNodeIDs(lineage).contains("c1"));
+        assertTrue(context.getVisitedNodeIDs().contains("p2"));
+    }
+
+    @Test
+    public void queriedVertexCountedOnce() {
+        // c2, p1, c1, p2, c3, p3 and c4
+        LineageQueryContext context = new LineageQueryContext(0, 7, 0);
+
+        helper.endToEnd("c2", true, context);
+
+        assertFalse(context.isTruncated());
+    }
+
+    private Set<String> getNodeIDs(LineageVerticesAndEdges lineage) {
+        return lineage.getLineageVertices().stream().map(LineageVertex::getNodeID).collect(Collectors.toSet());
+    }
+
+    private static Vertex getVertex(GraphTraversalSource g, String nodeType, String guid) {
+        if (NODE_LABEL_SUB_PROCESS.equals(nodeType)) {
+            return g.addV(nodeType).property(PROPERTY_KEY_ENTITY_GUID, guid)
+                    .property(PROPERTY_KEY_PROCESS_GUID, guid)
+                    .property(PROPERTY_KEY_ENTITY_NODE_ID, guid)
+                    .next();
+        }
+        return g.addV(nodeType).property(PROPERTY_KEY_ENTITY_GUID, guid)
+                .property(PROPERTY_KEY_ENTITY_NODE_ID, guid)
+                .next();
+    }
+}
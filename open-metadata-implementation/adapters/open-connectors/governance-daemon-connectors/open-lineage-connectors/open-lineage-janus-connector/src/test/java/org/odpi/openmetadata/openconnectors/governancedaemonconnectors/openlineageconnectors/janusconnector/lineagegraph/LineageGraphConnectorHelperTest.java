@@ -40,7 +40,7 @@ public class LineageGraphConnectorHelperTest {
 
     @BeforeAll
     public static void beforeClass() {
-        Graph graph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        Graph graph = JanusGraphFactory.build().set("storage.backend", "inmemory").set("graph.timestamps", "NANO").open();
         GraphTraversalSource g = graph.traversal();
         mainGraphConnector = new LineageGraphConnectorHelper(g, true);
 
@@ -124,7 +124,7 @@ public class LineageGraphConnectorHelperTest {
 
     @Test
     public void verticalLineage() {
-        JanusGraph cyclicGlossaryGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        JanusGraph cyclicGlossaryGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").set("graph.timestamps", "NANO").open();
         GraphTraversalSource g = cyclicGlossaryGraph.traversal();
         HashSet<String> expectedNodeIDs = new HashSet<>();
         final String queriedNodeID = "g2";
@@ -145,7 +145,7 @@ public class LineageGraphConnectorHelperTest {
     @Test
     public void problematicCyclicGraphSourceDestination() {
         //A triangle of three nodes
-        JanusGraph problematicCyclicGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        JanusGraph problematicCyclicGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").set("graph.timestamps", "NANO").open();
         GraphTraversalSource g = problematicCyclicGraph.traversal();
         Vertex c1 = g.addV(TABULAR_COLUMN).property(PROPERTY_KEY_ENTITY_NODE_ID, "c1").next();
         Vertex c2 = g.addV(TABULAR_COLUMN).property(PROPERTY_KEY_ENTITY_NODE_ID, "c2").next();
@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.LINEAGE_MAPPING;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+
+/**
+ * Tests that the lineage graph job maps every process on its first run and afterwards only the processes
+ * near the vertices that changed.
+ */
+public class LineageGraphJobTest {
+
+    private LineageGraphConnector connector;
+
+    @AfterEach
+    public void closeGraph() {
+        if (connector != null) {
+            connector.disconnect();
+        }
+    }
+
+    @Test
+    public void firstRunMapsAllProcesses() throws Exception {
+        connector = getConnector(null);
+        addProcesses();
+
+        connector.performLineageGraphJob();
+        assertEquals(2, connector.getLastJobProcessCount());
+
+        connector.performLineageGraphJob();
+        assertEquals(0, connector.getLastJobProcessCount());
+    }
+
+    @Test
+    public void laterRunsMapChangedProcesses() throws Exception {
+        connector = getConnector(null);
+        addProcesses();
+        connector.performLineageGraphJob();
+
+        // column1 is three hops from process1 and has no path to process2
+        store(LINEAGE_MAPPING, getEntity("column1", "TabularColumn"), getEntity("column3", "TabularColumn"));
+
+        connector.performLineageGraphJob();
+        assertEquals(1, connector.getLastJobProcessCount());
+    }
+
+    @Test
+    public void maxHopsToProcessIsConfigurable() throws Exception {
+        connector = getConnector("2");
+        addProcesses();
+        connector.performLineageGraphJob();
+
+        store(LINEAGE_MAPPING, getEntity("column1", "TabularColumn"), getEntity("column3", "TabularColumn"));
+
+        connector.performLineageGraphJob();
+        assertEquals(0, connector.getLastJobProcessCount());
+
+        store(LINEAGE_MAPPING, getEntity("schema1", "SchemaType"), getEntity("column4", "TabularColumn"));
+
+        connector.performLineageGraphJob();
+        assertEquals(1, connector.getLastJobProcessCount());
+    }
+
+    /**
+     * Adds two processes: process1 - port1 - schema1 - column1 and process2 - port2 - schema2 - column2.
+     */
+    private void addProcesses() {
+        for (int i = 1; i <= 2; i++) {
+            store(PROCESS_PORT, getEntity("process" + i, PROCESS), getEntity("port" + i, "PortImplementation"));
+            store(PORT_SCHEMA, getEntity("port" + i, "PortImplementation"), getEntity("schema" + i, "SchemaType"));
+            store(ATTRIBUTE_FOR_SCHEMA, getEntity("schema" + i, "SchemaType"), getEntity("column" + i, "TabularColumn"));
+        }
+    }
+
+    private void store(String relationshipType, LineageEntity from, LineageEntity to) {
+        Set<GraphContext> graphContext = new HashSet<>();
+        graphContext.add(new GraphContext(relationshipType, from.getGuid() + "-" + to.getGuid(), from, to));
+        connector.storeToGraph(graphContext);
+    }
+
+    private LineageEntity getEntity(String guid, String typeDefName) {
+        LineageEntity entity = new LineageEntity();
+        entity.setGuid(guid);
+        entity.setTypeDefName(typeDefName);
+        entity.setVersion(1L);
+        entity.setProperties(Collections.emptyMap());
+        return entity;
+    }
+
+    /**
+     * Returns a connector to a new graph in a temporary directory.
+     *
+     * @param maxHopsToProcess value of the maxHopsToProcess configuration property, or null for the default
+     */
+    private LineageGraphConnector getConnector(String maxHopsToProcess) throws Exception {
+        File graphDirectory = Files.createTempDirectory("lineageGraphJobTest").toFile();
+        graphDirectory.deleteOnExit();
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("gremlin.graph", "org.janusgraph.core.JanusGraphFactory");
+        configurationProperties.put("storage.backend", "berkeleyje");
+        configurationProperties.put("storage.directory", new File(graphDirectory, "berkeley").getAbsolutePath());
+        configurationProperties.put("index.search.backend", "lucene");
+        configurationProperties.put("index.search.directory", new File(graphDirectory, "searchindex").getAbsolutePath());
+        if (maxHopsToProcess != null) {
+            configurationProperties.put(LineageGraphConnectorProvider.MAX_HOPS_TO_PROCESS, maxHopsToProcess);
+        }
+
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setConnectorProviderClassName(LineageGraphConnectorProvider.class.getName());
+
+        Connection connection = new Connection();
+        connection.setConnectorType(connectorType);
+        connection.setConfigurationProperties(configurationProperties);
+
+        LineageGraphConnector lineageGraphConnector = (LineageGraphConnector) new LineageGraphConnectorProvider().getConnector(connection);
+        lineageGraphConnector.initializeGraphDB(new AuditLog(new AuditLogDestination(null) {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord) {
+            }
+        }, 0, "LineageGraphJobTest", "Tests the lineage graph job", null));
+
+        return lineageGraphConnector;
+    }
+}
@@ -0,0 +1,49 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+/**
+ * AuditLogRecordLocation identifies where an audit log record is stored: its segment, its position in the
+ * segment file and its length in bytes.
+ */
+class AuditLogRecordLocation
+{
+    private final AuditLogSegment segment;
+    private final long            offset;
+    private final int             length;
+
+
+    /**
+     * Constructor
+     *
+     * @param segment segment holding the record
+     * @param offset position of the record in the segment file
+     * @param length number of bytes of the record
+     */
+    AuditLogRecordLocation(AuditLogSegment segment,
+                           long            offset,
+                           int             length)
+    {
+        this.segment = segment;
+        this.offset  = offset;
+        this.length  = length;
+    }
+
+
+    AuditLogSegment getSegment()
+    {
+        return segment;
+    }
+
+
+    long getOffset()
+    {
+        return offset;
+    }
+
+
+    int getLength()
+    {
+        return length;
+    }
+}
@@ -0,0 +1,529 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * AuditLogSegment is the in-memory index of one segment file of the audit log.  The segment file holds one
+ * JSON audit log record per line.  For each record the index keeps its position in the file, its time stamp,
+ * its severity and reporting component (as codes into small per-segment dictionaries) and its GUID packed
+ * into two longs.  The index is held in primitive arrays so that millions of records take little memory.
+ *
+ * Once the segment is sealed, the index is written next to the segment file so it does not need
+ * to be rebuilt from the records when the server restarts.
+ */
+class AuditLogSegment
+{
+    private static final int  INDEX_FORMAT_VERSION = 2;
+    private static final int  INITIAL_CAPACITY     = 1024;
+
+    private final long   segmentId;
+    private final File   segmentFile;
+    private final File   indexFile;
+
+    private int          recordCount = 0;
+    private long         size        = 0L;
+    private long         minTimeStamp = Long.MAX_VALUE;
+    private long         maxTimeStamp = Long.MIN_VALUE;
+    private boolean      sealed       = false;
+
+    private long[]       timeStamps = new long[INITIAL_CAPACITY];
+    private long[]       offsets    = new long[INITIAL_CAPACITY];
+    private int[]        lengths    = new int[INITIAL_CAPACITY];
+    private short[]      severities = new short[INITIAL_CAPACITY];
+    private short[]      components = new short[INITIAL_CAPACITY];
+    private long[]       guidHighs  = new long[INITIAL_CAPACITY];
+    private long[]       guidLows   = new long[INITIAL_CAPACITY];
+    private int[]        guidOrder  = null;
+
+    private final List<String>        dictionary      = new ArrayList<>();
+    private final Map<String, Short>  dictionaryCodes = new HashMap<>();
+
+
+    /**
+     * Create the index of a segment.
+     *
+     * @param segmentId sequence number of the segment
+     * @param segmentFile file holding the records
+     * @param indexFile file holding the index once the segment is sealed
+     */
+    AuditLogSegment(long segmentId,
+                    File segmentFile,
+                    File indexFile)
+    {
+        this.segmentId   = segmentId;
+        this.segmentFile = segmentFile;
+        this.indexFile   = indexFile;
+    }
+
+
+    long getSegmentId()
+    {
+        return segmentId;
+    }
+
+
+    File getSegmentFile()
+    {
+        return segmentFile;
+    }
+
+
+    File getIndexFile()
+    {
+        return indexFile;
+    }
+
+
+    int getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Return the number of bytes of the segment file covered by the index.
+     *
+     * @return size in bytes
+     */
+    long getSize()
+    {
+        return size;
+    }
+
+
+    long getMaxTimeStamp()
+    {
+        return maxTimeStamp;
+    }
+
+
+    boolean isSealed()
+    {
+        return sealed;
+    }
+
+
+    /**
+     * Return whether the segment may hold records in the time range.
+     *
+     * @param startTime start of the range (inclusive)
+     * @param endTime end of the range (inclusive)
+     * @return boolean flag
+     */
+    boolean overlaps(long startTime,
+                     long endTime)
+    {
+        return (recordCount > 0) && (minTimeStamp <= endTime) && (maxTimeStamp >= startTime);
+    }
+
+
+    /**
+     * Add a record written at the end of the segment file.
+     *
+     * @param timeStamp time stamp of the record
+     * @param guid unique identifier of the record
+     * @param severity severity of the record
+     * @param component name of the reporting component
+     * @param offset position of the record in the segment file
+     * @param length number of bytes of the record, including the line separator
+     */
+    void add(long   timeStamp,
+             String guid,
+             String severity,
+             String component,
+             long   offset,
+             int    length)
+    {
+        if (recordCount == timeStamps.length)
+        {
+            int capacity = recordCount * 2;
+
+            timeStamps = Arrays.copyOf(timeStamps, capacity);
+            offsets    = Arrays.copyOf(offsets, capacity);
+            lengths    = Arrays.copyOf(lengths, capacity);
+            severities = Arrays.copyOf(severities, capacity);
+            components = Arrays.copyOf(components, capacity);
+            guidHighs  = Arrays.copyOf(guidHighs, capacity);
+            guidLows   = Arrays.copyOf(guidLows, capacity);
+        }
+
+        timeStamps[recordCount] = timeStamp;
+        offsets[recordCount]    = offset;
+        lengths[recordCount]    = length;
+        severities[recordCount] = getCode(severity);
+        components[recordCount] = getCode(component);
+        guidHighs[recordCount]  = getGUIDHigh(guid);
+        guidLows[recordCount]   = getGUIDLow(guid);
+
+        recordCount ++;
+        size = offset + length;
+        minTimeStamp = Math.min(minTimeStamp, timeStamp);
+        maxTimeStamp = Math.max(maxTimeStamp, timeStamp);
+    }
+
+
+    /**
+     * Return the positions of the records that match a query, in the order they were written.
+     *
+     * @param startTime start of the time range (inclusive)
+     * @param endTime end of the time range (inclusive)
+     * @param severity severity of the records or null for any severity
+     * @param component reporting component of the records or null for any component
+     * @param skip number of matching records to skip
+     * @param maximum maximum number of positions to return
+     * @param results list the matching positions are added to
+     * @return number of matching records skipped
+     */
+    int find(long                    startTime,
+             long                    endTime,
+             String                  severity,
+             String                  component,
+             int                     skip,
+             int                     maximum,
+             List<AuditLogRecordLocation> results)
+    {
+        if (! overlaps(startTime, endTime))
+        {
+            return 0;
+        }
+
+        int severityCode  = -1;
+        int componentCode = -1;
+
+        if (severity != null)
+        {
+            Short code = dictionaryCodes.get(severity);
+
+            if (code == null)
+            {
+                return 0;
+            }
+            severityCode = code;
+        }
+
+        if (component != null)
+        {
+            Short code = dictionaryCodes.get(component);
+
+            if (code == null)
+            {
+                return 0;
+            }
+            componentCode = code;
+        }
+
+        int skipped = 0;
+
+        for (int i = 0; (i < recordCount) && (results.size() < maximum); i++)
+        {
+            if ((timeStamps[i] >= startTime) && (timeStamps[i] <= endTime) &&
+                ((severityCode == -1) || (severities[i] == severityCode)) &&
+                ((componentCode == -1) || (components[i] == componentCode)))
+            {
+                if (skipped < skip)
+                {
+                    skipped ++;
+                }
+                else
+                {
+                    results.add(new AuditLogRecordLocation(this, offsets[i], lengths[i]));
+                }
+            }
+        }
+
+        return skipped;
+    }
+
+
+    /**
+     * Add the positions of the records that may have the requested GUID.  GUIDs that are not in the canonical
+     * UUID form can share their packed form with other GUIDs, so every record with the same packed form is
+     * returned and the caller must check the GUID of the records it reads.
+     *
+     * @param guid unique identifier of the record
+     * @param results list the positions are added to
+     */
+    void find(String                       guid,
+              List<AuditLogRecordLocation> results)
+    {
+        long high = getGUIDHigh(guid);
+        long low  = getGUIDLow(guid);
+
+        if (guidOrder != null)
+        {
+            int first = 0;
+            int last  = guidOrder.length;
+
+            while (first < last)
+            {
+                int middle = (first + last) >>> 1;
+
+                if (compareGUID(guidOrder[middle], high, low) < 0)
+                {
+                    first = middle + 1;
+                }
+                else
+                {
+                    last = middle;
+                }
+            }
+
+            for (int i = first; (i < guidOrder.length) && (compareGUID(guidOrder[i], high, low) == 0); i++)
+            {
+                results.add(new AuditLogRecordLocation(this, offsets[guidOrder[i]], lengths[guidOrder[i]]));
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            if ((guidHighs[i] == high) && (guidLows[i] == low))
+            {
+                results.add(new AuditLogRecordLocation(this, offsets[i], lengths[i]));
+            }
+        }
+    }
+
+
+    /**
+     * The segment is full.  Sort the GUIDs for binary search and write the index file.  The index covers the
+     * whole segment file, including any unreadable records that are not indexed.
+     *
+     * @throws IOException the index file could not be written
+     */
+    void seal() throws IOException
+    {
+        size = Math.max(size, segmentFile.length());
+
+        Integer[] order = new Integer[recordCount];
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> compareGUID(first, guidHighs[second], guidLows[second]));
+
+        guidOrder = new int[recordCount];
+        for (int i = 0; i < recordCount; i++)
+        {
+            guidOrder[i] = order[i];
+        }
+
+        sealed = true;
+        writeIndex();
+    }
+
+
+    /**
+     * Load the index written when the segment was sealed.  The index is only used if it covers the whole segment file.
+     *
+     * @return true if the index was loaded
+     */
+    boolean loadIndex()
+    {
+        if (! indexFile.exists())
+        {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+        {
+            if (input.readInt() != INDEX_FORMAT_VERSION)
+            {
+                return false;
+            }
+
+            long indexedSize = input.readLong();
+
+            if (indexedSize != segmentFile.length())
+            {
+                return false;
+            }
+
+            int dictionarySize = input.readInt();
+
+            for (int i = 0; i < dictionarySize; i++)
+            {
+                getCode(input.readUTF());
+            }
+
+            int count = input.readInt();
+
+            timeStamps = new long[count];
+            offsets    = new long[count];
+            lengths    = new int[count];
+            severities = new short[count];
+            components = new short[count];
+            guidHighs  = new long[count];
+            guidLows   = new long[count];
+            guidOrder  = new int[count];
+
+            for (int i = 0; i < count; i++)
+            {
+                timeStamps[i] = input.readLong();
+                offsets[i]    = input.readLong();
+                lengths[i]    = input.readInt();
+                severities[i] = input.readShort();
+                components[i] = input.readShort();
+                guidHighs[i]  = input.readLong();
+                guidLows[i]   = input.readLong();
+                minTimeStamp  = Math.min(minTimeStamp, timeStamps[i]);
+                maxTimeStamp  = Math.max(maxTimeStamp, timeStamps[i]);
+            }
+
+            for (int i = 0; i < count; i++)
+            {
+                guidOrder[i] = input.readInt();
+            }
+
+            recordCount = count;
+            size        = indexedSize;
+            sealed      = true;
+
+            return true;
+        }
+        catch (IOException | RuntimeException error)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Write the index file, replacing any previous version.
+     *
+     * @throws IOException the index file could not be written
+     */
+    private void writeIndex() throws IOException
+    {
+        File temporaryFile = new File(indexFile.getPath() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+        {
+            output.writeInt(INDEX_FORMAT_VERSION);
+            output.writeLong(size);
+            output.writeInt(dictionary.size());
+            for (String value : dictionary)
+            {
+                output.writeUTF(value);
+            }
+
+            output.writeInt(recordCount);
+            for (int i = 0; i < recordCount; i++)
+            {
+                output.writeLong(timeStamps[i]);
+                output.writeLong(offsets[i]);
+                output.writeInt(lengths[i]);
+                output.writeShort(severities[i]);
+                output.writeShort(components[i]);
+                output.writeLong(guidHighs[i]);
+                output.writeLong(guidLows[i]);
+            }
+
+            for (int i = 0; i < recordCount; i++)
+            {
+                output.writeInt(guidOrder[i]);
+            }
+        }
+
+        Files.move(temporaryFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    /**
+     * Return the dictionary code of a severity or component name.
+     *
+     * @param value name
+     * @return code
+     */
+    private short getCode(String value)
+    {
+        String key  = (value == null) ? "" : value;
+        Short  code = dictionaryCodes.get(key);
+
+        if (code == null)
+        {
+            code = (short) dictionary.size();
+            dictionary.add(key);
+            dictionaryCodes.put(key, code);
+        }
+
+        return code;
+    }
+
+
+    private int compareGUID(int  index,
+                            long high,
+                            long low)
+    {
+        int comparison = Long.compare(guidHighs[index], high);
+
+        return (comparison != 0) ? comparison : Long.compare(guidLows[index], low);
+    }
+
+
+    /**
+     * GUIDs are normally UUIDs and are packed into two longs.  Any other GUID is reduced to two hash codes, so
+     * different GUIDs may have the same packed form.
+     *
+     * @param guid unique identifier
+     * @return most significant bits
+     */
+    private static long getGUIDHigh(String guid)
+    {
+        try
+        {
+            return UUID.fromString(guid).getMostSignificantBits();
+        }
+        catch (IllegalArgumentException | NullPointerException error)
+        {
+            return (guid == null) ? 0L : guid.hashCode();
+        }
+    }
+
+
+    private static long getGUIDLow(String guid)
+    {
+        try
+        {
+            return UUID.fromString(guid).getLeastSignificantBits();
+        }
+        catch (IllegalArgumentException | NullPointerException error)
+        {
+            if (guid == null)
+            {
+                return 0L;
+            }
+
+            /*
+             * 64-bit FNV-1a hash of the characters.
+             */
+            long hash = 0xcbf29ce484222325L;
+
+            for (int i = 0; i < guid.length(); i++)
+            {
+                hash = (hash ^ guid.charAt(i)) * 0x100000001b3L;
+            }
+
+            return hash;
+        }
+    }
+}
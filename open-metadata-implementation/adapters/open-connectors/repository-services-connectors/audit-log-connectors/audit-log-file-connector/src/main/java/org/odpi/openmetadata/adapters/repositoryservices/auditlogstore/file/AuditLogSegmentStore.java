@@ -0,0 +1,785 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AuditLogSegmentStore manages the files of the file based audit log store.  The audit log records are appended,
+ * one JSON record per line, to the active segment file.  When the active segment reaches its maximum size, it is
+ * sealed and a new segment is started.  Old segments are deleted once the audit log exceeds its maximum size or
+ * once all of their records are older than the retention period.
+ *
+ * The records are written by a background thread.  It takes all of the records waiting in its queue, writes them
+ * and then forces them to disk once for the whole batch.  The records are added to the index of their segment
+ * after they are forced to disk, so queries only return records that are stored.  If a batch can not be written,
+ * the part of the batch that was not forced to disk is removed from the segment file.
+ */
+class AuditLogSegmentStore
+{
+    private static final Logger log = LoggerFactory.getLogger(AuditLogSegmentStore.class);
+
+    private static final String  segmentFilePrefix    = "audit-log-";
+    private static final String  segmentFileExtension = ".seg";
+    private static final String  indexFileExtension   = ".idx";
+    private static final Pattern segmentFilePattern   = Pattern.compile("audit-log-(\\d+)\\.seg");
+
+    private static final int     queueCapacity = 10000;
+    private static final int     maxBatchSize  = 1000;
+
+    private final File         directory;
+    private final long         segmentSize;
+    private final long         maxTotalSize;
+    private final long         retentionPeriod;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<OMRSAuditLogRecord> writeQueue = new LinkedBlockingQueue<>(queueCapacity);
+    private final Object                            writeLock  = new Object();
+
+    /*
+     * Records are only queued while the writer thread is running.  The read lock is held while a record is
+     * queued and the write lock while the writer thread is told to stop, so no record is queued after the
+     * writer thread has emptied the queue.
+     */
+    private final ReadWriteLock                     stateLock  = new ReentrantReadWriteLock();
+
+    /*
+     * The list of segments and their indexes are guarded by this object's monitor.
+     */
+    private final List<AuditLogSegment> segments = new ArrayList<>();
+
+    private AuditLogSegment  activeSegment = null;
+    private FileChannel      activeChannel = null;
+    private Thread           writerThread  = null;
+    private volatile boolean running       = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param directory directory holding the segment files
+     * @param segmentSize maximum number of bytes of a segment file
+     * @param maxTotalSize maximum number of bytes of all the segment files, 0 for no limit
+     * @param retentionPeriod number of milliseconds the records are kept, 0 for no limit
+     */
+    AuditLogSegmentStore(File directory,
+                         long segmentSize,
+                         long maxTotalSize,
+                         long retentionPeriod)
+    {
+        this.directory       = directory;
+        this.segmentSize     = segmentSize;
+        this.maxTotalSize    = maxTotalSize;
+        this.retentionPeriod = retentionPeriod;
+
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+
+    /**
+     * Load the indexes of the existing segments, start a new active segment and start the writer thread.
+     *
+     * @param threadName name of the writer thread
+     * @throws IOException the directory or the segment files can not be used
+     */
+    void start(String threadName) throws IOException
+    {
+        FileUtils.forceMkdir(directory);
+
+        List<Long> segmentIds = new ArrayList<>();
+        File[]     files      = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                Matcher matcher = segmentFilePattern.matcher(file.getName());
+
+                if (matcher.matches())
+                {
+                    segmentIds.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+
+        Collections.sort(segmentIds);
+
+        long nextSegmentId = 1L;
+
+        for (long segmentId : segmentIds)
+        {
+            AuditLogSegment segment = newSegment(segmentId);
+
+            if (! segment.loadIndex())
+            {
+                rebuildIndex(segment);
+                segment.seal();
+            }
+
+            nextSegmentId = segmentId + 1;
+
+            if (segment.getRecordCount() == 0)
+            {
+                FileUtils.deleteQuietly(segment.getIndexFile());
+                FileUtils.deleteQuietly(segment.getSegmentFile());
+                continue;
+            }
+
+            synchronized (this)
+            {
+                segments.add(segment);
+            }
+        }
+
+        openActiveSegment(nextSegmentId);
+        applyRetention();
+
+        running = true;
+        writerThread = new Thread(this::writeRecords, threadName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Queue a record for the writer thread.  If the writer thread is not running, the record is written immediately.
+     *
+     * @param logRecord record to store
+     * @throws IOException the record could not be stored
+     */
+    void store(OMRSAuditLogRecord logRecord) throws IOException
+    {
+        stateLock.readLock().lock();
+
+        try
+        {
+            while (running)
+            {
+                if (writeQueue.offer(logRecord, 1, TimeUnit.SECONDS))
+                {
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            stateLock.readLock().unlock();
+        }
+
+        writeBatch(Collections.singletonList(logRecord));
+    }
+
+
+    /**
+     * Stop the writer thread once it has written the queued records, then seal the active segment.
+     *
+     * @throws IOException the last records or the index could not be written
+     */
+    void stop() throws IOException
+    {
+        stateLock.writeLock().lock();
+
+        try
+        {
+            running = false;
+        }
+        finally
+        {
+            stateLock.writeLock().unlock();
+        }
+
+        if (writerThread != null)
+        {
+            try
+            {
+                writerThread.join();
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            writerThread = null;
+        }
+
+        List<OMRSAuditLogRecord> remainingRecords = new ArrayList<>();
+
+        writeQueue.drainTo(remainingRecords);
+        writeBatch(remainingRecords);
+
+        synchronized (writeLock)
+        {
+            if (activeChannel != null)
+            {
+                activeChannel.close();
+                activeChannel = null;
+
+                synchronized (this)
+                {
+                    activeSegment.seal();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the record with the requested unique identifier.
+     *
+     * @param guid unique identifier of the record
+     * @return record or null if it is not stored
+     * @throws IOException the segment file could not be read
+     */
+    OMRSAuditLogRecord getRecord(String guid) throws IOException
+    {
+        List<AuditLogRecordLocation> locations = new ArrayList<>();
+
+        synchronized (this)
+        {
+            for (int i = segments.size() - 1; i >= 0; i--)
+            {
+                segments.get(i).find(guid, locations);
+            }
+        }
+
+        for (OMRSAuditLogRecord logRecord : readRecords(locations))
+        {
+            if (guid.equals(logRecord.getGUID()))
+            {
+                return logRecord;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the records that match a query, in the order they were written.
+     *
+     * @param startTime start of the time range (inclusive)
+     * @param endTime end of the time range (inclusive)
+     * @param severity severity of the records or null for any severity
+     * @param component reporting component of the records or null for any component
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return
+     * @return list of records
+     * @throws IOException the segment files could not be read
+     */
+    List<OMRSAuditLogRecord> getRecords(long   startTime,
+                                        long   endTime,
+                                        String severity,
+                                        String component,
+                                        int    offset,
+                                        int    maximumRecords) throws IOException
+    {
+        List<AuditLogRecordLocation> locations = new ArrayList<>();
+
+        synchronized (this)
+        {
+            int skip = offset;
+
+            for (AuditLogSegment segment : segments)
+            {
+                if (locations.size() >= maximumRecords)
+                {
+                    break;
+                }
+
+                skip = skip - segment.find(startTime, endTime, severity, component, skip, maximumRecords, locations);
+            }
+        }
+
+        return readRecords(locations);
+    }
+
+
+    /**
+     * Write the queued records until the store is stopped.
+     */
+    private void writeRecords()
+    {
+        List<OMRSAuditLogRecord> batch = new ArrayList<>();
+
+        while (running || (! writeQueue.isEmpty()))
+        {
+            try
+            {
+                OMRSAuditLogRecord logRecord = writeQueue.poll(1, TimeUnit.SECONDS);
+
+                if (logRecord != null)
+                {
+                    batch.add(logRecord);
+                    writeQueue.drainTo(batch, maxBatchSize - 1);
+
+                    writeBatch(batch);
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                log.debug("Audit log writer interrupted", interrupted);
+                running = false;
+            }
+            catch (IOException | RuntimeException error)
+            {
+                log.error("Unable to write " + batch.size() + " audit log records", error);
+            }
+
+            batch.clear();
+        }
+    }
+
+
+    /**
+     * Append records to the active segment, force them to disk and add them to the index.
+     *
+     * @param batch records to write
+     * @throws IOException the records could not be written
+     */
+    private void writeBatch(List<OMRSAuditLogRecord> batch) throws IOException
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        synchronized (writeLock)
+        {
+            if (activeChannel == null)
+            {
+                throw new IOException("Audit log store " + directory.getPath() + " is closed");
+            }
+
+            List<PendingRecord> pendingRecords = new ArrayList<>(batch.size());
+            long                position       = activeChannel.size();
+            long                committedSize  = position;
+
+            try
+            {
+                for (OMRSAuditLogRecord logRecord : batch)
+                {
+                    byte[] bytes;
+
+                    try
+                    {
+                        bytes = getLine(logRecord);
+                    }
+                    catch (IOException error)
+                    {
+                        log.error("Unable to convert audit log record " + logRecord.getGUID() + " to JSON", error);
+                        continue;
+                    }
+
+                    if ((position > 0) && (position + bytes.length > segmentSize))
+                    {
+                        commit(pendingRecords);
+                        rollActiveSegment();
+                        position      = 0;
+                        committedSize = 0;
+                    }
+
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+                    while (buffer.hasRemaining())
+                    {
+                        activeChannel.write(buffer);
+                    }
+
+                    pendingRecords.add(new PendingRecord(logRecord, position, bytes.length));
+                    position = position + bytes.length;
+                }
+
+                commit(pendingRecords);
+            }
+            catch (IOException | RuntimeException error)
+            {
+                discardUncommitted(committedSize);
+                throw error;
+            }
+        }
+    }
+
+
+    /**
+     * Remove the records that were not forced to disk and indexed from the end of the active segment, so a later
+     * record is not appended to a partly written one.  If the segment file can not be truncated, a new segment
+     * is started and the unreadable end of the old one is removed when its index is rebuilt.
+     *
+     * @param committedSize size of the active segment file after its last indexed record
+     */
+    private void discardUncommitted(long committedSize)
+    {
+        if (activeChannel == null)
+        {
+            return;
+        }
+
+        try
+        {
+            activeChannel.truncate(committedSize);
+        }
+        catch (IOException truncateError)
+        {
+            log.error("Unable to truncate audit log segment " + activeSegment.getSegmentFile().getPath(), truncateError);
+
+            try
+            {
+                rollActiveSegment();
+            }
+            catch (IOException rollError)
+            {
+                log.error("Unable to start a new audit log segment", rollError);
+            }
+        }
+    }
+
+
+    /**
+     * Force the written records to disk and add them to the index of the active segment.
+     *
+     * @param pendingRecords records written since the last commit
+     * @throws IOException the records could not be forced to disk
+     */
+    private void commit(List<PendingRecord> pendingRecords) throws IOException
+    {
+        if (pendingRecords.isEmpty())
+        {
+            return;
+        }
+
+        activeChannel.force(false);
+
+        synchronized (this)
+        {
+            for (PendingRecord pendingRecord : pendingRecords)
+            {
+                addToIndex(activeSegment, pendingRecord.logRecord, pendingRecord.offset, pendingRecord.length);
+            }
+        }
+
+        pendingRecords.clear();
+    }
+
+
+    /**
+     * Seal the active segment and start the next one.
+     *
+     * @throws IOException the index could not be written or the new segment could not be created
+     */
+    private void rollActiveSegment() throws IOException
+    {
+        activeChannel.close();
+        activeChannel = null;
+
+        synchronized (this)
+        {
+            activeSegment.seal();
+        }
+
+        openActiveSegment(activeSegment.getSegmentId() + 1);
+        applyRetention();
+    }
+
+
+    /**
+     * Create a new empty segment and make it the active segment.
+     *
+     * @param segmentId sequence number of the new segment
+     * @throws IOException the segment file could not be created
+     */
+    private void openActiveSegment(long segmentId) throws IOException
+    {
+        AuditLogSegment segment = newSegment(segmentId);
+
+        activeChannel = FileChannel.open(segment.getSegmentFile().toPath(),
+                                         StandardOpenOption.CREATE,
+                                         StandardOpenOption.WRITE,
+                                         StandardOpenOption.APPEND);
+
+        synchronized (this)
+        {
+            activeSegment = segment;
+            segments.add(segment);
+        }
+    }
+
+
+    /**
+     * Delete the oldest sealed segments while the audit log is too big or their records are too old.
+     */
+    private void applyRetention()
+    {
+        List<AuditLogSegment> expiredSegments = new ArrayList<>();
+
+        synchronized (this)
+        {
+            long totalSize = 0L;
+
+            for (AuditLogSegment segment : segments)
+            {
+                totalSize = totalSize + segment.getSize();
+            }
+
+            long oldestTimeStamp = System.currentTimeMillis() - retentionPeriod;
+
+            while ((segments.size() > 1) && (segments.get(0).isSealed()))
+            {
+                AuditLogSegment oldestSegment = segments.get(0);
+
+                boolean tooBig = (maxTotalSize > 0) && (totalSize > maxTotalSize);
+                boolean tooOld = (retentionPeriod > 0) && (oldestSegment.getMaxTimeStamp() < oldestTimeStamp);
+
+                if ((! tooBig) && (! tooOld))
+                {
+                    break;
+                }
+
+                segments.remove(0);
+                expiredSegments.add(oldestSegment);
+                totalSize = totalSize - oldestSegment.getSize();
+            }
+        }
+
+        for (AuditLogSegment segment : expiredSegments)
+        {
+            log.debug("Deleting audit log segment {}", segment.getSegmentFile().getPath());
+
+            FileUtils.deleteQuietly(segment.getIndexFile());
+            FileUtils.deleteQuietly(segment.getSegmentFile());
+        }
+    }
+
+
+    /**
+     * Rebuild the index of a segment from its records.  Unreadable records are skipped.  A partly written record
+     * at the end of the segment, left by a crash, is removed from the file.
+     *
+     * @param segment segment without a usable index
+     * @throws IOException the segment file could not be read
+     */
+    private void rebuildIndex(AuditLogSegment segment) throws IOException
+    {
+        long                  offset = 0L;
+        ByteArrayOutputStream line   = new ByteArrayOutputStream();
+
+        try (InputStream input = new BufferedInputStream(new FileInputStream(segment.getSegmentFile())))
+        {
+            int nextByte;
+
+            while ((nextByte = input.read()) != -1)
+            {
+                line.write(nextByte);
+
+                if (nextByte == '\n')
+                {
+                    OMRSAuditLogRecord logRecord;
+
+                    try
+                    {
+                        logRecord = objectMapper.readValue(line.toByteArray(), OMRSAuditLogRecord.class);
+                    }
+                    catch (IOException error)
+                    {
+                        log.error("Unreadable audit log record in " + segment.getSegmentFile().getPath() + " at " + offset, error);
+                        logRecord = null;
+                    }
+
+                    if (logRecord != null)
+                    {
+                        addToIndex(segment, logRecord, offset, line.size());
+                    }
+                    offset = offset + line.size();
+                    line.reset();
+                }
+            }
+        }
+
+        if (segment.getSegmentFile().length() > offset)
+        {
+            try (FileChannel channel = FileChannel.open(segment.getSegmentFile().toPath(), StandardOpenOption.WRITE))
+            {
+                channel.truncate(offset);
+            }
+        }
+    }
+
+
+    /**
+     * Read the records at the requested locations.  Records in a segment deleted since the locations were found
+     * are skipped.
+     *
+     * @param locations locations of the records
+     * @return list of records
+     * @throws IOException a segment file could not be read
+     */
+    private List<OMRSAuditLogRecord> readRecords(List<AuditLogRecordLocation> locations) throws IOException
+    {
+        List<OMRSAuditLogRecord> logRecords = new ArrayList<>(locations.size());
+
+        AuditLogSegment segment = null;
+        FileChannel     channel = null;
+
+        try
+        {
+            for (AuditLogRecordLocation location : locations)
+            {
+                if (location.getSegment() != segment)
+                {
+                    if (channel != null)
+                    {
+                        channel.close();
+                        channel = null;
+                    }
+
+                    segment = location.getSegment();
+
+                    try
+                    {
+                        channel = FileChannel.open(segment.getSegmentFile().toPath(), StandardOpenOption.READ);
+                    }
+                    catch (NoSuchFileException deleted)
+                    {
+                        log.debug("Audit log segment {} deleted during query", segment.getSegmentFile().getPath());
+                    }
+                }
+
+                if (channel != null)
+                {
+                    ByteBuffer buffer   = ByteBuffer.allocate(location.getLength());
+                    long       position = location.getOffset();
+
+                    while (buffer.hasRemaining())
+                    {
+                        int count = channel.read(buffer, position);
+
+                        if (count < 0)
+                        {
+                            throw new IOException("Audit log segment " + segment.getSegmentFile().getPath() + " is truncated");
+                        }
+                        position = position + count;
+                    }
+
+                    logRecords.add(objectMapper.readValue(buffer.array(), OMRSAuditLogRecord.class));
+                }
+            }
+        }
+        finally
+        {
+            if (channel != null)
+            {
+                channel.close();
+            }
+        }
+
+        return logRecords;
+    }
+
+
+    /**
+     * Add a record to the index of its segment.
+     *
+     * @param segment segment holding the record
+     * @param logRecord record
+     * @param offset position of the record in the segment file
+     * @param length number of bytes of the record
+     */
+    private void addToIndex(AuditLogSegment    segment,
+                            OMRSAuditLogRecord logRecord,
+                            long               offset,
+                            int                length)
+    {
+        long   timeStamp = (logRecord.getTimeStamp() == null) ? 0L : logRecord.getTimeStamp().getTime();
+        String component = null;
+
+        if (logRecord.getOriginatorComponent() != null)
+        {
+            component = logRecord.getOriginatorComponent().getComponentName();
+        }
+        else if (logRecord.getReportingComponent() != null)
+        {
+            component = logRecord.getReportingComponent().getComponentName();
+        }
+
+        segment.add(timeStamp, logRecord.getGUID(), logRecord.getSeverity(), component, offset, length);
+    }
+
+
+    /**
+     * Return the JSON line of a record.
+     *
+     * @param logRecord record
+     * @return UTF-8 bytes of the record followed by a new line
+     * @throws IOException the record could not be converted to JSON
+     */
+    private byte[] getLine(OMRSAuditLogRecord logRecord) throws IOException
+    {
+        byte[] json = objectMapper.writeValueAsBytes(logRecord);
+        byte[] line = new byte[json.length + 1];
+
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+
+        return line;
+    }
+
+
+    private AuditLogSegment newSegment(long segmentId)
+    {
+        String baseName = segmentFilePrefix + String.format("%010d", segmentId);
+
+        return new AuditLogSegment(segmentId,
+                                   new File(directory, baseName + segmentFileExtension),
+                                   new File(directory, baseName + indexFileExtension));
+    }
+
+
+    /**
+     * A record written to the active segment but not yet forced to disk.
+     */
+    private static class PendingRecord
+    {
+        private final OMRSAuditLogRecord logRecord;
+        private final long               offset;
+        private final int                length;
+
+        PendingRecord(OMRSAuditLogRecord logRecord,
+                      long               offset,
+                      int                length)
+        {
+            this.logRecord = logRecord;
+            this.offset    = offset;
+            this.length    = length;
+        }
+    }
+}
@@ -2,9 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.io.FileUtils;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
@@ -18,19 +17,30 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of segment files that each hold many audit log records,
+ * one JSON record per line.  The records are written by a background thread and each segment has an index of the
+ * time stamp, severity, reporting component and unique identifier (guid) of its records, so the audit log
+ * can be queried.  Old segments are deleted according to the configured size and retention period.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
 
+    private static final long   defaultSegmentSize   = 64L * 1024L * 1024L;
+    private static final long   defaultMaxTotalSize  = 1024L * 1024L * 1024L;
+    private static final long   defaultRetentionDays = 0L;
+    private static final long   defaultMaxPageSize   = 1000L;
+
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private String configStoreTemplateName  = null;
+    private String               configStoreTemplateName = null;
+    private int                  maxPageSize             = (int) defaultMaxPageSize;
+    private AuditLogSegmentStore segmentStore            = null;
 
 
     /**
@@ -42,7 +52,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Set up the name of the file store
+     * Set up the directory of the file store, load the indexes of the existing segments and start the writer.
      *
      * @throws ConnectorCheckedException something went wrong
      */
@@ -63,11 +73,24 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             configStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        long segmentSize   = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.segmentSizeProperty, defaultSegmentSize);
+        long maxTotalSize  = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxTotalSizeProperty, defaultMaxTotalSize);
+        long retentionDays = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.retentionDaysProperty, defaultRetentionDays);
+
+        maxPageSize = (int) Math.min(Integer.MAX_VALUE,
+                                     getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxPageSizeProperty, defaultMaxPageSize));
+
+        AuditLogSegmentStore newSegmentStore = new AuditLogSegmentStore(new File(configStoreTemplateName),
+                                                                        segmentSize,
+                                                                        maxTotalSize,
+                                                                        TimeUnit.DAYS.toMillis(retentionDays));
+
         try
         {
-            File         configStoreDirectory = new File(configStoreTemplateName);
-
-            FileUtils.forceMkdir(configStoreDirectory);
+            newSegmentStore.start("FileBasedAuditLogStore-" + super.getDestinationName());
+            segmentStore = newSegmentStore;
         }
         catch (IOException ioException)
         {
@@ -82,9 +105,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
      * @throws InvalidParameterException indicates that the logRecord parameter is invalid.
+     * @throws RepositoryErrorException  indicates that the audit log store is not available or has an error.
      */
     @Override
-    public String storeLogRecord(OMRSAuditLogRecord logRecord) throws InvalidParameterException
+    public String storeLogRecord(OMRSAuditLogRecord logRecord) throws InvalidParameterException,
+                                                                      RepositoryErrorException
     {
         final String   methodName = "storeLogRecord";
 
@@ -94,16 +119,15 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
         {
             try
             {
-                File configStoreFile =
-                        new File(configStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                getSegmentStore(methodName).store(logRecord);
             }
             catch (IOException ioException)
             {
-                log.error("Unusable Server Audit Log Store :(", ioException);
+                throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                                   ioException.getMessage()),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   ioException);
             }
         }
 
@@ -123,9 +147,31 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     public OMRSAuditLogRecord getAuditLogRecord(String logRecordId) throws InvalidParameterException,
                                                                            RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecord";
+        final String methodName    = "getAuditLogRecord";
+        final String parameterName = "logRecordId";
+
+        if (logRecordId == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NO_GUID.getMessageDefinition(parameterName,
+                                                                                           methodName,
+                                                                                           super.getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
 
-        return null;
+        try
+        {
+            return getSegmentStore(methodName).getRecord(logRecordId);
+        }
+        catch (IOException ioException)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                               ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
     }
 
 
@@ -152,7 +198,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return getAuditLogRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -179,9 +225,12 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                             PagingErrorException,
                                                                                             RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsBySeverity";
+        final String methodName    = "getAuditLogRecordsBySeverity";
+        final String parameterName = "severity";
+
+        validateNotNull(severity, parameterName, methodName);
 
-        return null;
+        return getAuditLogRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -208,20 +257,207 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                                 PagingErrorException,
                                                                                                 RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsByComponent";
+        final String methodName    = "getAuditLogRecordsByComponent";
+        final String parameterName = "component";
+
+        validateNotNull(component, parameterName, methodName);
 
-        return null;
+        return getAuditLogRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Free up any resources held since the connector is no longer needed.  The queued log records are
+     * written before the writer stops.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (segmentStore != null)
+        {
+            try
+            {
+                segmentStore.stop();
+            }
+            catch (IOException ioException)
+            {
+                log.error("Unable to close Server Audit Log Store", ioException);
+            }
+
+            segmentStore = null;
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * Validate the query parameters and retrieve the matching log records.  A null start or end date leaves the
+     * time period open at that end.  A maximumRecords of 0 returns a page of the maximum page size.
+     *
+     * @param severity severity of the records or null for any severity
+     * @param component reporting component of the records or null for any component
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @return list of log records
+     * @throws InvalidParameterException the time period is invalid
+     * @throws PagingErrorException the offset or the maximumRecords parameters are negative
+     * @throws RepositoryErrorException the audit log store is not available or has an error
+     */
+    private List<OMRSAuditLogRecord> getAuditLogRecords(String severity,
+                                                        String component,
+                                                        Date   startDate,
+                                                        Date   endDate,
+                                                        int    offset,
+                                                        int    maximumRecords,
+                                                        String methodName) throws InvalidParameterException,
+                                                                                  PagingErrorException,
+                                                                                  RepositoryErrorException
+    {
+        final String startDateParameterName      = "startDate";
+        final String offsetParameterName         = "offset";
+        final String maximumRecordsParameterName = "maximumRecords";
+
+        long startTime = (startDate == null) ? Long.MIN_VALUE : startDate.getTime();
+        long endTime   = (endDate == null) ? Long.MAX_VALUE : endDate.getTime();
+
+        if (startTime > endTime)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_TIME_RANGE.getMessageDefinition(methodName,
+                                                                                                     startDate.toString(),
+                                                                                                     endDate.toString()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                startDateParameterName);
+        }
+
+        validatePagingParameter(offset, offsetParameterName, methodName);
+        validatePagingParameter(maximumRecords, maximumRecordsParameterName, methodName);
+
+        int pageSize = ((maximumRecords == 0) || (maximumRecords > maxPageSize)) ? maxPageSize : maximumRecords;
+
+        try
+        {
+            return getSegmentStore(methodName).getRecords(startTime, endTime, severity, component, offset, pageSize);
+        }
+        catch (IOException ioException)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                               ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
+    }
+
+
+    /**
+     * Validate that a query parameter is not null.
+     *
+     * @param value value of the parameter
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the parameter is null
+     */
+    private void validateNotNull(String value,
+                                 String parameterName,
+                                 String methodName) throws InvalidParameterException
+    {
+        if (value == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NULL_PARAMETER.getMessageDefinition(methodName),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+    }
+
+
+    /**
+     * Validate that a paging parameter is not negative.
+     *
+     * @param value value of the parameter
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws PagingErrorException the parameter is negative
+     */
+    private void validatePagingParameter(int    value,
+                                         String parameterName,
+                                         String methodName) throws PagingErrorException
+    {
+        if (value < 0)
+        {
+            throw new PagingErrorException(OMRSErrorCode.NEGATIVE_PAGE_SIZE.getMessageDefinition(Integer.toString(value),
+                                                                                                parameterName,
+                                                                                                methodName,
+                                                                                                super.getDestinationName()),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+    }
+
+
+    /**
+     * Return the segment store if the connector started successfully.
+     *
+     * @param methodName calling method
+     * @return segment store
+     * @throws RepositoryErrorException the audit log store is not available
+     */
+    private AuditLogSegmentStore getSegmentStore(String methodName) throws RepositoryErrorException
+    {
+        AuditLogSegmentStore currentSegmentStore = segmentStore;
+
+        if (currentSegmentStore == null)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                               configStoreTemplateName),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        return currentSegmentStore;
+    }
+
+
+    /**
+     * Return a numeric configuration property.
+     *
+     * @param configurationProperties configuration properties of the connection
+     * @param propertyName name of the property
+     * @param defaultValue value used if the property is not set or not a number
+     * @return value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        if (configurationProperties != null)
+        {
+            Object value = configurationProperties.get(propertyName);
+
+            if (value instanceof Number)
+            {
+                return ((Number) value).longValue();
+            }
+            else if (value != null)
+            {
+                try
+                {
+                    return Long.parseLong(value.toString().trim());
+                }
+                catch (NumberFormatException error)
+                {
+                    log.error("Ignoring invalid value {} of audit log store property {}", value, propertyName);
+                }
+            }
+        }
+
+        return defaultValue;
+    }
 }
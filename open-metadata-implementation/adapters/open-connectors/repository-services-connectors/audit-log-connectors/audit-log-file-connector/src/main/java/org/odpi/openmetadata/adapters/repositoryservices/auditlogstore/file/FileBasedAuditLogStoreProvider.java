@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
  */
@@ -14,6 +16,11 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
     private static final String  connectorTypeName = "File Based Audit Log Store Connector";
     private static final String  connectorTypeDescription = "Connector supports storing of audit log messages in a file.";
 
+    public static final String   segmentSizeProperty   = "segmentSize";
+    public static final String   maxTotalSizeProperty  = "maxTotalSize";
+    public static final String   retentionDaysProperty = "retentionDays";
+    public static final String   maxPageSizeProperty   = "maxPageSize";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * audit log store implementation.
@@ -32,6 +39,14 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+
+        recognizedConfigurationProperties.add(segmentSizeProperty);
+        recognizedConfigurationProperties.add(maxTotalSizeProperty);
+        recognizedConfigurationProperties.add(retentionDaysProperty);
+        recognizedConfigurationProperties.add(maxPageSizeProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
@@ -0,0 +1,179 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate the index of an audit log segment.
+ */
+public class TestAuditLogSegment
+{
+    private File directory;
+
+
+    /**
+     * Default constructor
+     */
+    public TestAuditLogSegment()
+    {
+    }
+
+
+    @BeforeMethod
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("auditLogSegment").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory()
+    {
+        FileUtils.deleteQuietly(directory);
+    }
+
+
+    /**
+     * Queries skip and limit the matching records, in the order they were added.
+     */
+    @Test
+    public void testFindByQuery()
+    {
+        AuditLogSegment segment = newSegment();
+
+        for (int i = 0; i < 6; i++)
+        {
+            segment.add(1000L + i, "guid" + i, (i % 2 == 0) ? "Error" : "Information", "Component", i * 10L, 10);
+        }
+
+        List<AuditLogRecordLocation> results = new ArrayList<>();
+
+        assertEquals(segment.find(Long.MIN_VALUE, Long.MAX_VALUE, "Error", null, 1, 10, results), 1);
+        assertEquals(getOffsets(results), new long[] { 20L, 40L });
+
+        results.clear();
+        assertEquals(segment.find(1001L, 1004L, null, "Component", 0, 2, results), 0);
+        assertEquals(getOffsets(results), new long[] { 10L, 20L });
+
+        results.clear();
+        assertEquals(segment.find(Long.MIN_VALUE, Long.MAX_VALUE, null, "Unknown", 0, 10, results), 0);
+        assertTrue(results.isEmpty());
+        assertFalse(segment.overlaps(2000L, 3000L));
+    }
+
+
+    /**
+     * Every record with the same packed GUID is returned, before and after the segment is sealed.
+     */
+    @Test
+    public void testFindByGUID() throws IOException
+    {
+        AuditLogSegment segment = newSegment();
+
+        segment.add(1000L, "Aa", "Error", "Component", 0L, 10);
+        segment.add(1000L, "other", "Error", "Component", 10L, 10);
+        segment.add(1000L, "BB", "Error", "Component", 20L, 10);
+
+        List<AuditLogRecordLocation> results = new ArrayList<>();
+
+        segment.find("Aa", results);
+        assertTrue(getOffsets(results).length >= 1);
+        assertEquals(getOffsets(results)[0], 0L);
+
+        createSegmentFile(30);
+        segment.seal();
+
+        results.clear();
+        segment.find("BB", results);
+        assertTrue(contains(getOffsets(results), 20L));
+
+        results.clear();
+        segment.find("unknown", results);
+        assertTrue(results.isEmpty());
+    }
+
+
+    /**
+     * The index of a sealed segment is loaded only if it covers the whole segment file.
+     */
+    @Test
+    public void testLoadIndex() throws IOException
+    {
+        AuditLogSegment segment = newSegment();
+
+        segment.add(1000L, "guid1", "Error", "Component", 0L, 10);
+        segment.add(2000L, "guid2", "Error", "Component", 10L, 10);
+        createSegmentFile(20);
+        segment.seal();
+
+        AuditLogSegment loadedSegment = newSegment();
+
+        assertTrue(loadedSegment.loadIndex());
+        assertTrue(loadedSegment.isSealed());
+        assertEquals(loadedSegment.getRecordCount(), 2);
+        assertEquals(loadedSegment.getMaxTimeStamp(), 2000L);
+
+        List<AuditLogRecordLocation> results = new ArrayList<>();
+
+        loadedSegment.find("guid2", results);
+        assertEquals(getOffsets(results), new long[] { 10L });
+
+        createSegmentFile(25);
+        assertFalse(newSegment().loadIndex());
+    }
+
+
+    private AuditLogSegment newSegment()
+    {
+        return new AuditLogSegment(1L, new File(directory, "test.seg"), new File(directory, "test.idx"));
+    }
+
+
+    private void createSegmentFile(int length) throws IOException
+    {
+        Files.write(new File(directory, "test.seg").toPath(), new byte[length]);
+    }
+
+
+    private long[] getOffsets(List<AuditLogRecordLocation> locations)
+    {
+        long[] offsets = new long[locations.size()];
+
+        for (int i = 0; i < offsets.length; i++)
+        {
+            offsets[i] = locations.get(i).getOffset();
+        }
+
+        return offsets;
+    }
+
+
+    private boolean contains(long[] values,
+                             long   value)
+    {
+        for (long candidate : values)
+        {
+            if (candidate == value)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,453 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that AuditLogSegmentStore stores, indexes, recovers and deletes the audit log records.
+ */
+public class TestAuditLogSegmentStore
+{
+    private File                 directory;
+    private AuditLogSegmentStore store;
+
+
+    /**
+     * Default constructor
+     */
+    public TestAuditLogSegmentStore()
+    {
+    }
+
+
+    @BeforeMethod
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("auditLogSegmentStore").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory() throws IOException
+    {
+        if (store != null)
+        {
+            store.stop();
+            store = null;
+        }
+
+        FileUtils.deleteQuietly(directory);
+    }
+
+
+    /**
+     * Records are returned by GUID and by query, with paging, before and after the store is restarted.
+     */
+    @Test
+    public void testStoreAndQuery() throws Exception
+    {
+        store = startStore(1024L * 1024L, 0L, 0L);
+
+        List<String> guids = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++)
+        {
+            OMRSAuditLogRecord logRecord = getRecord(UUID.randomUUID().toString(), 1000L + i, (i % 2 == 0) ? "Error" : "Information", "Component" + (i % 3));
+
+            guids.add(logRecord.getGUID());
+            store.store(logRecord);
+        }
+
+        restartStore(1024L * 1024L, 0L, 0L);
+
+        for (String guid : guids)
+        {
+            OMRSAuditLogRecord logRecord = store.getRecord(guid);
+
+            assertNotNull(logRecord);
+            assertEquals(logRecord.getGUID(), guid);
+        }
+        assertNull(store.getRecord(UUID.randomUUID().toString()));
+
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 100)), guids);
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 3, 4)), guids.subList(3, 7));
+        assertEquals(getGUIDs(store.getRecords(1002L, 1005L, null, null, 0, 100)), guids.subList(2, 6));
+        assertEquals(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, "Error", null, 0, 100).size(), 5);
+        assertEquals(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, "Component0", 0, 100).size(), 4);
+        assertEquals(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, "Unknown", null, 0, 100).size(), 0);
+    }
+
+
+    /**
+     * Paging continues across the segment files.
+     */
+    @Test
+    public void testPagingAcrossSegments() throws Exception
+    {
+        store = startStore(1L, 0L, 0L);
+
+        List<String> guids = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+        {
+            OMRSAuditLogRecord logRecord = getRecord(UUID.randomUUID().toString(), 1000L + i, "Error", "Component");
+
+            guids.add(logRecord.getGUID());
+            store.store(logRecord);
+        }
+
+        restartStore(1L, 0L, 0L);
+
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 2)), guids.subList(0, 2));
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 2, 2)), guids.subList(2, 4));
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 4, 2)), guids.subList(4, 5));
+    }
+
+
+    /**
+     * GUIDs that are not UUIDs, or that have the same packed form, are all found.
+     */
+    @Test
+    public void testGUIDsThatAreNotUUIDs() throws Exception
+    {
+        /*
+         * "Aa" and "BB" have the same hash code and length, the two UUID strings have the same bits.
+         */
+        String[] guids = { "Aa", "BB", "1-1-1-1-1", "00000001-0001-0001-0001-000000000001" };
+
+        store = startStore(1024L * 1024L, 0L, 0L);
+
+        for (String guid : guids)
+        {
+            store.store(getRecord(guid, 1000L, "Error", "Component"));
+        }
+
+        store.stop();
+
+        for (String guid : guids)
+        {
+            assertEquals(store.getRecord(guid).getGUID(), guid);
+        }
+
+        restartStore(1024L * 1024L, 0L, 0L);
+
+        for (String guid : guids)
+        {
+            assertEquals(store.getRecord(guid).getGUID(), guid);
+        }
+    }
+
+
+    /**
+     * A partly written record left by a crash is removed and an unreadable record is skipped when the index
+     * of a segment is rebuilt.
+     */
+    @Test
+    public void testRebuildAfterCrash() throws Exception
+    {
+        store = startStore(1024L * 1024L, 0L, 0L);
+
+        OMRSAuditLogRecord first = getRecord(UUID.randomUUID().toString(), 1000L, "Error", "Component");
+        OMRSAuditLogRecord last  = getRecord(UUID.randomUUID().toString(), 1001L, "Error", "Component");
+
+        store.store(first);
+        store.stop();
+        store = null;
+
+        File segmentFile = getSegmentFiles().get(0);
+
+        FileUtils.deleteQuietly(new File(segmentFile.getPath().replace(".seg", ".idx")));
+        append(segmentFile, "{\"guid\":\"unreadable\n");
+        append(segmentFile, new ObjectMapper().writeValueAsString(last) + "\n");
+
+        long   recoveredSize  = segmentFile.length();
+        String partialRecord  = "{\"guid\":\"" + UUID.randomUUID().toString();
+
+        append(segmentFile, partialRecord);
+
+        store = startStore(1024L * 1024L, 0L, 0L);
+
+        assertEquals(segmentFile.length(), recoveredSize);
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 100)),
+                     getGUIDs(new OMRSAuditLogRecord[] { first, last }));
+        assertNotNull(store.getRecord(last.getGUID()));
+
+        /*
+         * The rebuilt index is saved and covers the unreadable record, so it is loaded on the next restart.
+         */
+        restartStore(1024L * 1024L, 0L, 0L);
+
+        assertTrue(new File(segmentFile.getPath().replace(".seg", ".idx")).exists());
+        assertEquals(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 100).size(), 2);
+    }
+
+
+    /**
+     * The oldest segments are deleted when the audit log is too big.  Each record has its own segment and only
+     * the active segment is kept.
+     */
+    @Test
+    public void testSizeRetention() throws Exception
+    {
+        store = startStore(1L, 1L, 0L);
+
+        List<String> guids = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+        {
+            OMRSAuditLogRecord logRecord = getRecord(UUID.randomUUID().toString(), 1000L + i, "Error", "Component");
+
+            guids.add(logRecord.getGUID());
+            store.store(logRecord);
+        }
+
+        store.stop();
+
+        assertNull(store.getRecord(guids.get(0)));
+        assertNotNull(store.getRecord(guids.get(4)));
+        assertTrue(getSegmentFiles().size() <= 2);
+    }
+
+
+    /**
+     * Segments whose records are all older than the retention period are deleted.
+     */
+    @Test
+    public void testTimeRetention() throws Exception
+    {
+        store = startStore(1L, 0L, TimeUnit.DAYS.toMillis(1));
+
+        OMRSAuditLogRecord oldRecord = getRecord(UUID.randomUUID().toString(),
+                                                 System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2),
+                                                 "Error",
+                                                 "Component");
+        OMRSAuditLogRecord newRecord = getRecord(UUID.randomUUID().toString(), System.currentTimeMillis(), "Error", "Component");
+
+        store.store(oldRecord);
+        store.store(newRecord);
+
+        restartStore(1L, 0L, TimeUnit.DAYS.toMillis(1));
+
+        assertNull(store.getRecord(oldRecord.getGUID()));
+        assertNotNull(store.getRecord(newRecord.getGUID()));
+    }
+
+
+    /**
+     * A record that can not be converted to JSON is not stored and does not stop the other records of its batch.
+     */
+    @Test
+    public void testUnwritableRecord() throws Exception
+    {
+        store = startStore(1024L * 1024L, 0L, 0L);
+
+        OMRSAuditLogRecord first = getRecord(UUID.randomUUID().toString(), 1000L, "Error", "Component");
+        OMRSAuditLogRecord bad   = new UnwritableRecord();
+        OMRSAuditLogRecord last  = getRecord(UUID.randomUUID().toString(), 1002L, "Error", "Component");
+
+        bad.setGUID(UUID.randomUUID().toString());
+
+        store.store(first);
+        store.store(bad);
+        store.store(last);
+
+        restartStore(1024L * 1024L, 0L, 0L);
+
+        assertNull(store.getRecord(bad.getGUID()));
+        assertEquals(getGUIDs(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 100)),
+                     getGUIDs(new OMRSAuditLogRecord[] { first, last }));
+    }
+
+
+    /**
+     * Every record stored while the store is stopping is either stored or reported as not stored.
+     */
+    @Test
+    public void testStoreRacingStop() throws Exception
+    {
+        store = startStore(64L * 1024L, 0L, 0L);
+
+        AtomicInteger storedCount = new AtomicInteger();
+        List<Thread>  threads     = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++)
+        {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 500; j++)
+                {
+                    try
+                    {
+                        store.store(getRecord(UUID.randomUUID().toString(), 1000L, "Error", "Component"));
+                        storedCount.incrementAndGet();
+                    }
+                    catch (IOException closed)
+                    {
+                        // not stored and reported to the caller
+                    }
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        Thread.sleep(10);
+        store.stop();
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        store = startStore(64L * 1024L, 0L, 0L);
+
+        assertEquals(store.getRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, Integer.MAX_VALUE).size(), storedCount.get());
+    }
+
+
+    /**
+     * A stopped store refuses new records.
+     */
+    @Test
+    public void testStoreAfterStop() throws Exception
+    {
+        store = startStore(1024L * 1024L, 0L, 0L);
+        store.stop();
+
+        try
+        {
+            store.store(getRecord(UUID.randomUUID().toString(), 1000L, "Error", "Component"));
+            fail("A stopped store should not accept records");
+        }
+        catch (IOException closed)
+        {
+            // expected
+        }
+        finally
+        {
+            store = null;
+        }
+    }
+
+
+    private AuditLogSegmentStore startStore(long segmentSize,
+                                            long maxTotalSize,
+                                            long retentionPeriod) throws IOException
+    {
+        AuditLogSegmentStore segmentStore = new AuditLogSegmentStore(directory, segmentSize, maxTotalSize, retentionPeriod);
+
+        segmentStore.start("TestAuditLogSegmentStore");
+
+        return segmentStore;
+    }
+
+
+    private void restartStore(long segmentSize,
+                              long maxTotalSize,
+                              long retentionPeriod) throws IOException
+    {
+        store.stop();
+        store = startStore(segmentSize, maxTotalSize, retentionPeriod);
+    }
+
+
+    private List<File> getSegmentFiles()
+    {
+        List<File> segmentFiles = new ArrayList<>();
+        File[]     files        = directory.listFiles((dir, name) -> name.endsWith(".seg"));
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                if (file.length() > 0)
+                {
+                    segmentFiles.add(file);
+                }
+            }
+        }
+
+        return segmentFiles;
+    }
+
+
+    private void append(File   file,
+                        String text) throws IOException
+    {
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+
+    private OMRSAuditLogRecord getRecord(String guid,
+                                         long   timeStamp,
+                                         String severity,
+                                         String component)
+    {
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(guid);
+        logRecord.setTimeStamp(new Date(timeStamp));
+        logRecord.setSeverity(severity);
+        logRecord.setOriginatorComponent(new AuditLogReportingComponent(1, component, null, null));
+
+        return logRecord;
+    }
+
+
+    private List<String> getGUIDs(List<OMRSAuditLogRecord> logRecords)
+    {
+        return getGUIDs(logRecords.toArray(new OMRSAuditLogRecord[0]));
+    }
+
+
+    private List<String> getGUIDs(OMRSAuditLogRecord[] logRecords)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (OMRSAuditLogRecord logRecord : logRecords)
+        {
+            guids.add(logRecord.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Record that can not be converted to JSON.
+     */
+    private static class UnwritableRecord extends OMRSAuditLogRecord
+    {
+        @Override
+        public String getMessageText()
+        {
+            throw new IllegalStateException("Not convertible");
+        }
+    }
+}
@@ -2,19 +2,44 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FileBasedOpenMetadataArchiveStoreConnector stores an open metadata archive as a JSON file.  Files that are
+ * compressed with gzip are detected when the archive is read.  An archive is written compressed if its file
+ * name ends with ".gz".
+ *
+ * Large archives should be loaded with processArchiveContents() rather than getArchiveContents(), since it reads
+ * the instances of the archive one at a time with a streaming JSON parser.
+ */
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
     /*
@@ -22,6 +47,16 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    /*
+     * Suffix of the file names of archives that are written compressed.
+     */
+    private static final String compressedFileSuffix = ".gz";
+
+    /*
+     * The object mapper is thread-safe once configured and is shared by all requests.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
@@ -77,15 +112,11 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
         File                archiveStoreFile     = new File(archiveStoreName);
         OpenMetadataArchive newOpenMetadataArchive;
 
-        try
+        try (InputStream archiveStream = openArchiveFile(archiveStoreFile))
         {
             log.debug("Retrieving server configuration properties");
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
-
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            newOpenMetadataArchive = objectMapper.readValue(archiveStream, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
@@ -102,6 +133,207 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Pass the contents of the archive, one element at a time, to the content processor.  The instances are read
+     * from the file one at a time, so only the instance being processed is held in memory.  The archive
+     * properties need to come before the instance store in the file, as they do in the archives written by
+     * this connector.  Otherwise the instance store is read as a whole before being processed.  If the archive
+     * becomes unreadable part way through, the elements read before the error have already been passed to the
+     * content processor.
+     *
+     * @param contentProcessor receiver of the contents of the archive
+     * @return false if the archive file can not be opened or is not completely readable
+     */
+    @Override
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor contentProcessor)
+    {
+        final String methodName        = "processArchiveContents";
+        final String actionDescription = "Read Open Metadata Archive";
+
+        File archiveStoreFile = new File(archiveStoreName);
+
+        InputStream archiveStream;
+
+        try
+        {
+            archiveStream = openArchiveFile(archiveStoreFile);
+        }
+        catch (IOException ioException)
+        {
+            log.debug("Unable to open open metadata archive " + archiveStoreName, ioException);
+
+            return false;
+        }
+
+        try (InputStream inputStream = archiveStream;
+             JsonParser  parser      = objectMapper.getFactory().createParser(inputStream))
+        {
+            OpenMetadataArchiveProperties    archiveProperties    = null;
+            OpenMetadataArchiveTypeStore     archiveTypeStore     = null;
+            OpenMetadataArchiveInstanceStore archiveInstanceStore = null;
+
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                throw new IOException("The archive does not start with a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if ("archiveProperties".equals(fieldName))
+                {
+                    archiveProperties = parser.readValueAs(OpenMetadataArchiveProperties.class);
+
+                    if (archiveProperties != null)
+                    {
+                        contentProcessor.processArchiveProperties(archiveProperties);
+                    }
+
+                    OpenMetadataArchiveStoreConnector.processArchiveTypeStore(archiveTypeStore, contentProcessor);
+                    OpenMetadataArchiveStoreConnector.processArchiveInstanceStore(archiveInstanceStore, contentProcessor);
+                    archiveTypeStore = null;
+                    archiveInstanceStore = null;
+                }
+                else if ("archiveTypeStore".equals(fieldName))
+                {
+                    /*
+                     * The type store is small and is read as a whole, so the types can be passed in
+                     * the order they need to be processed.
+                     */
+                    archiveTypeStore = parser.readValueAs(OpenMetadataArchiveTypeStore.class);
+
+                    if (archiveProperties != null)
+                    {
+                        OpenMetadataArchiveStoreConnector.processArchiveTypeStore(archiveTypeStore, contentProcessor);
+                        archiveTypeStore = null;
+                    }
+                }
+                else if (("archiveInstanceStore".equals(fieldName)) && (archiveProperties != null))
+                {
+                    streamInstanceStore(parser, contentProcessor);
+                }
+                else if ("archiveInstanceStore".equals(fieldName))
+                {
+                    archiveInstanceStore = parser.readValueAs(OpenMetadataArchiveInstanceStore.class);
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+
+            return true;
+        }
+        catch (IOException | RuntimeException error)
+        {
+            log.debug("Unable to read open metadata archive " + archiveStoreName, error);
+
+            if (auditLog != null)
+            {
+                auditLog.logException(actionDescription,
+                                      OMRSAuditCode.UNREADABLE_ARCHIVE.getMessageDefinition(archiveStoreName,
+                                                                                          error.getClass().getName(),
+                                                                                          error.getMessage()),
+                                      error);
+            }
+
+            return false;
+        }
+    }
+
+
+    /**
+     * Read the instance store of the archive one instance at a time.  The parser is positioned at the start
+     * of the instance store and is left at its end.
+     *
+     * @param parser JSON parser reading the archive
+     * @param contentProcessor receiver of the instances
+     * @throws IOException the archive is not valid
+     */
+    private void streamInstanceStore(JsonParser                          parser,
+                                     OpenMetadataArchiveContentProcessor contentProcessor) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+            {
+                parser.skipChildren();
+            }
+            else if ("entities".equals(fieldName))
+            {
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                {
+                    contentProcessor.processEntity(parser.readValueAs(EntityDetail.class));
+                }
+            }
+            else if ("relationships".equals(fieldName))
+            {
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                {
+                    contentProcessor.processRelationship(parser.readValueAs(Relationship.class));
+                }
+            }
+            else if ("classifications".equals(fieldName))
+            {
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                {
+                    contentProcessor.processClassification(parser.readValueAs(ClassificationEntityExtension.class));
+                }
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+
+    /**
+     * Open the archive file, uncompressing it if it is compressed with gzip.
+     *
+     * @param archiveStoreFile archive file
+     * @return stream of the JSON content of the archive
+     * @throws IOException the file can not be opened
+     */
+    private InputStream openArchiveFile(File archiveStoreFile) throws IOException
+    {
+        InputStream archiveStream = new BufferedInputStream(new FileInputStream(archiveStoreFile));
+
+        try
+        {
+            archiveStream.mark(2);
+
+            int firstByte  = archiveStream.read();
+            int secondByte = archiveStream.read();
+
+            archiveStream.reset();
+
+            if ((firstByte == (GZIPInputStream.GZIP_MAGIC & 0xff)) && (secondByte == (GZIPInputStream.GZIP_MAGIC >> 8)))
+            {
+                return new GZIPInputStream(archiveStream);
+            }
+
+            return archiveStream;
+        }
+        catch (IOException | RuntimeException error)
+        {
+            archiveStream.close();
+            throw error;
+        }
+    }
+
+
     /**
      * Set new contents into the archive.  This overrides any content previously stored.
      *
@@ -122,11 +354,17 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                OutputStream archiveStream = new BufferedOutputStream(new FileOutputStream(archiveStoreFile));
 
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
+                if (archiveStoreName.endsWith(compressedFileSuffix))
+                {
+                    archiveStream = new GZIPOutputStream(archiveStream);
+                }
 
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+                try (OutputStream outputStream = archiveStream)
+                {
+                    objectMapper.writeValue(outputStream, archiveContents);
+                }
             }
         }
         catch (IOException   ioException)
@@ -0,0 +1,281 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Test that the FileBasedOpenMetadataArchiveStoreConnector streams the contents of plain and compressed
+ * archive files to a content processor.
+ */
+public class TestFileBasedOpenMetadataArchiveStoreConnector
+{
+    private File directory;
+
+
+    @BeforeMethod
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("openMetadataArchive").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory()
+    {
+        File[] files = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+
+    /**
+     * The archive properties are passed first and the instances in the order they are in the archive.
+     */
+    @Test
+    public void testProcessArchive()
+    {
+        File archiveFile = new File(directory, "test.json");
+
+        getConnector(archiveFile).setArchiveContents(getArchive());
+
+        RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+        assertTrue(getConnector(archiveFile).processArchiveContents(contentProcessor));
+        assertEquals(contentProcessor.elements, getExpectedElements());
+    }
+
+
+    /**
+     * Archives compressed with gzip are detected from their content, whatever their file name.
+     */
+    @Test
+    public void testCompressedArchive()
+    {
+        File compressedFile = new File(directory, "test.json.gz");
+        File renamedFile    = new File(directory, "test.archive");
+
+        getConnector(compressedFile).setArchiveContents(getArchive());
+
+        assertTrue(compressedFile.renameTo(renamedFile));
+
+        RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+        assertTrue(getConnector(renamedFile).processArchiveContents(contentProcessor));
+        assertEquals(contentProcessor.elements, getExpectedElements());
+        assertEquals(getConnector(renamedFile).getArchiveContents().getArchiveProperties().getArchiveName(), "testArchive");
+    }
+
+
+    /**
+     * An instance store that comes before the archive properties is read as a whole and passed after them.
+     */
+    @Test
+    public void testInstanceStoreBeforeArchiveProperties() throws IOException
+    {
+        File         archiveFile  = new File(directory, "test.json");
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode   archive      = objectMapper.valueToTree(getArchive());
+        ObjectNode   reordered    = objectMapper.createObjectNode();
+
+        reordered.set("archiveInstanceStore", archive.get("archiveInstanceStore"));
+        reordered.set("archiveProperties", archive.get("archiveProperties"));
+        objectMapper.writeValue(archiveFile, reordered);
+
+        RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+        assertTrue(getConnector(archiveFile).processArchiveContents(contentProcessor));
+        assertEquals(contentProcessor.elements, getExpectedElements());
+    }
+
+
+    /**
+     * An archive that is cut short is reported as not processed after the elements read before the error.
+     */
+    @Test
+    public void testTruncatedArchive() throws IOException
+    {
+        File archiveFile = new File(directory, "test.json");
+
+        getConnector(archiveFile).setArchiveContents(getArchive());
+
+        String content = new String(Files.readAllBytes(archiveFile.toPath()), StandardCharsets.UTF_8);
+
+        Files.write(archiveFile.toPath(),
+                    content.substring(0, content.indexOf("relationship1")).getBytes(StandardCharsets.UTF_8));
+
+        RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+        assertFalse(getConnector(archiveFile).processArchiveContents(contentProcessor));
+        assertEquals(contentProcessor.elements, Arrays.asList("properties:testArchive", "entity:entity1", "entity:entity2"));
+    }
+
+
+    /**
+     * A missing archive file is reported as not processed.
+     */
+    @Test
+    public void testMissingArchive()
+    {
+        RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+        assertFalse(getConnector(new File(directory, "missing.json")).processArchiveContents(contentProcessor));
+        assertTrue(contentProcessor.elements.isEmpty());
+    }
+
+
+    private FileBasedOpenMetadataArchiveStoreConnector getConnector(File archiveFile)
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(archiveFile.getPath());
+
+        Connection connection = new Connection();
+
+        connection.setEndpoint(endpoint);
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+
+        connector.initialize("testConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private OpenMetadataArchive getArchive()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("testArchiveGUID");
+        archiveProperties.setArchiveName("testArchive");
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : new String[]{"entity1", "entity2"})
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entities.add(entity);
+        }
+
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID("relationship1");
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+        instanceStore.setEntities(entities);
+        instanceStore.setRelationships(Collections.singletonList(relationship));
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    private List<String> getExpectedElements()
+    {
+        return Arrays.asList("properties:testArchive", "entity:entity1", "entity:entity2", "relationship:relationship1");
+    }
+
+
+    /**
+     * Content processor that records the elements it receives.
+     */
+    private static class RecordingContentProcessor implements OpenMetadataArchiveContentProcessor
+    {
+        private List<String> elements = new ArrayList<>();
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            elements.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            elements.add("attributeTypeDef:" + attributeTypeDef.getName());
+        }
+
+
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            elements.add("typeDef:" + typeDef.getName());
+        }
+
+
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            elements.add("typeDefPatch:" + typeDefPatch.getTypeDefName());
+        }
+
+
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            elements.add("entity:" + entity.getGUID());
+        }
+
+
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            elements.add("relationship:" + relationship.getGUID());
+        }
+
+
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            elements.add("classification");
+        }
+    }
+}
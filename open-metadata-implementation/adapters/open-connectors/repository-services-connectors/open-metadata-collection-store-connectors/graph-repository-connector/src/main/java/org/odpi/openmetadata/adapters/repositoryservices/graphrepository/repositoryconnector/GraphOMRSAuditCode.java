@@ -58,6 +58,13 @@ public enum GraphOMRSAuditCode implements AuditLogMessageSet
             "The OMRS Graph Repository has been opened.",
             "The local server has created and initialized the Local OMRS Graph Repository database.",
             "No action is required. The existing graph repository has been opened and validated successfully."),
+
+    BULK_LOAD_BATCH_FAILED("OMRS-GRAPH-REPOSITORY-0004",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The OMRS Graph Repository {0} could not save a batch of {1} {2} reference copies in a single transaction.  The exception was {3} with message {4}",
+            "The batch was rolled back and its reference copies are being saved one at a time so that only the instances in error are rejected.",
+            "No action is required if the individual saves succeed.  Review the exception and any errors reported for the individual " +
+                    "reference copies.  If batches fail regularly, reduce the bulkLoadBatchSize configuration property of the repository."),
     ;
 
     AuditLogMessageDefinition messageDefinition;
@@ -40,6 +40,11 @@ public class GraphOMRSConstants {
     public static final String PROPERTY_NAME_ENTITY_IS_PROXY                  = "entityIsProxy";
     public static final String PROPERTY_NAME_REPLICATED_BY                    = "replicatedBy";
     public static final String PROPERTY_NAME_MAPPING_PROPERTIES               = "mappingProperties";
+    public static final String PROPERTY_NAME_VALID_FROM                       = "validFrom";
+    public static final String PROPERTY_NAME_VALID_TO                         = "validTo";
+    public static final String PROPERTY_NAME_END_ONE_GUID                     = "endOneGUID";
+    public static final String PROPERTY_NAME_END_TWO_GUID                     = "endTwoGUID";
+    public static final String PROPERTY_NAME_INSTANCE                         = "instance";
 
     // Map of core property short name to type as stored in graph (not how they appear in Instances)
 
@@ -65,6 +70,11 @@ public class GraphOMRSConstants {
         put(PROPERTY_NAME_ENTITY_IS_PROXY,                "java.lang.Boolean");
         put(PROPERTY_NAME_REPLICATED_BY,                  "java.lang.String");
         put(PROPERTY_NAME_MAPPING_PROPERTIES,             "java.lang.String");     // map of string->serializable stored in serialized form
+        put(PROPERTY_NAME_VALID_FROM,                     "java.util.Date");
+        put(PROPERTY_NAME_VALID_TO,                       "java.util.Date");
+        put(PROPERTY_NAME_END_ONE_GUID,                   "java.lang.String");
+        put(PROPERTY_NAME_END_TWO_GUID,                   "java.lang.String");
+        put(PROPERTY_NAME_INSTANCE,                       "java.lang.String");     // entity or relationship stored in serialized form
     }};
 
 
@@ -224,6 +234,45 @@ public class GraphOMRSConstants {
         return PROPERTY_KEY_PREFIX_CLASSIFICATION + propertyName;
     }
 
+    /*
+     *  HISTORY
+     *
+     *  When history mode is enabled each version of an entity or relationship is also stored as a history vertex.
+     *  A version is valid from the time it was created or updated until the time it was superseded or purged.
+     *  The current version of each instance is valid until HISTORY_OPEN_END.
+     */
+
+    public static final String CONFIGURATION_PROPERTY_HISTORY_MODE                    = "historyMode";
+
+    public static final String VERTEX_LABEL_ENTITY_HISTORY                            = "EntityHistory";
+    public static final String VERTEX_LABEL_RELATIONSHIP_HISTORY                      = "RelationshipHistory";
+
+    public static final String PROPERTY_KEY_PREFIX_HISTORY                            = "vh";
+
+    public static final String PROPERTY_KEY_HISTORY_GUID                              = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_GUID;
+    public static final String PROPERTY_KEY_HISTORY_TYPE_NAME                         = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_TYPE_NAME;
+    public static final String PROPERTY_KEY_HISTORY_VERSION                           = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_VERSION;
+    public static final String PROPERTY_KEY_HISTORY_CURRENT_STATUS                    = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_CURRENT_STATUS;
+    public static final String PROPERTY_KEY_HISTORY_VALID_FROM                        = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_VALID_FROM;
+    public static final String PROPERTY_KEY_HISTORY_VALID_TO                          = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_VALID_TO;
+    public static final String PROPERTY_KEY_HISTORY_END_ONE_GUID                      = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_END_ONE_GUID;
+    public static final String PROPERTY_KEY_HISTORY_END_TWO_GUID                      = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_END_TWO_GUID;
+    public static final String PROPERTY_KEY_HISTORY_INSTANCE                          = PROPERTY_KEY_PREFIX_HISTORY+PROPERTY_NAME_INSTANCE;
+
+    // End of the validity period of the current version of an instance (9999-12-31T23:59:59Z)
+    public static final long   HISTORY_OPEN_END                                       = 253402300799000L;
+
+    /*
+     *  BULK LOAD
+     *
+     *  Batches of reference copies are saved with one transaction per batch.  The batch size may be set with the
+     *  bulkLoadBatchSize configuration property.
+     */
+
+    public static final String CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE            = "bulkLoadBatchSize";
+
+    public static final int    DEFAULT_BULK_LOAD_BATCH_SIZE                           = 500;
+
     /*
      * Constant separator for qualifiedPropertyNames for type-defined attributes. The separator is inserted
      * between the type name and the (short) property name. It serves no function purpose but improves readability
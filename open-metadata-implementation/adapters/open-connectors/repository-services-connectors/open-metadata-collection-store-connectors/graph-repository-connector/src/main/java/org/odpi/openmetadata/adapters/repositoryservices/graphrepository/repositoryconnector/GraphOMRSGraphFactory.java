@@ -411,6 +411,57 @@ public class GraphOMRSGraphFactory {
 
 
 
+    // This method is idempotent.
+    void initializeHistory()
+        throws
+            RepositoryErrorException
+    {
+
+        final String methodName = "initializeHistory";
+
+        // When history mode is enabled, each version of an entity or relationship is also stored in a history vertex.
+        // A history vertex has the following properties and indexes:
+        // guid                                -   composite   - not unique because there is a vertex per version
+        // typeName                            -   composite
+        // version                             -   none
+        // currentStatus                       -   composite   - status ordinal of the version
+        // validFrom                           -   mixed (Date)
+        // validTo                             -   mixed (Date)
+        // endOneGUID                          -   composite   - relationship history only
+        // endTwoGUID                          -   composite   - relationship history only
+        // instance                            -   none        - the serialized entity or relationship
+
+        try {
+
+            JanusGraphManagement management = graph.openManagement();
+            if (management.getVertexLabel(VERTEX_LABEL_ENTITY_HISTORY) == null)
+                management.makeVertexLabel(VERTEX_LABEL_ENTITY_HISTORY).make();
+            if (management.getVertexLabel(VERTEX_LABEL_RELATIONSHIP_HISTORY) == null)
+                management.makeVertexLabel(VERTEX_LABEL_RELATIONSHIP_HISTORY).make();
+            management.commit();
+
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_GUID,                    PROPERTY_KEY_HISTORY_GUID,         false);
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_TYPE_NAME,               PROPERTY_KEY_HISTORY_TYPE_NAME,    false);
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_CURRENT_STATUS,          PROPERTY_KEY_HISTORY_CURRENT_STATUS, false);
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_END_ONE_GUID,            PROPERTY_KEY_HISTORY_END_ONE_GUID, false);
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_END_TWO_GUID,            PROPERTY_KEY_HISTORY_END_TWO_GUID, false);
+            createMixedIndexForVertexCoreProperty(PROPERTY_NAME_VALID_FROM,              PROPERTY_KEY_HISTORY_VALID_FROM);
+            createMixedIndexForVertexCoreProperty(PROPERTY_NAME_VALID_TO,                PROPERTY_KEY_HISTORY_VALID_TO);
+
+        }
+        catch (Exception e) {
+
+            log.error("{} Caught exception during graph history initialize operation", methodName);
+
+            throw new RepositoryErrorException(GraphOMRSErrorCode.GRAPH_INITIALIZATION_ERROR.getMessageDefinition(thisRepositoryName),
+                    "GraphOMRSGraphFactory",
+                    methodName);
+        }
+
+    }
+
+
+
     // Note that this map is not a complete list of the graph indexes. It only contains mappings for the MIXED indexes.
 
     static final Map<String,MixedIndexMapping> corePropertyMixedIndexMappings = new HashMap<String,MixedIndexMapping>() {{
@@ -448,6 +499,9 @@ public class GraphOMRSGraphFactory {
         put(PROPERTY_KEY_CLASSIFICATION_REPLICATED_BY,             MixedIndexMapping.String);
         put(PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES,        MixedIndexMapping.Text  );    // mappingProperties is stored as a serialized map of String,Serializable so uses Text mapping
 
+        put(PROPERTY_KEY_HISTORY_VALID_FROM,                       MixedIndexMapping.Date  );
+        put(PROPERTY_KEY_HISTORY_VALID_TO,                         MixedIndexMapping.Date  );
+
     }};
 
 
@@ -12,7 +12,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
@@ -25,6 +27,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
@@ -56,6 +59,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -421,6 +425,96 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getEntityDetail - historical version is only supported when the graph store is keeping history
+    @Override
+    public EntityDetail getEntityDetail(String     userId,
+                                        String     guid,
+                                        Date       asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            EntityProxyOnlyException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetail";
+
+        if ((asOfTime == null) || (! graphStore.isHistoryEnabled()))
+        {
+            return super.getEntityDetail(userId, guid, asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceParameterValidation(userId, guid, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        EntityDetail entity = graphStore.getEntityDetailFromHistory(guid, asOfTime);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, guid, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        return entity;
+    }
+
+
+    // getEntityDetails - current versions are retrieved in a single traversal of the graph
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetails";
+
+        if (asOfTime != null)
+        {
+            return super.getEntityDetails(userId, guids, asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, null, methodName);
+
+        /*
+         * Perform operation
+         */
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        Map<String, EntityDetail> storedEntities = graphStore.getEntityDetailsFromStore(guids);
+        List<EntityDetail>        entities       = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            EntityDetail entity = storedEntities.get(guid);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                entities.add(entity);
+            }
+        }
+
+        if (entities.isEmpty())
+        {
+            return null;
+        }
+
+        return entities;
+    }
+
+
     // addRelationship
     @Override
     public Relationship addRelationship(String               userId,
@@ -608,6 +702,95 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getRelationship - historical version is only supported when the graph store is keeping history
+    @Override
+    public Relationship getRelationship(String    userId,
+                                        String    guid,
+                                        Date      asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            RelationshipNotKnownException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationship";
+
+        if ((asOfTime == null) || (! graphStore.isHistoryEnabled()))
+        {
+            return super.getRelationship(userId, guid, asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceParameterValidation(userId, guid, asOfTime, methodName);
+
+        /*
+         * Process operation
+         */
+        Relationship  relationship = graphStore.getRelationshipFromHistory(guid, asOfTime);
+
+        repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
+        repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
+
+        return relationship;
+    }
+
+
+    // getRelationships - current versions are retrieved in a single traversal of the graph
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getRelationships";
+
+        if (asOfTime != null)
+        {
+            return super.getRelationships(userId, guids, asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, null, methodName);
+
+        /*
+         * Perform operation
+         */
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        Map<String, Relationship> storedRelationships = graphStore.getRelationshipsFromStore(guids);
+        List<Relationship>        relationships       = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            Relationship relationship = storedRelationships.get(guid);
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        if (relationships.isEmpty())
+        {
+            return null;
+        }
+
+        return relationships;
+    }
+
+
     // updateEntityStatus
     @Override
     public EntityDetail updateEntityStatus(String           userId,
@@ -1145,7 +1328,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        if (asOfTime != null) {
+        if (asOfTime != null)
+        {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.getRelationshipsForEntityFromHistory(entityGUID, relationshipTypeGUID, fromRelationshipElement, limitResultsByStatus, asOfTime,
+                                                                 sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -1234,7 +1424,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                         pageSize);
 
 
-        if (asOfTime != null) {
+        if (asOfTime != null)
+        {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findEntitiesByPropertyInHistory(entityTypeGUID, matchProperties, matchCriteria, fromEntityElement, limitResultsByStatus,
+                                                            limitResultsByClassification, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -1525,6 +1722,12 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         if (asOfTime != null)
         {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findRelationshipsByPropertyInHistory(relationshipTypeGUID, matchProperties, matchCriteria, fromRelationshipElement,
+                                                                 limitResultsByStatus, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -1674,7 +1877,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                              pageSize);
 
 
-        if (asOfTime != null) {
+        if (asOfTime != null)
+        {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findEntitiesByPropertyValueInHistory(entityTypeGUID, searchCriteria, fromEntityElement, limitResultsByStatus,
+                                                                 limitResultsByClassification, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -1783,7 +1993,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                   pageSize);
 
 
-        if (asOfTime != null) {
+        if (asOfTime != null)
+        {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findRelationshipsByPropertyValueInHistory(relationshipTypeGUID, searchCriteria, fromRelationshipElement, limitResultsByStatus,
+                                                                      asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -1990,6 +2207,12 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         if (asOfTime != null)
         {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findEntitiesInHistory(entityTypeGUID, entitySubtypeGUIDs, matchProperties, fromEntityElement, limitResultsByStatus,
+                                                  matchClassifications, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -2050,12 +2273,18 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
              * Eliminate soft deleted entities and apply status and classification filtering if any was requested
              */
             List<EntityDetail> retainedEntities = new ArrayList<>();
+            OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchPropertiesPredicate(repositoryName,
+                                                                                                           null,
+                                                                                                           null,
+                                                                                                           limitResultsByStatus,
+                                                                                                           null,
+                                                                                                           matchClassifications,
+                                                                                                           methodName);
             for (EntityDetail entity : foundEntities)
             {
                 if (entity != null)
                 {
-                    if ((repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)))
+                    if (searchPredicate.matches(entity))
                     {
 
                         retainedEntities.add(entity);
@@ -2148,6 +2377,12 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         if (asOfTime != null)
         {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findRelationshipsInHistory(relationshipTypeGUID, relationshipSubtypeGUIDs, matchProperties, fromRelationshipElement,
+                                                       limitResultsByStatus, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -2583,6 +2818,12 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         if (asOfTime != null)
         {
+            if (graphStore.isHistoryEnabled())
+            {
+                return this.findEntitiesByClassificationInHistory(entityTypeGUID, classificationName, matchClassificationProperties, matchCriteria,
+                                                                  fromEntityElement, limitResultsByStatus, asOfTime, sequencingProperty, sequencingOrder, pageSize);
+            }
+
             log.error("{} does not support asOfTime searches", methodName);
 
             super.reportUnsupportedOptionalFunction(methodName);
@@ -3780,6 +4021,68 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            EntityConflictException,
+            RelationshipConflictException,
+            InvalidEntityException,
+            InvalidRelationshipException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName                = "saveInstanceReferenceCopies";
+        final String  entityParameterName       = "entity";
+        final String  relationshipParameterName = "relationship";
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Validate each instance, skipping any instance that has the local home metadata collection id.
+         */
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, entity, entityParameterName, methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, relationship, relationshipParameterName, methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        /*
+         * Save the instances in batches
+         */
+        graphStore.saveReferenceCopiesToStore(entities, relationships);
+    }
+
+
     @Override
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
@@ -4030,4 +4333,400 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     methodName);
         }
     }
-}
\ No newline at end of file
+
+
+    /*
+     * Historical queries.  When the graph store is keeping history, the versions of the instances that were current
+     * at the requested time are retrieved from the history in the graph store, using its indexes on type, status and
+     * validity period.  The remaining search criteria are then tested against each version as it is read.  When the
+     * results are not sequenced, the graph store stops reading once it has enough matches for the requested page.
+     */
+
+    // getHistoryResultLimit
+    //
+    // Return the number of matching instances needed to build the requested page.  Zero means all of the matching
+    // instances are needed, either because there is no page size or because the results have to be sorted.
+    private int getHistoryResultLimit(int             fromElement,
+                                      SequencingOrder sequencingOrder,
+                                      int             pageSize)
+    {
+        if ((pageSize > 0) && ((sequencingOrder == null) || (sequencingOrder == SequencingOrder.ANY)))
+        {
+            return fromElement + pageSize;
+        }
+
+        return 0;
+    }
+
+
+    // getHistoryTypeNames
+    //
+    // Return the name of the requested type and its subtypes, or null if any type is acceptable.
+    private List<String> getHistoryTypeNames(String typeGUID,
+                                             String typeGUIDParameterName,
+                                             String methodName) throws TypeErrorException
+    {
+        if (typeGUID == null)
+        {
+            return null;
+        }
+
+        TypeDef      typeDef      = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, typeGUID, methodName);
+        List<String> typeNames    = new ArrayList<>();
+        List<String> subTypeNames = repositoryHelper.getSubTypesOf(repositoryName, typeDef.getName());
+
+        typeNames.add(typeDef.getName());
+        if (subTypeNames != null)
+        {
+            typeNames.addAll(subTypeNames);
+        }
+
+        return typeNames;
+    }
+
+
+    // getRelationshipsForEntityFromHistory
+    private List<Relationship> getRelationshipsForEntityFromHistory(String                     entityGUID,
+                                                                    String                     relationshipTypeGUID,
+                                                                    int                        fromRelationshipElement,
+                                                                    List<InstanceStatus>       limitResultsByStatus,
+                                                                    Date                       asOfTime,
+                                                                    String                     sequencingProperty,
+                                                                    SequencingOrder            sequencingOrder,
+                                                                    int                        pageSize) throws RepositoryErrorException,
+                                                                                                                PropertyErrorException,
+                                                                                                                PagingErrorException
+    {
+        List<Relationship> entityRelationships = new ArrayList<>();
+
+        for (Relationship relationship : graphStore.getRelationshipsForEntityFromHistory(entityGUID, asOfTime))
+        {
+            if ((relationship != null) &&
+                (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)))
+            {
+                entityRelationships.add(relationship);
+            }
+        }
+
+        if (entityRelationships.isEmpty())
+        {
+            return null;
+        }
+
+        return repositoryHelper.formatRelationshipResults(entityRelationships,
+                                                          fromRelationshipElement,
+                                                          sequencingProperty,
+                                                          sequencingOrder,
+                                                          pageSize);
+    }
+
+
+    // findEntitiesByPropertyInHistory
+    private List<EntityDetail> findEntitiesByPropertyInHistory(String                    entityTypeGUID,
+                                                               InstanceProperties        matchProperties,
+                                                               MatchCriteria             matchCriteria,
+                                                               int                       fromEntityElement,
+                                                               List<InstanceStatus>      limitResultsByStatus,
+                                                               List<String>              limitResultsByClassification,
+                                                               Date                      asOfTime,
+                                                               String                    sequencingProperty,
+                                                               SequencingOrder           sequencingOrder,
+                                                               int                       pageSize) throws InvalidParameterException,
+                                                                                                          TypeErrorException,
+                                                                                                          RepositoryErrorException,
+                                                                                                          PropertyErrorException,
+                                                                                                          PagingErrorException
+    {
+        final String methodName = "findEntitiesByProperty";
+        final String entityTypeGUIDParameterName = "entityTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         null,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         limitResultsByClassification,
+                                                                                                         matchProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        List<EntityDetail> foundEntities = graphStore.findEntitiesInHistory(this.getHistoryTypeNames(entityTypeGUID, entityTypeGUIDParameterName, methodName),
+                                                                            limitResultsByStatus,
+                                                                            asOfTime,
+                                                                            searchPredicate,
+                                                                            this.getHistoryResultLimit(fromEntityElement, sequencingOrder, pageSize));
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findEntitiesByPropertyValueInHistory
+    private List<EntityDetail> findEntitiesByPropertyValueInHistory(String                    entityTypeGUID,
+                                                                    String                    searchCriteria,
+                                                                    int                       fromEntityElement,
+                                                                    List<InstanceStatus>      limitResultsByStatus,
+                                                                    List<String>              limitResultsByClassification,
+                                                                    Date                      asOfTime,
+                                                                    String                    sequencingProperty,
+                                                                    SequencingOrder           sequencingOrder,
+                                                                    int                       pageSize) throws InvalidParameterException,
+                                                                                                               TypeErrorException,
+                                                                                                               RepositoryErrorException,
+                                                                                                               PropertyErrorException,
+                                                                                                               PagingErrorException
+    {
+        final String methodName = "findEntitiesByPropertyValue";
+        final String entityTypeGUIDParameterName = "entityTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchCriteriaPredicate(repositoryName,
+                                                                                                     null,
+                                                                                                     null,
+                                                                                                     limitResultsByStatus,
+                                                                                                     limitResultsByClassification,
+                                                                                                     searchCriteria,
+                                                                                                     methodName);
+
+        List<EntityDetail> foundEntities = graphStore.findEntitiesInHistory(this.getHistoryTypeNames(entityTypeGUID, entityTypeGUIDParameterName, methodName),
+                                                                            limitResultsByStatus,
+                                                                            asOfTime,
+                                                                            searchPredicate,
+                                                                            this.getHistoryResultLimit(fromEntityElement, sequencingOrder, pageSize));
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findEntitiesInHistory
+    private List<EntityDetail> findEntitiesInHistory(String                    entityTypeGUID,
+                                                     List<String>              entitySubtypeGUIDs,
+                                                     SearchProperties          matchProperties,
+                                                     int                       fromEntityElement,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     SearchClassifications     matchClassifications,
+                                                     Date                      asOfTime,
+                                                     String                    sequencingProperty,
+                                                     SequencingOrder           sequencingOrder,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                TypeErrorException,
+                                                                                                RepositoryErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException
+    {
+        final String methodName = "findEntities";
+        final String entityTypeGUIDParameterName = "entityTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchPropertiesPredicate(repositoryName,
+                                                                                                       entityTypeGUID,
+                                                                                                       entitySubtypeGUIDs,
+                                                                                                       limitResultsByStatus,
+                                                                                                       matchProperties,
+                                                                                                       matchClassifications,
+                                                                                                       methodName);
+
+        List<EntityDetail> foundEntities = graphStore.findEntitiesInHistory(this.getHistoryTypeNames(entityTypeGUID, entityTypeGUIDParameterName, methodName),
+                                                                            limitResultsByStatus,
+                                                                            asOfTime,
+                                                                            searchPredicate,
+                                                                            this.getHistoryResultLimit(fromEntityElement, sequencingOrder, pageSize));
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findEntitiesByClassificationInHistory
+    private List<EntityDetail> findEntitiesByClassificationInHistory(String                    entityTypeGUID,
+                                                                     String                    classificationName,
+                                                                     InstanceProperties        matchClassificationProperties,
+                                                                     MatchCriteria             matchCriteria,
+                                                                     int                       fromEntityElement,
+                                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                                     Date                      asOfTime,
+                                                                     String                    sequencingProperty,
+                                                                     SequencingOrder           sequencingOrder,
+                                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                                TypeErrorException,
+                                                                                                                RepositoryErrorException,
+                                                                                                                PropertyErrorException,
+                                                                                                                PagingErrorException
+    {
+        final String methodName = "findEntitiesByClassification";
+        final String entityTypeGUIDParameterName = "entityTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         null,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         null,
+                                                                                                         matchClassificationProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        /*
+         * The entity matches if its header matches and it has the named classification with matching properties.
+         */
+        OMRSInstanceSearchPredicate classificationPredicate = new OMRSInstanceSearchPredicate()
+        {
+            @Override
+            public boolean matchesHeader(InstanceHeader instance)
+            {
+                return searchPredicate.matchesHeader(instance);
+            }
+
+            @Override
+            public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                             InstanceProperties  instanceProperties) throws InvalidParameterException,
+                                                                                            RepositoryErrorException
+            {
+                return searchPredicate.matchesProperties(instanceHeader, instanceProperties);
+            }
+
+            @Override
+            public boolean matches(InstanceHeader instance) throws InvalidParameterException,
+                                                                   RepositoryErrorException
+            {
+                EntityDetail entity = (EntityDetail) instance;
+
+                if ((entity.getClassifications() != null) && (searchPredicate.matchesHeader(entity)))
+                {
+                    for (Classification classification : entity.getClassifications())
+                    {
+                        if ((classification != null) && (classificationName.equals(classification.getName())))
+                        {
+                            return searchPredicate.matchesProperties(classification, classification.getProperties());
+                        }
+                    }
+                }
+
+                return false;
+            }
+        };
+
+        List<EntityDetail> foundEntities = graphStore.findEntitiesInHistory(this.getHistoryTypeNames(entityTypeGUID, entityTypeGUIDParameterName, methodName),
+                                                                            limitResultsByStatus,
+                                                                            asOfTime,
+                                                                            classificationPredicate,
+                                                                            this.getHistoryResultLimit(fromEntityElement, sequencingOrder, pageSize));
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findRelationshipsByPropertyInHistory
+    private List<Relationship> findRelationshipsByPropertyInHistory(String                    relationshipTypeGUID,
+                                                                    InstanceProperties        matchProperties,
+                                                                    MatchCriteria             matchCriteria,
+                                                                    int                       fromRelationshipElement,
+                                                                    List<InstanceStatus>      limitResultsByStatus,
+                                                                    Date                      asOfTime,
+                                                                    String                    sequencingProperty,
+                                                                    SequencingOrder           sequencingOrder,
+                                                                    int                       pageSize) throws InvalidParameterException,
+                                                                                                               TypeErrorException,
+                                                                                                               RepositoryErrorException,
+                                                                                                               PropertyErrorException,
+                                                                                                               PagingErrorException
+    {
+        final String methodName = "findRelationshipsByProperty";
+        final String relationshipTypeGUIDParameterName = "relationshipTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         null,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         null,
+                                                                                                         matchProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        List<Relationship> foundRelationships = graphStore.findRelationshipsInHistory(this.getHistoryTypeNames(relationshipTypeGUID,
+                                                                                                               relationshipTypeGUIDParameterName,
+                                                                                                               methodName),
+                                                                                      limitResultsByStatus,
+                                                                                      asOfTime,
+                                                                                      searchPredicate,
+                                                                                      this.getHistoryResultLimit(fromRelationshipElement,
+                                                                                                                 sequencingOrder,
+                                                                                                                 pageSize));
+
+        return repositoryHelper.formatRelationshipResults(foundRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findRelationshipsByPropertyValueInHistory
+    private List<Relationship> findRelationshipsByPropertyValueInHistory(String                    relationshipTypeGUID,
+                                                                         String                    searchCriteria,
+                                                                         int                       fromRelationshipElement,
+                                                                         List<InstanceStatus>      limitResultsByStatus,
+                                                                         Date                      asOfTime,
+                                                                         String                    sequencingProperty,
+                                                                         SequencingOrder           sequencingOrder,
+                                                                         int                       pageSize) throws InvalidParameterException,
+                                                                                                                    TypeErrorException,
+                                                                                                                    RepositoryErrorException,
+                                                                                                                    PropertyErrorException,
+                                                                                                                    PagingErrorException
+    {
+        final String methodName = "findRelationshipsByPropertyValue";
+        final String relationshipTypeGUIDParameterName = "relationshipTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchCriteriaPredicate(repositoryName,
+                                                                                                     null,
+                                                                                                     null,
+                                                                                                     limitResultsByStatus,
+                                                                                                     null,
+                                                                                                     searchCriteria,
+                                                                                                     methodName);
+
+        List<Relationship> foundRelationships = graphStore.findRelationshipsInHistory(this.getHistoryTypeNames(relationshipTypeGUID,
+                                                                                                               relationshipTypeGUIDParameterName,
+                                                                                                               methodName),
+                                                                                      limitResultsByStatus,
+                                                                                      asOfTime,
+                                                                                      searchPredicate,
+                                                                                      this.getHistoryResultLimit(fromRelationshipElement,
+                                                                                                                 sequencingOrder,
+                                                                                                                 pageSize));
+
+        return repositoryHelper.formatRelationshipResults(foundRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // findRelationshipsInHistory
+    private List<Relationship> findRelationshipsInHistory(String                    relationshipTypeGUID,
+                                                          List<String>              relationshipSubtypeGUIDs,
+                                                          SearchProperties          matchProperties,
+                                                          int                       fromRelationshipElement,
+                                                          List<InstanceStatus>      limitResultsByStatus,
+                                                          Date                      asOfTime,
+                                                          String                    sequencingProperty,
+                                                          SequencingOrder           sequencingOrder,
+                                                          int                       pageSize) throws InvalidParameterException,
+                                                                                                     TypeErrorException,
+                                                                                                     RepositoryErrorException,
+                                                                                                     PropertyErrorException,
+                                                                                                     PagingErrorException
+    {
+        final String methodName = "findRelationships";
+        final String relationshipTypeGUIDParameterName = "relationshipTypeGUID";
+
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchPropertiesPredicate(repositoryName,
+                                                                                                       relationshipTypeGUID,
+                                                                                                       relationshipSubtypeGUIDs,
+                                                                                                       limitResultsByStatus,
+                                                                                                       matchProperties,
+                                                                                                       null,
+                                                                                                       methodName);
+
+        List<Relationship> foundRelationships = graphStore.findRelationshipsInHistory(this.getHistoryTypeNames(relationshipTypeGUID,
+                                                                                                               relationshipTypeGUIDParameterName,
+                                                                                                               methodName),
+                                                                                      limitResultsByStatus,
+                                                                                      asOfTime,
+                                                                                      searchPredicate,
+                                                                                      this.getHistoryResultLimit(fromRelationshipElement,
+                                                                                                                 sequencingOrder,
+                                                                                                                 pageSize));
+
+        return repositoryHelper.formatRelationshipResults(foundRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+}
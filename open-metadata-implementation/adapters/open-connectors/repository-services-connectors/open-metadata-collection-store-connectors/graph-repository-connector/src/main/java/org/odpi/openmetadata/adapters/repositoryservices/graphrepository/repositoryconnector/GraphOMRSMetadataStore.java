@@ -4,6 +4,8 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -12,6 +14,7 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.janusgraph.core.attribute.Text;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
@@ -21,6 +24,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
@@ -38,6 +42,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
@@ -71,11 +76,24 @@ import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.CONFIGURATION_PROPERTY_HISTORY_MODE;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.DEFAULT_BULK_LOAD_BATCH_SIZE;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.HISTORY_OPEN_END;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_CLASSIFICATION_CLASSIFICATION_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_TYPE_NAME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_END_ONE_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_END_TWO_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_INSTANCE;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_TYPE_NAME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_VALID_FROM;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_VALID_TO;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_HISTORY_VERSION;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_CLASSIFICATION;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_ENTITY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_RELATIONSHIP;
@@ -83,6 +101,8 @@ import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_NAME_TYPE_NAME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.VERTEX_LABEL_ENTITY_HISTORY;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.VERTEX_LABEL_RELATIONSHIP_HISTORY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.corePropertiesClassification;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.corePropertiesEntity;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.corePropertiesRelationship;
@@ -100,6 +120,10 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * When the historyMode configuration property is set to true, every version of an entity or relationship is also
+ * saved in a history vertex that records the period when the version was current.  This allows the
+ * metadata collection to answer asOfTime requests with indexed queries of the history vertices.
  */
 class GraphOMRSMetadataStore {
 
@@ -109,6 +133,7 @@ class GraphOMRSMetadataStore {
     private String metadataCollectionId;
 
     private OMRSRepositoryHelper repositoryHelper;
+    private AuditLog             auditLog;
 
     // The instance graph is used to store entities (vertices) and relationships (edges).
 
@@ -119,6 +144,10 @@ class GraphOMRSMetadataStore {
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
 
+    private boolean      historyEnabled     = false;
+    private ObjectMapper objectMapper       = new ObjectMapper();
+    private int          bulkLoadBatchSize  = DEFAULT_BULK_LOAD_BATCH_SIZE;
+
 
     /**
      * Typical constructor
@@ -144,14 +173,49 @@ class GraphOMRSMetadataStore {
         this.metadataCollectionId = metadataCollectionId;
         this.repositoryName = repositoryName;
         this.repositoryHelper = repositoryHelper;
+        this.auditLog = auditLog;
+
+        /*
+         * The history mode and bulk load properties are for this store rather than JanusGraph so they are removed
+         * from the properties passed to the graph factory.
+         */
+        Map<String, Object> graphProperties = storageProperties;
+
+        if ((storageProperties != null) && ((storageProperties.containsKey(CONFIGURATION_PROPERTY_HISTORY_MODE))
+                                         || (storageProperties.containsKey(CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE))))
+        {
+            graphProperties = new HashMap<>(storageProperties);
+
+            Object historyMode = graphProperties.remove(CONFIGURATION_PROPERTY_HISTORY_MODE);
+
+            this.historyEnabled = (historyMode != null) && Boolean.parseBoolean(historyMode.toString());
 
+            Object batchSize = graphProperties.remove(CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE);
+
+            if (batchSize != null)
+            {
+                try
+                {
+                    this.bulkLoadBatchSize = Math.max(1, Integer.parseInt(batchSize.toString()));
+                }
+                catch (NumberFormatException e)
+                {
+                    log.warn("Ignoring invalid {} value {}", CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE, batchSize);
+                }
+            }
+        }
 
         try
         {
             graphFactory = new GraphOMRSGraphFactory();
             synchronized (GraphOMRSMetadataStore.class)
             {
-                instanceGraph = graphFactory.open(metadataCollectionId, repositoryName, auditLog, storageProperties);
+                instanceGraph = graphFactory.open(metadataCollectionId, repositoryName, auditLog, graphProperties);
+
+                if (historyEnabled && (instanceGraph != null))
+                {
+                    graphFactory.initializeHistory();
+                }
             }
         }
         catch (RepositoryErrorException e)
@@ -265,6 +329,8 @@ class GraphOMRSMetadataStore {
                 }
             }
 
+            saveEntityHistory(g, entity);
+
         }
         catch (Exception e)
         {
@@ -294,19 +360,41 @@ class GraphOMRSMetadataStore {
     //
     synchronized void createEntityProxyInStore(EntityProxy entityProxy)
 
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        try
+        {
+            addEntityProxy(g, entityProxy);
+        }
+        catch (RepositoryErrorException | InvalidParameterException e)
+        {
+            g.tx().rollback();
+            throw e;
+        }
+
+        g.tx().commit();
+    }
+
+
+    // addEntityProxy
+    //
+    // Add the vertices for an entity proxy within the caller's transaction.
+    private void addEntityProxy(GraphTraversalSource g,
+                                EntityProxy          entityProxy)
+
     throws RepositoryErrorException,
            InvalidParameterException
     {
         final String methodName = "createEntityProxyInStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
         if (vertexIt.hasNext())
         {
             Vertex vertex = vertexIt.next();
             log.error("{} createEntityProxyInStore found existing vertex {}", methodName, vertex);
-            g.tx().rollback();
-
             throw new InvalidParameterException(
                     GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
                             entityProxy.getGUID(), methodName,
@@ -340,8 +428,6 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
-
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
                             entityProxy.getGUID(), methodName,
@@ -350,9 +436,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-        g.tx().commit();
-
     }
 
 
@@ -394,6 +477,32 @@ class GraphOMRSMetadataStore {
      */
     synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
 
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        try
+        {
+            addEntityReferenceCopy(g, entity);
+        }
+        catch (InvalidParameterException | RepositoryErrorException e)
+        {
+            g.tx().rollback();
+            throw e;
+        }
+
+        g.tx().commit();
+    }
+
+
+    // addEntityReferenceCopy
+    //
+    // Create or update the vertices for an entity reference copy within the caller's transaction.
+    private void addEntityReferenceCopy(GraphTraversalSource g,
+                                        EntityDetail         entity)
+
     throws InvalidParameterException,
            RepositoryErrorException
 
@@ -403,7 +512,6 @@ class GraphOMRSMetadataStore {
 
         Vertex vertex;
 
-        GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
         if (vertexIt.hasNext())
@@ -430,8 +538,6 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
-
                 throw new InvalidParameterException(
                         GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
                                 entity.getGUID(), methodName,
@@ -475,12 +581,12 @@ class GraphOMRSMetadataStore {
                 }
             }
 
+            saveEntityHistory(g, entity);
+
         }
         catch (Exception e)
         {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
-
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
                             entity.getGUID(), methodName,
@@ -489,9 +595,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-
-        g.tx().commit();
     }
 
 
@@ -793,6 +896,8 @@ class GraphOMRSMetadataStore {
 
             relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
+            saveRelationshipHistory(g, relationship);
+
         }
         catch (Exception e)
         {
@@ -868,11 +973,39 @@ class GraphOMRSMetadataStore {
            RepositoryErrorException
 
     {
-
         final String methodName = "saveRelationshipReferenceCopyToStore";
 
         GraphTraversalSource g = instanceGraph.traversal();
 
+        try
+        {
+            addRelationshipReferenceCopy(g, relationship);
+        }
+        catch (InvalidParameterException | RepositoryErrorException e)
+        {
+            g.tx().rollback();
+            throw e;
+        }
+
+        log.debug("{} Commit tx containing creation or update of edge", methodName);
+        g.tx().commit();
+    }
+
+
+    // addRelationshipReferenceCopy
+    //
+    // Create or update the edge for a relationship reference copy within the caller's transaction.  Proxies are
+    // created in the same transaction for any ends that are not already stored.
+    private void addRelationshipReferenceCopy(GraphTraversalSource g,
+                                              Relationship         relationship)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+
+        final String methodName = "saveRelationshipReferenceCopyToStore";
+
         Vertex vertex;
 
         // Process end 1
@@ -899,7 +1032,7 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
+            addEntityProxy(g, entityOne);
         }
 
         // Process end 2
@@ -924,7 +1057,7 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
+            addEntityProxy(g, entityTwo);
         }
 
 
@@ -952,8 +1085,6 @@ class GraphOMRSMetadataStore {
 
             // Error!!
             log.error("{} Could not locate or create vertex for entity with guid {} used in relationship {}", methodName, vertexOne == null ? entityOne.getGUID() : entityTwo.getGUID(), relationship.getGUID());
-            g.tx().rollback();
-
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
                             relationship.getGUID(), methodName,
@@ -993,8 +1124,6 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
-                g.tx().rollback();
-
                 final String parameterName = "relationship";
 
                 throw new InvalidParameterException(
@@ -1022,12 +1151,12 @@ class GraphOMRSMetadataStore {
 
             relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
+            saveRelationshipHistory(g, relationship);
+
         }
         catch (Exception e)
         {
             log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
-
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
                             relationship.getGUID(),
@@ -1037,9 +1166,200 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
+    }
+
+
+    /*
+     *  Bulk load
+     *
+     *  Archives and batches of instances from the cohort contain many reference copies.  Rather than commit each
+     *  instance separately, the reference copies are saved in batches with one transaction per batch.  JanusGraph's
+     *  batch loading mode is not used because it turns off the locking on the unique GUID index, which would allow
+     *  concurrent loaders to create duplicate vertices for the same GUID.
+     *  If a batch fails it is rolled back and its instances are saved one at a time, so that only the instances
+     *  that are in error are rejected.  The failure of the batch is recorded in the audit log.
+     */
+
+    // saveReferenceCopiesToStore
+    synchronized void saveReferenceCopiesToStore(List<EntityDetail> entities,
+                                                 List<Relationship> relationships)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        if (entities != null)
+        {
+            for (int batchStart = 0; batchStart < entities.size(); batchStart += bulkLoadBatchSize)
+            {
+                saveEntityReferenceCopyBatch(entities.subList(batchStart, Math.min(batchStart + bulkLoadBatchSize, entities.size())));
+            }
+        }
+
+        if (relationships != null)
+        {
+            for (int batchStart = 0; batchStart < relationships.size(); batchStart += bulkLoadBatchSize)
+            {
+                saveRelationshipReferenceCopyBatch(relationships.subList(batchStart, Math.min(batchStart + bulkLoadBatchSize, relationships.size())));
+            }
+        }
+    }
+
+
+    // saveEntityReferenceCopyBatch
+    private void saveEntityReferenceCopyBatch(List<EntityDetail> entities)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveEntityReferenceCopyBatch";
+
+        JanusGraphTransaction tx = instanceGraph.newTransaction();
+
+        try
+        {
+            GraphTraversalSource g = tx.traversal();
+
+            for (EntityDetail entity : entities)
+            {
+                addEntityReferenceCopy(g, entity);
+            }
+
+            tx.commit();
+            log.debug("{} committed batch of {} entities", methodName, entities.size());
+            return;
+        }
+        catch (Exception e)
+        {
+            log.debug("{} batch of {} entities failed, saving them individually: {}", methodName, entities.size(), e.getMessage());
+            if (tx.isOpen())
+            {
+                tx.rollback();
+            }
+
+            logBatchFailure(methodName, entities.size(), "entity", e);
+        }
+
+        for (EntityDetail entity : entities)
+        {
+            saveEntityReferenceCopyToStore(entity);
+        }
+    }
+
+
+    // saveRelationshipReferenceCopyBatch
+    private void saveRelationshipReferenceCopyBatch(List<Relationship> relationships)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveRelationshipReferenceCopyBatch";
+
+        JanusGraphTransaction tx = instanceGraph.newTransaction();
+
+        try
+        {
+            GraphTraversalSource g = tx.traversal();
+
+            for (Relationship relationship : relationships)
+            {
+                addRelationshipReferenceCopy(g, relationship);
+            }
+
+            tx.commit();
+            log.debug("{} committed batch of {} relationships", methodName, relationships.size());
+            return;
+        }
+        catch (Exception e)
+        {
+            log.debug("{} batch of {} relationships failed, saving them individually: {}", methodName, relationships.size(), e.getMessage());
+            if (tx.isOpen())
+            {
+                tx.rollback();
+            }
+
+            logBatchFailure(methodName, relationships.size(), "relationship", e);
+        }
+
+        for (Relationship relationship : relationships)
+        {
+            saveRelationshipReferenceCopyToStore(relationship);
+        }
+    }
+
+
+    // logBatchFailure
+    //
+    // Record in the audit log that a batch of reference copies has been rolled back and is being saved one at a time.
+    private void logBatchFailure(String    methodName,
+                                 int       batchSize,
+                                 String    instanceKind,
+                                 Exception error)
+    {
+        if (auditLog != null)
+        {
+            auditLog.logException(methodName,
+                                  GraphOMRSAuditCode.BULK_LOAD_BATCH_FAILED.getMessageDefinition(repositoryName,
+                                                                                                 Integer.toString(batchSize),
+                                                                                                 instanceKind,
+                                                                                                 error.getClass().getName(),
+                                                                                                 error.getMessage()),
+                                  error);
+        }
+    }
+
+
+    // Retrieve a set of entities in a single traversal - the results are keyed by GUID.  Entity proxies
+    // are skipped since they cannot be returned as entity details.
+    synchronized Map<String, EntityDetail> getEntityDetailsFromStore(List<String> guids)
+
+    throws RepositoryErrorException
+    {
+
+        String methodName = "getEntityDetailsFromStore";
+
+        Map<String, EntityDetail> entities = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, within(guids));
+
+        try
+        {
+            while (gt.hasNext())
+            {
+                Vertex vertex = gt.next();
+                log.debug("{} found entity vertex {}", methodName, vertex);
+
+                if (!entityMapper.isProxy(vertex))
+                {
+                    EntityDetail entity = new EntityDetail();
+
+                    try
+                    {
+                        entityMapper.mapVertexToEntityDetail(vertex, entity);
+                        entities.put(entity.getGUID(), entity);
+                    }
+                    catch (EntityProxyOnlyException e)
+                    {
+                        log.debug("{} skipping entity proxy {}", methodName, vertex);
+                    }
+                }
+            }
+        }
+        catch (RepositoryErrorException e)
+        {
+            log.error("{} Caught exception {}", methodName, e.getMessage());
+            g.tx().rollback();
+
+            throw e;
+        }
 
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
         g.tx().commit();
+
+        return entities;
     }
 
 
@@ -1118,6 +1438,66 @@ class GraphOMRSMetadataStore {
     }
 
 
+    // Retrieve a set of relationships in a single traversal - the results are keyed by GUID.
+    synchronized Map<String, Relationship> getRelationshipsFromStore(List<String> guids)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "getRelationshipsFromStore";
+
+        Map<String, Relationship> relationships = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(guids));
+        while (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
+
+            Relationship relationship = new Relationship();
+
+            relationshipMapper.mapEdgeToRelationship(edge, relationship);
+
+            Vertex vertex = null;
+            try
+            {
+                vertex = edge.outVertex();
+
+                EntityProxy entityOneProxy = new EntityProxy();
+                entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
+                relationship.setEntityOneProxy(entityOneProxy);
+
+                vertex = edge.inVertex();
+
+                EntityProxy entityTwoProxy = new EntityProxy();
+                entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
+                relationship.setEntityTwoProxy(entityTwoProxy);
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
+                                relationship.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+
+            relationships.put(relationship.getGUID(), relationship);
+        }
+
+        g.tx().commit();
+
+        return relationships;
+    }
+
+
     synchronized void updateEntityInStore(EntityDetail entity)
 
     throws RepositoryErrorException
@@ -1152,6 +1532,8 @@ class GraphOMRSMetadataStore {
                     entityMapper.mapEntityDetailToVertex(entity, vertex);
 
                     updateEntityClassifications(entity, vertex, g);
+
+                    saveEntityHistory(g, entity);
                 }
 
             }
@@ -1295,6 +1677,8 @@ class GraphOMRSMetadataStore {
 
                 relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
+                saveRelationshipHistory(g, relationship);
+
             }
             catch (Exception e)
             {
@@ -1362,6 +1746,21 @@ class GraphOMRSMetadataStore {
                     classificationVertex.remove();
                 }
 
+                // End the history of the entity and of any relationships that are removed with it
+                if (historyEnabled)
+                {
+                    Date purgeTime = new Date();
+
+                    Iterator<Edge> relationshipEdges = vertex.edges(Direction.BOTH, "Relationship");
+                    while (relationshipEdges.hasNext())
+                    {
+                        Edge relationshipEdge = relationshipEdges.next();
+                        closeHistory(g, VERTEX_LABEL_RELATIONSHIP_HISTORY, relationshipEdge.value(PROPERTY_KEY_RELATIONSHIP_GUID), purgeTime);
+                    }
+
+                    closeHistory(g, VERTEX_LABEL_ENTITY_HISTORY, entityGUID, purgeTime);
+                }
+
                 // Finally remove the entity vertex...
                 vertex.remove();
 
@@ -1388,6 +1787,11 @@ class GraphOMRSMetadataStore {
             log.debug("{} found existing edge {}", methodName, edge);
             edge.remove();
             log.debug("{} removed relationship edge with guid {}", methodName, relationshipGUID);
+
+            if (historyEnabled)
+            {
+                closeHistory(g, VERTEX_LABEL_RELATIONSHIP_HISTORY, relationshipGUID, new Date());
+            }
         }
         g.tx().commit();
 
@@ -1476,6 +1880,400 @@ class GraphOMRSMetadataStore {
 
 
 
+    /*
+     *  History
+     *
+     *  When history mode is enabled each version of an entity or relationship is saved in a history vertex along
+     *  with the period when it was the current version.  The current version of each instance is valid until
+     *  HISTORY_OPEN_END.  The history vertices are indexed on GUID, type name, the ends of a relationship and the
+     *  start and end of the validity period, so that asOfTime requests are answered with indexed queries.
+     */
+
+    boolean isHistoryEnabled()
+    {
+        return historyEnabled;
+    }
+
+
+    // saveEntityHistory
+    //
+    // This method ends the validity period of the previous version of the entity and saves the new version.
+    // It is called within the transaction that stores the entity.
+    private void saveEntityHistory(GraphTraversalSource g,
+                                   EntityDetail         entity)
+
+    throws JsonProcessingException
+
+    {
+        if (historyEnabled)
+        {
+            Date validFrom = getVersionTime(entity.getCreateTime(), entity.getUpdateTime());
+
+            closeHistory(g, VERTEX_LABEL_ENTITY_HISTORY, entity.getGUID(), validFrom);
+
+            Vertex historyVertex = g.addV(VERTEX_LABEL_ENTITY_HISTORY).next();
+            historyVertex.property(PROPERTY_KEY_HISTORY_GUID, entity.getGUID());
+            historyVertex.property(PROPERTY_KEY_HISTORY_VERSION, entity.getVersion());
+            historyVertex.property(PROPERTY_KEY_HISTORY_VALID_FROM, validFrom);
+            historyVertex.property(PROPERTY_KEY_HISTORY_VALID_TO, new Date(HISTORY_OPEN_END));
+            historyVertex.property(PROPERTY_KEY_HISTORY_INSTANCE, objectMapper.writeValueAsString(entity));
+            if (entity.getStatus() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_CURRENT_STATUS, entity.getStatus().getOrdinal());
+            }
+            if (entity.getType() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_TYPE_NAME, entity.getType().getTypeDefName());
+            }
+        }
+    }
+
+
+    // saveRelationshipHistory
+    //
+    // This method ends the validity period of the previous version of the relationship and saves the new version.
+    // It is called within the transaction that stores the relationship.
+    private void saveRelationshipHistory(GraphTraversalSource g,
+                                         Relationship         relationship)
+
+    throws JsonProcessingException
+
+    {
+        if (historyEnabled)
+        {
+            Date validFrom = getVersionTime(relationship.getCreateTime(), relationship.getUpdateTime());
+
+            closeHistory(g, VERTEX_LABEL_RELATIONSHIP_HISTORY, relationship.getGUID(), validFrom);
+
+            Vertex historyVertex = g.addV(VERTEX_LABEL_RELATIONSHIP_HISTORY).next();
+            historyVertex.property(PROPERTY_KEY_HISTORY_GUID, relationship.getGUID());
+            historyVertex.property(PROPERTY_KEY_HISTORY_VERSION, relationship.getVersion());
+            historyVertex.property(PROPERTY_KEY_HISTORY_VALID_FROM, validFrom);
+            historyVertex.property(PROPERTY_KEY_HISTORY_VALID_TO, new Date(HISTORY_OPEN_END));
+            historyVertex.property(PROPERTY_KEY_HISTORY_INSTANCE, objectMapper.writeValueAsString(relationship));
+            if (relationship.getStatus() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_CURRENT_STATUS, relationship.getStatus().getOrdinal());
+            }
+            if (relationship.getType() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_TYPE_NAME, relationship.getType().getTypeDefName());
+            }
+            if (relationship.getEntityOneProxy() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_END_ONE_GUID, relationship.getEntityOneProxy().getGUID());
+            }
+            if (relationship.getEntityTwoProxy() != null)
+            {
+                historyVertex.property(PROPERTY_KEY_HISTORY_END_TWO_GUID, relationship.getEntityTwoProxy().getGUID());
+            }
+        }
+    }
+
+
+    // closeHistory
+    //
+    // End the validity period of the current version of an instance.  This happens when the instance is updated or purged.
+    private void closeHistory(GraphTraversalSource g,
+                              String               historyLabel,
+                              String               guid,
+                              Date                 validTo)
+    {
+        Iterator<Vertex> historyVertices = g.V().hasLabel(historyLabel)
+                                                .has(PROPERTY_KEY_HISTORY_GUID, guid)
+                                                .has(PROPERTY_KEY_HISTORY_VALID_TO, new Date(HISTORY_OPEN_END));
+
+        while (historyVertices.hasNext())
+        {
+            Vertex historyVertex = historyVertices.next();
+            Date   validFrom     = historyVertex.value(PROPERTY_KEY_HISTORY_VALID_FROM);
+
+            // Versions from another repository may arrive with an earlier timestamp - never end a version before it starts.
+            historyVertex.property(PROPERTY_KEY_HISTORY_VALID_TO, validTo.before(validFrom) ? validFrom : validTo);
+        }
+    }
+
+
+    // getVersionTime
+    //
+    // A version of an instance is current from the time it was last updated, or created if it has not been updated.
+    private Date getVersionTime(Date createTime,
+                                Date updateTime)
+    {
+        if (updateTime != null)
+        {
+            return updateTime;
+        }
+        if (createTime != null)
+        {
+            return createTime;
+        }
+        return new Date();
+    }
+
+
+    // getHistoryAsOfTime
+    //
+    // Restrict a traversal of history vertices to the versions that were current at the requested time.
+    private GraphTraversal<Vertex, Vertex> getHistoryAsOfTime(GraphTraversal<Vertex, Vertex> traversal,
+                                                              Date                           asOfTime)
+    {
+        return traversal.has(PROPERTY_KEY_HISTORY_VALID_FROM, lte(asOfTime)).has(PROPERTY_KEY_HISTORY_VALID_TO, gt(asOfTime));
+    }
+
+
+    // getEntityDetailFromHistory
+    //
+    // Return the version of the entity that was current at the requested time, or null if the entity did not exist then.
+    synchronized EntityDetail getEntityDetailFromHistory(String guid,
+                                                         Date   asOfTime)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "getEntityDetailFromHistory";
+
+        EntityDetail entity = null;
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Vertex> historyVertices = getHistoryAsOfTime(g.V().hasLabel(VERTEX_LABEL_ENTITY_HISTORY).has(PROPERTY_KEY_HISTORY_GUID, guid),
+                                                              asOfTime);
+        if (historyVertices.hasNext())
+        {
+            entity = readHistory(g, historyVertices.next(), EntityDetail.class, GraphOMRSErrorCode.ENTITY_NOT_FOUND, methodName);
+        }
+
+        g.tx().commit();
+
+        return entity;
+    }
+
+
+    // getRelationshipFromHistory
+    //
+    // Return the version of the relationship that was current at the requested time, or null if the relationship did not exist then.
+    synchronized Relationship getRelationshipFromHistory(String guid,
+                                                         Date   asOfTime)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "getRelationshipFromHistory";
+
+        Relationship relationship = null;
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Vertex> historyVertices = getHistoryAsOfTime(g.V().hasLabel(VERTEX_LABEL_RELATIONSHIP_HISTORY).has(PROPERTY_KEY_HISTORY_GUID, guid),
+                                                              asOfTime);
+        if (historyVertices.hasNext())
+        {
+            relationship = readHistory(g, historyVertices.next(), Relationship.class, GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND, methodName);
+        }
+
+        g.tx().commit();
+
+        return relationship;
+    }
+
+
+    // findEntitiesInHistory
+    //
+    // Return the versions of the entities of the requested types that were current at the requested time and match the
+    // search predicate.  A null list of type names returns entities of all types.  The type, status and time are tested
+    // by the traversal, so only the candidates that pass are read from their serialized form and tested against the
+    // search predicate.  The search stops once maxResults matches are found - zero means return all matches.
+    synchronized List<EntityDetail> findEntitiesInHistory(List<String>                typeNames,
+                                                          List<InstanceStatus>        limitResultsByStatus,
+                                                          Date                        asOfTime,
+                                                          OMRSInstanceSearchPredicate searchPredicate,
+                                                          int                         maxResults)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "findEntitiesInHistory";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = getHistoryCandidates(g, VERTEX_LABEL_ENTITY_HISTORY, typeNames, limitResultsByStatus);
+
+        return readMatchingHistory(g, getHistoryAsOfTime(gt, asOfTime), EntityDetail.class, searchPredicate, maxResults,
+                                   GraphOMRSErrorCode.ENTITY_NOT_FOUND, methodName);
+    }
+
+
+    // findRelationshipsInHistory
+    //
+    // Return the versions of the relationships of the requested types that were current at the requested time and match
+    // the search predicate.  A null list of type names returns relationships of all types.  The search stops once
+    // maxResults matches are found - zero means return all matches.
+    synchronized List<Relationship> findRelationshipsInHistory(List<String>                typeNames,
+                                                               List<InstanceStatus>        limitResultsByStatus,
+                                                               Date                        asOfTime,
+                                                               OMRSInstanceSearchPredicate searchPredicate,
+                                                               int                         maxResults)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "findRelationshipsInHistory";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = getHistoryCandidates(g, VERTEX_LABEL_RELATIONSHIP_HISTORY, typeNames, limitResultsByStatus);
+
+        return readMatchingHistory(g, getHistoryAsOfTime(gt, asOfTime), Relationship.class, searchPredicate, maxResults,
+                                   GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND, methodName);
+    }
+
+
+    // getHistoryCandidates
+    //
+    // Return the traversal of the history vertices with one of the requested types and statuses.
+    // Null or empty lists mean any type or status.
+    private GraphTraversal<Vertex, Vertex> getHistoryCandidates(GraphTraversalSource g,
+                                                                String               historyLabel,
+                                                                List<String>         typeNames,
+                                                                List<InstanceStatus> limitResultsByStatus)
+    {
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel(historyLabel);
+        if (typeNames != null)
+        {
+            gt = gt.has(PROPERTY_KEY_HISTORY_TYPE_NAME, within(typeNames));
+        }
+
+        if ((limitResultsByStatus != null) && (! limitResultsByStatus.isEmpty()))
+        {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus)
+            {
+                if (status != null)
+                {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_HISTORY_CURRENT_STATUS, within(statusOrdinals));
+        }
+
+        return gt;
+    }
+
+
+    // readMatchingHistory
+    //
+    // Read the instances from the history vertices returned by the traversal, keeping those that match the search predicate.
+    // The traversal is read lazily so no more history vertices are retrieved once maxResults matches have been found.
+    private <T extends InstanceHeader> List<T> readMatchingHistory(GraphTraversalSource        g,
+                                                                   Iterator<Vertex>            historyVertices,
+                                                                   Class<T>                    instanceClass,
+                                                                   OMRSInstanceSearchPredicate searchPredicate,
+                                                                   int                         maxResults,
+                                                                   GraphOMRSErrorCode          errorCode,
+                                                                   String                      methodName)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        List<T> instances = new ArrayList<>();
+
+        try
+        {
+            while (historyVertices.hasNext() && ((maxResults <= 0) || (instances.size() < maxResults)))
+            {
+                T instance = readHistory(g, historyVertices.next(), instanceClass, errorCode, methodName);
+
+                if ((searchPredicate == null) || (searchPredicate.matches(instance)))
+                {
+                    instances.add(instance);
+                }
+            }
+        }
+        catch (InvalidParameterException | RepositoryErrorException e)
+        {
+            g.tx().rollback();
+            throw e;
+        }
+
+        g.tx().commit();
+
+        return instances;
+    }
+
+
+    // getRelationshipsForEntityFromHistory
+    //
+    // Return the versions of the relationships connected to the entity that were current at the requested time.
+    // Each end is queried separately so that both queries can use the index for the end.
+    synchronized List<Relationship> getRelationshipsForEntityFromHistory(String entityGUID,
+                                                                         Date   asOfTime)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "getRelationshipsForEntityFromHistory";
+
+        Map<String, Relationship> relationships = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        for (String endPropertyKey : new String[]{PROPERTY_KEY_HISTORY_END_ONE_GUID, PROPERTY_KEY_HISTORY_END_TWO_GUID})
+        {
+            Iterator<Vertex> historyVertices = getHistoryAsOfTime(g.V().hasLabel(VERTEX_LABEL_RELATIONSHIP_HISTORY).has(endPropertyKey, entityGUID),
+                                                                  asOfTime);
+            while (historyVertices.hasNext())
+            {
+                Relationship relationship = readHistory(g, historyVertices.next(), Relationship.class, GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND, methodName);
+
+                relationships.put(relationship.getGUID(), relationship);
+            }
+        }
+
+        g.tx().commit();
+
+        return new ArrayList<>(relationships.values());
+    }
+
+
+    // readHistory
+    //
+    // Restore the version of an instance that is serialized in a history vertex.
+    private <T> T readHistory(GraphTraversalSource g,
+                              Vertex               historyVertex,
+                              Class<T>             instanceClass,
+                              GraphOMRSErrorCode   errorCode,
+                              String               methodName)
+
+    throws RepositoryErrorException
+
+    {
+        try
+        {
+            return objectMapper.readValue((String) historyVertex.value(PROPERTY_KEY_HISTORY_INSTANCE), instanceClass);
+        }
+        catch (Exception e)
+        {
+            String guid = historyVertex.value(PROPERTY_KEY_HISTORY_GUID);
+
+            log.error("{} could not read history of instance with GUID {}, exception {}", methodName, guid, e.getMessage());
+            g.tx().rollback();
+
+            throw new RepositoryErrorException(
+                    errorCode.getMessageDefinition(
+                            guid, methodName,
+                            this.getClass().getName(),
+                            repositoryName),
+                    this.getClass().getName(),
+                    methodName, e);
+        }
+    }
+
+
+
     // findEntitiesByPropertyForType
     List<EntityDetail> findEntitiesByPropertyForType(String               typeDefName,
                                                      InstanceProperties   matchProperties,
@@ -0,0 +1,287 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test the saving of batches of reference copies in the graph store.
+ */
+public class TestGraphOMRSMetadataStoreBulkLoad
+{
+    private static final String LOCAL_METADATA_COLLECTION_ID  = "localMetadataCollectionId";
+    private static final String REMOTE_METADATA_COLLECTION_ID = "remoteMetadataCollectionId";
+    private static final String OTHER_METADATA_COLLECTION_ID  = "otherMetadataCollectionId";
+    private static final String ENTITY_TYPE                   = "GlossaryTerm";
+    private static final String RELATIONSHIP_TYPE             = "RelatedTerm";
+
+    private List<AuditLogRecord> auditLogRecords = new ArrayList<>();
+
+
+    /**
+     * Default constructor
+     */
+    public TestGraphOMRSMetadataStoreBulkLoad()
+    {
+    }
+
+
+    /**
+     * Reference copies spread over several batches are all saved.
+     */
+    @Test
+    public void testSaveBatches() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testSaveBatches");
+
+        List<EntityDetail> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            entities.add(getEntity("guid" + i, REMOTE_METADATA_COLLECTION_ID));
+        }
+
+        graphStore.saveReferenceCopiesToStore(entities, null);
+
+        Map<String, String> savedEntities = getSavedEntities(graphStore);
+
+        assertEquals(savedEntities.size(), 5);
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(savedEntities.get("guid" + i), REMOTE_METADATA_COLLECTION_ID);
+        }
+
+        assertTrue(auditLogRecords.isEmpty());
+    }
+
+
+    /**
+     * A relationship whose end has not been loaded is saved with a proxy for that end.  The relationships
+     * can only be saved if the vertices for both of their ends exist.
+     */
+    @Test
+    public void testSaveRelationshipsWithProxies() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testSaveRelationshipsWithProxies");
+
+        graphStore.saveReferenceCopiesToStore(Collections.singletonList(getEntity("term1", REMOTE_METADATA_COLLECTION_ID)),
+                                              Arrays.asList(getRelationship("relationship1", "term1", "term2"),
+                                                            getRelationship("relationship2", "term2", "term3"),
+                                                            getRelationship("relationship3", "term3", "term1")));
+
+        assertEquals(getSavedEntities(graphStore).keySet(), Collections.singleton("term1"));
+
+        Set<String> savedRelationships = new HashSet<>();
+        for (Relationship relationship : graphStore.findRelationshipsInHistory(null, null, new Date(), null, 0))
+        {
+            savedRelationships.add(relationship.getGUID());
+        }
+
+        assertEquals(savedRelationships, new HashSet<>(Arrays.asList("relationship1", "relationship2", "relationship3")));
+    }
+
+
+    /**
+     * When a batch fails, it is audit logged and its reference copies are saved one at a time up to the one in error.
+     */
+    @Test
+    public void testFailedBatchSavedIndividually() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testFailedBatchSavedIndividually");
+
+        graphStore.saveEntityReferenceCopyToStore(getEntity("clash", OTHER_METADATA_COLLECTION_ID));
+
+        try
+        {
+            graphStore.saveReferenceCopiesToStore(Arrays.asList(getEntity("good", REMOTE_METADATA_COLLECTION_ID),
+                                                                getEntity("clash", REMOTE_METADATA_COLLECTION_ID)),
+                                                  null);
+            fail("The reference copy that clashes with an existing entity should be rejected");
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        Map<String, String> savedEntities = getSavedEntities(graphStore);
+
+        assertEquals(savedEntities.get("good"), REMOTE_METADATA_COLLECTION_ID);
+        assertEquals(savedEntities.get("clash"), OTHER_METADATA_COLLECTION_ID);
+
+        assertEquals(auditLogRecords.size(), 1);
+        assertEquals(auditLogRecords.get(0).getMessageId(), GraphOMRSAuditCode.BULK_LOAD_BATCH_FAILED.getMessageDefinition().getMessageId());
+    }
+
+
+    /**
+     * Return a graph store that saves reference copies in batches of two and uses a new graph in a temporary directory.
+     * The store keeps history so that the saved instances can be read back without a repository helper.
+     *
+     * @param testName name of the test
+     * @return graph store
+     * @throws Exception problem opening the graph
+     */
+    private GraphOMRSMetadataStore getGraphStore(String testName) throws Exception
+    {
+        File graphDirectory = Files.createTempDirectory(testName).toFile();
+        graphDirectory.deleteOnExit();
+
+        Map<String, Object> storageProperties = new HashMap<>();
+        storageProperties.put("storage.backend", "berkeleyje");
+        storageProperties.put("storage.directory", new File(graphDirectory, "berkeley").getAbsolutePath());
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", new File(graphDirectory, "searchindex").getAbsolutePath());
+        storageProperties.put(GraphOMRSConstants.CONFIGURATION_PROPERTY_BULK_LOAD_BATCH_SIZE, "2");
+        storageProperties.put(GraphOMRSConstants.CONFIGURATION_PROPERTY_HISTORY_MODE, "true");
+
+        GraphOMRSMetadataStore graphStore = new GraphOMRSMetadataStore(LOCAL_METADATA_COLLECTION_ID,
+                                                                       testName,
+                                                                       null,
+                                                                       new AuditLog(new AuditLogDestination(null)
+                                                                                    {
+                                                                                        @Override
+                                                                                        public void addLogRecord(AuditLogRecord logRecord)
+                                                                                        {
+                                                                                            auditLogRecords.add(logRecord);
+                                                                                        }
+                                                                                    },
+                                                                                    0,
+                                                                                    "TestGraphRepository",
+                                                                                    "Tests the graph repository",
+                                                                                    null),
+                                                                       storageProperties);
+
+        /*
+         * Ignore the records logged as the graph is created.
+         */
+        auditLogRecords.clear();
+
+        return graphStore;
+    }
+
+
+    /**
+     * Return the home metadata collection of each of the current entities in the store, keyed by GUID.
+     *
+     * @param graphStore graph store
+     * @return map of GUID to metadata collection id
+     * @throws Exception problem reading the graph
+     */
+    private Map<String, String> getSavedEntities(GraphOMRSMetadataStore graphStore) throws Exception
+    {
+        Map<String, String> savedEntities = new HashMap<>();
+
+        for (EntityDetail entity : graphStore.findEntitiesInHistory(null, null, new Date(), null, 0))
+        {
+            savedEntities.put(entity.getGUID(), entity.getMetadataCollectionId());
+        }
+
+        return savedEntities;
+    }
+
+
+    /**
+     * Return an active entity without properties.
+     *
+     * @param guid unique identifier
+     * @param metadataCollectionId home metadata collection
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   String metadataCollectionId)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(getType(ENTITY_TYPE));
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+        entity.setCreateTime(new Date());
+
+        return entity;
+    }
+
+
+    /**
+     * Return an active relationship without properties.
+     *
+     * @param guid unique identifier
+     * @param entityOneGUID unique identifier of the entity at end 1
+     * @param entityTwoGUID unique identifier of the entity at end 2
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid,
+                                         String entityOneGUID,
+                                         String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(getType(RELATIONSHIP_TYPE));
+        relationship.setMetadataCollectionId(REMOTE_METADATA_COLLECTION_ID);
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setVersion(1L);
+        relationship.setCreateTime(new Date());
+        relationship.setEntityOneProxy(getProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+
+        return relationship;
+    }
+
+
+    /**
+     * Return a proxy for an entity.
+     *
+     * @param guid unique identifier
+     * @return proxy
+     */
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+        proxy.setGUID(guid);
+        proxy.setType(getType(ENTITY_TYPE));
+        proxy.setMetadataCollectionId(REMOTE_METADATA_COLLECTION_ID);
+        proxy.setStatus(InstanceStatus.ACTIVE);
+        proxy.setVersion(1L);
+
+        return proxy;
+    }
+
+
+    /**
+     * Return a type with just its name set.
+     *
+     * @param typeName name of the type
+     * @return type
+     */
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+
+        return type;
+    }
+}
@@ -0,0 +1,248 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the historical queries of the graph store when it is keeping history.
+ */
+public class TestGraphOMRSMetadataStoreHistory
+{
+    private static final String METADATA_COLLECTION_ID = "testMetadataCollectionId";
+    private static final String TABLE_TYPE             = "RelationalTable";
+    private static final String COLUMN_TYPE            = "RelationalColumn";
+
+
+    /**
+     * Default constructor
+     */
+    public TestGraphOMRSMetadataStoreHistory()
+    {
+    }
+
+
+    /**
+     * Each version of an entity is returned only for the times when it was current.
+     */
+    @Test
+    public void testFindEntitiesAsOfTime() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testFindEntitiesAsOfTime");
+
+        EntityDetail entity = getEntity("guid1", TABLE_TYPE, 1000L);
+        graphStore.createEntityInStore(entity);
+
+        EntityDetail updatedEntity = getEntity("guid1", TABLE_TYPE, 1000L);
+        updatedEntity.setVersion(2L);
+        updatedEntity.setUpdateTime(new Date(2000L));
+        graphStore.updateEntityInStore(updatedEntity);
+
+        List<String> typeNames = Collections.singletonList(TABLE_TYPE);
+
+        assertTrue(graphStore.findEntitiesInHistory(typeNames, null, new Date(500L), null, 0).isEmpty());
+
+        List<EntityDetail> results = graphStore.findEntitiesInHistory(typeNames, null, new Date(1500L), null, 0);
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getVersion(), 1L);
+
+        results = graphStore.findEntitiesInHistory(typeNames, null, new Date(2500L), null, 0);
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getVersion(), 2L);
+    }
+
+
+    /**
+     * The type names and status of the versions are tested by the traversal.
+     */
+    @Test
+    public void testFindEntitiesByTypeAndStatus() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testFindEntitiesByTypeAndStatus");
+
+        graphStore.createEntityInStore(getEntity("table1", TABLE_TYPE, 1000L));
+        graphStore.createEntityInStore(getEntity("column1", COLUMN_TYPE, 1000L));
+
+        EntityDetail deletedColumn = getEntity("column2", COLUMN_TYPE, 1000L);
+        deletedColumn.setStatus(InstanceStatus.DELETED);
+        graphStore.createEntityInStore(deletedColumn);
+
+        Date asOfTime = new Date(1500L);
+
+        assertEquals(graphStore.findEntitiesInHistory(null, null, asOfTime, null, 0).size(), 3);
+        assertEquals(getGUIDs(graphStore.findEntitiesInHistory(Collections.singletonList(TABLE_TYPE), null, asOfTime, null, 0)),
+                     Collections.singletonList("table1"));
+        assertEquals(graphStore.findEntitiesInHistory(Collections.singletonList(COLUMN_TYPE), null, asOfTime, null, 0).size(), 2);
+        assertEquals(getGUIDs(graphStore.findEntitiesInHistory(Collections.singletonList(COLUMN_TYPE),
+                                                               Collections.singletonList(InstanceStatus.DELETED),
+                                                               asOfTime,
+                                                               null,
+                                                               0)),
+                     Collections.singletonList("column2"));
+    }
+
+
+    /**
+     * The search predicate is applied to each version and the search stops once enough matches are found.
+     */
+    @Test
+    public void testFindEntitiesWithPredicateAndLimit() throws Exception
+    {
+        GraphOMRSMetadataStore graphStore = getGraphStore("testFindEntitiesWithPredicateAndLimit");
+
+        for (int i = 0; i < 5; i++)
+        {
+            graphStore.createEntityInStore(getEntity("guid" + i, TABLE_TYPE, 1000L));
+        }
+
+        List<String> typeNames = Collections.singletonList(TABLE_TYPE);
+        Date         asOfTime  = new Date(1500L);
+
+        assertEquals(graphStore.findEntitiesInHistory(typeNames, null, asOfTime, null, 0).size(), 5);
+        assertEquals(graphStore.findEntitiesInHistory(typeNames, null, asOfTime, null, 2).size(), 2);
+
+        OMRSInstanceSearchPredicate notGuid0 = new GUIDPredicate("guid0");
+
+        List<EntityDetail> results = graphStore.findEntitiesInHistory(typeNames, null, asOfTime, notGuid0, 0);
+        assertEquals(results.size(), 4);
+        assertTrue(! getGUIDs(results).contains("guid0"));
+
+        assertEquals(graphStore.findEntitiesInHistory(typeNames, null, asOfTime, notGuid0, 3).size(), 3);
+    }
+
+
+    /**
+     * Return a graph store with history enabled that uses a new graph in a temporary directory.
+     *
+     * @param testName name of the test
+     * @return graph store
+     * @throws Exception problem opening the graph
+     */
+    private GraphOMRSMetadataStore getGraphStore(String testName) throws Exception
+    {
+        File graphDirectory = Files.createTempDirectory(testName).toFile();
+        graphDirectory.deleteOnExit();
+
+        Map<String, Object> storageProperties = new HashMap<>();
+        storageProperties.put("storage.backend", "berkeleyje");
+        storageProperties.put("storage.directory", new File(graphDirectory, "berkeley").getAbsolutePath());
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", new File(graphDirectory, "searchindex").getAbsolutePath());
+        storageProperties.put(GraphOMRSConstants.CONFIGURATION_PROPERTY_HISTORY_MODE, "true");
+
+        AuditLog auditLog = new AuditLog(new AuditLogDestination(null)
+                                         {
+                                             @Override
+                                             public void addLogRecord(AuditLogRecord logRecord)
+                                             {
+                                             }
+                                         },
+                                         0,
+                                         "TestGraphRepository",
+                                         "Tests the graph repository",
+                                         null);
+
+        return new GraphOMRSMetadataStore(METADATA_COLLECTION_ID, testName, null, auditLog, storageProperties);
+    }
+
+
+    /**
+     * Return an active entity without properties.
+     *
+     * @param guid unique identifier
+     * @param typeName name of the entity's type
+     * @param createTime time the entity was created
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   String typeName,
+                                   long   createTime)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setMetadataCollectionId(METADATA_COLLECTION_ID);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+        entity.setCreateTime(new Date(createTime));
+
+        return entity;
+    }
+
+
+    /**
+     * Return the GUIDs of the entities.
+     *
+     * @param entities entities
+     * @return list of GUIDs
+     */
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Search predicate that excludes one instance.
+     */
+    private static class GUIDPredicate implements OMRSInstanceSearchPredicate
+    {
+        private String excludedGUID;
+
+        GUIDPredicate(String excludedGUID)
+        {
+            this.excludedGUID = excludedGUID;
+        }
+
+        @Override
+        public boolean matchesHeader(InstanceHeader instance)
+        {
+            return ! excludedGUID.equals(instance.getGUID());
+        }
+
+        @Override
+        public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                         InstanceProperties  instanceProperties)
+        {
+            return true;
+        }
+
+        @Override
+        public boolean matches(InstanceHeader instance)
+        {
+            return matchesHeader(instance);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * InMemoryOMRSInstanceIndex is a secondary index used by the InMemoryOMRSMetadataStore.  It maps an index key
+ * (such as a type GUID, a classification name or a property value) to the set of instance GUIDs that
+ * currently have that key.  The keys that each instance is indexed under are remembered so that an instance
+ * can be re-indexed even if the stored instance object has been changed in place.
+ *
+ * The index can be read and updated concurrently.  The caller must serialize updates for the same GUID.
+ */
+class InMemoryOMRSInstanceIndex
+{
+    private final Map<String, Set<String>>  guidsByKey = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>  keysByGUID = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryOMRSInstanceIndex()
+    {
+    }
+
+
+    /**
+     * Replace the keys for an instance with a new set of keys.
+     *
+     * @param guid unique identifier of the instance
+     * @param keys keys that the instance should now be found under (null or empty means none)
+     */
+    void update(String      guid,
+                Set<String> keys)
+    {
+        if (guid != null)
+        {
+            this.remove(guid);
+
+            if ((keys != null) && (! keys.isEmpty()))
+            {
+                for (String key : keys)
+                {
+                    guidsByKey.compute(key, (indexKey, guids) ->
+                    {
+                        Set<String> updatedGUIDs = (guids == null) ? ConcurrentHashMap.newKeySet() : guids;
+
+                        updatedGUIDs.add(guid);
+                        return updatedGUIDs;
+                    });
+                }
+
+                keysByGUID.put(guid, keys);
+            }
+        }
+    }
+
+
+    /**
+     * Remove an instance from the index.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void remove(String guid)
+    {
+        if (guid != null)
+        {
+            Set<String> oldKeys = keysByGUID.remove(guid);
+
+            if (oldKeys != null)
+            {
+                for (String key : oldKeys)
+                {
+                    guidsByKey.computeIfPresent(key, (indexKey, guids) ->
+                    {
+                        guids.remove(guid);
+                        return guids.isEmpty() ? null : guids;
+                    });
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the instances indexed under the requested key.
+     *
+     * @param key index key
+     * @return copy of the set of matching instance GUIDs (empty if none)
+     */
+    Set<String> getGUIDs(String key)
+    {
+        Set<String> guids = guidsByKey.get(key);
+
+        if (guids == null)
+        {
+            return new HashSet<>();
+        }
+
+        return new HashSet<>(guids);
+    }
+}
@@ -6,9 +6,13 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.ClassificationCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
@@ -216,7 +220,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -234,6 +238,64 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The entities are read
+     * directly from the store rather than through individual getEntityDetail requests.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Each entity is returned
+     * once, even if its guid is requested more than once.  Null means none of the entities were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public  List<EntityDetail> getEntityDetails(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        if (guids == null)
+        {
+            return null;
+        }
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            EntityDetail entity = repositoryStore.getEntity(guid, asOfTime);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                entities.add(entity);
+            }
+        }
+
+        if (entities.isEmpty())
+        {
+            return null;
+        }
+
+        return entities;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -305,9 +367,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        Collection<Relationship>    candidateRelationships;
+
+        if (asOfTime == null)
+        {
+            candidateRelationships = repositoryStore.getRelationships(repositoryStore.getRelationshipGUIDsForEntity(entityGUID));
+        }
+        else
+        {
+            candidateRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
 
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : candidateRelationships)
         {
             if (storedRelationship != null)
             {
@@ -398,6 +469,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                 PagingErrorException,
                                                                                                 UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByProperty";
+
         /*
          * Validate parameters
          */
@@ -416,24 +489,29 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow down the entities to test.  Each candidate is then fully validated
+         * against the search criteria.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
+        List<EntityDetail>          foundEntities = new ArrayList<>();
+        Collection<EntityDetail>    candidateEntities = this.getCandidateEntities(asOfTime,
+                                                                                  entityTypeGUID,
+                                                                                  limitResultsByClassification,
+                                                                                  this.getExactMatchProperties(matchProperties,
+                                                                                                               matchCriteria));
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         entityTypeGUID,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         limitResultsByClassification,
+                                                                                                         matchProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
+                if (searchPredicate.matches(entity))
                 {
                     foundEntities.add(entity);
                 }
@@ -495,6 +573,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                       PagingErrorException,
                                                                                       UserNotAuthorizedException
     {
+        final String  methodName = "findEntities";
+
         /*
          * Validate parameters
          */
@@ -513,20 +593,27 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow down the entities to test.  Each candidate is then fully validated
+         * against the search criteria.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
+        List<EntityDetail>          foundEntities = new ArrayList<>();
+        Collection<EntityDetail>    candidateEntities = this.getCandidateEntities(asOfTime,
+                                                                                  entityTypeGUID,
+                                                                                  this.getRequiredClassifications(matchClassifications),
+                                                                                  this.getExactMatchProperties(matchProperties));
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchPropertiesPredicate(repositoryName,
+                                                                                                       entityTypeGUID,
+                                                                                                       entitySubtypeGUIDs,
+                                                                                                       limitResultsByStatus,
+                                                                                                       matchProperties,
+                                                                                                       matchClassifications,
+                                                                                                       methodName);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties())))
+                if (searchPredicate.matches(entity))
                 {
                     foundEntities.add(entity);
                 }
@@ -593,6 +680,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                        PagingErrorException,
                                                                                                        UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByClassification";
+
         /*
          * Validate parameters
          */
@@ -611,22 +700,32 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow down the entities to test.  Each candidate is then fully validated
+         * against the search criteria.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        Collection<EntityDetail>    candidateEntities = this.getCandidateEntities(asOfTime,
+                                                                                  entityTypeGUID,
+                                                                                  classificationList,
+                                                                                  null);
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         entityTypeGUID,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         classificationList,
+                                                                                                         matchClassificationProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(classificationList, entity)))
+                if (searchPredicate.matchesHeader(entity))
                 {
                     List<Classification>   entityClassifications = entity.getClassifications();
 
@@ -641,13 +740,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                             {
                                 if (classificationName.equals(entityClassification.getName()))
                                 {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
-
+                                    if (searchPredicate.matchesProperties(entityClassification,
+                                                                          entityClassification.getProperties()))
                                     {
                                         foundEntities.add(entity);
                                     }
@@ -736,22 +830,23 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The search criteria may match any string property so only the type and classification indexes
+         * can be used to narrow down the entities to test.
          */
-        List<EntityDetail>   foundEntities = new ArrayList<>();
-
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        List<EntityDetail>          foundEntities = new ArrayList<>();
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchCriteriaPredicate(repositoryName,
+                                                                                                     entityTypeGUID,
+                                                                                                     null,
+                                                                                                     limitResultsByStatus,
+                                                                                                     limitResultsByClassification,
+                                                                                                     searchCriteria,
+                                                                                                     methodName);
+
+        for (EntityDetail  entity : this.getCandidateEntities(asOfTime, entityTypeGUID, limitResultsByClassification, null))
         {
             if (entity != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                    entity.getProperties(),
-                                                                                    searchCriteria,
-                                                                                    methodName)))
+                if (searchPredicate.matches(entity))
                 {
                     foundEntities.add(entity);
                 }
@@ -865,7 +960,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -874,6 +969,64 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return a list of relationships.  The relationships are read directly from the store rather than
+     * through individual getRelationship requests.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Each relationship is
+     * returned once, even if its guid is requested more than once.  Null means none of the relationships were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public  List<Relationship> getRelationships(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        if (guids == null)
+        {
+            return null;
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            Relationship relationship = repositoryStore.getRelationship(guid, asOfTime);
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        if (relationships.isEmpty())
+        {
+            return null;
+        }
+
+        return relationships;
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be received as a series of
      * pages.
@@ -928,6 +1081,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                             FunctionNotSupportedException,
                                                                                             UserNotAuthorizedException
     {
+        final String  methodName = "findRelationships";
+
         /*
          * Validate parameters
          */
@@ -946,19 +1101,26 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
-         */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  relationship : relationshipStore.values())
+         * The store's indexes narrow down the relationships to test.  Each candidate is then fully validated
+         * against the search criteria.
+         */
+        List<Relationship>          foundRelationships = new ArrayList<>();
+        Collection<Relationship>    candidateRelationships = this.getCandidateRelationships(asOfTime,
+                                                                                            relationshipTypeGUID,
+                                                                                            this.getExactMatchProperties(matchProperties));
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchPropertiesPredicate(repositoryName,
+                                                                                                       relationshipTypeGUID,
+                                                                                                       relationshipSubtypeGUIDs,
+                                                                                                       limitResultsByStatus,
+                                                                                                       matchProperties,
+                                                                                                       null,
+                                                                                                       methodName);
+
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, relationship, relationship.getProperties())))
+                if (searchPredicate.matches(relationship))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1048,22 +1210,28 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
-         */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  relationship : relationshipStore.values())
+         * The store's indexes narrow down the relationships to test.  Each candidate is then fully validated
+         * against the search criteria.
+         */
+        List<Relationship>          foundRelationships = new ArrayList<>();
+        Collection<Relationship>    candidateRelationships = this.getCandidateRelationships(asOfTime,
+                                                                                            relationshipTypeGUID,
+                                                                                            this.getExactMatchProperties(matchProperties,
+                                                                                                                         matchCriteria));
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getInstancePropertiesPredicate(repositoryName,
+                                                                                                         relationshipTypeGUID,
+                                                                                                         null,
+                                                                                                         limitResultsByStatus,
+                                                                                                         null,
+                                                                                                         matchProperties,
+                                                                                                         matchCriteria,
+                                                                                                         methodName);
+
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              relationship,
-                                                                              relationship.getProperties(),
-                                                                              matchCriteria)))
+                if (searchPredicate.matches(relationship))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1147,21 +1315,23 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
-         */
-        List<Relationship>  foundRelationships = new ArrayList<>();
-
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+         * The search criteria may match any string property so only the type index can be used to narrow
+         * down the relationships to test.
+         */
+        List<Relationship>          foundRelationships = new ArrayList<>();
+        OMRSInstanceSearchPredicate searchPredicate = repositoryValidator.getSearchCriteriaPredicate(repositoryName,
+                                                                                                     relationshipTypeGUID,
+                                                                                                     null,
+                                                                                                     limitResultsByStatus,
+                                                                                                     null,
+                                                                                                     searchCriteria,
+                                                                                                     methodName);
+
+        for (Relationship  relationship : this.getCandidateRelationships(asOfTime, relationshipTypeGUID, null))
         {
             if (relationship != null)
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                     relationship.getProperties(),
-                                                                                     searchCriteria,
-                                                                                     methodName)))
+                if (searchPredicate.matches(relationship))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1286,6 +1456,305 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the entities that need to be tested for a search.  Historical queries work through the time-warped
+     * entity store.  Queries on the current store use the store's indexes to narrow down the entities.
+     * The result is always a superset of the matching entities, so each candidate must still be validated.
+     *
+     * @param asOfTime requested time for a historical query - null means now
+     * @param entityTypeGUID unique identifier of the entity type (null means any type)
+     * @param requiredClassifications names of classifications that every matching entity must have (or null)
+     * @param exactMatchProperties string properties that every matching entity must have with exactly these values (or null)
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(Date                 asOfTime,
+                                                          String               entityTypeGUID,
+                                                          List<String>         requiredClassifications,
+                                                          Map<String, String>  exactMatchProperties)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        Set<String> candidateGUIDs = null;
+
+        if (entityTypeGUID != null)
+        {
+            candidateGUIDs = this.narrowCandidates(candidateGUIDs, repositoryStore.getEntityGUIDsForType(entityTypeGUID));
+        }
+
+        if (requiredClassifications != null)
+        {
+            for (String classificationName : requiredClassifications)
+            {
+                if (classificationName != null)
+                {
+                    candidateGUIDs = this.narrowCandidates(candidateGUIDs,
+                                                           repositoryStore.getEntityGUIDsForClassification(classificationName));
+                }
+            }
+        }
+
+        if (exactMatchProperties != null)
+        {
+            for (String propertyName : exactMatchProperties.keySet())
+            {
+                candidateGUIDs = this.narrowCandidates(candidateGUIDs,
+                                                       repositoryStore.getEntityGUIDsForPropertyValue(propertyName,
+                                                                                                      exactMatchProperties.get(propertyName)));
+            }
+        }
+
+        if (candidateGUIDs == null)
+        {
+            return repositoryStore.getEntities();
+        }
+
+        return repositoryStore.getEntities(candidateGUIDs);
+    }
+
+
+    /**
+     * Return the relationships that need to be tested for a search.  Historical queries work through the
+     * time-warped relationship store.  Queries on the current store use the store's indexes to narrow down the
+     * relationships.  The result is always a superset of the matching relationships, so each candidate must
+     * still be validated.
+     *
+     * @param asOfTime requested time for a historical query - null means now
+     * @param relationshipTypeGUID unique identifier of the relationship type (null means any type)
+     * @param exactMatchProperties string properties that every matching relationship must have with exactly these values (or null)
+     * @return candidate relationships
+     */
+    private Collection<Relationship> getCandidateRelationships(Date                 asOfTime,
+                                                               String               relationshipTypeGUID,
+                                                               Map<String, String>  exactMatchProperties)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        Set<String> candidateGUIDs = null;
+
+        if (relationshipTypeGUID != null)
+        {
+            candidateGUIDs = this.narrowCandidates(candidateGUIDs, repositoryStore.getRelationshipGUIDsForType(relationshipTypeGUID));
+        }
+
+        if (exactMatchProperties != null)
+        {
+            for (String propertyName : exactMatchProperties.keySet())
+            {
+                candidateGUIDs = this.narrowCandidates(candidateGUIDs,
+                                                       repositoryStore.getRelationshipGUIDsForPropertyValue(propertyName,
+                                                                                                            exactMatchProperties.get(propertyName)));
+            }
+        }
+
+        if (candidateGUIDs == null)
+        {
+            return repositoryStore.getRelationships();
+        }
+
+        return repositoryStore.getRelationships(candidateGUIDs);
+    }
+
+
+    /**
+     * Intersect the candidates found so far with the GUIDs retrieved from an index.
+     *
+     * @param candidateGUIDs candidates so far (null means no index has been used yet)
+     * @param indexedGUIDs GUIDs returned from an index
+     * @return narrowed set of candidates
+     */
+    private Set<String> narrowCandidates(Set<String> candidateGUIDs,
+                                         Set<String> indexedGUIDs)
+    {
+        if (candidateGUIDs == null)
+        {
+            return indexedGUIDs;
+        }
+
+        candidateGUIDs.retainAll(indexedGUIDs);
+
+        return candidateGUIDs;
+    }
+
+
+    /**
+     * Return the names of the classifications that every entity must have to match the classification
+     * search criteria.  Only an ALL match implies that the classifications are required.
+     *
+     * @param matchClassifications classification search criteria
+     * @return list of classification names or null
+     */
+    private List<String> getRequiredClassifications(SearchClassifications matchClassifications)
+    {
+        if ((matchClassifications != null) &&
+            (matchClassifications.getMatchCriteria() == MatchCriteria.ALL) &&
+            (matchClassifications.getConditions() != null))
+        {
+            List<String> classificationNames = new ArrayList<>();
+
+            for (ClassificationCondition condition : matchClassifications.getConditions())
+            {
+                if ((condition != null) && (condition.getName() != null))
+                {
+                    classificationNames.add(condition.getName());
+                }
+            }
+
+            return classificationNames;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Extract the indexed string properties that a matching instance must have with an exact value.
+     * Only an ALL match with an exact match (or literal) regex can be satisfied from the index.
+     *
+     * @param matchProperties properties to match
+     * @param matchCriteria how the properties should be matched
+     * @return map of property name to literal value or null
+     */
+    private Map<String, String> getExactMatchProperties(InstanceProperties matchProperties,
+                                                        MatchCriteria      matchCriteria)
+    {
+        if ((matchProperties == null) || (matchCriteria != MatchCriteria.ALL))
+        {
+            return null;
+        }
+
+        Map<String, String> exactMatchProperties = new HashMap<>();
+        Iterator<String>    propertyNames        = matchProperties.getPropertyNames();
+
+        while (propertyNames.hasNext())
+        {
+            String propertyName = propertyNames.next();
+
+            if (repositoryStore.isIndexedProperty(propertyName))
+            {
+                String literalValue = this.getExactMatchLiteral(this.getStringValue(matchProperties.getPropertyValue(propertyName)));
+
+                if (literalValue != null)
+                {
+                    exactMatchProperties.put(propertyName, literalValue);
+                }
+            }
+        }
+
+        return exactMatchProperties;
+    }
+
+
+    /**
+     * Extract the indexed string properties that a matching instance must have with an exact value.
+     * Only the top-level conditions of an ALL match are considered.  An EQ condition is an exact match
+     * and a LIKE condition is an exact match if its regex is a literal.
+     *
+     * @param matchProperties search properties to match
+     * @return map of property name to literal value or null
+     */
+    private Map<String, String> getExactMatchProperties(SearchProperties matchProperties)
+    {
+        if ((matchProperties == null) ||
+            (matchProperties.getMatchCriteria() != MatchCriteria.ALL) ||
+            (matchProperties.getConditions() == null))
+        {
+            return null;
+        }
+
+        Map<String, String> exactMatchProperties = new HashMap<>();
+
+        for (PropertyCondition condition : matchProperties.getConditions())
+        {
+            if ((condition != null) &&
+                (condition.getNestedConditions() == null) &&
+                (repositoryStore.isIndexedProperty(condition.getProperty())))
+            {
+                String stringValue  = this.getStringValue(condition.getValue());
+                String literalValue = null;
+
+                if (condition.getOperator() == PropertyComparisonOperator.EQ)
+                {
+                    literalValue = stringValue;
+                }
+                else if (condition.getOperator() == PropertyComparisonOperator.LIKE)
+                {
+                    literalValue = this.getExactMatchLiteral(stringValue);
+                }
+
+                if (literalValue != null)
+                {
+                    exactMatchProperties.put(condition.getProperty(), literalValue);
+                }
+            }
+        }
+
+        return exactMatchProperties;
+    }
+
+
+    /**
+     * Return the value of a string primitive property.
+     *
+     * @param propertyValue property value
+     * @return string value or null if it is not a string primitive
+     */
+    private String getStringValue(InstancePropertyValue propertyValue)
+    {
+        if (propertyValue instanceof PrimitivePropertyValue)
+        {
+            PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+
+            if ((primitivePropertyValue.getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING) &&
+                (primitivePropertyValue.getPrimitiveValue() != null))
+            {
+                return primitivePropertyValue.getPrimitiveValue().toString();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the literal string that a regex matches if it only matches a single value.  This is the case for
+     * case-sensitive exact match regexes and for strings that contain no regex meta-characters.
+     *
+     * @param regex search regex
+     * @return literal value or null if the regex could match more than one value
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    private String getExactMatchLiteral(String regex)
+    {
+        final String regexMetaCharacters = "\\^$.|?*+()[]{}";
+
+        if (regex == null)
+        {
+            return null;
+        }
+
+        if (repositoryHelper.isExactMatchRegex(regex, false))
+        {
+            return repositoryHelper.getUnqualifiedLiteralString(regex);
+        }
+
+        for (char regexCharacter : regex.toCharArray())
+        {
+            if (regexMetaCharacters.indexOf(regexCharacter) != -1)
+            {
+                return null;
+            }
+        }
+
+        return regex;
+    }
+
+
     /* ======================================================
      * Group 4: Maintaining entity and relationship instances
      */
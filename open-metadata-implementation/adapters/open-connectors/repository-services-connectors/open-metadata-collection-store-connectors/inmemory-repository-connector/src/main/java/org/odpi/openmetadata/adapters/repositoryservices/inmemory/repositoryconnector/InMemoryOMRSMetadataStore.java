@@ -3,23 +3,52 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * Alongside the stores of current instances, it maintains secondary indexes that map type GUIDs (including
+ * supertypes), classification names, relationship ends and selected string property values to the GUIDs of
+ * the current instances.  The indexes reflect the current store only - historical queries use the time-warped
+ * stores.
+ *
+ * The current stores are concurrent maps so reads never block.  Changes to an instance are serialized through
+ * a lock that is striped by GUID, so changes to different instances can run in parallel.
+ *
+ * The previous versions of each instance are kept in a version chain for its GUID, ordered by the time each
+ * version became active.  This means historical lookups and undo work on a single instance's chain.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    /*
+     * String properties whose exact values are indexed.
+     */
+    private static final Set<String> indexedPropertyNames = new HashSet<>(Arrays.asList("qualifiedName",
+                                                                                       "name",
+                                                                                       "displayName"));
+
+    private static final int lockStripes = 64;
+
+    private String                                                    repositoryName           = null;
+    private final Map<String, EntityDetail>                           entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>                            entityProxyStore         = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryOMRSVersionChain<EntityDetail>> entityHistoryStore       = new ConcurrentHashMap<>();
+    private final Map<String, Relationship>                           relationshipStore        = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryOMRSVersionChain<Relationship>> relationshipHistoryStore = new ConcurrentHashMap<>();
+
+    private final Object[]                                            instanceLocks            = new Object[lockStripes];
+
+    private InMemoryOMRSInstanceIndex entityTypeIndex             = new InMemoryOMRSInstanceIndex();
+    private InMemoryOMRSInstanceIndex entityClassificationIndex   = new InMemoryOMRSInstanceIndex();
+    private InMemoryOMRSInstanceIndex entityPropertyIndex         = new InMemoryOMRSInstanceIndex();
+    private InMemoryOMRSInstanceIndex relationshipTypeIndex       = new InMemoryOMRSInstanceIndex();
+    private InMemoryOMRSInstanceIndex relationshipEndIndex        = new InMemoryOMRSInstanceIndex();
+    private InMemoryOMRSInstanceIndex relationshipPropertyIndex   = new InMemoryOMRSInstanceIndex();
 
 
     /**
@@ -27,6 +56,10 @@ class InMemoryOMRSMetadataStore
      */
     InMemoryOMRSMetadataStore()
     {
+        for (int i = 0; i < lockStripes; i++)
+        {
+            instanceLocks[i] = new Object();
+        }
     }
 
 
@@ -46,7 +79,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    List<EntityDetail>   getEntities()
     {
         return new ArrayList<>(entityStore.values());
     }
@@ -58,7 +91,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
@@ -70,89 +103,68 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
 
 
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity (or null means now)
+     * @return entity object or null if it did not exist at the time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        EntityDetail  currentEntity = entityStore.get(guid);
+
+        if ((asOfTime == null) || (currentEntity == null))
+        {
+            return currentEntity;
+        }
+
+        if (InMemoryOMRSVersionChain.isActiveAt(currentEntity, asOfTime))
+        {
+            return currentEntity;
+        }
+
+        InMemoryOMRSVersionChain<EntityDetail> previousVersions = entityHistoryStore.get(guid);
+
+        if (previousVersions == null)
+        {
+            return null;
+        }
+
+        return previousVersions.getVersionAsOf(asOfTime);
+    }
+
+
     /**
      * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * parameter.  The current store is returned as a read-only view rather than a copy.
      *
      * @param asOfTime - time for the store (or null means now)
      * @return entity store for the requested time
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(entityStore);
+            return Collections.unmodifiableMap(entityStore);
         }
 
         Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
+        for (String entityGUID : entityStore.keySet())
         {
-            if (entity != null)
-            {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
-
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
-            }
-        }
+            EntityDetail entity = this.getEntity(entityGUID, asOfTime);
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
-        {
-            if (oldEntity != null)
+            if (entity != null)
             {
-                String entityGUID = oldEntity.getGUID();
-
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
-
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
+                timeWarpedEntityStore.put(entityGUID, entity);
             }
         }
 
@@ -165,7 +177,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    List<Relationship>   getRelationships()
     {
         return new ArrayList<>(relationshipStore.values());
     }
@@ -177,89 +189,67 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+    /**
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship (or null means now)
+     * @return relationship object or null if it did not exist at the time
+     */
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
+    {
+        Relationship  currentRelationship = relationshipStore.get(guid);
+
+        if ((asOfTime == null) || (currentRelationship == null))
+        {
+            return currentRelationship;
+        }
+
+        if (InMemoryOMRSVersionChain.isActiveAt(currentRelationship, asOfTime))
+        {
+            return currentRelationship;
+        }
+
+        InMemoryOMRSVersionChain<Relationship> previousVersions = relationshipHistoryStore.get(guid);
+
+        if (previousVersions == null)
+        {
+            return null;
+        }
+
+        return previousVersions.getVersionAsOf(asOfTime);
+    }
+
+
     /**
      * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * parameter.  The current store is returned as a read-only view rather than a copy.
      *
      * @param asOfTime - time for the store (or null means now)
      * @return relationship store for the requested time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
         Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
-
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
+        for (String relationshipGUID : relationshipStore.keySet())
         {
-            if (relationship != null)
-            {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
+            Relationship relationship = this.getRelationship(relationshipGUID, asOfTime);
 
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
-            }
-        }
-
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
-        {
-            if (oldRelationship != null)
+            if (relationship != null)
             {
-                String relationshipGUID = oldRelationship.getGUID();
-
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
+                timeWarpedRelationshipStore.put(relationshipGUID, relationship);
             }
         }
 
@@ -272,19 +262,20 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
         /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
-
-        while (existingEntity != null)
+        while (entityStore.putIfAbsent(entity.getGUID(), entity) != null)
         {
-            entityStore.put(entity.getGUID(), existingEntity);
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
+        }
+
+        synchronized (getInstanceLock(entity.getGUID()))
+        {
+            this.indexEntity(entity);
         }
 
         return entity;
@@ -297,19 +288,20 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
         /*
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        while (existingRelationship != null)
+        while (relationshipStore.putIfAbsent(relationship.getGUID(), relationship) != null)
         {
-            relationshipStore.put(relationship.getGUID(), existingRelationship);
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        }
+
+        synchronized (getInstanceLock(relationship.getGUID()))
+        {
+            this.indexRelationship(relationship);
         }
 
         return relationship;
@@ -321,7 +313,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -333,13 +325,18 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity)
+    void updateEntityInStore(EntityDetail entity)
     {
-        EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
+        synchronized (getInstanceLock(entity.getGUID()))
         {
-            entityHistoryStore.add(0, oldEntity);
+            EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+
+            if (oldEntity != null)
+            {
+                entityHistoryStore.computeIfAbsent(entity.getGUID(), chain -> new InMemoryOMRSVersionChain<>()).addVersion(oldEntity);
+            }
+
+            this.indexEntity(entity);
         }
     }
 
@@ -349,7 +346,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -361,14 +358,18 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship)
     {
+        synchronized (getInstanceLock(relationship.getGUID()))
+        {
+            Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            if (oldRelationship != null)
+            {
+                relationshipHistoryStore.computeIfAbsent(relationship.getGUID(), chain -> new InMemoryOMRSVersionChain<>()).addVersion(oldRelationship);
+            }
 
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
+            this.indexRelationship(relationship);
         }
     }
 
@@ -379,9 +380,13 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - object to save
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        synchronized (getInstanceLock(entity.getGUID()))
+        {
+            entityStore.put(entity.getGUID(), entity);
+            this.indexEntity(entity);
+        }
     }
 
 
@@ -391,45 +396,47 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - object to save
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        synchronized (getInstanceLock(relationship.getGUID()))
+        {
+            relationshipStore.put(relationship.getGUID(), relationship);
+            this.indexRelationship(relationship);
+        }
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship.  This is the latest version in its version chain.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
         if (guid != null)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
-
-            long versionNumber = 0;
-
-            if (currentVersionOfRelationship != null)
+            synchronized (getInstanceLock(guid))
             {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
-
+                InMemoryOMRSVersionChain<Relationship> previousVersions = relationshipHistoryStore.get(guid);
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
-                if (relationship != null)
+                if (previousVersions != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    Relationship relationship = previousVersions.getLatestVersion();
+
+                    if (relationship != null)
                     {
-                        if (versionNumber == 0)
+                        Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+
+                        long versionNumber = relationship.getVersion() + 1;
+
+                        if (currentVersionOfRelationship != null)
                         {
-                            versionNumber = relationship.getVersion() + 1;
+                            versionNumber = currentVersionOfRelationship.getVersion() + 1;
                         }
+
                         /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
+                         * Clone the latest version in the history, set its version number to the next version
                          * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
                          * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
                          * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
@@ -440,9 +447,14 @@ class InMemoryOMRSMetadataStore
                         Date restoreTime = new Date();
                         newRelationship.setUpdateTime(restoreTime);
                         relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
 
+                        if (currentVersionOfRelationship != null)
+                        {
+                            previousVersions.addVersion(currentVersionOfRelationship);
+                        }
+
+                        this.indexRelationship(newRelationship);
+                        return newRelationship;
                     }
                 }
             }
@@ -454,51 +466,54 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the latest version in its version chain.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
         if (guid != null)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
-
-            long versionNumber = 0;
-
-            if (currentVersionOfEntity != null)
+            synchronized (getInstanceLock(guid))
             {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                InMemoryOMRSVersionChain<EntityDetail> previousVersions = entityHistoryStore.get(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
-                if (entity != null)
+                if (previousVersions != null)
                 {
-                    if (guid.equals(entity.getGUID()))
+                    EntityDetail entity = previousVersions.getLatestVersion();
+
+                    if (entity != null)
                     {
-                        if (versionNumber == 0)
+                        EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+
+                        long versionNumber = entity.getVersion() + 1;
+
+                        if (currentVersionOfEntity != null)
                         {
-                            versionNumber = entity.getVersion() + 1;
+                            versionNumber = currentVersionOfEntity.getVersion() + 1;
                         }
 
                         /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
+                         * Clone the latest version in the history, set its version number to the next version
                          * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
                          * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
                          * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
                          * updated longer ago than was really the case.
-                         *
                          */
                         EntityDetail newEntity = new EntityDetail(entity);
                         newEntity.setVersion(versionNumber);
                         Date restoreTime = new Date();
                         newEntity.setUpdateTime(restoreTime);
                         entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
 
+                        if (currentVersionOfEntity != null)
+                        {
+                            previousVersions.addVersion(currentVersionOfEntity);
+                        }
+
+                        this.indexEntity(newEntity);
+                        return newEntity;
                     }
                 }
             }
@@ -509,103 +524,405 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity from the active store along with its chain of previous versions.
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
         String entityGUID = entity.getGUID();
-        entityStore.remove(entityGUID);
-        List<EntityDetail> purgedHistory = new ArrayList<>();
-        for (EntityDetail history : entityHistoryStore)
+
+        synchronized (getInstanceLock(entityGUID))
         {
-            if (history != null && !entityGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            entityStore.remove(entityGUID);
+            this.unindexEntity(entityGUID);
+
+            entityHistoryStore.remove(entityGUID);
         }
-        entityHistoryStore = purgedHistory;
     }
 
 
     /**
-     * Remove a reference entity from the active store and add it to the history store.
+     * Remove a reference entity from the active store along with its chain of previous versions.
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
+        synchronized (getInstanceLock(guid))
         {
-            List<EntityDetail> purgedHistory = new ArrayList<>();
-            for (EntityDetail history : entityHistoryStore)
+            EntityDetail entity = entityStore.remove(guid);
+
+            if (entity != null)
             {
-                if (history != null && !guid.equals(history.getGUID()))
-                {
-                    purgedHistory.add(history);
-                }
+                this.unindexEntity(guid);
+
+                entityHistoryStore.remove(guid);
             }
-            entityHistoryStore = purgedHistory;
         }
     }
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity proxy from the proxy store.  Proxies have no history.
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
         entityProxyStore.remove(guid);
     }
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
+     * Remove a relationship from the active store along with its chain of previous versions.
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
         String relationshipGUID = relationship.getGUID();
-        relationshipStore.remove(relationshipGUID);
-        List<Relationship> purgedHistory = new ArrayList<>();
-        for (Relationship history : relationshipHistoryStore)
+
+        synchronized (getInstanceLock(relationshipGUID))
         {
-            if (history != null && !relationshipGUID.equals(history.getGUID()))
+            relationshipStore.remove(relationshipGUID);
+            this.unindexRelationship(relationshipGUID);
+
+            relationshipHistoryStore.remove(relationshipGUID);
+        }
+    }
+
+
+    /**
+     * Remove a reference relationship from the active store along with its chain of previous versions.
+     *
+     * @param guid - relationship to remove
+     */
+    void removeReferenceRelationshipFromStore(String     guid)
+    {
+        synchronized (getInstanceLock(guid))
+        {
+            Relationship  relationship = relationshipStore.remove(guid);
+
+            if (relationship != null)
             {
-                purgedHistory.add(history);
+                this.unindexRelationship(guid);
+
+                relationshipHistoryStore.remove(guid);
             }
         }
-        relationshipHistoryStore = purgedHistory;
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Return the named entities from the current store.  Any that are no longer in the store are skipped.
      *
-     * @param guid - relationship to remove
+     * @param guids - unique identifiers of the requested entities
+     * @return list of EntityDetail objects
+     */
+    List<EntityDetail>   getEntities(Set<String>   guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = entityStore.get(guid);
+
+            if (entity != null)
+            {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
+    }
+
+
+    /**
+     * Return the named relationships from the current store.  Any that are no longer in the store are skipped.
+     *
+     * @param guids - unique identifiers of the requested relationships
+     * @return list of relationships
+     */
+    List<Relationship>   getRelationships(Set<String>   guids)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            Relationship relationship = relationshipStore.get(guid);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
+    }
+
+
+    /**
+     * Return whether the values of the named property are indexed.
+     *
+     * @param propertyName - name of the property
+     * @return boolean flag
+     */
+    boolean isIndexedProperty(String   propertyName)
+    {
+        return indexedPropertyNames.contains(propertyName);
+    }
+
+
+    /**
+     * Return the GUIDs of the current entities that are of the requested type or one of its subtypes.
+     *
+     * @param typeGUID - unique identifier of the type
+     * @return set of entity GUIDs
+     */
+    Set<String>  getEntityGUIDsForType(String   typeGUID)
+    {
+        return entityTypeIndex.getGUIDs(typeGUID);
+    }
+
+
+    /**
+     * Return the GUIDs of the current entities that have the named classification attached.
+     *
+     * @param classificationName - name of the classification
+     * @return set of entity GUIDs
+     */
+    Set<String>  getEntityGUIDsForClassification(String   classificationName)
+    {
+        return entityClassificationIndex.getGUIDs(classificationName);
+    }
+
+
+    /**
+     * Return the GUIDs of the current entities where the named string property has exactly the supplied value.
+     *
+     * @param propertyName - name of an indexed property
+     * @param propertyValue - literal value of the property
+     * @return set of entity GUIDs
+     */
+    Set<String>  getEntityGUIDsForPropertyValue(String   propertyName,
+                                                String   propertyValue)
+    {
+        return entityPropertyIndex.getGUIDs(getPropertyKey(propertyName, propertyValue));
+    }
+
+
+    /**
+     * Return the GUIDs of the current relationships that are of the requested type or one of its subtypes.
+     *
+     * @param typeGUID - unique identifier of the type
+     * @return set of relationship GUIDs
+     */
+    Set<String>  getRelationshipGUIDsForType(String   typeGUID)
+    {
+        return relationshipTypeIndex.getGUIDs(typeGUID);
+    }
+
+
+    /**
+     * Return the GUIDs of the current relationships that have the requested entity at either end.
+     *
+     * @param entityGUID - unique identifier of the entity
+     * @return set of relationship GUIDs
+     */
+    Set<String>  getRelationshipGUIDsForEntity(String   entityGUID)
+    {
+        return relationshipEndIndex.getGUIDs(entityGUID);
+    }
+
+
+    /**
+     * Return the GUIDs of the current relationships where the named string property has exactly the supplied value.
+     *
+     * @param propertyName - name of an indexed property
+     * @param propertyValue - literal value of the property
+     * @return set of relationship GUIDs
+     */
+    Set<String>  getRelationshipGUIDsForPropertyValue(String   propertyName,
+                                                      String   propertyValue)
+    {
+        return relationshipPropertyIndex.getGUIDs(getPropertyKey(propertyName, propertyValue));
+    }
+
+
+    /**
+     * Update the indexes with the current version of an entity.
+     *
+     * @param entity - entity that is now in the entity store
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    private void indexEntity(EntityDetail   entity)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        String guid = entity.getGUID();
+
+        entityTypeIndex.update(guid, getTypeKeys(entity));
+        entityPropertyIndex.update(guid, getPropertyKeys(entity.getProperties()));
+
+        Set<String> classificationNames = new HashSet<>();
 
-        if (relationship != null)
+        if (entity.getClassifications() != null)
         {
-            List<Relationship> purgedHistory = new ArrayList<>();
-            for (Relationship history : relationshipHistoryStore)
+            for (Classification classification : entity.getClassifications())
             {
-                if (history != null && !guid.equals(history.getGUID()))
+                if ((classification != null) && (classification.getName() != null))
                 {
-                    purgedHistory.add(history);
+                    classificationNames.add(classification.getName());
                 }
             }
-            relationshipHistoryStore = purgedHistory;
         }
+
+        entityClassificationIndex.update(guid, classificationNames);
     }
 
+
+    /**
+     * Remove an entity from the indexes.
+     *
+     * @param guid - unique identifier of the entity
+     */
+    private void unindexEntity(String   guid)
+    {
+        entityTypeIndex.remove(guid);
+        entityPropertyIndex.remove(guid);
+        entityClassificationIndex.remove(guid);
+    }
+
+
+    /**
+     * Update the indexes with the current version of a relationship.
+     *
+     * @param relationship - relationship that is now in the relationship store
+     */
+    private void indexRelationship(Relationship   relationship)
+    {
+        String guid = relationship.getGUID();
+
+        relationshipTypeIndex.update(guid, getTypeKeys(relationship));
+        relationshipPropertyIndex.update(guid, getPropertyKeys(relationship.getProperties()));
+
+        Set<String> endGUIDs = new HashSet<>();
+
+        if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+        {
+            endGUIDs.add(relationship.getEntityOneProxy().getGUID());
+        }
+
+        if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+        {
+            endGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+        }
+
+        relationshipEndIndex.update(guid, endGUIDs);
+    }
+
+
+    /**
+     * Remove a relationship from the indexes.
+     *
+     * @param guid - unique identifier of the relationship
+     */
+    private void unindexRelationship(String   guid)
+    {
+        relationshipTypeIndex.remove(guid);
+        relationshipPropertyIndex.remove(guid);
+        relationshipEndIndex.remove(guid);
+    }
+
+
+    /**
+     * Return the type GUIDs that an instance should be found under.  This is its own type and all of its
+     * supertypes so that a search for a type also finds instances of its subtypes.
+     *
+     * @param instance - instance to index
+     * @return set of type GUIDs
+     */
+    private Set<String> getTypeKeys(InstanceHeader   instance)
+    {
+        Set<String>  typeGUIDs = new HashSet<>();
+        InstanceType type      = instance.getType();
+
+        if (type != null)
+        {
+            if (type.getTypeDefGUID() != null)
+            {
+                typeGUIDs.add(type.getTypeDefGUID());
+            }
+
+            if (type.getTypeDefSuperTypes() != null)
+            {
+                for (TypeDefLink superType : type.getTypeDefSuperTypes())
+                {
+                    if ((superType != null) && (superType.getGUID() != null))
+                    {
+                        typeGUIDs.add(superType.getGUID());
+                    }
+                }
+            }
+        }
+
+        return typeGUIDs;
+    }
+
+
+    /**
+     * Return the index keys for the indexed string properties of an instance.
+     *
+     * @param properties - properties of the instance
+     * @return set of property keys
+     */
+    private Set<String> getPropertyKeys(InstanceProperties   properties)
+    {
+        Set<String> propertyKeys = new HashSet<>();
+
+        if (properties != null)
+        {
+            for (String propertyName : indexedPropertyNames)
+            {
+                InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+                if (propertyValue instanceof PrimitivePropertyValue)
+                {
+                    PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+
+                    if ((primitivePropertyValue.getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING) &&
+                        (primitivePropertyValue.getPrimitiveValue() != null))
+                    {
+                        propertyKeys.add(getPropertyKey(propertyName, primitivePropertyValue.getPrimitiveValue().toString()));
+                    }
+                }
+            }
+        }
+
+        return propertyKeys;
+    }
+
+
+    /**
+     * Build the index key for a property value.
+     *
+     * @param propertyName - name of the property
+     * @param propertyValue - value of the property
+     * @return index key
+     */
+    private static String getPropertyKey(String   propertyName,
+                                         String   propertyValue)
+    {
+        return propertyName + "=" + propertyValue;
+    }
+
+
+    /**
+     * Return the lock that serializes changes to the instance with the supplied GUID.
+     *
+     * @param guid - unique identifier of the instance
+     * @return lock object
+     */
+    private Object  getInstanceLock(String   guid)
+    {
+        return instanceLocks[(guid.hashCode() & 0x7fffffff) % lockStripes];
+    }
 }
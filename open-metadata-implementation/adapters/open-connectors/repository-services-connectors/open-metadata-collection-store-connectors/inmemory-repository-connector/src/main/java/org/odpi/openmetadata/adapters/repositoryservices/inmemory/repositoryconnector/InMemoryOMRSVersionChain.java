@@ -0,0 +1,156 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * InMemoryOMRSVersionChain holds the previous versions of a single instance for the InMemoryOMRSMetadataStore.
+ * The versions are kept in order of the time they became active (their update time, or create time if they
+ * have never been updated) so that the version active at a point in time is found with a binary search.
+ *
+ * @param <V> type of instance
+ */
+class InMemoryOMRSVersionChain<V extends InstanceAuditHeader>
+{
+    private final List<V>  versions = new ArrayList<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryOMRSVersionChain()
+    {
+    }
+
+
+    /**
+     * Return the time that a version of an instance became active.
+     *
+     * @param version - version of an instance
+     * @return update time, or create time if never updated (null if neither is set)
+     */
+    static Date getVersionTime(InstanceAuditHeader   version)
+    {
+        if (version.getUpdateTime() != null)
+        {
+            return version.getUpdateTime();
+        }
+
+        return version.getCreateTime();
+    }
+
+
+    /**
+     * Return whether a version of an instance was active at the requested time.
+     *
+     * @param version - version of an instance
+     * @param asOfTime - requested time
+     * @return boolean flag
+     */
+    static boolean isActiveAt(InstanceAuditHeader   version,
+                              Date                  asOfTime)
+    {
+        Date versionTime = getVersionTime(version);
+
+        return (versionTime != null) && (! versionTime.after(asOfTime));
+    }
+
+
+    /**
+     * Add a previous version to the chain.  Versions with no time are ignored for historical queries so
+     * they are placed at the start of the chain.
+     *
+     * @param version - previous version of the instance
+     */
+    synchronized void addVersion(V   version)
+    {
+        Date versionTime = getVersionTime(version);
+
+        if (versionTime == null)
+        {
+            versions.add(0, version);
+        }
+        else
+        {
+            versions.add(this.countVersionsActiveAt(versionTime), version);
+        }
+    }
+
+
+    /**
+     * Return the most recently added version.
+     *
+     * @return instance version or null if the chain is empty
+     */
+    synchronized V getLatestVersion()
+    {
+        if (versions.isEmpty())
+        {
+            return null;
+        }
+
+        return versions.get(versions.size() - 1);
+    }
+
+
+    /**
+     * Return the version that was active at the requested time.
+     *
+     * @param asOfTime - requested time
+     * @return instance version or null if none of the versions were active at the time
+     */
+    synchronized V getVersionAsOf(Date   asOfTime)
+    {
+        int activeVersions = this.countVersionsActiveAt(asOfTime);
+
+        if (activeVersions == 0)
+        {
+            return null;
+        }
+
+        V version = versions.get(activeVersions - 1);
+
+        if (getVersionTime(version) == null)
+        {
+            return null;
+        }
+
+        return version;
+    }
+
+
+    /**
+     * Binary search for the number of versions at the start of the chain that were active at (or
+     * before) the requested time.
+     *
+     * @param asOfTime - requested time
+     * @return index of the first version that became active after the requested time
+     */
+    private int countVersionsActiveAt(Date   asOfTime)
+    {
+        int low  = 0;
+        int high = versions.size();
+
+        while (low < high)
+        {
+            int  middle      = (low + high) >>> 1;
+            Date versionTime = getVersionTime(versions.get(middle));
+
+            if ((versionTime == null) || (! versionTime.after(asOfTime)))
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
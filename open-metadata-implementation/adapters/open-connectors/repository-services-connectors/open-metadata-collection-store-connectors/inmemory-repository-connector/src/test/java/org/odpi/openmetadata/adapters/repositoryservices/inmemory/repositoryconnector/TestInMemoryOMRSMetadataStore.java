@@ -0,0 +1,235 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the secondary indexes of the InMemoryOMRSMetadataStore follow the changes to the store,
+ * including when the store is updated from many threads, and that the version chains return the
+ * right version for historical queries.
+ */
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String ASSET_TYPE_GUID         = "asset-type-guid";
+    private static final String REFERENCEABLE_TYPE_GUID = "referenceable-type-guid";
+    private static final String RELATIONSHIP_TYPE_GUID  = "relationship-type-guid";
+
+
+    @Test
+    void testEntityIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail entity = getEntity("1111", "qualified.name.1", "Confidentiality");
+        store.createEntityInStore(entity);
+
+        assertEquals(store.getEntityGUIDsForType(ASSET_TYPE_GUID), Collections.singleton("1111"));
+        assertEquals(store.getEntityGUIDsForType(REFERENCEABLE_TYPE_GUID), Collections.singleton("1111"));
+        assertEquals(store.getEntityGUIDsForClassification("Confidentiality"), Collections.singleton("1111"));
+        assertEquals(store.getEntityGUIDsForPropertyValue("qualifiedName", "qualified.name.1"), Collections.singleton("1111"));
+
+        /*
+         * Update the stored object in place and then save it - the old keys must be dropped.
+         */
+        entity.setClassifications(null);
+        entity.setProperties(getProperties("qualified.name.2"));
+        store.updateEntityInStore(entity);
+
+        assertTrue(store.getEntityGUIDsForClassification("Confidentiality").isEmpty());
+        assertTrue(store.getEntityGUIDsForPropertyValue("qualifiedName", "qualified.name.1").isEmpty());
+        assertEquals(store.getEntityGUIDsForPropertyValue("qualifiedName", "qualified.name.2"), Collections.singleton("1111"));
+
+        store.removeEntityFromStore(entity);
+
+        assertTrue(store.getEntityGUIDsForType(ASSET_TYPE_GUID).isEmpty());
+        assertTrue(store.getEntityGUIDsForPropertyValue("qualifiedName", "qualified.name.2").isEmpty());
+    }
+
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("3333");
+        relationship.setType(getType(RELATIONSHIP_TYPE_GUID));
+        relationship.setEntityOneProxy(getProxy("1111"));
+        relationship.setEntityTwoProxy(getProxy("2222"));
+
+        store.createRelationshipInStore(relationship);
+
+        assertEquals(store.getRelationshipGUIDsForEntity("1111"), Collections.singleton("3333"));
+        assertEquals(store.getRelationshipGUIDsForEntity("2222"), Collections.singleton("3333"));
+        assertEquals(store.getRelationshipGUIDsForType(RELATIONSHIP_TYPE_GUID), Collections.singleton("3333"));
+
+        store.removeReferenceRelationshipFromStore("3333");
+
+        assertTrue(store.getRelationshipGUIDsForEntity("1111").isEmpty());
+        assertTrue(store.getRelationshipGUIDsForType(RELATIONSHIP_TYPE_GUID).isEmpty());
+    }
+
+
+    @Test
+    void testEntityHistory()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail entity = getEntity("1111", "qualified.name.1", "Confidentiality");
+        entity.setVersion(1L);
+        entity.setCreateTime(new Date(1000L));
+        store.createEntityInStore(entity);
+
+        for (long version = 2; version <= 3; version++)
+        {
+            EntityDetail updatedEntity = new EntityDetail(store.getEntity("1111"));
+
+            updatedEntity.setVersion(version);
+            updatedEntity.setUpdateTime(new Date(1000L * version));
+            updatedEntity.setProperties(getProperties("qualified.name." + version));
+            store.updateEntityInStore(updatedEntity);
+        }
+
+        assertNull(store.getEntity("1111", new Date(500L)));
+        assertEquals(store.getEntity("1111", new Date(1500L)).getVersion(), 1L);
+        assertEquals(store.getEntity("1111", new Date(2000L)).getVersion(), 2L);
+        assertEquals(store.getEntity("1111", new Date(9000L)).getVersion(), 3L);
+        assertEquals(store.timeWarpEntityStore(new Date(2500L)).get("1111").getVersion(), 2L);
+
+        EntityDetail restoredEntity = store.retrievePreviousVersionOfEntity("1111");
+
+        assertEquals(restoredEntity.getVersion(), 4L);
+        assertEquals(restoredEntity.getProperties(), getProperties("qualified.name.2"));
+        assertEquals(store.getEntityGUIDsForPropertyValue("qualifiedName", "qualified.name.2"), Collections.singleton("1111"));
+
+        store.removeEntityFromStore(restoredEntity);
+
+        assertNull(store.retrievePreviousVersionOfEntity("1111"));
+    }
+
+
+    @Test
+    void testConcurrentUpdates() throws Exception
+    {
+        final int threadCount = 8;
+        final int entityCount = 250;
+        final int updateCount = 4;
+
+        InMemoryOMRSMetadataStore store    = new InMemoryOMRSMetadataStore();
+        ExecutorService           executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>>           results  = new ArrayList<>();
+
+        for (int thread = 0; thread < threadCount; thread++)
+        {
+            final String threadPrefix = "thread-" + thread + "-";
+
+            results.add(executor.submit(() ->
+            {
+                for (int entityNumber = 0; entityNumber < entityCount; entityNumber++)
+                {
+                    String       guid   = threadPrefix + entityNumber;
+                    EntityDetail entity = getEntity(guid, guid + "-0", "Confidentiality");
+
+                    store.createEntityInStore(entity);
+
+                    for (int update = 1; update <= updateCount; update++)
+                    {
+                        EntityDetail updatedEntity = new EntityDetail(store.getEntity(guid));
+
+                        updatedEntity.setProperties(getProperties(guid + "-" + update));
+                        store.updateEntityInStore(updatedEntity);
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        executor.shutdown();
+
+        assertEquals(store.getEntities().size(), threadCount * entityCount);
+        assertEquals(store.getEntityGUIDsForType(ASSET_TYPE_GUID).size(), threadCount * entityCount);
+        assertEquals(store.getEntityGUIDsForClassification("Confidentiality").size(), threadCount * entityCount);
+        assertTrue(store.getEntityGUIDsForPropertyValue("qualifiedName", "thread-0-0-0").isEmpty());
+        assertEquals(store.getEntityGUIDsForPropertyValue("qualifiedName", "thread-0-0-" + updateCount),
+                     Collections.singleton("thread-0-0"));
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   String qualifiedName,
+                                   String classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        InstanceType type = getType(ASSET_TYPE_GUID);
+        TypeDefLink  superType = new TypeDefLink();
+        superType.setGUID(REFERENCEABLE_TYPE_GUID);
+        type.setTypeDefSuperTypes(Collections.singletonList(superType));
+        entity.setType(type);
+
+        entity.setProperties(getProperties(qualifiedName));
+
+        Classification classification = new Classification();
+        classification.setName(classificationName);
+        entity.setClassifications(Collections.singletonList(classification));
+
+        return entity;
+    }
+
+
+    private InstanceType getType(String typeGUID)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+
+        return type;
+    }
+
+
+    private InstanceProperties getProperties(String qualifiedName)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(qualifiedName);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("qualifiedName", propertyValue);
+
+        return properties;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+
+        return proxy;
+    }
+}
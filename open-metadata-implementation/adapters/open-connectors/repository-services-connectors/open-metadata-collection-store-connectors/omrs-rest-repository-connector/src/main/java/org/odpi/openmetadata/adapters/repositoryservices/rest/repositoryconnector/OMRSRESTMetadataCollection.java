@@ -954,6 +954,36 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Null means none of the
+     * entities were found.
+     * @throws InvalidParameterException     a guid is null or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+
+        validateClient(methodName);
+        return omrsClient.getEntityDetails(userId, guids, asOfTime);
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1433,6 +1463,36 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Null means none of
+     * the relationships were found.
+     * @throws InvalidParameterException     a guid is null or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+
+        validateClient(methodName);
+        return omrsClient.getRelationships(userId, guids, asOfTime);
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
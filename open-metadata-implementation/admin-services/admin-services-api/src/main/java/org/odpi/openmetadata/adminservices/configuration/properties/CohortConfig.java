@@ -49,6 +49,15 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *         selectedTypesToProcess - list of TypeDefs used if the eventsToProcess rule (above) says
  *         "SELECTED_TYPES" - otherwise it is set to null.
  *     </li>
+ *     <li>
+ *         instanceEventBatchSize is the maximum number of instance events from the local repository that are
+ *         sent to the cohort in a single batch event.  The default of zero sends each instance event on its own.
+ *         This must be used if any member of the cohort is not able to process batch events.
+ *     </li>
+ *     <li>
+ *         instanceEventBatchInterval is the maximum time (in milliseconds) that an instance event is held
+ *         waiting for its batch to fill before the batch is sent.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -64,6 +73,8 @@ public class CohortConfig extends AdminServicesConfigHeader
     private OpenMetadataEventProtocolVersion cohortOMRSTopicProtocolVersion = null;
     private OpenMetadataExchangeRule         eventsToProcessRule            = null;
     private List<TypeDefSummary>             selectedTypesToProcess         = null;
+    private int                              instanceEventBatchSize         = 0;
+    private long                             instanceEventBatchInterval     = 1000;
 
 
 
@@ -92,6 +103,8 @@ public class CohortConfig extends AdminServicesConfigHeader
             cohortOMRSTopicProtocolVersion = template.getCohortOMRSTopicProtocolVersion();
             eventsToProcessRule = template.getEventsToProcessRule();
             selectedTypesToProcess = template.getSelectedTypesToProcess();
+            instanceEventBatchSize = template.getInstanceEventBatchSize();
+            instanceEventBatchInterval = template.getInstanceEventBatchInterval();
         }
     }
 
@@ -251,6 +264,52 @@ public class CohortConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of instance events that are sent to the cohort in a single batch event.
+     * Zero (or one) means each instance event is sent on its own, which is understood by all members of the cohort.
+     *
+     * @return int
+     */
+    public int getInstanceEventBatchSize()
+    {
+        return instanceEventBatchSize;
+    }
+
+
+    /**
+     * Set up the maximum number of instance events that are sent to the cohort in a single batch event.
+     * Zero (or one) means each instance event is sent on its own, which is understood by all members of the cohort.
+     *
+     * @param instanceEventBatchSize int
+     */
+    public void setInstanceEventBatchSize(int instanceEventBatchSize)
+    {
+        this.instanceEventBatchSize = instanceEventBatchSize;
+    }
+
+
+    /**
+     * Return the maximum time (in milliseconds) that an instance event waits for its batch to fill.
+     *
+     * @return long
+     */
+    public long getInstanceEventBatchInterval()
+    {
+        return instanceEventBatchInterval;
+    }
+
+
+    /**
+     * Set up the maximum time (in milliseconds) that an instance event waits for its batch to fill.
+     *
+     * @param instanceEventBatchInterval long
+     */
+    public void setInstanceEventBatchInterval(long instanceEventBatchInterval)
+    {
+        this.instanceEventBatchInterval = instanceEventBatchInterval;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -266,6 +325,8 @@ public class CohortConfig extends AdminServicesConfigHeader
                 ", cohortOMRSTopicProtocolVersion=" + cohortOMRSTopicProtocolVersion +
                 ", eventsToProcessRule=" + eventsToProcessRule +
                 ", selectedTypesToProcess=" + selectedTypesToProcess +
+                ", instanceEventBatchSize=" + instanceEventBatchSize +
+                ", instanceEventBatchInterval=" + instanceEventBatchInterval +
                 '}';
     }
 
@@ -293,7 +354,9 @@ public class CohortConfig extends AdminServicesConfigHeader
                 Objects.equals(getCohortOMRSTopicConnection(), that.getCohortOMRSTopicConnection()) &&
                 getCohortOMRSTopicProtocolVersion() == that.getCohortOMRSTopicProtocolVersion() &&
                 getEventsToProcessRule() == that.getEventsToProcessRule() &&
-                Objects.equals(getSelectedTypesToProcess(), that.getSelectedTypesToProcess());
+                Objects.equals(getSelectedTypesToProcess(), that.getSelectedTypesToProcess()) &&
+                getInstanceEventBatchSize() == that.getInstanceEventBatchSize() &&
+                getInstanceEventBatchInterval() == that.getInstanceEventBatchInterval();
     }
 
 
@@ -307,6 +370,7 @@ public class CohortConfig extends AdminServicesConfigHeader
     public int hashCode()
     {
         return Objects.hash(getCohortName(), getCohortRegistryConnection(), getCohortOMRSTopicConnection(),
-                            getCohortOMRSTopicProtocolVersion(), getEventsToProcessRule(), getSelectedTypesToProcess());
+                            getCohortOMRSTopicProtocolVersion(), getEventsToProcessRule(), getSelectedTypesToProcess(),
+                            getInstanceEventBatchSize(), getInstanceEventBatchInterval());
     }
 }
@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.Map;
+
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
 
@@ -30,6 +32,12 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *         enterpriseOMRSTopicProtocolVersion - the protocol version for the events passed on the
  *                                            enterprise OMRS topic.
  *     </li>
+ *     <li>
+ *         enterpriseOMRSConnectorProperties - configuration properties for the enterprise OMRS repository
+ *                                           connectors that federate queries across the cohorts.  They control
+ *                                           whether the repositories are called in parallel or in turn, the
+ *                                           number of worker threads and how long to wait for each repository.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -43,6 +51,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private String                           enterpriseMetadataCollectionId     = null;
     private Connection                       enterpriseOMRSTopicConnection      = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion = null;
+    private Map<String, Object>              enterpriseOMRSConnectorProperties  = null;
 
 
     /**
@@ -179,6 +188,30 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the configuration properties for the enterprise OMRS repository connectors.  These control how
+     * federated queries are issued to the members of the cohorts.
+     *
+     * @return map of property names to values (null means use the defaults)
+     */
+    public Map<String, Object> getEnterpriseOMRSConnectorProperties()
+    {
+        return enterpriseOMRSConnectorProperties;
+    }
+
+
+    /**
+     * Set up the configuration properties for the enterprise OMRS repository connectors.  These control how
+     * federated queries are issued to the members of the cohorts.
+     *
+     * @param enterpriseOMRSConnectorProperties map of property names to values (null means use the defaults)
+     */
+    public void setEnterpriseOMRSConnectorProperties(Map<String, Object> enterpriseOMRSConnectorProperties)
+    {
+        this.enterpriseOMRSConnectorProperties = enterpriseOMRSConnectorProperties;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -16,15 +16,18 @@ import java.util.*;
 /**
  * OMAGServerInstance represents an instance of a service in an OMAG Server.
  * It is also responsible for registering itself in the instance map.
+ *
+ * The service instance map is an immutable snapshot that is replaced when a service registers or unregisters,
+ * so the lookup of a service on each request does not need to lock the server instance.
  */
 class OMAGServerInstance
 {
-    private String                                 serverName;
-    private String                                 serverType;
-    private List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
-    private Map<String, OMAGServerServiceInstance> serviceInstanceMap = new HashMap<>();
-    private Date                                   serverStartTime    = new Date();
-    private OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
+    private String                                          serverName;
+    private String                                          serverType;
+    private List<OMAGServerInstanceHistory>                 serverHistory      = new ArrayList<>();
+    private volatile Map<String, OMAGServerServiceInstance> serviceInstanceMap = Collections.emptyMap();
+    private Date                                            serverStartTime    = new Date();
+    private final OpenMetadataServerSecurityVerifier        securityVerifier   = new OpenMetadataServerSecurityVerifier();
 
 
     /**
@@ -85,7 +88,7 @@ class OMAGServerInstance
      *
      * @return list of service names
      */
-    synchronized List<String>  getRegisteredServices()
+    List<String>  getRegisteredServices()
     {
         Set<String>  keySet = serviceInstanceMap.keySet();
 
@@ -181,7 +184,7 @@ class OMAGServerInstance
      *
      * @return connector
      */
-    synchronized OpenMetadataServerSecurityVerifier  getSecurityVerifier()
+    OpenMetadataServerSecurityVerifier  getSecurityVerifier()
     {
         return securityVerifier;
     }
@@ -198,14 +201,18 @@ class OMAGServerInstance
     {
         if (serviceInstance != null)
         {
-            serviceInstanceMap.put(serviceName, serviceInstance);
+            Map<String, OMAGServerServiceInstance> newServiceInstanceMap = new HashMap<>(serviceInstanceMap);
+
             serviceInstance.setSecurityVerifier(securityVerifier);
+            newServiceInstanceMap.put(serviceName, serviceInstance);
+            serviceInstanceMap = Collections.unmodifiableMap(newServiceInstanceMap);
         }
     }
 
 
     /**
      * Return the properties for this running service or exceptions if there are problems.
+     * This is called on every request and does not lock the server instance.
      *
      * @param userId calling user
      * @param serviceName server name
@@ -215,10 +222,10 @@ class OMAGServerInstance
      * @throws UserNotAuthorizedException calling user not authorized to call the request
      * @throws PropertyServerException service is not running in this server
      */
-    synchronized OMAGServerServiceInstance getRegisteredService(String    userId,
-                                                                String    serviceName,
-                                                                String    serviceOperationName) throws UserNotAuthorizedException,
-                                                                                                       PropertyServerException
+    OMAGServerServiceInstance getRegisteredService(String    userId,
+                                                   String    serviceName,
+                                                   String    serviceOperationName) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException
     {
         try
         {
@@ -252,7 +259,10 @@ class OMAGServerInstance
      */
     synchronized  void unRegisterService(String   serviceName)
     {
-        serviceInstanceMap.remove(serviceName);
+        Map<String, OMAGServerServiceInstance> newServiceInstanceMap = new HashMap<>(serviceInstanceMap);
+
+        newServiceInstanceMap.remove(serviceName);
+        serviceInstanceMap = Collections.unmodifiableMap(newServiceInstanceMap);
     }
 
 
@@ -269,9 +279,11 @@ class OMAGServerInstance
 
         if (!serviceInstanceMap.isEmpty())
         {
-            this.serviceInstanceMap = new HashMap<>();
+            Set<String> residualServices = serviceInstanceMap.keySet();
+
+            this.serviceInstanceMap = Collections.emptyMap();
             throw new PropertyServerException(OMAGServerInstanceErrorCode.SERVICES_NOT_SHUTDOWN.getMessageDefinition(serverName,
-                                                                                                                     serviceInstanceMap.keySet().toString()),
+                                                                                                                     residualServices.toString()),
                                               this.getClass().getName(),
                                               methodName);
         }
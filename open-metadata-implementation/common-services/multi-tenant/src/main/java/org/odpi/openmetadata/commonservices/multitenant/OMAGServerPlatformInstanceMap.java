@@ -25,12 +25,15 @@ import java.util.*;
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * The maps of active and inactive servers are immutable snapshots that are replaced as servers and services
+ * start and stop.  The methods that change them are synchronized static methods.  The methods that only read them,
+ * including the lookup of the service instance made by every REST request, use the current snapshot without
+ * taking a lock, so requests to different servers (and the calls they make to the security connectors) run in parallel.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static volatile Map<String, OMAGServerInstance> activeServerInstanceMap   = Collections.emptyMap();
+    private static volatile Map<String, OMAGServerInstance> inActiveServerInstanceMap = Collections.emptyMap();
 
 
     /**
@@ -407,15 +410,15 @@ public class OMAGServerPlatformInstanceMap
                  * New server for this platform
                  */
                 serverInstance = new OMAGServerInstance(serverName);
-                activeServerInstanceMap.put(serverName, serverInstance);
+                activeServerInstanceMap = addServer(activeServerInstanceMap, serverName, serverInstance);
             }
             else
             {
                 /*
                  * Move the inactive server to active
                  */
-                activeServerInstanceMap.put(serverName, serverInstance);
-                inActiveServerInstanceMap.remove(serverName);
+                activeServerInstanceMap = addServer(activeServerInstanceMap, serverName, serverInstance);
+                inActiveServerInstanceMap = removeServer(inActiveServerInstanceMap, serverName);
             }
         }
 
@@ -423,6 +426,42 @@ public class OMAGServerPlatformInstanceMap
     }
 
 
+    /**
+     * Return a new snapshot of a server map with an additional server.
+     *
+     * @param serverMap current snapshot
+     * @param serverName name of the server
+     * @param serverInstance instance object
+     * @return new snapshot
+     */
+    private static Map<String, OMAGServerInstance> addServer(Map<String, OMAGServerInstance> serverMap,
+                                                             String                          serverName,
+                                                             OMAGServerInstance              serverInstance)
+    {
+        Map<String, OMAGServerInstance> newServerMap = new HashMap<>(serverMap);
+
+        newServerMap.put(serverName, serverInstance);
+        return Collections.unmodifiableMap(newServerMap);
+    }
+
+
+    /**
+     * Return a new snapshot of a server map without a server.
+     *
+     * @param serverMap current snapshot
+     * @param serverName name of the server
+     * @return new snapshot
+     */
+    private static Map<String, OMAGServerInstance> removeServer(Map<String, OMAGServerInstance> serverMap,
+                                                                String                          serverName)
+    {
+        Map<String, OMAGServerInstance> newServerMap = new HashMap<>(serverMap);
+
+        newServerMap.remove(serverName);
+        return Collections.unmodifiableMap(newServerMap);
+    }
+
+
     /**
      * Add a new service instance to the server map.
      *
@@ -479,10 +518,10 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized String getServerInstanceType(String  userId,
-                                                             String  serverName,
-                                                             String  serviceOperationName) throws InvalidParameterException,
-                                                                                                  UserNotAuthorizedException
+    private static String getServerInstanceType(String  userId,
+                                                String  serverName,
+                                                String  serviceOperationName) throws InvalidParameterException,
+                                                                                     UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -514,8 +553,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -534,8 +573,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -545,7 +584,8 @@ public class OMAGServerPlatformInstanceMap
 
 
     /**
-     * Return the instance of this service for this server.
+     * Return the instance of this service for this server.  This is called on every REST request so it
+     * works from the current snapshot of the active servers without taking a lock.
      *
      * @param userId calling user or null if it is an anonymous request
      * @param serverName name of the server
@@ -557,12 +597,12 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                    String  serverName,
+                                                                    String  serviceName,
+                                                                    String  serviceOperationName) throws InvalidParameterException,
+                                                                                                         UserNotAuthorizedException,
+                                                                                                         PropertyServerException
     {
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
@@ -573,14 +613,15 @@ public class OMAGServerPlatformInstanceMap
             try
             {
                 serverSecurityVerifier.validateUserForServer(userId);
-                serverSecurityVerifier.validateUserForService(userId, serviceName);
-                serverSecurityVerifier.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
             }
             catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
             {
                 throw new UserNotAuthorizedException(error);
             }
 
+            /*
+             * The service and service operation checks are made by the server instance.
+             */
             return serverInstance.getRegisteredService(userId, serviceName, serviceOperationName);
         }
         else
@@ -602,7 +643,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -633,7 +674,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -665,8 +706,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -694,9 +735,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
@@ -731,9 +772,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
@@ -768,9 +809,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
@@ -804,9 +845,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
@@ -886,8 +927,8 @@ public class OMAGServerPlatformInstanceMap
             }
             finally
             {
-                inActiveServerInstanceMap.put(serverName, serverInstance);
-                activeServerInstanceMap.remove(serverName);
+                inActiveServerInstanceMap = addServer(inActiveServerInstanceMap, serverName, serverInstance);
+                activeServerInstanceMap = removeServer(activeServerInstanceMap, serverName);
             }
         }
     }
@@ -902,8 +943,8 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
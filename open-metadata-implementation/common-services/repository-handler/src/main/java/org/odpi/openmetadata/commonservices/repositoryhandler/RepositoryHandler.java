@@ -2566,7 +2566,7 @@ public class RepositoryHandler
     {
         final String localMethodName = "getEntitiesForRelationshipType";
 
-        List<EntityDetail> results = new ArrayList<>();
+        List<String> requiredEndGUIDs = new ArrayList<>();
 
         try
         {
@@ -2586,7 +2586,7 @@ public class RepositoryHandler
                 {
                     EntityProxy requiredEnd = getOtherEnd(startingEntityGUID, startingEntityTypeName, relationship, methodName);
 
-                    results.add(this.getEntityForRelationship(userId, requiredEnd, methodName));
+                    requiredEndGUIDs.add(requiredEnd.getGUID());
                 }
             }
             else
@@ -2607,6 +2607,8 @@ public class RepositoryHandler
             errorHandler.handleRepositoryError(error, methodName, localMethodName);
         }
 
+        List<EntityDetail> results = this.getEntitiesForGUIDs(userId, requiredEndGUIDs, methodName);
+
         if (results.isEmpty())
         {
             return null;
@@ -2705,7 +2707,7 @@ public class RepositoryHandler
     {
         final String localMethodName = "getEntitiesForRelationshipEnd";
 
-        List<EntityDetail> results = new ArrayList<>();
+        List<String> requiredEndGUIDs = new ArrayList<>();
 
         try
         {
@@ -2734,7 +2736,7 @@ public class RepositoryHandler
 
                     if (anchorEntityGUID.equals(anchorEndProxy.getGUID()))
                     {
-                        results.add(metadataCollection.getEntityDetail(userId, requiredEndProxy.getGUID()));
+                        requiredEndGUIDs.add(requiredEndProxy.getGUID());
                     }
                 }
             }
@@ -2756,6 +2758,8 @@ public class RepositoryHandler
             errorHandler.handleRepositoryError(error, methodName, localMethodName);
         }
 
+        List<EntityDetail> results = this.getEntitiesForGUIDs(userId, requiredEndGUIDs, methodName);
+
         if (results.isEmpty())
         {
             return null;
@@ -3033,6 +3037,83 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Return the entities for a list of GUIDs.  There is one entry in the result for each GUID, in the same order,
+     * so a GUID that is listed more than once returns the same entity more than once.  The entities are retrieved
+     * with a single request.  Any entity that this request does not return, such as an unknown entity or a proxy,
+     * is then retrieved on its own so that the caller receives the same exception as when each entity is retrieved
+     * separately.
+     *
+     * @param userId  user making the request
+     * @param entityGUIDs  unique identifiers of the entities to retrieve
+     * @param methodName  name of calling method
+     * @return list of retrieved entities
+     * @throws PropertyServerException problem accessing the property server
+     * @throws UserNotAuthorizedException security access problem
+     */
+    private List<EntityDetail> getEntitiesForGUIDs(String       userId,
+                                                   List<String> entityGUIDs,
+                                                   String       methodName) throws UserNotAuthorizedException,
+                                                                                   PropertyServerException
+    {
+        final String localMethodName = "getEntitiesForGUIDs";
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        if (entityGUIDs.isEmpty())
+        {
+            return results;
+        }
+
+        try
+        {
+            Map<String, EntityDetail> retrievedEntities = new HashMap<>();
+            List<EntityDetail>        entities          = metadataCollection.getEntityDetails(userId, entityGUIDs, null);
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if (entity != null)
+                    {
+                        retrievedEntities.put(entity.getGUID(), entity);
+                    }
+                }
+            }
+
+            for (String entityGUID : entityGUIDs)
+            {
+                EntityDetail entity = retrievedEntities.get(entityGUID);
+
+                if (entity == null)
+                {
+                    entity = metadataCollection.getEntityDetail(userId, entityGUID);
+
+                    if (entity != null)
+                    {
+                        retrievedEntities.put(entityGUID, entity);
+                    }
+                }
+
+                if (entity != null)
+                {
+                    results.add(entity);
+                }
+            }
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName, localMethodName);
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the list of entities at the other end of the requested relationship type.
      *
@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that the entities at the end of an entity's relationships are retrieved with a single request
+ * while keeping the results and exceptions of retrieving each entity separately.
+ */
+public class RepositoryHandlerTest
+{
+    private static final String USER_ID                = "testUser";
+    private static final String ANCHOR_GUID            = "anchor";
+    private static final String RELATIONSHIP_TYPE_GUID = "relationshipTypeGUID";
+    private static final String METHOD_NAME            = "testMethod";
+
+
+    /**
+     * There is one entity in the results for each relationship, even when two relationships link to the same entity.
+     */
+    @Test
+    public void testEntitiesForRelationshipEnd() throws Exception
+    {
+        StubMetadataCollection metadataCollection = new StubMetadataCollection("term1", "term2");
+
+        metadataCollection.relationships = Arrays.asList(getRelationship(ANCHOR_GUID, "term1"),
+                                                         getRelationship(ANCHOR_GUID, "term2"),
+                                                         getRelationship("term2", ANCHOR_GUID),
+                                                         getRelationship(ANCHOR_GUID, "term1"));
+
+        List<EntityDetail> results = getRepositoryHandler(metadataCollection).getEntitiesForRelationshipEnd(USER_ID,
+                                                                                                             ANCHOR_GUID,
+                                                                                                             "Glossary",
+                                                                                                             true,
+                                                                                                             RELATIONSHIP_TYPE_GUID,
+                                                                                                             "TermAnchor",
+                                                                                                             0,
+                                                                                                             0,
+                                                                                                             METHOD_NAME);
+
+        assertEquals(getGUIDs(results), Arrays.asList("term1", "term2", "term1"));
+        assertEquals(metadataCollection.getEntityDetailsCount, 1);
+        assertEquals(metadataCollection.getEntityDetailCount, 0);
+    }
+
+
+    /**
+     * The entity at the other end is returned whichever end the starting entity is at.
+     */
+    @Test
+    public void testEntitiesForRelationshipType() throws Exception
+    {
+        StubMetadataCollection metadataCollection = new StubMetadataCollection("term1", "term2");
+
+        metadataCollection.relationships = Arrays.asList(getRelationship(ANCHOR_GUID, "term1"),
+                                                         getRelationship("term2", ANCHOR_GUID));
+
+        List<EntityDetail> results = getRepositoryHandler(metadataCollection).getEntitiesForRelationshipType(USER_ID,
+                                                                                                              ANCHOR_GUID,
+                                                                                                              "Glossary",
+                                                                                                              RELATIONSHIP_TYPE_GUID,
+                                                                                                              "TermAnchor",
+                                                                                                              0,
+                                                                                                              0,
+                                                                                                              METHOD_NAME);
+
+        assertEquals(getGUIDs(results), Arrays.asList("term1", "term2"));
+        assertEquals(metadataCollection.getEntityDetailsCount, 1);
+    }
+
+
+    /**
+     * An entity at the end of a relationship that is not known causes an exception, as it does when the entities
+     * are retrieved one at a time.
+     */
+    @Test
+    public void testUnknownEntityAtRelationshipEnd() throws Exception
+    {
+        StubMetadataCollection metadataCollection = new StubMetadataCollection("term1");
+
+        metadataCollection.relationships = Arrays.asList(getRelationship(ANCHOR_GUID, "term1"),
+                                                         getRelationship(ANCHOR_GUID, "unknownTerm"));
+
+        RepositoryHandler repositoryHandler = getRepositoryHandler(metadataCollection);
+
+        try
+        {
+            repositoryHandler.getEntitiesForRelationshipType(USER_ID,
+                                                             ANCHOR_GUID,
+                                                             "Glossary",
+                                                             RELATIONSHIP_TYPE_GUID,
+                                                             "TermAnchor",
+                                                             0,
+                                                             0,
+                                                             METHOD_NAME);
+            fail("The unknown entity should cause an exception");
+        }
+        catch (PropertyServerException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            repositoryHandler.getEntitiesForRelationshipEnd(USER_ID,
+                                                            ANCHOR_GUID,
+                                                            "Glossary",
+                                                            true,
+                                                            RELATIONSHIP_TYPE_GUID,
+                                                            "TermAnchor",
+                                                            0,
+                                                            0,
+                                                            METHOD_NAME);
+            fail("The unknown entity should cause an exception");
+        }
+        catch (PropertyServerException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * No relationships means no results.
+     */
+    @Test
+    public void testNoRelationships() throws Exception
+    {
+        StubMetadataCollection metadataCollection = new StubMetadataCollection("term1");
+
+        assertNull(getRepositoryHandler(metadataCollection).getEntitiesForRelationshipEnd(USER_ID,
+                                                                                          ANCHOR_GUID,
+                                                                                          "Glossary",
+                                                                                          true,
+                                                                                          RELATIONSHIP_TYPE_GUID,
+                                                                                          "TermAnchor",
+                                                                                          0,
+                                                                                          0,
+                                                                                          METHOD_NAME));
+        assertEquals(metadataCollection.getEntityDetailsCount, 0);
+    }
+
+
+    /**
+     * Return a repository handler for the metadata collection.
+     *
+     * @param metadataCollection metadata collection
+     * @return repository handler
+     */
+    private RepositoryHandler getRepositoryHandler(StubMetadataCollection metadataCollection)
+    {
+        return new RepositoryHandler(null,
+                                     new RepositoryErrorHandler(null, "testService", "testServer"),
+                                     metadataCollection,
+                                     100);
+    }
+
+
+    /**
+     * Return a relationship between two entities.  The proxies have no type so the type of the starting entity
+     * is not validated.
+     *
+     * @param entityOneGUID unique identifier of the entity at end 1
+     * @param entityTwoGUID unique identifier of the entity at end 2
+     * @return relationship
+     */
+    private Relationship getRelationship(String entityOneGUID,
+                                         String entityTwoGUID)
+    {
+        EntityProxy entityOne = new EntityProxy();
+        entityOne.setGUID(entityOneGUID);
+
+        EntityProxy entityTwo = new EntityProxy();
+        entityTwo.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return the GUIDs of the entities.
+     *
+     * @param entities entities
+     * @return list of GUIDs
+     */
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Metadata collection that returns a fixed set of relationships and entities and counts the entity requests.
+     */
+    private static class StubMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private Map<String, EntityDetail> entities              = new HashMap<>();
+        private List<Relationship>        relationships         = null;
+        private int                       getEntityDetailsCount = 0;
+        private int                       getEntityDetailCount  = 0;
+
+
+        StubMetadataCollection(String... entityGUIDs)
+        {
+            super(null, "testRepository", null, null, "testMetadataCollectionId");
+
+            for (String entityGUID : entityGUIDs)
+            {
+                EntityDetail entity = new EntityDetail();
+                entity.setGUID(entityGUID);
+
+                entities.put(entityGUID, entity);
+            }
+        }
+
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize)
+        {
+            return relationships;
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException
+        {
+            getEntityDetailCount++;
+
+            EntityDetail entity = entities.get(guid);
+
+            if (entity == null)
+            {
+                throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(guid, "getEntityDetail", repositoryName),
+                                                  this.getClass().getName(),
+                                                  "getEntityDetail");
+            }
+
+            return entity;
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntityDetails(String       userId,
+                                                   List<String> guids,
+                                                   Date         asOfTime)
+        {
+            getEntityDetailsCount++;
+
+            List<EntityDetail> results = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                EntityDetail entity = entities.get(guid);
+
+                if ((entity != null) && (! results.contains(entity)))
+                {
+                    results.add(entity);
+                }
+            }
+
+            return results.isEmpty() ? null : results;
+        }
+    }
+}
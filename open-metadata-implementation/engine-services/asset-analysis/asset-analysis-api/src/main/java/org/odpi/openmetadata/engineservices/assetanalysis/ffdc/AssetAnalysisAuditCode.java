@@ -236,6 +236,13 @@ public enum AssetAnalysisAuditCode implements AuditLogMessageSet
                                       "true this it is likely to be a code error in the discovery service in which case, " +
                                       "raise an issue with the author of the discovery service to get it fixed.  Once the cause is resolved, " +
                                       "retry the discovery request."),
+
+    ASSET_SCAN_FAILED( "OMES-ASSET-ANALYSIS-0030",
+                       OMRSAuditLogRecordSeverity.EXCEPTION,
+                       "The scan of all assets for discovery request type {0} in discovery engine {1} stopped after {2} assets " +
+                               "because of a {3} exception with message {4}",
+                       "The discovery requests for the assets that were found before the error are run.  No more assets are analyzed.",
+                       "Review the exception to determine the cause of the error.  Once the cause is resolved, retry the scan."),
     ;
 
 
@@ -7,6 +7,7 @@ import org.odpi.openmetadata.accessservices.governanceengine.client.GovernanceEn
 import org.odpi.openmetadata.accessservices.governanceengine.client.GovernanceEngineConfigurationClient;
 import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
 import org.odpi.openmetadata.adminservices.configuration.registration.EngineServiceDescription;
+import org.odpi.openmetadata.engineservices.assetanalysis.ffdc.AssetAnalysisAuditCode;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.*;
 import org.odpi.openmetadata.frameworks.discovery.*;
@@ -42,6 +43,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
      * @param discoveryEngineClient REST client for direct REST Calls to Discovery Engine OMAS - used by discovery services
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param engineServiceOptions options from the engine service configuration that control the execution of the discovery services
      */
     public DiscoveryEngineHandler(EngineConfig                        engineConfig,
                                   String                              serverName,
@@ -50,7 +52,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                   GovernanceEngineClient              serverClient,
                                   DiscoveryEngineClient               discoveryEngineClient,
                                   AuditLog                            auditLog,
-                                  int                                 maxPageSize)
+                                  int                                 maxPageSize,
+                                  Map<String, Object>                 engineServiceOptions)
     {
         super(engineConfig,
               serverName,
@@ -59,7 +62,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
               configurationClient,
               serverClient,
               auditLog,
-              maxPageSize);
+              maxPageSize,
+              engineServiceOptions);
 
         this.discoveryEngineClient = discoveryEngineClient;
     }
@@ -104,7 +108,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
     /**
      * Request the execution of a discovery service for each asset that is found (limited by the supported zones of the
-     * Discovery Engine OMAS).
+     * Discovery Engine OMAS).  The assets are retrieved and their discovery requests queued on the discovery engine's
+     * background thread, so this method returns once the request is validated.
      *
      * @param discoveryRequestType identifier of the type of discovery to run - this determines which discovery service to run.
      * @param analysisParameters name value properties to control the analysis
@@ -129,9 +134,34 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            int      startingFrom = 0;
-            boolean  moreToReceive = true;
+            super.submitRequestGenerator("a scan of all assets for discovery request type " + discoveryRequestType,
+                                         () -> scanAssets(discoveryRequestType, analysisParameters, annotationTypes, discoveryServiceCache));
+        }
+    }
 
+
+    /**
+     * Page through the assets and queue a discovery service for each one.  This runs on the discovery engine's
+     * background thread and waits whenever the discovery engine's queue is full.
+     *
+     * @param discoveryRequestType identifier of the type of discovery to run - this determines which discovery service to run.
+     * @param analysisParameters name value properties to control the analysis
+     * @param annotationTypes list of the types of annotations to produce (and no others)
+     * @param discoveryServiceCache factory for discovery services
+     */
+    private void scanAssets(String                 discoveryRequestType,
+                            Map<String, String>    analysisParameters,
+                            List<String>           annotationTypes,
+                            GovernanceServiceCache discoveryServiceCache)
+    {
+        final String methodName = "scanAssets";
+
+        int      startingFrom = 0;
+        int      assetCount = 0;
+        boolean  moreToReceive = true;
+
+        try
+        {
             while (moreToReceive)
             {
                 List<String> assets = discoveryEngineClient.getAssets(serverUserId, startingFrom, maxPageSize);
@@ -147,6 +177,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                 analysisParameters,
                                                 annotationTypes,
                                                 discoveryServiceCache);
+                            assetCount++;
                         }
                     }
 
@@ -165,11 +196,21 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                 }
             }
         }
+        catch (Exception error)
+        {
+            auditLog.logException(methodName,
+                                  AssetAnalysisAuditCode.ASSET_SCAN_FAILED.getMessageDefinition(discoveryRequestType,
+                                                                                                governanceEngineName,
+                                                                                                Integer.toString(assetCount),
+                                                                                                error.getClass().getName(),
+                                                                                                error.getMessage()),
+                                  error);
+        }
     }
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the governance engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -225,8 +266,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-            thread.start();
+            super.submitGovernanceService(discoveryServiceHandler, requestType);
 
             return discoveryServiceHandler;
         }
@@ -236,7 +276,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Run an instance of a discovery service on one of the governance engine's worker threads.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
@@ -265,8 +305,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-        thread.start();
+        super.submitGovernanceService(discoveryServiceHandler, discoveryRequestType);
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
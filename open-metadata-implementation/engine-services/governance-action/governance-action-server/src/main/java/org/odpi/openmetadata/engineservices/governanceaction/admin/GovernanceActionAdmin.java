@@ -112,7 +112,8 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                                                                configurationClient,
                                                                                                                                serverClient,
                                                                                                                                governanceEngineClient,
-                                                                                                                               maxPageSize);
+                                                                                                                               maxPageSize,
+                                                                                                                               engineServiceConfig.getEngineServiceOptions());
 
             if (governanceActionEngineHandlers == null)
             {
@@ -177,6 +178,7 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
      * @param serverClient client to control the execution of governance action requests
      * @param governanceEngineClient client for calling REST APIs
      * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
+     * @param engineServiceOptions options that control the execution of the governance services
      * @return map of governance action engine GUIDs to handlers
      */
     private Map<String, GovernanceActionEngineHandler>  getGovernanceActionEngineHandlers(List<EngineConfig>                  governanceActionEngines,
@@ -186,7 +188,8 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                           GovernanceEngineConfigurationClient configurationClient,
                                                                                           GovernanceEngineClient              serverClient,
                                                                                           GovernanceEngineClient              governanceEngineClient,
-                                                                                          int                                 maxPageSize)
+                                                                                          int                                 maxPageSize,
+                                                                                          Map<String, Object>                 engineServiceOptions)
     {
         Map<String, GovernanceActionEngineHandler> governanceActionEngineHandlers = new HashMap<>();
 
@@ -206,7 +209,8 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                            serverClient,
                                                                                            governanceEngineClient,
                                                                                            auditLog,
-                                                                                           maxPageSize);
+                                                                                           maxPageSize,
+                                                                                           engineServiceOptions);
 
                 governanceActionEngineHandlers.put(governanceActionEngine.getEngineQualifiedName(), handler);
             }
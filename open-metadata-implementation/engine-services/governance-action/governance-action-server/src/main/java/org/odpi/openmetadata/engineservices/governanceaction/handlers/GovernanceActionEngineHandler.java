@@ -46,6 +46,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
      * @param governanceEngineClient REST client for calls made by the governance action services
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param engineServiceOptions options from the engine service configuration that control the execution of the governance services
      */
     public GovernanceActionEngineHandler(EngineConfig                        engineConfig,
                                          String                              localServerName,
@@ -56,7 +57,8 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                          GovernanceEngineClient              serverClient,
                                          GovernanceEngineClient              governanceEngineClient,
                                          AuditLog                            auditLog,
-                                         int                                 maxPageSize)
+                                         int                                 maxPageSize,
+                                         Map<String, Object>                 engineServiceOptions)
     {
         super(engineConfig,
               localServerName,
@@ -65,7 +67,8 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
               configurationClient,
               serverClient,
               auditLog,
-              maxPageSize);
+              maxPageSize,
+              engineServiceOptions);
 
         this.governanceEngineClient = governanceEngineClient;
         this.partnerServerName = partnerServerName;
@@ -93,7 +96,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service on one of the governance engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -140,8 +143,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceListenerManager,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString());
-            thread.start();
+            super.submitGovernanceService(governanceActionServiceHandler, requestType);
 
             return governanceActionServiceHandler;
         }
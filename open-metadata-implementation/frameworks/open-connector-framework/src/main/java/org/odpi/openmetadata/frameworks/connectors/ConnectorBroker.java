@@ -15,6 +15,7 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.VirtualConnection;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The ConnectorBroker is a generic factory for Open Connector Framework (OCF) Connectors.
@@ -26,6 +27,12 @@ public class ConnectorBroker
     private static final Logger log      = LoggerFactory.getLogger(ConnectorBroker.class);
     private final        int    hashCode = UUID.randomUUID().hashCode();
 
+    /*
+     * Connector provider classes that have already been loaded, keyed by class name.  Looking up a class by name
+     * is expensive and the result does not change for the life of the JVM, so it is shared by all brokers.
+     */
+    private static final Map<String, Class<?>> connectorProviderClasses = new ConcurrentHashMap<>();
+
 
     private AuditLog auditLog = null;
 
@@ -155,7 +162,14 @@ public class ConnectorBroker
 
         try
         {
-            Class<?>   connectorProviderClass = Class.forName(connectorProviderClassName);
+            Class<?>   connectorProviderClass = connectorProviderClasses.get(connectorProviderClassName);
+
+            if (connectorProviderClass == null)
+            {
+                connectorProviderClass = Class.forName(connectorProviderClassName);
+                connectorProviderClasses.put(connectorProviderClassName, connectorProviderClass);
+            }
+
             Object     potentialConnectorProvider = connectorProviderClass.newInstance();
 
             connectorProvider = (ConnectorProvider)potentialConnectorProvider;
@@ -559,6 +559,40 @@ public class TestConnectorBroker
         }
     }
 
+
+    /**
+     * Validate that each request for a connector returns a new connector instance, even though the
+     * connector provider class is only loaded once.
+     */
+    @Test public void testRepeatedConnection()
+    {
+        ConnectorType testConnType = new ConnectorType();
+
+        testConnType.setQualifiedName("Test.ConnectorType");
+        testConnType.setDisplayName("TestCT");
+        testConnType.setConnectorProviderClassName(MockConnectorProvider.class.getName());
+
+        Connection      testConnection = new Connection();
+
+        testConnection.setQualifiedName("Test.Connection");
+        testConnection.setDisplayName("Test");
+        testConnection.setConnectorType(testConnType);
+
+        try
+        {
+            Connector firstConnector  = new ConnectorBroker().getConnector(testConnection);
+            Connector secondConnector = new ConnectorBroker().getConnector(testConnection);
+
+            assertTrue(firstConnector instanceof MockConnector);
+            assertTrue(secondConnector instanceof MockConnector);
+            assertFalse(firstConnector == secondConnector);
+        }
+        catch (Throwable error)
+        {
+            assertTrue(false);
+        }
+    }
+
     /**
      *  Validate that 2 different objects with the same content have the same hash code.
      */
@@ -241,6 +241,19 @@ public enum EngineHostServicesErrorCode implements ExceptionMessageSet
                                      "This is a configuration error.  Update the configuration for the engine host service to ensure governance engines are correctly " +
                                              "matched to the engine services.  Once the cause is resolved, restart the server."),
 
+    GOVERNANCE_ENGINE_NOT_ACCEPTING_REQUESTS(400, "ENGINE-HOST-SERVICES-400-025",
+                                             "Governance engine {0} in engine host server {1} is not able to queue a request for governance service {2} because it is shutting down",
+                                             "The governance engine has been terminated, or the thread waiting for space in its request queue has been interrupted.  The " +
+                                                     "governance service is not run.  Any governance action that requested it remains APPROVED.",
+                                             "This is expected while the engine host server is shutting down.  If the server is not shutting down, " +
+                                                     "look for other error messages in the audit log and retry the request once the engine host server is running."),
+
+    GOVERNANCE_ENGINE_NOT_GENERATING_REQUESTS(400, "ENGINE-HOST-SERVICES-400-026",
+                                              "Governance engine {0} in engine host server {1} is not able to start {2} because it is shutting down",
+                                              "The governance engine has been terminated.  The request is not processed.",
+                                              "This is expected while the engine host server is shutting down.  If the server is not shutting down, " +
+                                                      "look for other error messages in the audit log and retry the request once the engine host server is running."),
+
     NO_OMAS_SERVER_URL(400,"ENGINE-HOST-SERVICES-400-102",
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
                        "The engine service is not able to locate the metadata server to retrieve the configuration for " +
@@ -31,6 +31,11 @@ public class GovernanceEngineSummary implements Serializable
     private String                 governanceEngineDescription = null;
     private GovernanceEngineStatus governanceEngineStatus      = null;
     private List<String>           governanceRequestTypes      = null;
+    private int                    queuedRequestCount          = 0;
+    private int                    runningRequestCount         = 0;
+    private long                   completedRequestCount       = 0L;
+    private long                   averageQueueTime            = 0L;
+    private long                   averageExecutionTime        = 0L;
 
 
     /**
@@ -57,6 +62,11 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            queuedRequestCount = template.getQueuedRequestCount();
+            runningRequestCount = template.getRunningRequestCount();
+            completedRequestCount = template.getCompletedRequestCount();
+            averageQueueTime = template.getAverageQueueTime();
+            averageExecutionTime = template.getAverageExecutionTime();
         }
     }
 
@@ -224,6 +234,116 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the number of requests that are waiting for the governance engine to start a governance service.
+     *
+     * @return count
+     */
+    public int getQueuedRequestCount()
+    {
+        return queuedRequestCount;
+    }
+
+
+    /**
+     * Set up the number of requests that are waiting for the governance engine to start a governance service.
+     *
+     * @param queuedRequestCount count
+     */
+    public void setQueuedRequestCount(int queuedRequestCount)
+    {
+        this.queuedRequestCount = queuedRequestCount;
+    }
+
+
+    /**
+     * Return the number of governance services that are currently running in the governance engine.
+     *
+     * @return count
+     */
+    public int getRunningRequestCount()
+    {
+        return runningRequestCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are currently running in the governance engine.
+     *
+     * @param runningRequestCount count
+     */
+    public void setRunningRequestCount(int runningRequestCount)
+    {
+        this.runningRequestCount = runningRequestCount;
+    }
+
+
+    /**
+     * Return the number of governance services that have completed since the governance engine started.
+     *
+     * @return count
+     */
+    public long getCompletedRequestCount()
+    {
+        return completedRequestCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that have completed since the governance engine started.
+     *
+     * @param completedRequestCount count
+     */
+    public void setCompletedRequestCount(long completedRequestCount)
+    {
+        this.completedRequestCount = completedRequestCount;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) that the completed requests waited before their governance service started.
+     *
+     * @return milliseconds
+     */
+    public long getAverageQueueTime()
+    {
+        return averageQueueTime;
+    }
+
+
+    /**
+     * Set up the average time (in milliseconds) that the completed requests waited before their governance service started.
+     *
+     * @param averageQueueTime milliseconds
+     */
+    public void setAverageQueueTime(long averageQueueTime)
+    {
+        this.averageQueueTime = averageQueueTime;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) that the completed governance services ran for.
+     *
+     * @return milliseconds
+     */
+    public long getAverageExecutionTime()
+    {
+        return averageExecutionTime;
+    }
+
+
+    /**
+     * Set up the average time (in milliseconds) that the completed governance services ran for.
+     *
+     * @param averageExecutionTime milliseconds
+     */
+    public void setAverageExecutionTime(long averageExecutionTime)
+    {
+        this.averageExecutionTime = averageExecutionTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +360,11 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", queuedRequestCount=" + queuedRequestCount +
+                       ", runningRequestCount=" + runningRequestCount +
+                       ", completedRequestCount=" + completedRequestCount +
+                       ", averageQueueTime=" + averageQueueTime +
+                       ", averageExecutionTime=" + averageExecutionTime +
                        '}';
     }
 
@@ -268,7 +393,12 @@ public class GovernanceEngineSummary implements Serializable
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
                 Objects.equals(governanceEngineDescription, that.governanceEngineDescription) &&
                 governanceEngineStatus == that.governanceEngineStatus &&
-                Objects.equals(governanceRequestTypes, that.governanceRequestTypes);
+                Objects.equals(governanceRequestTypes, that.governanceRequestTypes) &&
+                queuedRequestCount == that.queuedRequestCount &&
+                runningRequestCount == that.runningRequestCount &&
+                completedRequestCount == that.completedRequestCount &&
+                averageQueueTime == that.averageQueueTime &&
+                averageExecutionTime == that.averageExecutionTime;
     }
 
 
@@ -281,6 +411,7 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           queuedRequestCount, runningRequestCount, completedRequestCount, averageQueueTime, averageExecutionTime);
    }
 }
@@ -55,6 +55,8 @@ public abstract class GovernanceEngineHandler
 
     private GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
 
+    private GovernanceServiceExecutor  governanceServiceExecutor;     /* Initialized in constructor */
+
 
     /**
      * Create a client-side object for calling a governance engine.
@@ -67,6 +69,7 @@ public abstract class GovernanceEngineHandler
      * @param serverClient client to control the execution of governance action requests
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param engineServiceOptions options from the engine service configuration that control the execution of the governance services
      */
     public GovernanceEngineHandler(EngineConfig                        engineConfig,
                                    String                              serverName,
@@ -75,7 +78,8 @@ public abstract class GovernanceEngineHandler
                                    GovernanceEngineConfigurationClient configurationClient,
                                    GovernanceEngineClient              serverClient,
                                    AuditLog                            auditLog,
-                                   int                                 maxPageSize)
+                                   int                                 maxPageSize,
+                                   Map<String, Object>                 engineServiceOptions)
     {
         this.engineServiceName = engineServiceName;
         this.governanceEngineName = engineConfig.getEngineQualifiedName();
@@ -90,6 +94,7 @@ public abstract class GovernanceEngineHandler
         this.serverClient = serverClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+        this.governanceServiceExecutor = new GovernanceServiceExecutor(serverName, governanceEngineName, engineServiceOptions);
     }
 
 
@@ -138,6 +143,12 @@ public abstract class GovernanceEngineHandler
             mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.RUNNING);
         }
 
+        mySummary.setQueuedRequestCount(governanceServiceExecutor.getQueuedRequestCount());
+        mySummary.setRunningRequestCount(governanceServiceExecutor.getRunningRequestCount());
+        mySummary.setCompletedRequestCount(governanceServiceExecutor.getCompletedRequestCount());
+        mySummary.setAverageQueueTime(governanceServiceExecutor.getAverageQueueTime());
+        mySummary.setAverageExecutionTime(governanceServiceExecutor.getAverageExecutionTime());
+
         return mySummary;
     }
 
@@ -285,7 +296,10 @@ public abstract class GovernanceEngineHandler
 
                     for (String governanceRequestType : governanceRequestTypes)
                     {
-                        GovernanceServiceCache governanceServiceCache = new GovernanceServiceCache(serverName, governanceEngineName, governanceServiceElement);
+                        GovernanceServiceCache governanceServiceCache = new GovernanceServiceCache(serverName,
+                                                                                                   governanceEngineName,
+                                                                                                   governanceServiceElement,
+                                                                                                   governanceServiceExecutor);
                         governanceServiceLookupTable.put(governanceRequestType, governanceServiceCache);
 
                         auditLog.logMessage(methodName,
@@ -423,12 +437,11 @@ public abstract class GovernanceEngineHandler
 
             if (properties.getActionStatus() == GovernanceActionStatus.APPROVED)
             {
-                serverClient.claimGovernanceAction(serverUserId, governanceActionGUID);
-
                 // todo if the start date is in the future then the governance action should be given to the scheduler
 
-                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
-
+                /*
+                 * The governance action is claimed and set to IN_PROGRESS by the worker thread that runs it.
+                 */
                 runGovernanceService(governanceActionGUID,
                                      properties.getRequestType(),
                                      properties.getRequestParameters(),
@@ -449,7 +462,43 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue a governance service to run on one of the governance engine's worker threads.  If the queue is full,
+     * this method waits until there is space.  Once the governance service has run, a reusable governance service
+     * instance is returned to the cache for the request type.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param requestType request type that selected the governance service - used to set its priority
+     * @throws PropertyServerException the governance engine is shutting down
+     */
+    protected void submitGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                           String                   requestType) throws PropertyServerException
+    {
+        if (requestType != null)
+        {
+            governanceServiceHandler.setGovernanceServiceCache(this.getServiceCache(requestType));
+        }
+
+        governanceServiceExecutor.submit(governanceServiceHandler, requestType);
+    }
+
+
+    /**
+     * Run a task that queues a large number of governance services, such as a scan of all assets, on the
+     * governance engine's background thread so that the caller does not wait for space in the queue.
+     *
+     * @param requestDescription description of the request - used in the exception message
+     * @param requestGenerator task that calls submitGovernanceService
+     * @throws PropertyServerException the governance engine is shutting down
+     */
+    protected void submitRequestGenerator(String   requestDescription,
+                                          Runnable requestGenerator) throws PropertyServerException
+    {
+        governanceServiceExecutor.generateRequests(requestDescription, requestGenerator);
+    }
+
+
+    /**
+     * Run an instance of a governance action service on one of the governance engine's worker threads and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -505,5 +554,6 @@ public abstract class GovernanceEngineHandler
         governanceEngineGUID = null;
         governanceEngineProperties = null;
         governanceServiceLookupTable.clear();
+        governanceServiceExecutor.terminate();
     }
 }
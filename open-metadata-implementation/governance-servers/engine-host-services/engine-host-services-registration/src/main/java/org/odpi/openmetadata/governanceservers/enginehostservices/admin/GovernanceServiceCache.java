@@ -5,26 +5,52 @@ package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
 import org.odpi.openmetadata.accessservices.governanceengine.metadataelements.RegisteredGovernanceServiceElement;
 import org.odpi.openmetadata.accessservices.governanceengine.properties.RegisteredGovernanceService;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * GovernanceServiceCache maintains the information about a registered governance service.  A single governance service may be registered using
  * different request types and analysis parameter pairs.
+ *
+ * The cache holds a small pool of governance service instances for its request type.  The pool is filled on the governance engine's
+ * background thread so a request does not normally have to wait for a connector to be created.  A governance service whose connection
+ * sets the reusableGovernanceService configuration property to true is returned to the pool once it has run and disconnected.
  */
 public class GovernanceServiceCache
 {
-    private Connector                          nextGovernanceService;
+    public static final String reusableGovernanceServiceProperty = "reusableGovernanceService";
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceServiceCache.class);
+
     private RegisteredGovernanceServiceElement element;
     private RegisteredGovernanceService        properties;
     private Map<String, Map<String, String>>   requestTypeMapping;
 
+    private String                    governanceEngineName;
+    private GovernanceServiceExecutor governanceServiceExecutor;
+    private ConnectorBroker           connectorBroker = new ConnectorBroker();
+    private int                       poolSize        = 1;
+    private boolean                   reusable        = false;
+
+    private final Deque<Connector>    pooledGovernanceServices = new ArrayDeque<>();
+    private final Set<Connector>      issuedGovernanceServices = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean                   poolRefillScheduled      = false;
+
 
     /**
      * Sets up the cache
@@ -32,14 +58,16 @@ public class GovernanceServiceCache
      * @param governanceServerName name of this server.
      * @param governanceEngineName name of this engine.
      * @param element registered properties of the governance services
+     * @param governanceServiceExecutor executor for the governance engine - supplies the pool size and the thread that fills the pool
      * @throws InvalidParameterException there is a problem with the connection used to create the
      * governance service instance or the governance service properties are null
      * @throws PropertyServerException problem with the governance service connector or related config
      */
     GovernanceServiceCache(String                              governanceServerName,
                            String                              governanceEngineName,
-                           RegisteredGovernanceServiceElement  element) throws InvalidParameterException,
-                                                                               PropertyServerException
+                           RegisteredGovernanceServiceElement  element,
+                           GovernanceServiceExecutor           governanceServiceExecutor) throws InvalidParameterException,
+                                                                                                 PropertyServerException
     {
         final String methodName = "GovernanceServiceCache constructor";
 
@@ -49,7 +77,16 @@ public class GovernanceServiceCache
             this.properties         = element.getProperties();
             this.requestTypeMapping = properties.getRequestTypes();
 
-            getNextGovernanceService(); /* validate that the connection works */
+            this.governanceEngineName      = governanceEngineName;
+            this.governanceServiceExecutor = governanceServiceExecutor;
+            this.poolSize                  = governanceServiceExecutor.getGovernanceServicePoolSize();
+            this.reusable                  = isReusable(properties.getConnection());
+
+            /*
+             * Creating the first instance validates that the connection works.
+             */
+            pooledGovernanceServices.add(createGovernanceService());
+            schedulePoolRefill();
         }
         else
         {
@@ -96,23 +133,184 @@ public class GovernanceServiceCache
     }
 
 
+    /**
+     * Determine whether the governance service has declared, through its connection, that an instance can be used for more than one request.
+     *
+     * @param connection connection for the governance service
+     * @return boolean flag
+     */
+    private boolean isReusable(Connection connection)
+    {
+        if ((connection != null) && (connection.getConfigurationProperties() != null))
+        {
+            Object reusableProperty = connection.getConfigurationProperties().get(reusableGovernanceServiceProperty);
+
+            if (reusableProperty instanceof Boolean)
+            {
+                return (Boolean) reusableProperty;
+            }
+
+            return "true".equalsIgnoreCase(String.valueOf(reusableProperty));
+        }
+
+        return false;
+    }
+
+
     /**
      * Return a governance service connector instance using the registered properties for the governance service.
+     * An instance is taken from the pool if one is available.  Otherwise it is created on the caller's thread.
      *
      * @return connector
      * @throws InvalidParameterException bad connection
      * @throws PropertyServerException problem with the governance service connector
      */
-    public synchronized Connector  getNextGovernanceService() throws InvalidParameterException,
-                                                                     PropertyServerException
+    public Connector  getNextGovernanceService() throws InvalidParameterException,
+                                                        PropertyServerException
+    {
+        Connector governanceService;
+
+        synchronized (pooledGovernanceServices)
+        {
+            governanceService = pooledGovernanceServices.pollFirst();
+        }
+
+        if (governanceService == null)
+        {
+            governanceService = createGovernanceService();
+        }
+
+        if (reusable)
+        {
+            synchronized (pooledGovernanceServices)
+            {
+                issuedGovernanceServices.add(governanceService);
+            }
+        }
+
+        schedulePoolRefill();
+
+        return governanceService;
+    }
+
+
+    /**
+     * Called when a governance service has finished running.  If the governance service is reusable and has been
+     * disconnected, it is returned to the pool (providing the pool is not full).
+     *
+     * @param governanceService governance service instance returned by getNextGovernanceService
+     */
+    void releaseGovernanceService(Connector governanceService)
     {
-        Connector  returnValue = nextGovernanceService;
+        if (reusable)
+        {
+            synchronized (pooledGovernanceServices)
+            {
+                if ((issuedGovernanceServices.remove(governanceService)) &&
+                    (governanceService instanceof ConnectorBase) &&
+                    (! ((ConnectorBase) governanceService).isActive()) &&
+                    (pooledGovernanceServices.size() < poolSize))
+                {
+                    pooledGovernanceServices.addFirst(governanceService);
+                }
+            }
+        }
+    }
 
+
+    /**
+     * Return the number of governance service instances that are waiting in the pool.
+     *
+     * @return count
+     */
+    int getPooledGovernanceServiceCount()
+    {
+        synchronized (pooledGovernanceServices)
+        {
+            return pooledGovernanceServices.size();
+        }
+    }
+
+
+    /**
+     * Request that the pool is topped up on the governance engine's background thread.
+     */
+    private void schedulePoolRefill()
+    {
+        synchronized (pooledGovernanceServices)
+        {
+            if ((poolRefillScheduled) || (pooledGovernanceServices.size() >= poolSize))
+            {
+                return;
+            }
+
+            poolRefillScheduled = true;
+        }
+
+        governanceServiceExecutor.prepareGovernanceServices(this::refillPool);
+    }
+
+
+    /**
+     * Create governance service instances until the pool is full.  Runs on the governance engine's background thread.
+     */
+    private void refillPool()
+    {
         try
         {
-            ConnectorBroker connectorBroker = new ConnectorBroker();
+            while (true)
+            {
+                synchronized (pooledGovernanceServices)
+                {
+                    if (pooledGovernanceServices.size() >= poolSize)
+                    {
+                        poolRefillScheduled = false;
+                        return;
+                    }
+                }
+
+                Connector governanceService = createGovernanceService();
+
+                synchronized (pooledGovernanceServices)
+                {
+                    if (pooledGovernanceServices.size() < poolSize)
+                    {
+                        pooledGovernanceServices.addLast(governanceService);
+                    }
+                }
+            }
+        }
+        catch (Exception error)
+        {
+            synchronized (pooledGovernanceServices)
+            {
+                poolRefillScheduled = false;
+            }
 
-            nextGovernanceService = connectorBroker.getConnector(properties.getConnection());
+            /*
+             * The next request creates its governance service on its own thread and reports the error.
+             */
+            log.warn("Unable to create an instance of governance service {} for governance engine {}: {}",
+                     properties.getQualifiedName(),
+                     governanceEngineName,
+                     error.getMessage());
+        }
+    }
+
+
+    /**
+     * Create a new governance service connector instance using the registered properties for the governance service.
+     *
+     * @return connector
+     * @throws InvalidParameterException bad connection
+     * @throws PropertyServerException problem with the governance service connector
+     */
+    private Connector  createGovernanceService() throws InvalidParameterException,
+                                                        PropertyServerException
+    {
+        try
+        {
+            return connectorBroker.getConnector(properties.getConnection());
         }
         catch (ConnectionCheckedException error)
         {
@@ -122,7 +320,5 @@ public class GovernanceServiceCache
         {
             throw new PropertyServerException(error);
         }
-
-        return returnValue;
     }
 }
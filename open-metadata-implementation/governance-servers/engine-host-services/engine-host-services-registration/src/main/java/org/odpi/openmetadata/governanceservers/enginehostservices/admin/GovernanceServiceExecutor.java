@@ -0,0 +1,690 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GovernanceServiceExecutor runs the governance services requested of a governance engine on a fixed number of
+ * worker threads.  Requests wait in a bounded queue until a worker is free.  The queue is ordered by the priority
+ * of the request type and then by arrival.  A request is only started if its governance service is running fewer
+ * instances than its concurrency limit, so a busy governance service does not hold up the requests for the others.
+ * When the queue is full, the caller waits for space, which slows down the event listeners and REST calls that
+ * are generating the requests.
+ *
+ * The executor is configured through the engine service options:
+ * <ul>
+ *     <li>maxConcurrentServices - number of worker threads (default is the number of processors)</li>
+ *     <li>maxQueuedRequests - number of requests that can wait for a worker (default 1000)</li>
+ *     <li>governanceServiceConcurrency - map of governance service name to the number of instances of that
+ *     governance service that can run at once (default is no limit beyond maxConcurrentServices)</li>
+ *     <li>requestTypePriorities - map of request type to priority - higher values run first (default 0)</li>
+ *     <li>governanceServicePoolSize - number of governance service instances that are created in advance for each
+ *     request type (default 1)</li>
+ * </ul>
+ *
+ * The executor also owns the background thread that creates these governance service instances so that
+ * connector construction is not on the path of a request, and a background thread for requests, such as a scan
+ * of all assets, that queue a large number of governance services.
+ *
+ * A governance action is claimed by the worker thread that runs it rather than when it is queued.  The queue is
+ * held in memory, so requests that are queued when the governance engine shuts down are lost, but their governance
+ * actions are still APPROVED in the metadata server.
+ */
+public class GovernanceServiceExecutor
+{
+    public static final String maxConcurrentServicesOption        = "maxConcurrentServices";
+    public static final String maxQueuedRequestsOption            = "maxQueuedRequests";
+    public static final String governanceServiceConcurrencyOption = "governanceServiceConcurrency";
+    public static final String requestTypePrioritiesOption        = "requestTypePriorities";
+    public static final String governanceServicePoolSizeOption    = "governanceServicePoolSize";
+
+    private static final int defaultMaxQueuedRequests         = 1000;
+    private static final int defaultGovernanceServicePoolSize = 1;
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceServiceExecutor.class);
+
+    private final String               serverName;
+    private final String               governanceEngineName;
+    private final int                  maxConcurrentServices;
+    private final int                  maxQueuedRequests;
+    private final Map<String, Integer> governanceServiceConcurrency;
+    private final Map<String, Integer> requestTypePriorities;
+    private final int                  governanceServicePoolSize;
+
+    private final ReentrantLock        lock             = new ReentrantLock();
+    private final Condition            requestQueued    = lock.newCondition();
+    private final Condition            spaceInQueue     = lock.newCondition();
+    private final TreeSet<QueuedRequest> queuedRequests = new TreeSet<>(Comparator.comparingInt(QueuedRequest::getPriority).reversed()
+                                                                                  .thenComparingLong(QueuedRequest::getSequenceNumber));
+    private final Map<String, Integer> runningServices  = new HashMap<>();
+    private final List<Thread>         workers          = new ArrayList<>();
+
+    private long    nextSequenceNumber  = 0L;
+    private int     idleWorkers         = 0;
+    private boolean terminated          = false;
+
+    private long    completedRequests   = 0L;
+    private long    totalQueueTime      = 0L;
+    private long    totalExecutionTime  = 0L;
+
+    private ExecutorService governanceServicePreparer = null;
+    private ExecutorService requestGenerator          = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param serverName name of the engine host server
+     * @param governanceEngineName name of the governance engine
+     * @param engineServiceOptions options from the engine service configuration (may be null)
+     */
+    GovernanceServiceExecutor(String              serverName,
+                              String              governanceEngineName,
+                              Map<String, Object> engineServiceOptions)
+    {
+        this.serverName                   = serverName;
+        this.governanceEngineName         = governanceEngineName;
+        this.maxConcurrentServices        = getIntegerOption(engineServiceOptions,
+                                                             maxConcurrentServicesOption,
+                                                             Runtime.getRuntime().availableProcessors());
+        this.maxQueuedRequests            = getIntegerOption(engineServiceOptions,
+                                                             maxQueuedRequestsOption,
+                                                             defaultMaxQueuedRequests);
+        this.governanceServiceConcurrency = getIntegerMapOption(engineServiceOptions, governanceServiceConcurrencyOption);
+        this.requestTypePriorities        = getIntegerMapOption(engineServiceOptions, requestTypePrioritiesOption);
+        this.governanceServicePoolSize    = getIntegerOption(engineServiceOptions,
+                                                             governanceServicePoolSizeOption,
+                                                             defaultGovernanceServicePoolSize);
+    }
+
+
+    /**
+     * Extract a positive integer option.
+     *
+     * @param engineServiceOptions options from the engine service configuration
+     * @param optionName name of the option
+     * @param defaultValue value to use if the option is not set
+     * @return option value
+     */
+    private int getIntegerOption(Map<String, Object> engineServiceOptions,
+                                 String              optionName,
+                                 int                 defaultValue)
+    {
+        if (engineServiceOptions != null)
+        {
+            Object optionValue = engineServiceOptions.get(optionName);
+
+            if ((optionValue instanceof Integer) && ((Integer) optionValue > 0))
+            {
+                return (Integer) optionValue;
+            }
+            else if (optionValue != null)
+            {
+                log.warn("Ignoring invalid value {} of the {} option for governance engine {}", optionValue, optionName, governanceEngineName);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Extract an option that maps names to integers.
+     *
+     * @param engineServiceOptions options from the engine service configuration
+     * @param optionName name of the option
+     * @return map (empty if the option is not set)
+     */
+    private Map<String, Integer> getIntegerMapOption(Map<String, Object> engineServiceOptions,
+                                                     String              optionName)
+    {
+        Map<String, Integer> results = new HashMap<>();
+
+        if (engineServiceOptions != null)
+        {
+            Object optionValue = engineServiceOptions.get(optionName);
+
+            if (optionValue instanceof Map)
+            {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) optionValue).entrySet())
+                {
+                    if ((entry.getKey() instanceof String) && (entry.getValue() instanceof Integer))
+                    {
+                        results.put((String) entry.getKey(), (Integer) entry.getValue());
+                    }
+                    else
+                    {
+                        log.warn("Ignoring invalid entry {} of the {} option for governance engine {}", entry, optionName, governanceEngineName);
+                    }
+                }
+            }
+            else if (optionValue != null)
+            {
+                log.warn("Ignoring invalid value {} of the {} option for governance engine {}", optionValue, optionName, governanceEngineName);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Queue a governance service to run on one of the worker threads.  If the queue is full, this method waits for space.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param requestType request type that selected the governance service
+     * @throws PropertyServerException the governance engine is shutting down
+     */
+    void submit(GovernanceServiceHandler governanceServiceHandler,
+                String                   requestType) throws PropertyServerException
+    {
+        final String methodName = "submit";
+
+        Integer priority = null;
+
+        if (requestType != null)
+        {
+            priority = requestTypePriorities.get(requestType);
+        }
+
+        lock.lock();
+
+        try
+        {
+            while ((! terminated) && (queuedRequests.size() >= maxQueuedRequests))
+            {
+                spaceInQueue.await();
+            }
+
+            if (! terminated)
+            {
+                queuedRequests.add(new QueuedRequest(governanceServiceHandler,
+                                                     (priority == null) ? 0 : priority,
+                                                     nextSequenceNumber++,
+                                                     System.currentTimeMillis()));
+
+                if ((idleWorkers == 0) && (workers.size() < maxConcurrentServices))
+                {
+                    Thread worker = new Thread(this::runWorker,
+                                               serverName + "::" + governanceEngineName + "::GovernanceServiceThread-" + (workers.size() + 1));
+
+                    worker.setDaemon(true);
+                    workers.add(worker);
+                    worker.start();
+                }
+                else
+                {
+                    requestQueued.signal();
+                }
+
+                return;
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_ENGINE_NOT_ACCEPTING_REQUESTS.getMessageDefinition(governanceEngineName,
+                                                                                                                                  serverName,
+                                                                                                                                  governanceServiceHandler.getGovernanceServiceName()),
+                                          this.getClass().getName(),
+                                          methodName);
+    }
+
+
+    /**
+     * Return the number of governance service instances to create in advance for each request type.
+     *
+     * @return count
+     */
+    int getGovernanceServicePoolSize()
+    {
+        return governanceServicePoolSize;
+    }
+
+
+    /**
+     * Run a task that creates governance service instances on the background thread.  The request is
+     * ignored once the governance engine is shutting down.
+     *
+     * @param preparationTask task to run
+     */
+    void prepareGovernanceServices(Runnable preparationTask)
+    {
+        lock.lock();
+
+        try
+        {
+            if (! terminated)
+            {
+                if (governanceServicePreparer == null)
+                {
+                    governanceServicePreparer = this.getBackgroundExecutor("GovernanceServicePreparer");
+                }
+
+                governanceServicePreparer.execute(preparationTask);
+            }
+        }
+        catch (RejectedExecutionException error)
+        {
+            log.debug("Governance service preparation rejected for governance engine {}", governanceEngineName);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Run a task that queues governance services on the background thread that generates requests.  The tasks
+     * run one at a time, in the order they are passed, so a second scan waits for the first to be queued.
+     *
+     * @param requestDescription description of the request - used in the exception message
+     * @param requestGenerationTask task that calls submit
+     * @throws PropertyServerException the governance engine is shutting down
+     */
+    void generateRequests(String   requestDescription,
+                          Runnable requestGenerationTask) throws PropertyServerException
+    {
+        final String methodName = "generateRequests";
+
+        lock.lock();
+
+        try
+        {
+            if (! terminated)
+            {
+                if (requestGenerator == null)
+                {
+                    requestGenerator = this.getBackgroundExecutor("GovernanceRequestGenerator");
+                }
+
+                requestGenerator.execute(requestGenerationTask);
+                return;
+            }
+        }
+        catch (RejectedExecutionException error)
+        {
+            log.debug("Request generation rejected for governance engine {}", governanceEngineName);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_ENGINE_NOT_GENERATING_REQUESTS.getMessageDefinition(governanceEngineName,
+                                                                                                                                    serverName,
+                                                                                                                                    requestDescription),
+                                          this.getClass().getName(),
+                                          methodName);
+    }
+
+
+    /**
+     * Return a single threaded executor whose thread does not prevent the JVM from exiting.
+     *
+     * @param threadName name of the thread - it is qualified by the server and governance engine names
+     * @return executor
+     */
+    private ExecutorService getBackgroundExecutor(String threadName)
+    {
+        return Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread backgroundThread = new Thread(runnable, serverName + "::" + governanceEngineName + "::" + threadName);
+
+            backgroundThread.setDaemon(true);
+            return backgroundThread;
+        });
+    }
+
+
+    /**
+     * Return the number of requests waiting for a worker thread.
+     *
+     * @return count
+     */
+    int getQueuedRequestCount()
+    {
+        lock.lock();
+
+        try
+        {
+            return queuedRequests.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return count
+     */
+    int getRunningRequestCount()
+    {
+        lock.lock();
+
+        try
+        {
+            int runningRequests = 0;
+
+            for (Integer running : runningServices.values())
+            {
+                runningRequests = runningRequests + running;
+            }
+
+            return runningRequests;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of governance services that have finished.
+     *
+     * @return count
+     */
+    long getCompletedRequestCount()
+    {
+        lock.lock();
+
+        try
+        {
+            return completedRequests;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the average number of milliseconds that the finished requests waited in the queue.
+     *
+     * @return milliseconds
+     */
+    long getAverageQueueTime()
+    {
+        lock.lock();
+
+        try
+        {
+            return (completedRequests == 0) ? 0L : totalQueueTime / completedRequests;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the average number of milliseconds that the finished governance services ran for.
+     *
+     * @return milliseconds
+     */
+    long getAverageExecutionTime()
+    {
+        lock.lock();
+
+        try
+        {
+            return (completedRequests == 0) ? 0L : totalExecutionTime / completedRequests;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Stop the worker threads once the governance services they are running complete.  Requests that are still
+     * queued are discarded and callers waiting to queue a request receive an exception.  The discarded requests
+     * have not claimed their governance actions, so these remain APPROVED.  No more governance service instances
+     * are created in advance and the generation of requests is interrupted.
+     */
+    void terminate()
+    {
+        lock.lock();
+
+        try
+        {
+            terminated = true;
+
+            if (! queuedRequests.isEmpty())
+            {
+                log.debug("Discarding {} queued requests for governance engine {}", queuedRequests.size(), governanceEngineName);
+                queuedRequests.clear();
+            }
+
+            requestQueued.signalAll();
+            spaceInQueue.signalAll();
+
+            if (governanceServicePreparer != null)
+            {
+                governanceServicePreparer.shutdownNow();
+            }
+
+            if (requestGenerator != null)
+            {
+                requestGenerator.shutdownNow();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * The processing of each worker thread.  It runs the first queued request whose governance service has
+     * not reached its concurrency limit, once the request has claimed its governance action.
+     */
+    private void runWorker()
+    {
+        while (true)
+        {
+            QueuedRequest request;
+            String        governanceServiceName;
+            long          startTime;
+
+            lock.lock();
+
+            try
+            {
+                request = this.takeRunnableRequest();
+
+                while ((request == null) && (! terminated))
+                {
+                    idleWorkers++;
+
+                    try
+                    {
+                        requestQueued.await();
+                    }
+                    catch (InterruptedException error)
+                    {
+                        log.debug("Ignored interrupt of idle worker for governance engine {}", governanceEngineName);
+                    }
+                    finally
+                    {
+                        idleWorkers--;
+                    }
+
+                    request = this.takeRunnableRequest();
+                }
+
+                if (request == null)
+                {
+                    workers.remove(Thread.currentThread());
+                    return;
+                }
+
+                governanceServiceName = request.getGovernanceServiceHandler().getGovernanceServiceName();
+                startTime = System.currentTimeMillis();
+                totalQueueTime = totalQueueTime + (startTime - request.getQueueTime());
+                runningServices.merge(governanceServiceName, 1, Integer::sum);
+                spaceInQueue.signal();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+
+            try
+            {
+                if (request.getGovernanceServiceHandler().claimGovernanceAction())
+                {
+                    request.getGovernanceServiceHandler().run();
+                }
+            }
+            catch (Exception error)
+            {
+                log.error("Governance service {} in governance engine {} returned an unexpected exception",
+                          governanceServiceName,
+                          governanceEngineName,
+                          error);
+            }
+            finally
+            {
+                /*
+                 * The cache only takes back a governance service that has been disconnected, so this is
+                 * safe even if the governance service failed.
+                 */
+                request.getGovernanceServiceHandler().releaseGovernanceService();
+            }
+
+            lock.lock();
+
+            try
+            {
+                runningServices.computeIfPresent(governanceServiceName, (name, running) -> (running > 1) ? running - 1 : null);
+                completedRequests++;
+                totalExecutionTime = totalExecutionTime + (System.currentTimeMillis() - startTime);
+
+                /*
+                 * Requests for this governance service may have been held back by its concurrency limit.
+                 */
+                requestQueued.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+
+    /**
+     * Remove and return the highest priority request that can run now.  Called while holding the lock.
+     *
+     * @return request or null if there is nothing that can run
+     */
+    private QueuedRequest takeRunnableRequest()
+    {
+        Iterator<QueuedRequest> iterator = queuedRequests.iterator();
+
+        while (iterator.hasNext())
+        {
+            QueuedRequest request               = iterator.next();
+            String        governanceServiceName = request.getGovernanceServiceHandler().getGovernanceServiceName();
+            Integer       concurrencyLimit      = governanceServiceConcurrency.get(governanceServiceName);
+
+            if ((concurrencyLimit == null) || (runningServices.getOrDefault(governanceServiceName, 0) < concurrencyLimit))
+            {
+                iterator.remove();
+                return request;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * QueuedRequest is a governance service waiting for a worker thread.
+     */
+    private static class QueuedRequest
+    {
+        private final GovernanceServiceHandler governanceServiceHandler;
+        private final int                      priority;
+        private final long                     sequenceNumber;
+        private final long                     queueTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param governanceServiceHandler handler for the governance service
+         * @param priority priority of the request type
+         * @param sequenceNumber order that the request arrived in
+         * @param queueTime time (in milliseconds) that the request was queued
+         */
+        QueuedRequest(GovernanceServiceHandler governanceServiceHandler,
+                      int                      priority,
+                      long                     sequenceNumber,
+                      long                     queueTime)
+        {
+            this.governanceServiceHandler = governanceServiceHandler;
+            this.priority                 = priority;
+            this.sequenceNumber           = sequenceNumber;
+            this.queueTime                = queueTime;
+        }
+
+
+        GovernanceServiceHandler getGovernanceServiceHandler()
+        {
+            return governanceServiceHandler;
+        }
+
+
+        int getPriority()
+        {
+            return priority;
+        }
+
+
+        long getSequenceNumber()
+        {
+            return sequenceNumber;
+        }
+
+
+        long getQueueTime()
+        {
+            return queueTime;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.governanceaction.properties.CompletionStatus;
 import org.odpi.openmetadata.frameworks.governanceaction.properties.GovernanceActionStatus;
 import org.odpi.openmetadata.frameworks.governanceaction.properties.NewActionTarget;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesAuditCode;
 
 import java.util.Date;
 import java.util.List;
@@ -38,6 +39,8 @@ public abstract class GovernanceServiceHandler implements Runnable
     protected String    requestType;
     protected AuditLog  auditLog;
 
+    private GovernanceServiceCache governanceServiceCache = null;
+
 
     /**
      * Constructor sets up the key parameters for running the governance action service.
@@ -171,6 +174,65 @@ public abstract class GovernanceServiceHandler implements Runnable
     }
 
 
+    /**
+     * Claim the governance action that triggered this governance service and set its status to IN_PROGRESS.
+     * This is called on the worker thread just before the governance service runs.  A request that is still
+     * queued when the governance engine shuts down has not claimed its governance action, so the governance
+     * action remains APPROVED and can be run once the engine host server restarts.
+     *
+     * @return true if the governance service should run; false if the governance action could not be claimed
+     */
+    boolean claimGovernanceAction()
+    {
+        final String methodName = "claimGovernanceAction";
+
+        if (governanceActionGUID != null)
+        {
+            try
+            {
+                governanceActionClient.claimGovernanceAction(engineHostUserId, governanceActionGUID);
+                governanceActionClient.updateGovernanceActionStatus(engineHostUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
+            }
+            catch (Exception error)
+            {
+                auditLog.logException(methodName,
+                                      EngineHostServicesAuditCode.ACTION_PROCESSING_ERROR.getMessageDefinition(methodName,
+                                                                                                               error.getClass().getName(),
+                                                                                                               governanceActionGUID,
+                                                                                                               error.getMessage()),
+                                      error);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Record the governance service cache that supplied the governance service instance.
+     *
+     * @param governanceServiceCache cache for the governance service's request type
+     */
+    void setGovernanceServiceCache(GovernanceServiceCache governanceServiceCache)
+    {
+        this.governanceServiceCache = governanceServiceCache;
+    }
+
+
+    /**
+     * Called once the run method has returned.  A reusable governance service that has been disconnected
+     * is passed back to its cache so it can be used for a later request.
+     */
+    void releaseGovernanceService()
+    {
+        if ((governanceServiceCache != null) && (governanceService != null))
+        {
+            governanceServiceCache.releaseGovernanceService(governanceService);
+        }
+    }
+
+
     /**
      * Disconnect the governance action service.  Called because the governance action service had set a completion status or
      * the server is shutting down.
@@ -0,0 +1,52 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MockGovernanceService is a governance service connector that records the name of the thread
+ * that created each instance.
+ */
+public class MockGovernanceService extends ConnectorBase
+{
+    private static final List<String> creatingThreads = Collections.synchronizedList(new ArrayList<>());
+
+
+    /**
+     * Default constructor
+     */
+    public MockGovernanceService()
+    {
+        super();
+
+        creatingThreads.add(Thread.currentThread().getName());
+    }
+
+
+    /**
+     * Return the names of the threads that created instances since the last reset.
+     *
+     * @return list of thread names in creation order
+     */
+    static List<String> getCreatingThreads()
+    {
+        synchronized (creatingThreads)
+        {
+            return new ArrayList<>(creatingThreads);
+        }
+    }
+
+
+    /**
+     * Forget the instances created so far.
+     */
+    static void resetCreatingThreads()
+    {
+        creatingThreads.clear();
+    }
+}
@@ -0,0 +1,19 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
+
+/**
+ * MockGovernanceServiceProvider creates instances of MockGovernanceService.
+ */
+public class MockGovernanceServiceProvider extends ConnectorProviderBase
+{
+    /**
+     * The constructor sets up the name of the connector class.
+     */
+    public MockGovernanceServiceProvider()
+    {
+        super.setConnectorClassName(MockGovernanceService.class.getName());
+    }
+}
@@ -0,0 +1,338 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.accessservices.governanceengine.metadataelements.ElementHeader;
+import org.odpi.openmetadata.accessservices.governanceengine.metadataelements.RegisteredGovernanceServiceElement;
+import org.odpi.openmetadata.accessservices.governanceengine.properties.RegisteredGovernanceService;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the GovernanceServiceCache fills its pool of governance service instances on the governance
+ * engine's background thread and only takes back reusable governance services that it issued and that have
+ * been disconnected.
+ */
+public class TestGovernanceServiceCache
+{
+    private static final long   timeout      = 10000L;
+    private static final String preparerName = "TestServer::TestEngine::GovernanceServicePreparer";
+
+    private GovernanceServiceExecutor executor        = null;
+    private CountDownLatch            releasePreparer = null;
+
+
+    @BeforeMethod
+    public void resetGovernanceServices()
+    {
+        MockGovernanceService.resetCreatingThreads();
+    }
+
+
+    @AfterMethod
+    public void terminateExecutor()
+    {
+        if (releasePreparer != null)
+        {
+            releasePreparer.countDown();
+        }
+
+        if (executor != null)
+        {
+            executor.terminate();
+        }
+    }
+
+
+    /**
+     * The first instance is created by the caller to validate the connection and the rest of the pool is
+     * created on the preparer thread.  Taking an instance from the pool causes it to be refilled.
+     */
+    @Test
+    public void testPoolFilledOnPreparerThread() throws Exception
+    {
+        GovernanceServiceCache cache = getCache(3, false);
+
+        waitForPooledCount(cache, 3);
+
+        List<String> creatingThreads = MockGovernanceService.getCreatingThreads();
+
+        assertEquals(creatingThreads.size(), 3);
+        assertEquals(creatingThreads.get(0), Thread.currentThread().getName());
+        assertEquals(creatingThreads.get(1), preparerName);
+        assertEquals(creatingThreads.get(2), preparerName);
+
+        cache.getNextGovernanceService();
+
+        waitForPooledCount(cache, 3);
+
+        creatingThreads = MockGovernanceService.getCreatingThreads();
+
+        assertEquals(creatingThreads.size(), 4);
+        assertEquals(creatingThreads.get(3), preparerName);
+    }
+
+
+    /**
+     * When the pool is empty, the caller creates its own instance rather than waiting for the preparer thread.
+     */
+    @Test
+    public void testEmptyPoolCreatesOnCaller() throws Exception
+    {
+        GovernanceServiceCache cache = getCacheWithBlockedPreparer(1, false);
+
+        Connector pooledService = cache.getNextGovernanceService();
+
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+
+        Connector callerService = cache.getNextGovernanceService();
+
+        assertNotSame(callerService, pooledService);
+        assertEquals(MockGovernanceService.getCreatingThreads(),
+                     Collections.nCopies(2, Thread.currentThread().getName()));
+
+        releasePreparer.countDown();
+        waitForPooledCount(cache, 1);
+
+        assertEquals(MockGovernanceService.getCreatingThreads().get(2), preparerName);
+    }
+
+
+    /**
+     * A reusable governance service is returned to the pool once it has run and disconnected.  An instance
+     * that is released while it is still active is dropped.
+     */
+    @Test
+    public void testReusableServiceReturnedAfterDisconnect() throws Exception
+    {
+        GovernanceServiceCache cache = getCacheWithBlockedPreparer(2, true);
+
+        cache.getNextGovernanceService();
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+
+        Connector activeService = cache.getNextGovernanceService();
+
+        activeService.start();
+        cache.releaseGovernanceService(activeService);
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+
+        activeService.disconnect();
+        cache.releaseGovernanceService(activeService);
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+
+        Connector reusedService = cache.getNextGovernanceService();
+
+        reusedService.start();
+        reusedService.disconnect();
+        cache.releaseGovernanceService(reusedService);
+        assertEquals(cache.getPooledGovernanceServiceCount(), 1);
+
+        assertSame(cache.getNextGovernanceService(), reusedService);
+    }
+
+
+    /**
+     * A governance service that is not declared as reusable is never returned to the pool.
+     */
+    @Test
+    public void testNonReusableServiceNotPooled() throws Exception
+    {
+        GovernanceServiceCache cache = getCacheWithBlockedPreparer(1, false);
+
+        Connector service = cache.getNextGovernanceService();
+
+        service.start();
+        service.disconnect();
+        cache.releaseGovernanceService(service);
+
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+        assertNotSame(cache.getNextGovernanceService(), service);
+    }
+
+
+    /**
+     * Releasing a reusable governance service into a full pool does not grow the pool.
+     */
+    @Test
+    public void testFullPoolDoesNotGrow() throws Exception
+    {
+        GovernanceServiceCache cache = getCache(1, true);
+
+        Connector service = cache.getNextGovernanceService();
+
+        waitForPooledCount(cache, 1);
+
+        service.start();
+        service.disconnect();
+        cache.releaseGovernanceService(service);
+
+        assertEquals(cache.getPooledGovernanceServiceCount(), 1);
+        assertNotSame(cache.getNextGovernanceService(), service);
+    }
+
+
+    /**
+     * A connector that was not issued by the cache is not added to its pool.
+     */
+    @Test
+    public void testUnknownServiceRejected() throws Exception
+    {
+        GovernanceServiceCache cache      = getCacheWithBlockedPreparer(2, true);
+        GovernanceServiceCache otherCache = new GovernanceServiceCache("TestServer",
+                                                                       "TestEngine",
+                                                                       getRegisteredGovernanceService(true),
+                                                                       executor);
+
+        cache.getNextGovernanceService();
+
+        Connector otherService = otherCache.getNextGovernanceService();
+
+        otherService.disconnect();
+        cache.releaseGovernanceService(otherService);
+        cache.releaseGovernanceService(new MockGovernanceService());
+
+        assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+    }
+
+
+    /**
+     * Return a cache whose pool is filled by a running preparer thread.
+     *
+     * @param poolSize number of instances to create in advance
+     * @param reusable whether the governance service declares that it can be reused
+     * @return cache
+     * @throws Exception unexpected error
+     */
+    private GovernanceServiceCache getCache(int     poolSize,
+                                            boolean reusable) throws Exception
+    {
+        executor = getExecutor(poolSize);
+
+        return new GovernanceServiceCache("TestServer", "TestEngine", getRegisteredGovernanceService(reusable), executor);
+    }
+
+
+    /**
+     * Return a cache whose preparer thread is held up until releasePreparer is counted down, so the pool
+     * only changes through the calls made by the test.
+     *
+     * @param poolSize number of instances to create in advance
+     * @param reusable whether the governance service declares that it can be reused
+     * @return cache
+     * @throws Exception unexpected error
+     */
+    private GovernanceServiceCache getCacheWithBlockedPreparer(int     poolSize,
+                                                               boolean reusable) throws Exception
+    {
+        executor = getExecutor(poolSize);
+
+        CountDownLatch preparerBlocked = new CountDownLatch(1);
+
+        releasePreparer = new CountDownLatch(1);
+        executor.prepareGovernanceServices(() ->
+        {
+            preparerBlocked.countDown();
+
+            try
+            {
+                releasePreparer.await(timeout, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(preparerBlocked.await(timeout, TimeUnit.MILLISECONDS));
+
+        return new GovernanceServiceCache("TestServer", "TestEngine", getRegisteredGovernanceService(reusable), executor);
+    }
+
+
+    private GovernanceServiceExecutor getExecutor(int poolSize)
+    {
+        Map<String, Object> engineServiceOptions = new HashMap<>();
+
+        engineServiceOptions.put(GovernanceServiceExecutor.governanceServicePoolSizeOption, poolSize);
+
+        return new GovernanceServiceExecutor("TestServer", "TestEngine", engineServiceOptions);
+    }
+
+
+    /**
+     * Return the registration of a governance service implemented by MockGovernanceService.
+     *
+     * @param reusable value for the reusableGovernanceService configuration property
+     * @return registered governance service
+     */
+    static RegisteredGovernanceServiceElement getRegisteredGovernanceService(boolean reusable)
+    {
+        ConnectorType connectorType = new ConnectorType();
+
+        connectorType.setQualifiedName("TestGovernanceServiceConnectorType");
+        connectorType.setConnectorProviderClassName(MockGovernanceServiceProvider.class.getName());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(GovernanceServiceCache.reusableGovernanceServiceProperty, reusable);
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("TestGovernanceServiceConnection");
+        connection.setConnectorType(connectorType);
+        connection.setConfigurationProperties(configurationProperties);
+
+        RegisteredGovernanceService properties = new RegisteredGovernanceService();
+
+        properties.setQualifiedName("TestGovernanceService");
+        properties.setConnection(connection);
+        properties.setRequestTypes(Collections.singletonMap("testRequest", null));
+
+        ElementHeader elementHeader = new ElementHeader();
+
+        elementHeader.setGUID("TestGovernanceServiceGUID");
+
+        RegisteredGovernanceServiceElement element = new RegisteredGovernanceServiceElement();
+
+        element.setElementHeader(elementHeader);
+        element.setProperties(properties);
+
+        return element;
+    }
+
+
+    private void waitForPooledCount(GovernanceServiceCache cache,
+                                    int                    pooledCount) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + timeout;
+
+        while ((cache.getPooledGovernanceServiceCount() < pooledCount) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10L);
+        }
+
+        /*
+         * Give the preparer thread time to overfill the pool if it was going to.
+         */
+        Thread.sleep(100L);
+
+        assertEquals(cache.getPooledGovernanceServiceCount(), pooledCount);
+    }
+}
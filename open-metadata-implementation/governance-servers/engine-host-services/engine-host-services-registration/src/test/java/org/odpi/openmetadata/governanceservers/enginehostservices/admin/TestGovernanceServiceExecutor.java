@@ -0,0 +1,455 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that the GovernanceServiceExecutor runs queued requests in priority order, holds back callers when its
+ * queue is full, releases governance services that fail and leaves the governance actions of discarded requests
+ * unclaimed when it is terminated.
+ */
+public class TestGovernanceServiceExecutor
+{
+    private static final long timeout = 10000L;
+
+    private List<String>              runOrder   = null;
+    private List<String>              claimOrder = null;
+    private GovernanceServiceExecutor executor   = null;
+
+
+    @BeforeMethod
+    public void createRecords()
+    {
+        runOrder   = Collections.synchronizedList(new ArrayList<>());
+        claimOrder = Collections.synchronizedList(new ArrayList<>());
+    }
+
+
+    @AfterMethod
+    public void terminateExecutor()
+    {
+        if (executor != null)
+        {
+            executor.terminate();
+        }
+    }
+
+
+    /**
+     * Queued requests start with the highest priority request type and then in the order they arrived.
+     */
+    @Test
+    public void testPriorityOrdering() throws Exception
+    {
+        Map<String, Integer> priorities = new HashMap<>();
+
+        priorities.put("urgent", 10);
+
+        executor = getExecutor(1, 10, priorities);
+
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+        executor.submit(new TestHandler("blocker", null, blockerStarted, releaseBlocker), null);
+        assertTrue(blockerStarted.await(timeout, TimeUnit.MILLISECONDS));
+
+        executor.submit(new TestHandler("routine1", null), "routine");
+        executor.submit(new TestHandler("urgent1", null), "urgent");
+        executor.submit(new TestHandler("routine2", null), "routine");
+        executor.submit(new TestHandler("urgent2", null), "urgent");
+
+        assertEquals(executor.getQueuedRequestCount(), 4);
+        assertEquals(executor.getRunningRequestCount(), 1);
+
+        releaseBlocker.countDown();
+        waitForCompletedRequests(5);
+
+        assertEquals(runOrder, Arrays.asList("blocker", "urgent1", "urgent2", "routine1", "routine2"));
+    }
+
+
+    /**
+     * A caller waits while the queue is full and continues once a worker takes a request from the queue.
+     */
+    @Test
+    public void testQueueBound() throws Exception
+    {
+        executor = getExecutor(1, 2, null);
+
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+        executor.submit(new TestHandler("blocker", null, blockerStarted, releaseBlocker), null);
+        assertTrue(blockerStarted.await(timeout, TimeUnit.MILLISECONDS));
+
+        executor.submit(new TestHandler("queued1", null), null);
+        executor.submit(new TestHandler("queued2", null), null);
+
+        AtomicReference<Exception> submitError = new AtomicReference<>();
+        Thread                     caller      = new Thread(() -> submit(new TestHandler("waiting", null), submitError));
+
+        caller.start();
+        caller.join(500L);
+
+        assertTrue(caller.isAlive());
+        assertEquals(executor.getQueuedRequestCount(), 2);
+
+        releaseBlocker.countDown();
+        caller.join(timeout);
+
+        assertFalse(caller.isAlive());
+        assertNull(submitError.get());
+
+        waitForCompletedRequests(4);
+
+        assertEquals(runOrder, Arrays.asList("blocker", "queued1", "queued2", "waiting"));
+    }
+
+
+    /**
+     * Terminating the executor lets the running governance service finish, discards the queued requests without
+     * claiming their governance actions and rejects the callers waiting for space and any new requests.
+     */
+    @Test
+    public void testTerminate() throws Exception
+    {
+        executor = getExecutor(1, 1, null);
+
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+        executor.submit(new TestHandler("blocker", "action1", blockerStarted, releaseBlocker), null);
+        assertTrue(blockerStarted.await(timeout, TimeUnit.MILLISECONDS));
+
+        executor.submit(new TestHandler("queued", "action2"), null);
+
+        AtomicReference<Exception> submitError = new AtomicReference<>();
+        Thread                     caller      = new Thread(() -> submit(new TestHandler("waiting", "action3"), submitError));
+
+        caller.start();
+        caller.join(500L);
+        assertTrue(caller.isAlive());
+
+        executor.terminate();
+
+        caller.join(timeout);
+        assertFalse(caller.isAlive());
+        assertTrue(submitError.get() instanceof PropertyServerException);
+        assertEquals(executor.getQueuedRequestCount(), 0);
+
+        try
+        {
+            executor.submit(new TestHandler("late", "action4"), null);
+            fail("A request submitted after terminate should be rejected");
+        }
+        catch (PropertyServerException expected)
+        {
+        }
+
+        try
+        {
+            executor.generateRequests("a late scan", () -> runOrder.add("scan"));
+            fail("Request generation after terminate should be rejected");
+        }
+        catch (PropertyServerException expected)
+        {
+        }
+
+        releaseBlocker.countDown();
+        waitForCompletedRequests(1);
+
+        assertEquals(runOrder, Collections.singletonList("blocker"));
+        assertEquals(claimOrder, Collections.singletonList("action1"));
+    }
+
+
+    /**
+     * A request whose governance action can not be claimed is not run.
+     */
+    @Test
+    public void testUnclaimedGovernanceActionNotRun() throws Exception
+    {
+        executor = getExecutor(1, 10, null);
+
+        TestHandler unclaimed = new TestHandler("unclaimed", "action1");
+
+        unclaimed.claimable = false;
+
+        executor.submit(unclaimed, null);
+        executor.submit(new TestHandler("claimed", "action2"), null);
+
+        waitForCompletedRequests(2);
+
+        assertEquals(runOrder, Collections.singletonList("claimed"));
+        assertEquals(claimOrder, Collections.singletonList("action2"));
+    }
+
+
+    /**
+     * Request generation runs in the background and its requests are queued as normal.
+     */
+    @Test
+    public void testGenerateRequests() throws Exception
+    {
+        executor = getExecutor(2, 1, null);
+
+        AtomicReference<Exception> submitError = new AtomicReference<>();
+
+        executor.generateRequests("a test scan", () ->
+        {
+            for (int i = 1; i <= 5; i++)
+            {
+                submit(new TestHandler("generated" + i, null), submitError);
+            }
+        });
+
+        waitForCompletedRequests(5);
+
+        assertNull(submitError.get());
+        assertEquals(runOrder.size(), 5);
+    }
+
+
+    /**
+     * A reusable governance service is released to its cache even if the governance service throws an exception.
+     * It is only returned to the pool if it disconnected before the exception.
+     */
+    @Test
+    public void testReleaseAfterFailure() throws Exception
+    {
+        Map<String, Object> engineServiceOptions = new HashMap<>();
+
+        engineServiceOptions.put(GovernanceServiceExecutor.maxConcurrentServicesOption, 1);
+        engineServiceOptions.put(GovernanceServiceExecutor.governanceServicePoolSizeOption, 2);
+
+        executor = new GovernanceServiceExecutor("TestServer", "TestEngine", engineServiceOptions);
+
+        /*
+         * Hold up the preparer thread so that the pool only changes through the released governance services.
+         */
+        CountDownLatch preparerBlocked = new CountDownLatch(1);
+        CountDownLatch releasePreparer = new CountDownLatch(1);
+
+        executor.prepareGovernanceServices(() ->
+        {
+            preparerBlocked.countDown();
+
+            try
+            {
+                releasePreparer.await(timeout, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(preparerBlocked.await(timeout, TimeUnit.MILLISECONDS));
+
+        try
+        {
+            GovernanceServiceCache cache = new GovernanceServiceCache("TestServer",
+                                                                      "TestEngine",
+                                                                      TestGovernanceServiceCache.getRegisteredGovernanceService(true),
+                                                                      executor);
+
+            Connector disconnectedService = cache.getNextGovernanceService();
+            Connector activeService       = cache.getNextGovernanceService();
+
+            assertEquals(cache.getPooledGovernanceServiceCount(), 0);
+
+            executor.submit(new FailingHandler("failedActive", activeService, cache, false), null);
+            executor.submit(new FailingHandler("failedDisconnected", disconnectedService, cache, true), null);
+
+            waitForCompletedRequests(2);
+
+            assertEquals(runOrder, Arrays.asList("failedActive", "failedDisconnected"));
+            assertEquals(cache.getPooledGovernanceServiceCount(), 1);
+            assertSame(cache.getNextGovernanceService(), disconnectedService);
+        }
+        finally
+        {
+            releasePreparer.countDown();
+        }
+    }
+
+
+    private GovernanceServiceExecutor getExecutor(int                  maxConcurrentServices,
+                                                  int                  maxQueuedRequests,
+                                                  Map<String, Integer> requestTypePriorities)
+    {
+        Map<String, Object> engineServiceOptions = new HashMap<>();
+
+        engineServiceOptions.put(GovernanceServiceExecutor.maxConcurrentServicesOption, maxConcurrentServices);
+        engineServiceOptions.put(GovernanceServiceExecutor.maxQueuedRequestsOption, maxQueuedRequests);
+
+        if (requestTypePriorities != null)
+        {
+            engineServiceOptions.put(GovernanceServiceExecutor.requestTypePrioritiesOption, requestTypePriorities);
+        }
+
+        return new GovernanceServiceExecutor("TestServer", "TestEngine", engineServiceOptions);
+    }
+
+
+    private void submit(TestHandler                handler,
+                        AtomicReference<Exception> submitError)
+    {
+        try
+        {
+            executor.submit(handler, null);
+        }
+        catch (Exception error)
+        {
+            submitError.set(error);
+        }
+    }
+
+
+    private void waitForCompletedRequests(long completedRequests) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + timeout;
+
+        while ((executor.getCompletedRequestCount() < completedRequests) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(executor.getCompletedRequestCount(), completedRequests);
+    }
+
+
+    /**
+     * Governance service handler whose governance service throws an exception, optionally after disconnecting.
+     */
+    private class FailingHandler extends GovernanceServiceHandler
+    {
+        private final boolean disconnectBeforeFailure;
+
+
+        FailingHandler(String                 name,
+                       Connector              governanceService,
+                       GovernanceServiceCache governanceServiceCache,
+                       boolean                disconnectBeforeFailure)
+        {
+            super(null, null, null, null, null, null, null, name, governanceService, null);
+
+            super.setGovernanceServiceCache(governanceServiceCache);
+            this.disconnectBeforeFailure = disconnectBeforeFailure;
+        }
+
+
+        @Override
+        public void run()
+        {
+            runOrder.add(governanceServiceName);
+
+            try
+            {
+                governanceService.start();
+
+                if (disconnectBeforeFailure)
+                {
+                    governanceService.disconnect();
+                }
+            }
+            catch (ConnectorCheckedException error)
+            {
+                fail("Unexpected exception from the governance service", error);
+            }
+
+            throw new IllegalStateException("Test failure of governance service " + governanceServiceName);
+        }
+    }
+
+
+    /**
+     * Governance service handler that records when it is claimed and run.  It can be made to wait
+     * until the test releases it.
+     */
+    private class TestHandler extends GovernanceServiceHandler
+    {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+        private boolean              claimable = true;
+
+
+        TestHandler(String name,
+                    String governanceActionGUID)
+        {
+            this(name, governanceActionGUID, null, null);
+        }
+
+
+        TestHandler(String         name,
+                    String         governanceActionGUID,
+                    CountDownLatch started,
+                    CountDownLatch release)
+        {
+            super(null, null, null, governanceActionGUID, null, null, null, name, null, null);
+
+            this.started = started;
+            this.release = release;
+        }
+
+
+        @Override
+        boolean claimGovernanceAction()
+        {
+            if (claimable && (governanceActionGUID != null))
+            {
+                claimOrder.add(governanceActionGUID);
+            }
+
+            return claimable;
+        }
+
+
+        @Override
+        public void run()
+        {
+            runOrder.add(governanceServiceName);
+
+            if (started != null)
+            {
+                started.countDown();
+            }
+
+            if (release != null)
+            {
+                try
+                {
+                    release.await(timeout, TimeUnit.MILLISECONDS);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
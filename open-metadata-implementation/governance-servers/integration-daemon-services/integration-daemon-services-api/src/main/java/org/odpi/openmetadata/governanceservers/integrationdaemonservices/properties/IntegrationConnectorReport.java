@@ -31,6 +31,8 @@ public class IntegrationConnectorReport implements Serializable
     private Date                       lastStatusChange         = null;
     private Date                       lastRefreshTime          = null;
     private long                       minMinutesBetweenRefresh = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       lastRefreshLag           = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
 
@@ -57,6 +59,8 @@ public class IntegrationConnectorReport implements Serializable
             lastStatusChange         = template.getLastStatusChange();
             lastRefreshTime          = template.getLastRefreshTime();
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            lastRefreshLag           = template.getLastRefreshLag();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
         }
@@ -177,6 +181,52 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the number of milliseconds taken by the last call to refresh.
+     *
+     * @return duration in milliseconds
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up the number of milliseconds taken by the last call to refresh.
+     *
+     * @param lastRefreshDuration duration in milliseconds
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of milliseconds between the time the last refresh was due and the time it started.
+     * A large value means the integration daemon does not have enough threads to keep up with its connectors.
+     *
+     * @return lag in milliseconds
+     */
+    public long getLastRefreshLag()
+    {
+        return lastRefreshLag;
+    }
+
+
+    /**
+     * Set up the number of milliseconds between the time the last refresh was due and the time it started.
+     * A large value means the integration daemon does not have enough threads to keep up with its connectors.
+     *
+     * @param lastRefreshLag lag in milliseconds
+     */
+    public void setLastRefreshLag(long lastRefreshLag)
+    {
+        this.lastRefreshLag = lastRefreshLag;
+    }
+
+
     /**
      * Return the message extracted from an exception returned by the connector.  This is only set if the connectorStatus
      * is FAILED.  The full exception is logged in the server's audit log.
@@ -237,6 +287,8 @@ public class IntegrationConnectorReport implements Serializable
                 ", lastStatusChange=" + lastStatusChange +
                 ", lastRefreshTime=" + lastRefreshTime +
                 ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
+                ", lastRefreshDuration=" + lastRefreshDuration +
+                ", lastRefreshLag=" + lastRefreshLag +
                 ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                 ", statistics=" + statistics +
                 '}';
@@ -262,6 +314,8 @@ public class IntegrationConnectorReport implements Serializable
         }
         IntegrationConnectorReport that = (IntegrationConnectorReport) objectToCompare;
         return minMinutesBetweenRefresh == that.minMinutesBetweenRefresh &&
+                lastRefreshDuration == that.lastRefreshDuration &&
+                lastRefreshLag == that.lastRefreshLag &&
                 Objects.equals(connectorName, that.connectorName) &&
                 connectorStatus == that.connectorStatus &&
                 Objects.equals(lastStatusChange, that.lastStatusChange) &&
@@ -279,6 +333,7 @@ public class IntegrationConnectorReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh,
+                            lastRefreshDuration, lastRefreshLag, failingExceptionMessage, statistics);
     }
 }
@@ -58,6 +58,8 @@ public class IntegrationConnectorHandler implements Serializable
     private String                              failingExceptionMessage             = null;
     private Map<String, Object>                 statistics                          = null;
     private Date                                lastRefreshTime                     = null;
+    private long                                lastRefreshDuration                 = 0L;
+    private long                                lastRefreshLag                      = 0L;
 
 
     /**
@@ -164,6 +166,28 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the number of milliseconds taken by the last call to refresh.
+     *
+     * @return duration in milliseconds
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of milliseconds between the time the last refresh was due and the time it started.
+     *
+     * @return lag in milliseconds
+     */
+    long getLastRefreshLag()
+    {
+        return lastRefreshLag;
+    }
+
+
     /**
      * Return the configured minimum time between calls to refresh.  This gives an indication of when the
      * next refresh is due.  Null means refresh is only called at server start up and in response to an API request.
@@ -388,11 +412,31 @@ public class IntegrationConnectorHandler implements Serializable
      * @param actionDescription external caller's activity
      * @param firstCall is this the first call to refresh?
      */
+    public void refreshConnector(String   actionDescription,
+                                 boolean  firstCall)
+    {
+        this.refreshConnector(actionDescription, firstCall, System.currentTimeMillis());
+    }
+
+
+    /**
+     * Call refresh on the connector provided it is in the correct state.  The time taken by the refresh
+     * and the time it waited to start are recorded for the connector's report.
+     *
+     * @param actionDescription external caller's activity
+     * @param firstCall is this the first call to refresh?
+     * @param dueTime time (in milliseconds) when the refresh was due
+     */
     public synchronized void refreshConnector(String   actionDescription,
-                                              boolean  firstCall)
+                                              boolean  firstCall,
+                                              long     dueTime)
     {
         final String operationName = "refresh";
 
+        long startTime = System.currentTimeMillis();
+
+        this.lastRefreshLag = Math.max(0L, startTime - dueTime);
+
         try
         {
             if (integrationConnectorStatus == IntegrationConnectorStatus.INITIALIZED)
@@ -426,6 +470,8 @@ public class IntegrationConnectorHandler implements Serializable
         {
             processConnectorException(actionDescription, operationName, error);
         }
+
+        this.lastRefreshDuration = System.currentTimeMillis() - startTime;
     }
 
 
@@ -511,6 +557,8 @@ public class IntegrationConnectorHandler implements Serializable
         this.failingExceptionMessage             = null;
         this.statistics                          = null;
         this.lastRefreshTime                     = null;
+        this.lastRefreshDuration                 = 0L;
+        this.lastRefreshLag                      = 0L;
     }
 
 
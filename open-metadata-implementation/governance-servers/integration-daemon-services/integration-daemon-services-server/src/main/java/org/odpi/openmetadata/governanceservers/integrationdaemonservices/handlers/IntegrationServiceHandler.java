@@ -135,6 +135,8 @@ public class IntegrationServiceHandler
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setLastRefreshLag(connectorHandler.getLastRefreshLag());
 
                     connectorReports.add(connectorReport);
                 }
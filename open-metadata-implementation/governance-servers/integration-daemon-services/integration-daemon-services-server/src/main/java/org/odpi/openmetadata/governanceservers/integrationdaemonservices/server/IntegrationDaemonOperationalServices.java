@@ -13,6 +13,8 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.ffdc.In
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationServiceHandler;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads.IntegrationDaemonThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,6 +28,13 @@ import java.util.Map;
  */
 public class IntegrationDaemonOperationalServices
 {
+    private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonOperationalServices.class);
+
+    /*
+     * Name of the integration service option that sets the number of threads refreshing the connectors.
+     */
+    private static final String refreshThreadsOption = "refreshThreads";
+
     private String                         localServerName;               /* Initialized in constructor */
     private String                         localServerUserId;             /* Initialized in constructor */
     private String                         localServerPassword;           /* Initialized in constructor */
@@ -150,6 +159,8 @@ public class IntegrationDaemonOperationalServices
              */
             IntegrationDaemonThread integrationDaemonThread = new IntegrationDaemonThread(localServerName,
                                                                                           daemonConnectorHandlers,
+                                                                                          this.getRefreshThreadCount(configuration,
+                                                                                                                     daemonConnectorHandlers.size()),
                                                                                           auditLog);
 
             integrationDaemonThread.start();
@@ -194,6 +205,49 @@ public class IntegrationDaemonOperationalServices
     }
 
 
+    /**
+     * Return the number of threads that refresh the integration connectors.  This is the largest value of the
+     * refreshThreads option of the integration services.  If none of the integration services set it, there is one
+     * thread for each connector, up to the number of processors.
+     *
+     * @param configuration configuration of the integration services
+     * @param connectorCount number of integration connectors
+     * @return thread count
+     */
+    private int getRefreshThreadCount(List<IntegrationServiceConfig> configuration,
+                                      int                            connectorCount)
+    {
+        int refreshThreadCount = 0;
+
+        for (IntegrationServiceConfig integrationServiceConfig : configuration)
+        {
+            if ((integrationServiceConfig != null) && (integrationServiceConfig.getIntegrationServiceOptions() != null))
+            {
+                Object refreshThreads = integrationServiceConfig.getIntegrationServiceOptions().get(refreshThreadsOption);
+
+                if ((refreshThreads instanceof Integer) && ((Integer) refreshThreads > 0))
+                {
+                    refreshThreadCount = Math.max(refreshThreadCount, (Integer) refreshThreads);
+                }
+                else if (refreshThreads != null)
+                {
+                    log.warn("Ignoring invalid value {} of the {} option of integration service {}",
+                             refreshThreads,
+                             refreshThreadsOption,
+                             integrationServiceConfig.getIntegrationServiceFullName());
+                }
+            }
+        }
+
+        if (refreshThreadCount == 0)
+        {
+            refreshThreadCount = Math.min(Math.max(connectorCount, 1), Runtime.getRuntime().availableProcessors());
+        }
+
+        return refreshThreadCount;
+    }
+
+
     /**
      * Return the open metadata server's root URL from the configuration.
      *
@@ -9,23 +9,43 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handler
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ *
+ * The refreshes that are due are passed to a fixed pool of worker threads in the order of when they were due,
+ * so a slow connector only delays the other connectors once all of the workers are busy.  A connector is
+ * not refreshed again until its previous refresh is complete.
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /*
+     * The longest time the thread waits before checking the connectors again.  Connectors that are restarted
+     * are refreshed straight away so they need to be picked up quickly.
+     */
+    private static final long maxWaitTime = 1000;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
+    private int                               refreshThreadCount;
     private AuditLog                          auditLog;
 
+    private final Set<IntegrationConnectorHandler> refreshesInProgress = ConcurrentHashMap.newKeySet();
 
     private final AtomicBoolean running = new AtomicBoolean(false);
 
@@ -35,14 +55,17 @@ public class IntegrationDaemonThread implements Runnable
      *
      * @param integrationDaemonName name of this integration daemon server
      * @param connectorHandlers wrapper for the connector.
+     * @param refreshThreadCount number of worker threads that call refresh on the connectors
      * @param auditLog logging destination
      */
     public IntegrationDaemonThread(String                            integrationDaemonName,
                                    List<IntegrationConnectorHandler> connectorHandlers,
+                                   int                               refreshThreadCount,
                                    AuditLog                          auditLog)
     {
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
+        this.refreshThreadCount    = Math.max(1, refreshThreadCount);
         this.auditLog              = auditLog;
     }
 
@@ -81,43 +104,59 @@ public class IntegrationDaemonThread implements Runnable
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
-        while (running.get())
-        {
-            Date now = new Date();
+        ExecutorService refreshExecutor = Executors.newFixedThreadPool(refreshThreadCount, getRefreshThreadFactory());
 
-            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+        try
+        {
+            while (running.get())
             {
-                if (connectorHandler != null)
+                long                   now           = System.currentTimeMillis();
+                long                   nextCheckTime = now + maxWaitTime;
+                List<ScheduledRefresh> dueRefreshes  = new ArrayList<>();
+
+                for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
                 {
-                    try
+                    if ((connectorHandler != null) && (! refreshesInProgress.contains(connectorHandler)))
                     {
-                        if (connectorHandler.getLastRefreshTime() == null)
+                        Date lastRefreshTime = connectorHandler.getLastRefreshTime();
+
+                        if (lastRefreshTime == null)
                         {
-                            connectorHandler.refreshConnector(actionDescription, true);
+                            dueRefreshes.add(new ScheduledRefresh(connectorHandler, now, true));
                         }
                         else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
                         {
-                            long nextRefreshTime =
-                                    connectorHandler.getLastRefreshTime().getTime() +
-                                            (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
+                            long nextRefreshTime = lastRefreshTime.getTime() + (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
 
-                            if (nextRefreshTime < now.getTime())
+                            if (nextRefreshTime <= now)
+                            {
+                                dueRefreshes.add(new ScheduledRefresh(connectorHandler, nextRefreshTime, false));
+                            }
+                            else if (nextRefreshTime < nextCheckTime)
                             {
-                                connectorHandler.refreshConnector(actionDescription, false);
+                                nextCheckTime = nextRefreshTime;
                             }
                         }
                     }
-                    catch (Exception error)
-                    {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                  error.getClass().getName(),
-                                                                                                                                  error.getMessage()));
-                    }
                 }
-            }
 
-            waitToRetry();
+                /*
+                 * The refreshes that have been waiting longest are passed to the workers first.
+                 */
+                dueRefreshes.sort(Comparator.comparingLong(ScheduledRefresh::getDueTime));
+
+                for (ScheduledRefresh dueRefresh : dueRefreshes)
+                {
+                    refreshesInProgress.add(dueRefresh.getConnectorHandler());
+                    refreshExecutor.execute(() -> refreshConnector(actionDescription, dueRefresh));
+                }
+
+                waitToRetry(nextCheckTime - System.currentTimeMillis());
+            }
+        }
+        finally
+        {
+            refreshExecutor.shutdown();
         }
 
         auditLog.logMessage(actionDescription,
@@ -127,19 +166,114 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Wait before retrying ...
+     * Call refresh on a connector.  This runs on one of the worker threads.
+     *
+     * @param actionDescription calling activity
+     * @param scheduledRefresh connector to refresh and when the refresh was due
      */
-    private void waitToRetry()
+    private void refreshConnector(String           actionDescription,
+                                  ScheduledRefresh scheduledRefresh)
     {
-        final int  sleepTime = 1000;
+        IntegrationConnectorHandler connectorHandler = scheduledRefresh.getConnectorHandler();
 
         try
         {
-            Thread.sleep(sleepTime);
+            connectorHandler.refreshConnector(actionDescription, scheduledRefresh.isFirstCall(), scheduledRefresh.getDueTime());
+        }
+        catch (Exception error)
+        {
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+        finally
+        {
+            refreshesInProgress.remove(connectorHandler);
+        }
+    }
+
+
+    /**
+     * Return the factory for the worker threads.  They are named after the integration daemon.
+     *
+     * @return thread factory
+     */
+    private ThreadFactory getRefreshThreadFactory()
+    {
+        final String  threadName  = "::IntegrationDaemonRefreshThread-";
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, integrationDaemonName + threadName + threadCount.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+
+    /**
+     * Wait before checking the connectors again.
+     *
+     * @param sleepTime milliseconds until the next refresh is due
+     */
+    private void waitToRetry(long sleepTime)
+    {
+        try
+        {
+            Thread.sleep(Math.min(Math.max(sleepTime, 1), maxWaitTime));
         }
         catch (Exception error)
         {
             log.error("Ignored exception from sleep - probably ok", error);
         }
     }
+
+
+    /**
+     * ScheduledRefresh is a connector that is due to be refreshed.
+     */
+    private static class ScheduledRefresh
+    {
+        private final IntegrationConnectorHandler connectorHandler;
+        private final long                        dueTime;
+        private final boolean                     firstCall;
+
+
+        /**
+         * Constructor
+         *
+         * @param connectorHandler connector to refresh
+         * @param dueTime time (in milliseconds) that the refresh was due
+         * @param firstCall is this the first call to refresh?
+         */
+        ScheduledRefresh(IntegrationConnectorHandler connectorHandler,
+                         long                        dueTime,
+                         boolean                     firstCall)
+        {
+            this.connectorHandler = connectorHandler;
+            this.dueTime          = dueTime;
+            this.firstCall        = firstCall;
+        }
+
+
+        IntegrationConnectorHandler getConnectorHandler()
+        {
+            return connectorHandler;
+        }
+
+
+        long getDueTime()
+        {
+            return dueTime;
+        }
+
+
+        boolean isFirstCall()
+        {
+            return firstCall;
+        }
+    }
 }
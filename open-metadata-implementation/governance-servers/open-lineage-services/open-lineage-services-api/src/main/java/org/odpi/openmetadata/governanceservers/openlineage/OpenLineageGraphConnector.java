@@ -5,6 +5,7 @@ package org.odpi.openmetadata.governanceservers.openlineage;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageVertexResponse;
@@ -33,6 +34,17 @@ public interface OpenLineageGraphConnector {
 
     LineageResponse lineage(Scope scope, String guid, String displayNameMustContain, boolean includeProcesses) throws OpenLineageException;
 
+    /**
+     * Returns the lineage of a node, limited by the depth, number of vertices and timeout in the query parameters.
+     * A lineage that is cut short by a limit is marked as truncated.
+     *
+     * @param guid the guid of the queried node
+     * @param lineageQueryParameters the scope, filters and limits of the query
+     * @return the lineage response
+     * @throws OpenLineageException the lineage could not be retrieved
+     */
+    LineageResponse lineage(String guid, LineageQueryParameters lineageQueryParameters) throws OpenLineageException;
+
     /**
      * Gets entity details.
      *
@@ -23,6 +23,9 @@ public class LineageQueryParameters {
     private Scope scope;
     private String displayNameMustContain;
     private boolean includeProcesses;
+    private Integer maxDepth;
+    private Integer maxVertices;
+    private Long timeout;
 
     public LineageQueryParameters() {
     }
@@ -57,12 +60,57 @@ public class LineageQueryParameters {
         this.includeProcesses = includeProcesses;
     }
 
+    /**
+     * Returns the maximum number of edges followed from the queried node.
+     * Null means the limit configured for the lineage graph, which is no limit unless one is configured.
+     *
+     * @return the maximum depth
+     */
+    public Integer getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(Integer maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the maximum number of vertices visited by the query.
+     * Null means the limit configured for the lineage graph, which is no limit unless one is configured.
+     *
+     * @return the maximum number of vertices
+     */
+    public Integer getMaxVertices() {
+        return maxVertices;
+    }
+
+    public void setMaxVertices(Integer maxVertices) {
+        this.maxVertices = maxVertices;
+    }
+
+    /**
+     * Returns the time in milliseconds after which the query stops following edges.
+     * Null means the limit configured for the lineage graph, which is no limit unless one is configured.
+     *
+     * @return the timeout in milliseconds
+     */
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+
     @Override
     public String toString() {
         return "LineageQueryParams{" +
                 "scope=" + scope +
                 ", displayNameMustContain='" + displayNameMustContain + '\'' +
                 ", includeProcesses=" + includeProcesses +
+                ", maxDepth=" + maxDepth +
+                ", maxVertices=" + maxVertices +
+                ", timeout=" + timeout +
                 '}';
     }
 }
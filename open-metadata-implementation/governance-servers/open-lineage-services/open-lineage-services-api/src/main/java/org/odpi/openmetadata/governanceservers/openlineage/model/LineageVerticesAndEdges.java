@@ -24,6 +24,8 @@ public class LineageVerticesAndEdges  {
 
     private Set<LineageVertex> lineageVertices;
     private Set<LineageEdge> lineageEdges;
+    private boolean truncated;
+    private Set<String> continuationNodeIDs;
 
     public LineageVerticesAndEdges(){}
 
@@ -47,4 +49,31 @@ public class LineageVerticesAndEdges  {
     public Set<LineageEdge> getLineageEdges() {
         return lineageEdges;
     }
+
+    /**
+     * Returns whether the lineage was cut short by the depth, vertex or time limits of the query.
+     *
+     * @return true if the lineage is not complete
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    /**
+     * Returns the node ids of the vertices whose lineage was not followed because a limit was reached.
+     * Querying the lineage of these nodes continues the truncated lineage.
+     *
+     * @return the node ids, or null if the lineage is complete
+     */
+    public Set<String> getContinuationNodeIDs() {
+        return continuationNodeIDs;
+    }
+
+    public void setContinuationNodeIDs(Set<String> continuationNodeIDs) {
+        this.continuationNodeIDs = continuationNodeIDs;
+    }
 }
@@ -52,11 +52,20 @@ public class OpenLineageClient extends FFDCRESTClient implements OpenLineageInte
                                            String displayNameMustContain,
                                            boolean includeProcesses)
             throws org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException, PropertyServerException, OpenLineageException {
+        return lineage(userId, guid, new LineageQueryParameters(scope, displayNameMustContain, includeProcesses));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LineageVerticesAndEdges lineage(String userId,
+                                           String guid,
+                                           LineageQueryParameters lineageQueryParameters)
+            throws org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException, PropertyServerException, OpenLineageException {
         String methodName = "OpenLineageClient.lineage";
-        LineageQueryParameters postBody = new LineageQueryParameters(scope, displayNameMustContain, includeProcesses);
 
         LineageResponse lineageResponse = callPostRESTCall(methodName, LineageResponse.class,
-                serverPlatformURLRoot + BASE_PATH + LINEAGE + ENTITIES, postBody, serverName, userId, guid);
+                serverPlatformURLRoot + BASE_PATH + LINEAGE + ENTITIES, lineageQueryParameters, serverName, userId, guid);
 
         detectExceptions(methodName, lineageResponse);
         LineageVerticesAndEdges lineageVerticesAndEdges = lineageResponse.getLineageVerticesAndEdges();
@@ -3,6 +3,7 @@ package org.odpi.openmetadata.governanceservers.openlineage.client;
 
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 
@@ -25,4 +26,18 @@ public interface OpenLineageInterface {
      */
     LineageVerticesAndEdges lineage(String userId, Scope scope, String guid, String displaynameMustContain, boolean includeProcesses)
             throws org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException, PropertyServerException, OpenLineageException;
+
+    /**
+     * Returns the lineage of a node, limited by the maximum depth, maximum number of vertices and timeout in the
+     * query parameters. If a limit is reached the returned subgraph is marked as truncated and lists the node ids
+     * from which the lineage can be continued.
+     *
+     * @param userId calling user.
+     * @param guid The guid of the node of which the lineage is queried of.
+     * @param lineageQueryParameters The scope, filters and limits of the query.
+     * @return A subgraph containing the relevant paths, in graphSON format.
+     * @throws InvalidParameterException one of the parameters is null or invalid
+     */
+    LineageVerticesAndEdges lineage(String userId, String guid, LineageQueryParameters lineageQueryParameters)
+            throws org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException, PropertyServerException, OpenLineageException;
 }
\ No newline at end of file
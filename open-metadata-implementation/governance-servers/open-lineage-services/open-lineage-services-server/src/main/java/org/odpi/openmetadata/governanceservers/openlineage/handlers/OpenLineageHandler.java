@@ -4,6 +4,7 @@ package org.odpi.openmetadata.governanceservers.openlineage.handlers;
 
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.graph.LineageGraph;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageVertexResponse;
@@ -29,6 +30,17 @@ public class OpenLineageHandler {
         return lineageGraph.lineage(scope, guid, displayNameMustContain, includeProcesses);
     }
 
+    /**
+     * Returns a lineage subgraph, limited by the depth, number of vertices and timeout in the query parameters.
+     *
+     * @param guid                   The guid of the node of which the lineage is queried from.
+     * @param lineageQueryParameters The scope, filters and limits of the query.
+     * @return A subgraph containing the relevant paths, marked as truncated if a limit was reached.
+     */
+    public LineageResponse lineage(String guid, LineageQueryParameters lineageQueryParameters) throws OpenLineageException {
+        return lineageGraph.lineage(guid, lineageQueryParameters);
+    }
+
     /**
      * Gets entity details.
      *
@@ -6,6 +6,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.handlers.OpenLineageHandler;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageVertexResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
@@ -23,6 +24,10 @@ public class OpenLineageRestServices {
 
     public LineageResponse lineage(String serverName, String userId, Scope scope, String guid, String displayNameMustContain,
                                    boolean includeProcesses) {
+        return lineage(serverName, userId, guid, new LineageQueryParameters(scope, displayNameMustContain, includeProcesses));
+    }
+
+    public LineageResponse lineage(String serverName, String userId, String guid, LineageQueryParameters lineageQueryParameters) {
         LineageResponse response = new LineageResponse();
         final String methodName = "OpenLineageRestServices.lineage";
         final String debugMessage = "An exception occurred during a lineage HTTP request";
@@ -30,7 +35,7 @@ public class OpenLineageRestServices {
             OpenLineageHandler openLineageHandler = instanceHandler.getOpenLineageHandler(userId,
                     serverName,
                     methodName);
-            response = openLineageHandler.lineage(scope, guid, displayNameMustContain, includeProcesses);
+            response = openLineageHandler.lineage(guid, lineageQueryParameters);
         } catch (InvalidParameterException e) {
             openLineageExceptionHandler.captureInvalidParameterException(response, e);
             log.debug(debugMessage, e);
@@ -8,6 +8,8 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 
+import java.util.List;
+
 /**
  * OMRSTopic defines the interface to the messaging Topic for OMRS Events.
  * It implemented by the OMRSTopicConnector.
@@ -68,4 +70,14 @@ public interface OMRSTopic
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
     void sendInstanceEvent(OMRSInstanceEvent event) throws ConnectorCheckedException;
+
+
+    /**
+     * Sends the supplied instance events to the topic as a single batch event.  Only members of the cohort
+     * that understand batch events are able to process it.
+     *
+     * @param events list of OMRSInstanceEvent objects in the order they are to be processed.
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    void sendInstanceEventBatch(List<OMRSInstanceEvent> events) throws ConnectorCheckedException;
 }
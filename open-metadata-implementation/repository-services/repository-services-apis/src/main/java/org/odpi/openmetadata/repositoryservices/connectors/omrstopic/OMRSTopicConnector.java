@@ -2,7 +2,11 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -19,12 +23,15 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1InstanceSection;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -61,6 +68,24 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 {
     private static final Logger       log      = LoggerFactory.getLogger(OMRSTopicConnector.class);
 
+    /*
+     * Jackson readers and writers are immutable and thread-safe so they are shared by all of the events
+     * rather than setting up a new object mapper for each event.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader eventReader  = objectMapper.readerFor(OMRSEventBean.class);
+    private static final ObjectWriter eventWriter  = objectMapper.writerFor(OMRSEventV1.class);
+
+    /*
+     * Fields in the instance event section that identify the instance that the event is about, in order of preference.
+     */
+    private static final String       instanceEventSectionField = "instanceEventSection";
+    private static final List<String> instanceGUIDFields        = Arrays.asList("instanceGUID",
+                                                                                "entity",
+                                                                                "relationship",
+                                                                                "originalEntity",
+                                                                                "originalRelationship");
+
     private List<Connector> embeddedConnectors = null;
 
     private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
@@ -353,6 +378,43 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Send a batch of instance events to the OMRS Topic connector as a single event.  The header of the batch
+     * event comes from the first instance event and each instance event supplies an entry in the batch.
+     *
+     * @param instanceEvents  properties of the events to send, in the order they are to be processed
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    @Override
+    public void sendInstanceEventBatch(List<OMRSInstanceEvent> instanceEvents) throws ConnectorCheckedException
+    {
+        final String methodName = "sendInstanceEventBatch";
+
+        if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
+        {
+            if ((instanceEvents != null) && (! instanceEvents.isEmpty()))
+            {
+                OMRSEventV1                      batchEvent   = instanceEvents.get(0).getOMRSEventV1();
+                List<OMRSEventV1InstanceSection> batchEntries = new ArrayList<>();
+
+                for (OMRSInstanceEvent instanceEvent : instanceEvents)
+                {
+                    batchEntries.add(instanceEvent.getOMRSEventV1().getInstanceEventSection());
+                }
+
+                batchEvent.setInstanceEventSection(null);
+                batchEvent.setInstanceEventBatch(batchEntries);
+
+                this.sendEvent(batchEvent);
+            }
+        }
+        else
+        {
+            this.handleUnsupportedEventVersion(methodName);
+        }
+    }
+
+
     /**
      * Sends the supplied event outbound to the OMRSTopicListeners using the event bus connectors.
      *
@@ -367,13 +429,17 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                /*
+                 * The event is serialized once, straight to its UTF-8 JSON bytes, and the same payload is passed
+                 * to each event bus connector.
+                 */
+                byte[] eventPayload = eventWriter.writeValueAsBytes(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventPayload);
                     }
                 }
             }
@@ -406,6 +472,104 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Return the unique identifier of the metadata instance that an instance event is about.  Events about the same
+     * instance must be processed in the order they were received.  The event is scanned with a streaming parser
+     * that stops at the end of the instance event section, so no event objects are created.
+     *
+     * @param event inbound event
+     * @return instance guid or null if this is not an instance event
+     */
+    @Override
+    public String getEventOrderingKey(String event)
+    {
+        if (event != null)
+        {
+            try (JsonParser parser = objectMapper.getFactory().createParser(event))
+            {
+                if (parser.nextToken() == JsonToken.START_OBJECT)
+                {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME)
+                    {
+                        String fieldName = parser.getCurrentName();
+
+                        parser.nextToken();
+
+                        if (instanceEventSectionField.equals(fieldName) && (parser.currentToken() == JsonToken.START_OBJECT))
+                        {
+                            return this.getInstanceGUID(parser);
+                        }
+
+                        parser.skipChildren();
+                    }
+                }
+            }
+            catch (Throwable error)
+            {
+                log.debug("Unable to parse event for ordering key", error);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Scan the instance event section of an event for the unique identifier of the instance it is about.
+     * The instanceGUID field is preferred, followed by the guid of the entity or relationship in the event.
+     *
+     * @param parser parser positioned at the start of the instance event section
+     * @return instance guid or null
+     * @throws IOException the event is not valid JSON
+     */
+    private String getInstanceGUID(JsonParser parser) throws IOException
+    {
+        String[] instanceGUIDs = new String[instanceGUIDFields.size()];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            int fieldIndex = instanceGUIDFields.indexOf(parser.getCurrentName());
+
+            parser.nextToken();
+
+            if ((fieldIndex >= 0) && (parser.currentToken() == JsonToken.VALUE_STRING))
+            {
+                instanceGUIDs[fieldIndex] = parser.getText();
+            }
+            else if ((fieldIndex >= 0) && (parser.currentToken() == JsonToken.START_OBJECT))
+            {
+                while (parser.nextToken() == JsonToken.FIELD_NAME)
+                {
+                    String instanceFieldName = parser.getCurrentName();
+
+                    parser.nextToken();
+
+                    if ("guid".equals(instanceFieldName) && (parser.currentToken() == JsonToken.VALUE_STRING))
+                    {
+                        instanceGUIDs[fieldIndex] = parser.getText();
+                    }
+
+                    parser.skipChildren();
+                }
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+
+        for (String instanceGUID : instanceGUIDs)
+        {
+            if (instanceGUID != null)
+            {
+                return instanceGUID;
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Receives events from the real topic, parses them into event objects and passes them on to
      * the OMRSTopicListeners registered with this connector.
@@ -427,9 +591,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = eventReader.readValue(event);
             }
             catch (Throwable   exception)
             {
@@ -483,6 +645,47 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Unpack a batch of instance events and pass them to the listener in order.  Listeners based on
+     * OMRSTopicListenerBase receive the whole batch.  Other listeners receive the events one at a time.
+     *
+     * @param batchEvent inbound batch event
+     * @param topicListener listener to receive the events
+     */
+    private void processInstanceEventBatch(OMRSEventV1       batchEvent,
+                                           OMRSTopicListener topicListener)
+    {
+        List<OMRSInstanceEvent> instanceEvents = new ArrayList<>();
+
+        for (OMRSEventV1InstanceSection batchEntry : batchEvent.getInstanceEventBatch())
+        {
+            if (batchEntry != null)
+            {
+                OMRSEventV1 instanceEvent = new OMRSEventV1();
+
+                instanceEvent.setTimestamp(batchEvent.getTimestamp());
+                instanceEvent.setOriginator(batchEvent.getOriginator());
+                instanceEvent.setEventCategory(batchEvent.getEventCategory());
+                instanceEvent.setInstanceEventSection(batchEntry);
+
+                instanceEvents.add(new OMRSInstanceEvent(instanceEvent));
+            }
+        }
+
+        if (topicListener instanceof OMRSTopicListenerWrapper)
+        {
+            ((OMRSTopicListenerWrapper) topicListener).processInstanceEventBatch(instanceEvents);
+        }
+        else
+        {
+            for (OMRSInstanceEvent instanceEvent : instanceEvents)
+            {
+                topicListener.processInstanceEvent(instanceEvent);
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -515,7 +718,14 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                     break;
 
                 case INSTANCE:
-                    topicListener.processInstanceEvent(new OMRSInstanceEvent(event));
+                    if (event.getInstanceEventBatch() != null)
+                    {
+                        this.processInstanceEventBatch(event, topicListener);
+                    }
+                    else
+                    {
+                        topicListener.processInstanceEvent(new OMRSInstanceEvent(event));
+                    }
                     break;
 
                 default:
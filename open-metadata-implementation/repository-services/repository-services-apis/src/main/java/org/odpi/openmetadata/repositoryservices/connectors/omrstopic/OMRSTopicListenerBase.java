@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * OMRSTopicListenerBase provides a base class for a topic listener so it only needs to
@@ -459,6 +460,25 @@ public class OMRSTopicListenerBase implements OMRSTopicListener
     }
 
 
+    /**
+     * Method to pass a batch of Instance events received on topic.  By default, the events are passed
+     * to processInstanceEvent() one at a time in the order of the batch.  A listener that can process
+     * a batch more efficiently can override this method.
+     *
+     * @param instanceEvents inbound events
+     */
+    public void processInstanceEventBatch(List<OMRSInstanceEvent> instanceEvents)
+    {
+        if (instanceEvents != null)
+        {
+            for (OMRSInstanceEvent instanceEvent : instanceEvents)
+            {
+                this.processInstanceEvent(instanceEvent);
+            }
+        }
+    }
+
+
     /**
      * Method to pass an Instance event received on topic.
      *
@@ -9,6 +9,8 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 
+import java.util.List;
+
 
 /**
  * OMRSTopicListenerWrapper is a class that wraps a real OMRSTopicListener when it registers with the
@@ -152,4 +154,41 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
 
         Thread.currentThread().setName(currentThreadName);
     }
+
+
+    /**
+     * Method to pass a batch of Instance events received on topic.  Listeners based on OMRSTopicListenerBase
+     * receive the whole batch.  Other listeners receive the events one at a time.
+     *
+     * @param events inbound events in the order they are to be processed
+     */
+    void processInstanceEventBatch(List<OMRSInstanceEvent> events)
+    {
+        if (realListener instanceof OMRSTopicListenerBase)
+        {
+            final String methodName = "processInstanceEventBatch";
+
+            String currentThreadName = Thread.currentThread().getName();
+
+            Thread.currentThread().setName(serviceName + THREAD_NAME_DESCRIPTION);
+
+            try
+            {
+                ((OMRSTopicListenerBase) realListener).processInstanceEventBatch(events);
+            }
+            catch (Throwable  error)
+            {
+                logUnhandledException(error, methodName);
+            }
+
+            Thread.currentThread().setName(currentThreadName);
+        }
+        else
+        {
+            for (OMRSInstanceEvent event : events)
+            {
+                this.processInstanceEvent(event);
+            }
+        }
+    }
 }
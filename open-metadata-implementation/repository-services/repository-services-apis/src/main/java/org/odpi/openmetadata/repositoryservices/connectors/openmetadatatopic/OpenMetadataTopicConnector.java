@@ -2,10 +2,17 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
@@ -25,7 +32,8 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should return the events from checkForIncomingEvents() and call
+ *         notifyIncomingEvents() when new events arrive so the listener thread wakes up immediately.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -34,6 +42,14 @@ import org.slf4j.LoggerFactory;
  *         When the server no longer needs the topic, it will call disconnect().
  *     </li>
  * </ul>
+ * <p>
+ *     By default, the events are passed to the listeners one at a time on the listener thread.  The
+ *     dispatchThreadCount configuration property sets up a pool of dispatch threads instead.  Events about the same
+ *     metadata instance are always passed to the listeners in the order they were received, because they are
+ *     handled by the same dispatch thread.  The listeners identify the instance that an event is about
+ *     through getEventOrderingKey().  Events that are not about a single instance (such as registry
+ *     and type events) wait for all earlier events to be processed and are passed on by the listener thread.
+ * </p>
  */
 public abstract class OpenMetadataTopicConnector extends ConnectorBase implements OpenMetadataTopic,
                                                                                   Runnable,
@@ -44,12 +60,23 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private static final String       defaultThreadName = "OpenMetadataTopicListener";
     private static final String       defaultTopicName  = "OpenMetadataTopic";
 
+    public static final String sleepTimeProperty           = "sleepTime";
+    public static final String dispatchThreadCountProperty = "dispatchThreadCount";
+
+    private static final int          dispatchQueueSize = 100;
+
     private volatile boolean keepRunning = false;
 
-    private List<OpenMetadataTopicListener> topicListeners     = new ArrayList<>();
-    private String                          listenerThreadName = defaultThreadName;
-    private String                          topicName          = defaultTopicName;
-    private int                             sleepTime          = 100;
+    private List<OpenMetadataTopicListener> topicListeners      = new ArrayList<>();
+    private String                          listenerThreadName  = defaultThreadName;
+    private String                          topicName           = defaultTopicName;
+    private int                             sleepTime           = 100;
+    private int                             dispatchThreadCount = 1;
+    private ThreadPoolExecutor[]            dispatchers         = null;
+    private Future<?>[]                     lastDispatches      = null;
+
+    private final Object                    incomingEventsLock    = new Object();
+    private boolean                         incomingEventsPending = false;
 
     protected AuditLog auditLog = null;
 
@@ -96,17 +123,21 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                         {
                             if (event != null)
                             {
-                                this.distributeEvent(event);
+                                this.dispatchEvent(event);
                             }
                         }
                     }
                 }
+                catch (InterruptedException   wakeUp)
+                {
+                    throw wakeUp;
+                }
                 catch (Throwable   error)
                 {
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                this.waitForIncomingEvents();
             }
             catch (InterruptedException   wakeUp)
             {
@@ -114,12 +145,199 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
             }
         }
 
+        this.stopDispatchers();
+
         auditLog.logMessage(listenerThreadName,
                             OMRSAuditCode.OPEN_METADATA_TOPIC_LISTENER_SHUTDOWN.getMessageDefinition(topicName),
                            this.getConnection().toString());
     }
 
 
+    /**
+     * Called by the implementation when new events have arrived on the topic.  This wakes up the listener thread
+     * so the events are passed to the listeners straight away.  Implementations that do not call this method
+     * have their events picked up after the sleepTime.
+     */
+    protected void notifyIncomingEvents()
+    {
+        synchronized (incomingEventsLock)
+        {
+            incomingEventsPending = true;
+            incomingEventsLock.notifyAll();
+        }
+    }
+
+
+    /**
+     * Wait until new events are notified, or the sleep time has passed.
+     *
+     * @throws InterruptedException the listener thread is interrupted
+     */
+    private void waitForIncomingEvents() throws InterruptedException
+    {
+        synchronized (incomingEventsLock)
+        {
+            if ((! incomingEventsPending) && (keepRunning))
+            {
+                incomingEventsLock.wait(sleepTime);
+            }
+
+            incomingEventsPending = false;
+        }
+    }
+
+
+    /**
+     * Pass an event to the listeners, either directly or through the dispatch thread for the instance
+     * that the event is about.
+     *
+     * @param event event to distribute
+     * @throws InterruptedException the listener thread is interrupted while waiting for the dispatch threads
+     */
+    private void dispatchEvent(IncomingEvent event) throws InterruptedException
+    {
+        if (dispatchers == null)
+        {
+            this.distributeEvent(event);
+            return;
+        }
+
+        String orderingKey = this.getEventOrderingKey(event);
+
+        if (orderingKey != null)
+        {
+            int dispatcherIndex = Math.floorMod(orderingKey.hashCode(), dispatchers.length);
+
+            try
+            {
+                lastDispatches[dispatcherIndex] = dispatchers[dispatcherIndex].submit(() -> this.distributeEvent(event));
+                return;
+            }
+            catch (RejectedExecutionException notRunning)
+            {
+                log.debug("Dispatch thread not running; distributing event on listener thread");
+            }
+        }
+
+        /*
+         * The event must be ordered with respect to all of the other events so wait for the dispatch threads
+         * to complete their work before passing it on.
+         */
+        for (int dispatcherIndex = 0; dispatcherIndex < lastDispatches.length; dispatcherIndex++)
+        {
+            Future<?> lastDispatch = lastDispatches[dispatcherIndex];
+
+            if (lastDispatch != null)
+            {
+                try
+                {
+                    lastDispatch.get();
+                }
+                catch (ExecutionException error)
+                {
+                    log.debug("Dispatch of earlier event failed", error);
+                }
+
+                lastDispatches[dispatcherIndex] = null;
+            }
+        }
+
+        this.distributeEvent(event);
+    }
+
+
+    /**
+     * Return the key that identifies the events that must be passed to the listeners in the order they were
+     * received.  The key is supplied by the listeners since they understand the content of the events.  If the
+     * listeners do not agree on the key, null is returned, which means the event must be ordered with respect
+     * to all other events.
+     *
+     * @param event incoming event
+     * @return ordering key or null
+     */
+    protected String getEventOrderingKey(IncomingEvent event)
+    {
+        String orderingKey = null;
+
+        for (OpenMetadataTopicListener topicListener : topicListeners)
+        {
+            String listenerOrderingKey = topicListener.getEventOrderingKey(event.getJson());
+
+            if ((listenerOrderingKey == null) || ((orderingKey != null) && (! orderingKey.equals(listenerOrderingKey))))
+            {
+                return null;
+            }
+
+            orderingKey = listenerOrderingKey;
+        }
+
+        return orderingKey;
+    }
+
+
+    /**
+     * Set up the dispatch threads.  Each thread has a bounded queue.  When it is full, the listener thread
+     * waits for space so that the backlog of events stays with the event bus implementation.
+     */
+    private void startDispatchers()
+    {
+        if (dispatchThreadCount > 1)
+        {
+            dispatchers = new ThreadPoolExecutor[dispatchThreadCount];
+            lastDispatches = new Future<?>[dispatchThreadCount];
+
+            for (int dispatcherIndex = 0; dispatcherIndex < dispatchThreadCount; dispatcherIndex++)
+            {
+                final String dispatchThreadName = listenerThreadName + " dispatcher " + dispatcherIndex;
+
+                dispatchers[dispatcherIndex] = new ThreadPoolExecutor(1,
+                                                                      1,
+                                                                      0L,
+                                                                      TimeUnit.MILLISECONDS,
+                                                                      new LinkedBlockingQueue<>(dispatchQueueSize),
+                                                                      (runnable) ->
+                                                                      {
+                                                                          Thread dispatchThread = new Thread(runnable, dispatchThreadName);
+                                                                          dispatchThread.setDaemon(true);
+                                                                          return dispatchThread;
+                                                                      },
+                                                                      (runnable, executor) ->
+                                                                      {
+                                                                          if (executor.isShutdown())
+                                                                          {
+                                                                              throw new RejectedExecutionException(dispatchThreadName);
+                                                                          }
+
+                                                                          try
+                                                                          {
+                                                                              executor.getQueue().put(runnable);
+                                                                          }
+                                                                          catch (InterruptedException interrupted)
+                                                                          {
+                                                                              Thread.currentThread().interrupt();
+                                                                              throw new RejectedExecutionException(dispatchThreadName, interrupted);
+                                                                          }
+                                                                      });
+            }
+        }
+    }
+
+
+    /**
+     * Shut down the dispatch threads once the events they hold have been passed on.
+     */
+    private void stopDispatchers()
+    {
+        if (dispatchers != null)
+        {
+            for (ThreadPoolExecutor dispatcher : dispatchers)
+            {
+                dispatcher.shutdown();
+            }
+        }
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
@@ -160,6 +378,23 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Sends the supplied event to the topic.  The event is the UTF-8 encoded JSON payload of the event.
+     * By default, it is converted to a String and passed to sendEvent(String).  Event bus connectors
+     * that are able to send the bytes directly should override this method to avoid the conversion.
+     *
+     * @param event UTF-8 encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    public void sendEvent(byte[] event) throws ConnectorCheckedException
+    {
+        if (event != null)
+        {
+            this.sendEvent(new String(event, StandardCharsets.UTF_8));
+        }
+    }
+
+
     /**
      * Look to see if there is one of more new events to process.
      *
@@ -249,15 +484,24 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
             if (configurationProperties != null)
             {
-                Object   sleepTime = configurationProperties.get("sleepTime");
+                Object   sleepTime = configurationProperties.get(sleepTimeProperty);
 
                 if (sleepTime instanceof Integer)
                 {
                     this.sleepTime = (Integer)sleepTime;
                 }
+
+                Object   dispatchThreadCount = configurationProperties.get(dispatchThreadCountProperty);
+
+                if (dispatchThreadCount instanceof Integer)
+                {
+                    this.dispatchThreadCount = (Integer)dispatchThreadCount;
+                }
             }
         }
 
+        this.startDispatchers();
+
         Thread listenerThread = new Thread(this, listenerThreadName);
         listenerThread.start();
     }
@@ -274,5 +518,7 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         super.disconnect();
 
         keepRunning = false;
+
+        this.notifyIncomingEvents();
     }
 }
@@ -15,4 +15,18 @@ public interface OpenMetadataTopicListener
      * @param event inbound event
      */
     void processEvent(String event);
+
+
+    /**
+     * Return the key that identifies the events that must be passed to this listener in the order they were
+     * received.  It is used when the topic connector passes events to its listeners on more than one thread.
+     * Null means the event must be ordered with respect to all other events.
+     *
+     * @param event inbound event
+     * @return ordering key or null
+     */
+    default String getEventOrderingKey(String event)
+    {
+        return null;
+    }
 }
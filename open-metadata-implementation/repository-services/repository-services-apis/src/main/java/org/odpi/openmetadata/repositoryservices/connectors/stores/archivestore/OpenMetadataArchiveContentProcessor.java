@@ -0,0 +1,79 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+/**
+ * OpenMetadataArchiveContentProcessor receives the content of an open metadata archive one element at a time.
+ * It is used to process archives that are too large to hold in memory as a single OpenMetadataArchive object.
+ * The elements are passed in the order they must be loaded into a repository:
+ * <ul>
+ *     <li>the archive properties</li>
+ *     <li>the attribute type definitions, then the new type definitions, then the type definition patches</li>
+ *     <li>the entities, then the relationships, then the classifications</li>
+ * </ul>
+ */
+public interface OpenMetadataArchiveContentProcessor
+{
+    /**
+     * Process the header of the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Process an attribute type definition from the type store of the archive.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    void processAttributeTypeDef(AttributeTypeDef attributeTypeDef);
+
+
+    /**
+     * Process a new type definition from the type store of the archive.
+     *
+     * @param typeDef type definition
+     */
+    void processNewTypeDef(TypeDef typeDef);
+
+
+    /**
+     * Process a patch to an existing type definition from the type store of the archive.
+     *
+     * @param typeDefPatch type definition patch
+     */
+    void processTypeDefPatch(TypeDefPatch typeDefPatch);
+
+
+    /**
+     * Process an entity from the instance store of the archive.
+     *
+     * @param entity entity
+     */
+    void processEntity(EntityDetail entity);
+
+
+    /**
+     * Process a relationship from the instance store of the archive.
+     *
+     * @param relationship relationship
+     */
+    void processRelationship(Relationship relationship);
+
+
+    /**
+     * Process a classification from the instance store of the archive.
+     *
+     * @param classification classification and the entity it is attached to
+     */
+    void processClassification(ClassificationEntityExtension classification);
+}
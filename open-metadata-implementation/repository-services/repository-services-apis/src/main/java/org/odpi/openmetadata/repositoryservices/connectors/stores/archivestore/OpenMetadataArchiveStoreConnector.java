@@ -5,6 +5,15 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 
 
 /**
@@ -26,4 +35,126 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Pass the contents of the archive, one element at a time, to the content processor.  This implementation
+     * retrieves the whole archive with getArchiveContents().  Connectors to large archives override it to read the
+     * elements incrementally.
+     *
+     * @param contentProcessor receiver of the contents of the archive
+     * @return false if the archive is empty or could not be completely read
+     */
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor contentProcessor)
+    {
+        OpenMetadataArchive archiveContents = this.getArchiveContents();
+
+        if (archiveContents == null)
+        {
+            return false;
+        }
+
+        processArchiveContents(archiveContents, contentProcessor);
+
+        return true;
+    }
+
+
+    /**
+     * Pass the contents of an archive held in memory, one element at a time, to the content processor.
+     *
+     * @param archiveContents contents of the archive
+     * @param contentProcessor receiver of the contents of the archive
+     */
+    public static void processArchiveContents(OpenMetadataArchive                 archiveContents,
+                                              OpenMetadataArchiveContentProcessor contentProcessor)
+    {
+        if (archiveContents.getArchiveProperties() != null)
+        {
+            contentProcessor.processArchiveProperties(archiveContents.getArchiveProperties());
+        }
+
+        processArchiveTypeStore(archiveContents.getArchiveTypeStore(), contentProcessor);
+        processArchiveInstanceStore(archiveContents.getArchiveInstanceStore(), contentProcessor);
+    }
+
+
+    /**
+     * Pass the type definitions of an archive to the content processor.
+     *
+     * @param archiveTypeStore type store of the archive (may be null)
+     * @param contentProcessor receiver of the contents of the archive
+     */
+    public static void processArchiveTypeStore(OpenMetadataArchiveTypeStore        archiveTypeStore,
+                                               OpenMetadataArchiveContentProcessor contentProcessor)
+    {
+        if (archiveTypeStore == null)
+        {
+            return;
+        }
+
+        if (archiveTypeStore.getAttributeTypeDefs() != null)
+        {
+            for (AttributeTypeDef attributeTypeDef : archiveTypeStore.getAttributeTypeDefs())
+            {
+                contentProcessor.processAttributeTypeDef(attributeTypeDef);
+            }
+        }
+
+        if (archiveTypeStore.getNewTypeDefs() != null)
+        {
+            for (TypeDef typeDef : archiveTypeStore.getNewTypeDefs())
+            {
+                contentProcessor.processNewTypeDef(typeDef);
+            }
+        }
+
+        if (archiveTypeStore.getTypeDefPatches() != null)
+        {
+            for (TypeDefPatch typeDefPatch : archiveTypeStore.getTypeDefPatches())
+            {
+                contentProcessor.processTypeDefPatch(typeDefPatch);
+            }
+        }
+    }
+
+
+    /**
+     * Pass the instances of an archive to the content processor.
+     *
+     * @param archiveInstanceStore instance store of the archive (may be null)
+     * @param contentProcessor receiver of the contents of the archive
+     */
+    public static void processArchiveInstanceStore(OpenMetadataArchiveInstanceStore    archiveInstanceStore,
+                                                   OpenMetadataArchiveContentProcessor contentProcessor)
+    {
+        if (archiveInstanceStore == null)
+        {
+            return;
+        }
+
+        if (archiveInstanceStore.getEntities() != null)
+        {
+            for (EntityDetail entity : archiveInstanceStore.getEntities())
+            {
+                contentProcessor.processEntity(entity);
+            }
+        }
+
+        if (archiveInstanceStore.getRelationships() != null)
+        {
+            for (Relationship relationship : archiveInstanceStore.getRelationships())
+            {
+                contentProcessor.processRelationship(relationship);
+            }
+        }
+
+        if (archiveInstanceStore.getClassifications() != null)
+        {
+            for (ClassificationEntityExtension classification : archiveInstanceStore.getClassifications())
+            {
+                contentProcessor.processClassification(classification);
+            }
+        }
+    }
 }
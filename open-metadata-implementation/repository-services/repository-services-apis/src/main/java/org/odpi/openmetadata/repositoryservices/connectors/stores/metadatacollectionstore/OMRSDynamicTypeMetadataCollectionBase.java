@@ -444,6 +444,11 @@ public class OMRSDynamicTypeMetadataCollectionBase extends OMRSMetadataCollectio
         }
         else
         {
+            /*
+             * The cached TypeDef may be shared with other servers so the change is made to a copy.
+             */
+            existingTypeDef = existingTypeDef.cloneFromSubclass();
+
             existingTypeDef.setGUID(newTypeDefGUID);
             existingTypeDef.setName(newTypeDefName);
 
@@ -515,6 +520,11 @@ public class OMRSDynamicTypeMetadataCollectionBase extends OMRSMetadataCollectio
         }
         else
         {
+            /*
+             * The cached AttributeTypeDef may be shared with other servers so the change is made to a copy.
+             */
+            existingAttributeTypeDef = existingAttributeTypeDef.cloneFromSubclass();
+
             existingAttributeTypeDef.setGUID(newAttributeTypeDefGUID);
             existingAttributeTypeDef.setName(newAttributeTypeDefName);
 
@@ -2,7 +2,9 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.concurrent.Future;
 
@@ -841,6 +843,75 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  This is equivalent to calling
+     * getEntityDetail for each guid.  Repositories can override this method to retrieve the entities
+     * in a single request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Guids for entities that
+     * are not known, or are only proxies, are skipped.  Each entity is returned once, even if its guid is
+     * requested more than once.  Null means none of the entities were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        if (guids == null)
+        {
+            return null;
+        }
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                EntityDetail entity;
+
+                if (asOfTime == null)
+                {
+                    entity = this.getEntityDetail(userId, guid);
+                }
+                else
+                {
+                    entity = this.getEntityDetail(userId, guid, asOfTime);
+                }
+
+                if (entity != null)
+                {
+                    entities.add(entity);
+                }
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException notFound)
+            {
+                /*
+                 * Skip entities that are not stored in this repository.
+                 */
+            }
+        }
+
+        if (entities.isEmpty())
+        {
+            return null;
+        }
+
+        return entities;
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1208,6 +1279,74 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                             UserNotAuthorizedException;
 
 
+    /**
+     * Return a list of relationships.  This is equivalent to calling getRelationship for each guid.
+     * Repositories can override this method to retrieve the relationships in a single request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Guids for
+     * relationships that are not known are skipped.  Each relationship is returned once, even if its guid is
+     * requested more than once.  Null means none of the relationships were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        if (guids == null)
+        {
+            return null;
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                Relationship relationship;
+
+                if (asOfTime == null)
+                {
+                    relationship = this.getRelationship(userId, guid);
+                }
+                else
+                {
+                    relationship = this.getRelationship(userId, guid, asOfTime);
+                }
+
+                if (relationship != null)
+                {
+                    relationships.add(relationship);
+                }
+            }
+            catch (RelationshipNotKnownException notFound)
+            {
+                /*
+                 * Skip relationships that are not stored in this repository.
+                 */
+            }
+        }
+
+        if (relationships.isEmpty())
+        {
+            return null;
+        }
+
+        return relationships;
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
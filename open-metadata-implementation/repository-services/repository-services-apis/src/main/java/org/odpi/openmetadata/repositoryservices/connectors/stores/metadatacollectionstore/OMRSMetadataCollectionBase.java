@@ -1843,6 +1843,43 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for a retrieve of a list of instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param asOfTime the time used to determine which version of the instances that is desired - may be null.
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException a guid is null or the date is for a future time
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     */
+    protected  void getInstancesParameterValidation(String       userId,
+                                                    List<String> guids,
+                                                    Date         asOfTime,
+                                                    String       methodName) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String  guidParameterName = "guids";
+        final String  asOfTimeParameter = "asOfTime";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (guids != null)
+        {
+            for (String guid : guids)
+            {
+                repositoryValidator.validateGUID(repositoryName, guidParameterName, guid, methodName);
+            }
+        }
+
+        repositoryValidator.validateAsOfTime(repositoryName, asOfTimeParameter, asOfTime, methodName);
+    }
+
+
     /**
      * Validate the parameters for a retrieve multiple historical versions of an instance.
      *
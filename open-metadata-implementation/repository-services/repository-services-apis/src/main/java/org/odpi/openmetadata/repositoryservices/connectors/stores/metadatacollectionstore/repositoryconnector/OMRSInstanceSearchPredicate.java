@@ -0,0 +1,56 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+/**
+ * OMRSInstanceSearchPredicate is the compiled form of the search criteria from a single find request.
+ * It is created once per request by the OMRSRepositoryValidator and then evaluated against each of the
+ * candidate instances.  The regular expressions in the search criteria are compiled when the predicate is
+ * created and the cheap checks on type and status are made before any of the properties are examined.
+ */
+public interface OMRSInstanceSearchPredicate
+{
+    /**
+     * Return a boolean indicating whether the instance's header (type, status and, for entities,
+     * classifications) matches the search criteria.  The properties are not tested.
+     *
+     * @param instance instance to test
+     * @return boolean result
+     */
+    boolean matchesHeader(InstanceHeader instance);
+
+
+    /**
+     * Return a boolean indicating whether the supplied properties match the property-based search criteria.
+     * This is used directly when the properties to test are not the instance's own properties - for example,
+     * the properties of a classification.
+     *
+     * @param instanceHeader header of the instance (or classification) that owns the properties
+     * @param instanceProperties properties to test
+     * @return boolean result
+     * @throws InvalidParameterException invalid search criteria
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                              InstanceProperties  instanceProperties) throws InvalidParameterException,
+                                                                             RepositoryErrorException;
+
+
+    /**
+     * Return a boolean indicating whether the instance matches all of the search criteria.  This tests the
+     * header first and only if it matches are the instance's properties tested.
+     *
+     * @param instance entity or relationship to test
+     * @return boolean result
+     * @throws InvalidParameterException invalid search criteria
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    boolean matches(InstanceHeader instance) throws InvalidParameterException,
+                                                    RepositoryErrorException;
+}
@@ -1494,6 +1494,77 @@ public interface OMRSRepositoryValidator
                                                        String             methodName) throws RepositoryErrorException;
 
 
+    /**
+     * Return a compiled predicate for a search based on instance properties and match criteria
+     * (eg findEntitiesByProperty).  The predicate should be created once for the request and then
+     * evaluated against each candidate instance.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param instanceTypeGUID unique identifier of the type (or null for all types)
+     * @param subtypeGUIDs list of unique identifiers of the subtypes to include (or null)
+     * @param limitResultsByStatus list of valid statuses (null means all statuses except DELETED)
+     * @param limitResultsByClassification list of classifications an entity must have (or null)
+     * @param matchProperties the properties to match (or null)
+     * @param matchCriteria rule on how the match should occur
+     * @param methodName name of the method requiring the search
+     * @return compiled predicate
+     */
+    OMRSInstanceSearchPredicate getInstancePropertiesPredicate(String               sourceName,
+                                                               String               instanceTypeGUID,
+                                                               List<String>         subtypeGUIDs,
+                                                               List<InstanceStatus> limitResultsByStatus,
+                                                               List<String>         limitResultsByClassification,
+                                                               InstanceProperties   matchProperties,
+                                                               MatchCriteria        matchCriteria,
+                                                               String               methodName);
+
+
+    /**
+     * Return a compiled predicate for a search based on property and classification conditions
+     * (eg findEntities).  The predicate should be created once for the request and then
+     * evaluated against each candidate instance.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param instanceTypeGUID unique identifier of the type (or null for all types)
+     * @param subtypeGUIDs list of unique identifiers of the subtypes to include (or null)
+     * @param limitResultsByStatus list of valid statuses (null means all statuses except DELETED)
+     * @param matchProperties the property-based conditions to match (or null)
+     * @param matchClassifications the classification-based conditions to match (or null)
+     * @param methodName name of the method requiring the search
+     * @return compiled predicate
+     */
+    OMRSInstanceSearchPredicate getSearchPropertiesPredicate(String                sourceName,
+                                                             String                instanceTypeGUID,
+                                                             List<String>          subtypeGUIDs,
+                                                             List<InstanceStatus>  limitResultsByStatus,
+                                                             SearchProperties      matchProperties,
+                                                             SearchClassifications matchClassifications,
+                                                             String                methodName);
+
+
+    /**
+     * Return a compiled predicate for a search based on a regular expression that is tested against
+     * all of the string property values (eg findEntitiesByPropertyValue).  The predicate should be
+     * created once for the request and then evaluated against each candidate instance.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param instanceTypeGUID unique identifier of the type (or null for all types)
+     * @param subtypeGUIDs list of unique identifiers of the subtypes to include (or null)
+     * @param limitResultsByStatus list of valid statuses (null means all statuses except DELETED)
+     * @param limitResultsByClassification list of classifications an entity must have (or null)
+     * @param searchCriteria regular expression for testing the property values
+     * @param methodName name of the method requiring the search
+     * @return compiled predicate
+     */
+    OMRSInstanceSearchPredicate getSearchCriteriaPredicate(String               sourceName,
+                                                           String               instanceTypeGUID,
+                                                           List<String>         subtypeGUIDs,
+                                                           List<InstanceStatus> limitResultsByStatus,
+                                                           List<String>         limitResultsByClassification,
+                                                           String               searchCriteria,
+                                                           String               methodName);
+
+
     /**
      * Return the string form of a property value.  Can be used as propertyValue on find property
      * value calls.
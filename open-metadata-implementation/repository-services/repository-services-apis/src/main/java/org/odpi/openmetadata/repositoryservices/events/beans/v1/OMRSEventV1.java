@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 
 import java.util.Date;
+import java.util.List;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
@@ -18,7 +19,8 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 
 /**
  * OMRSEventV1 is the OMRSEvent payload for version 1 of the open metadata and governance message exchange.
- * It has different sections for the different types of event.
+ * It has different sections for the different types of event.  An instance event may carry a batch of
+ * instance event sections rather than a single section.  These are processed in the order of the list.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -28,13 +30,14 @@ public class OMRSEventV1 extends OMRSEventBean
 {
     private static final long    serialVersionUID = 1L;
 
-    private       Date                       timestamp            = null;
-    private       OMRSEventOriginator        originator           = null;
-    private       OMRSEventCategory          eventCategory        = null;
-    private       OMRSEventV1RegistrySection registryEventSection = null;
-    private       OMRSEventV1TypeDefSection  typeDefEventSection  = null;
-    private       OMRSEventV1InstanceSection instanceEventSection = null;
-    private       OMRSEventV1ErrorSection    errorSection         = null;
+    private       Date                             timestamp            = null;
+    private       OMRSEventOriginator              originator           = null;
+    private       OMRSEventCategory                eventCategory        = null;
+    private       OMRSEventV1RegistrySection       registryEventSection = null;
+    private       OMRSEventV1TypeDefSection        typeDefEventSection  = null;
+    private       OMRSEventV1InstanceSection       instanceEventSection = null;
+    private       List<OMRSEventV1InstanceSection> instanceEventBatch   = null;
+    private       OMRSEventV1ErrorSection          errorSection         = null;
 
 
     /**
@@ -124,6 +127,16 @@ public class OMRSEventV1 extends OMRSEventBean
         this.instanceEventSection = instanceEventSection;
     }
 
+    public List<OMRSEventV1InstanceSection> getInstanceEventBatch()
+    {
+        return instanceEventBatch;
+    }
+
+    public void setInstanceEventBatch(List<OMRSEventV1InstanceSection> instanceEventBatch)
+    {
+        this.instanceEventBatch = instanceEventBatch;
+    }
+
     public OMRSEventV1ErrorSection getErrorSection()
     {
         return errorSection;
@@ -149,6 +162,7 @@ public class OMRSEventV1 extends OMRSEventBean
                        ", registryEventSection=" + registryEventSection +
                        ", typeDefEventSection=" + typeDefEventSection +
                        ", instanceEventSection=" + instanceEventSection +
+                       ", instanceEventBatch=" + instanceEventBatch +
                        ", errorSection=" + errorSection +
                        ", protocolVersionId='" + protocolVersionId + '\'' +
                        ", protocolVersionId='" + getProtocolVersionId() + '\'' +
@@ -341,6 +341,15 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                 "The connector will not be able to support access to the open metadata repositories connected via the cohort.",
                                 "Review the message to discover why the connector failed to start."),
 
+    FEDERATED_REQUEST_TIMEOUT("OMRS-AUDIT-0044",
+                              OMRSAuditLogRecordSeverity.ERROR,
+                              "The {0} request to the repository with metadata collection id {1} was cancelled because it did " +
+                                      "not complete within {2} milliseconds",
+                              "The enterprise OMRS connector has stopped waiting for the repository and has returned the results " +
+                                      "from the other repositories in the open metadata repository cohorts.",
+                              "Validate that the repository is available and responding.  If it is slow rather than unavailable, " +
+                                      "increase the federation timeout in the enterprise access configuration."),
+
     PROCESSING_ARCHIVE("OMRS-AUDIT-0050",
                        OMRSAuditLogRecordSeverity.INFO,
                        "The Open Metadata Repository Services (OMRS) is about to process open metadata archive {0}",
@@ -370,6 +379,19 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                       "The local server has completed the processing of the open metadata archive.",
                       "Verify that the expected content has loaded into the local repository."),
 
+    ARCHIVE_LOADING_PROGRESS("OMRS-AUDIT-0054",
+                             OMRSAuditLogRecordSeverity.INFO,
+                             "The Open Metadata Repository Services (OMRS) has passed {0} instances from open metadata archive {1} to the local repository",
+                             "The local server is loading the instances of a large open metadata archive in batches.",
+                             "No action is required.  This message reports the progress of the archive load."),
+
+    UNREADABLE_ARCHIVE("OMRS-AUDIT-0055",
+                       OMRSAuditLogRecordSeverity.EXCEPTION,
+                       "The Open Metadata Repository Services (OMRS) stopped reading open metadata archive {0} because of exception {1} with message {2}",
+                       "The local server has processed the content that was read before the error and skipped the rest of the archive.",
+                       "Verify that the archive is a valid open metadata archive.  Request a new version of the archive " +
+                               "or remove it from the server's archive list."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
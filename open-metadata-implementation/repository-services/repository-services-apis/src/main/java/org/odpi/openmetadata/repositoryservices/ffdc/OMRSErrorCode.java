@@ -852,6 +852,14 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The enterprise repository services has detected a repository connector from cohort {0} for metadata collection identifier {1} that has a null metadata collection API object.",
             "There is an internal error in the OMRS Repository Connector implementation.",
             "Raise a Github issue on the Egeria project to get this fixed."),
+    FEDERATED_REQUEST_TIMEOUT(503, "OMRS-ENTERPRISE-REPOSITORY-503-004",
+            "The {0} request to the repository with metadata collection id {1} was cancelled because it did not complete within {2} milliseconds",
+            "The enterprise repository services stopped waiting for the repository.  Any results from the other repositories are returned.",
+            "Validate that the repository is available and responding.  If it is slow rather than unavailable, increase the federation timeout in the enterprise access configuration."),
+    FEDERATED_REQUEST_FAILED(503, "OMRS-ENTERPRISE-REPOSITORY-503-005",
+            "The {0} request to the repository with metadata collection id {1} failed with a {2} exception and message: {3}",
+            "The enterprise repository services were not able to retrieve results from the repository.  Any results from the other repositories are returned.",
+            "Review the exception to determine the cause of the failure.  This may be a logic error in the enterprise repository services."),
     NULL_CONTENT_MANAGER(503, "OMRS-LOCAL-REPOSITORY-503-001",
             "A null repository content manager has been passed to one of the local repository's components on method {0}.",
             "There is an internal error in the OMRS Local Repository Connector implementation, or the way it has been initialized.",
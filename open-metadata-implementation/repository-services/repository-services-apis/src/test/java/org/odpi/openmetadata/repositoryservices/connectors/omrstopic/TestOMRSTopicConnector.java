@@ -0,0 +1,210 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the OMRSTopicConnector passes the serialized events to the event bus connectors as bytes,
+ * that the payload can be read back as an OMRS event, that batches of instance events are delivered in order
+ * and that instance events are ordered by the instance they are about.
+ */
+public class TestOMRSTopicConnector
+{
+    @Test
+    void testSendEventAsBytes() throws Exception
+    {
+        CapturingTopicConnector eventBusConnector = new CapturingTopicConnector();
+        OMRSTopicConnector      topicConnector    = new OMRSTopicConnector();
+
+        topicConnector.initializeEmbeddedConnectors(Collections.singletonList((Connector)eventBusConnector));
+        topicConnector.start();
+
+        OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT);
+
+        topicConnector.sendRegistryEvent(registryEvent);
+
+        assertEquals(eventBusConnector.getByteEvents().size(), 1);
+        assertTrue(eventBusConnector.getStringEvents().isEmpty());
+
+        ObjectMapper  objectMapper = new ObjectMapper();
+        OMRSEventBean eventBean    = objectMapper.readValue(eventBusConnector.getByteEvents().get(0), OMRSEventBean.class);
+
+        assertTrue(eventBean instanceof OMRSEventV1);
+        assertEquals(new OMRSRegistryEvent((OMRSEventV1)eventBean).getRegistryEventType(), OMRSRegistryEventType.REGISTRATION_EVENT);
+        assertEquals(new String(eventBusConnector.getByteEvents().get(0), "UTF-8"),
+                     objectMapper.writeValueAsString(registryEvent.getOMRSEventV1()));
+    }
+
+
+    @Test
+    void testInstanceEventBatch() throws Exception
+    {
+        CapturingTopicConnector eventBusConnector = new CapturingTopicConnector();
+        OMRSTopicConnector      topicConnector    = new OMRSTopicConnector();
+        RecordingListener       topicListener     = new RecordingListener();
+
+        topicConnector.initialize("testConnector", new ConnectionProperties(new Connection()));
+        topicConnector.setAuditLog(new AuditLog(new AuditLogDestination(null)
+                                                {
+                                                    @Override
+                                                    public void addLogRecord(AuditLogRecord logRecord)
+                                                    {
+                                                    }
+                                                },
+                                                OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR));
+        topicConnector.initializeEmbeddedConnectors(Collections.singletonList((Connector)eventBusConnector));
+        topicConnector.start();
+        topicConnector.registerListener(topicListener, "testService");
+
+        List<OMRSInstanceEvent> instanceEvents = new ArrayList<>();
+
+        for (String guid : new String[]{"guid1", "guid2", "guid3"})
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            instanceEvents.add(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity));
+        }
+
+        topicConnector.sendInstanceEventBatch(instanceEvents);
+
+        assertEquals(eventBusConnector.getByteEvents().size(), 1);
+
+        topicConnector.processEvent(new String(eventBusConnector.getByteEvents().get(0), StandardCharsets.UTF_8));
+
+        assertEquals(topicListener.getBatchSizes(), Collections.singletonList(3));
+        assertEquals(topicListener.getEntityGUIDs(), Arrays.asList("guid1", "guid2", "guid3"));
+    }
+
+
+    @Test
+    void testEventOrderingKey() throws Exception
+    {
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        ObjectMapper       objectMapper   = new ObjectMapper();
+        EntityDetail       entity         = new EntityDetail();
+
+        entity.setGUID("guid1");
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+        OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT);
+
+        assertEquals(topicConnector.getEventOrderingKey(objectMapper.writeValueAsString(instanceEvent.getOMRSEventV1())), "guid1");
+        assertNull(topicConnector.getEventOrderingKey(objectMapper.writeValueAsString(registryEvent.getOMRSEventV1())));
+        assertNull(topicConnector.getEventOrderingKey("not json"));
+    }
+
+
+    /**
+     * Event bus connector that records the events it is asked to send.
+     */
+    private static class CapturingTopicConnector extends OpenMetadataTopicConnector
+    {
+        private final List<String> stringEvents = new ArrayList<>();
+        private final List<byte[]> byteEvents   = new ArrayList<>();
+
+
+        @Override
+        public void start()
+        {
+        }
+
+
+        @Override
+        public void sendEvent(String event)
+        {
+            stringEvents.add(event);
+        }
+
+
+        @Override
+        public void sendEvent(byte[] event)
+        {
+            byteEvents.add(event);
+        }
+
+
+        List<String> getStringEvents()
+        {
+            return stringEvents;
+        }
+
+
+        List<byte[]> getByteEvents()
+        {
+            return byteEvents;
+        }
+    }
+
+
+    /**
+     * Topic listener that records the batches and entities it receives.
+     */
+    private static class RecordingListener extends OMRSTopicListenerBase
+    {
+        private final List<Integer> batchSizes  = new ArrayList<>();
+        private final List<String>  entityGUIDs = new ArrayList<>();
+
+
+        RecordingListener()
+        {
+            super("testService");
+        }
+
+
+        @Override
+        public void processInstanceEventBatch(List<OMRSInstanceEvent> instanceEvents)
+        {
+            batchSizes.add(instanceEvents.size());
+
+            super.processInstanceEventBatch(instanceEvents);
+        }
+
+
+        @Override
+        public void processInstanceEvent(OMRSInstanceEvent instanceEvent)
+        {
+            entityGUIDs.add(instanceEvent.getEntity().getGUID());
+        }
+
+
+        List<Integer> getBatchSizes()
+        {
+            return batchSizes;
+        }
+
+
+        List<String> getEntityGUIDs()
+        {
+            return entityGUIDs;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the OpenMetadataTopicConnector wakes up as soon as events are notified and that its dispatch
+ * threads keep the events for each instance in order.
+ */
+public class TestOpenMetadataTopicConnector
+{
+    private static final int  instanceCount     = 8;
+    private static final int  eventsPerInstance = 50;
+    private static final int  longSleepTime     = 60000;
+    private static final long testTimeout       = 20000;
+
+
+    @Test
+    void testNotifiedEventsAreNotDelayed() throws Exception
+    {
+        QueueTopicConnector topicConnector = getTopicConnector(1);
+        RecordingListener   listener       = new RecordingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        try
+        {
+            /*
+             * Give the listener thread time to start waiting for events.
+             */
+            Thread.sleep(200);
+
+            long startTime = System.currentTimeMillis();
+
+            topicConnector.addEvent(getInstanceEvent("guid1", 0));
+            listener.waitForEvents(1);
+
+            assertTrue(System.currentTimeMillis() - startTime < longSleepTime / 2);
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    @Test
+    void testDispatchKeepsInstanceOrder() throws Exception
+    {
+        QueueTopicConnector topicConnector = getTopicConnector(4);
+        RecordingListener   listener       = new RecordingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        try
+        {
+            for (int eventNumber = 0; eventNumber < eventsPerInstance; eventNumber++)
+            {
+                for (int instanceNumber = 0; instanceNumber < instanceCount; instanceNumber++)
+                {
+                    topicConnector.addEvent(getInstanceEvent("guid" + instanceNumber, eventNumber));
+                }
+            }
+
+            topicConnector.addEvent("{\"registryEventSection\":{}}");
+
+            listener.waitForEvents(instanceCount * eventsPerInstance + 1);
+
+            List<String>         receivedEvents = listener.getEvents();
+            Map<String, Integer> lastSequence   = new HashMap<>();
+
+            for (int eventIndex = 0; eventIndex < receivedEvents.size() - 1; eventIndex++)
+            {
+                String[] eventKey = receivedEvents.get(eventIndex).split("\"")[11].split(":");
+                int      sequence = Integer.parseInt(eventKey[1]);
+                Integer  previous = lastSequence.put(eventKey[0], sequence);
+
+                assertEquals(sequence, previous == null ? 0 : previous + 1);
+            }
+
+            /*
+             * The registry event is not about an instance so it waits for all of the instance events.
+             */
+            assertEquals(receivedEvents.get(receivedEvents.size() - 1), "{\"registryEventSection\":{}}");
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    private QueueTopicConnector getTopicConnector(int dispatchThreadCount)
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(OpenMetadataTopicConnector.sleepTimeProperty, longSleepTime);
+        configurationProperties.put(OpenMetadataTopicConnector.dispatchThreadCountProperty, dispatchThreadCount);
+
+        Connection connection = new Connection();
+
+        connection.setConfigurationProperties(configurationProperties);
+
+        QueueTopicConnector topicConnector = new QueueTopicConnector();
+
+        topicConnector.initialize("testConnector", new ConnectionProperties(connection));
+        topicConnector.setAuditLog(new AuditLog(new AuditLogDestination(null)
+                                                {
+                                                    @Override
+                                                    public void addLogRecord(AuditLogRecord logRecord)
+                                                    {
+                                                    }
+                                                },
+                                                OMRSAuditingComponent.OPEN_METADATA_TOPIC_CONNECTOR));
+
+        return topicConnector;
+    }
+
+
+    private String getInstanceEvent(String guid,
+                                    int    eventNumber)
+    {
+        return "{\"instanceEventSection\":{\"entity\":{\"guid\":\"" + guid + "\",\"version\":\"" + guid + ":" + eventNumber + "\"}}}";
+    }
+
+
+    /**
+     * Topic connector that holds its events in memory and notifies the listener thread when they arrive.
+     */
+    private static class QueueTopicConnector extends OpenMetadataTopicConnector
+    {
+        private final List<IncomingEvent> incomingEvents = Collections.synchronizedList(new ArrayList<>());
+
+
+        void addEvent(String event)
+        {
+            incomingEvents.add(new IncomingEvent(event, event));
+            super.notifyIncomingEvents();
+        }
+
+
+        @Override
+        protected List<IncomingEvent> checkForIncomingEvents()
+        {
+            synchronized (incomingEvents)
+            {
+                List<IncomingEvent> newEvents = new ArrayList<>(incomingEvents);
+
+                incomingEvents.clear();
+
+                return newEvents;
+            }
+        }
+
+
+        @Override
+        public void sendEvent(String event)
+        {
+            this.addEvent(event);
+        }
+    }
+
+
+    /**
+     * Listener that records the events it receives.  Each event takes a little time to process so that
+     * the dispatch threads overlap.  The instance events are ordered by the guid they contain.
+     */
+    private static class RecordingListener implements OpenMetadataTopicListener
+    {
+        private final List<String> events = new ArrayList<>();
+
+
+        @Override
+        public void processEvent(String event)
+        {
+            try
+            {
+                Thread.sleep(1);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (this)
+            {
+                events.add(event);
+                this.notifyAll();
+            }
+        }
+
+
+        @Override
+        public String getEventOrderingKey(String event)
+        {
+            if (event.startsWith("{\"instanceEventSection\""))
+            {
+                return event.split("\"")[7];
+            }
+
+            return null;
+        }
+
+
+        synchronized void waitForEvents(int eventCount) throws InterruptedException
+        {
+            long endTime = System.currentTimeMillis() + testTimeout;
+
+            while ((events.size() < eventCount) && (System.currentTimeMillis() < endTime))
+            {
+                this.wait(100);
+            }
+
+            assertEquals(events.size(), eventCount);
+        }
+
+
+        synchronized List<String> getEvents()
+        {
+            return new ArrayList<>(events);
+        }
+    }
+}
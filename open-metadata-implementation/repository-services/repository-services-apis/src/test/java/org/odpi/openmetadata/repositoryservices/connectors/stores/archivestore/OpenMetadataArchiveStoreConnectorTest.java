@@ -2,11 +2,31 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
 /**
- * OpenMetadataArchiveStoreConnectorTest just tests the null constructor and the fact that the connector
- * is auditable.
+ * OpenMetadataArchiveStoreConnectorTest tests the null constructor, the fact that the connector
+ * is auditable and the order the contents of an archive are passed to a content processor.
  */
 public class OpenMetadataArchiveStoreConnectorTest
 {
@@ -16,4 +36,61 @@ public class OpenMetadataArchiveStoreConnectorTest
 
        connector.setAuditLog(null);
    }
+
+
+   @Test public void testProcessEmptyArchive()
+   {
+       OpenMetadataArchiveStoreConnector connector = new MockOpenMetadataArchiveStoreConnector();
+
+       assertFalse(connector.processArchiveContents(new RecordingContentProcessor()));
+   }
+
+
+   @Test public void testProcessArchiveContentsOrder()
+   {
+       OpenMetadataArchive              archive       = new OpenMetadataArchive();
+       OpenMetadataArchiveTypeStore     typeStore     = new OpenMetadataArchiveTypeStore();
+       OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+       typeStore.setTypeDefPatches(Collections.singletonList(new TypeDefPatch()));
+       typeStore.setNewTypeDefs(Collections.singletonList(new EntityDef()));
+       typeStore.setAttributeTypeDefs(Collections.singletonList(new PrimitiveDef()));
+       instanceStore.setClassifications(Collections.singletonList(new ClassificationEntityExtension()));
+       instanceStore.setRelationships(Collections.singletonList(new Relationship()));
+       instanceStore.setEntities(Arrays.asList(new EntityDetail(), new EntityDetail()));
+
+       archive.setArchiveInstanceStore(instanceStore);
+       archive.setArchiveTypeStore(typeStore);
+       archive.setArchiveProperties(new OpenMetadataArchiveProperties());
+
+       RecordingContentProcessor contentProcessor = new RecordingContentProcessor();
+
+       OpenMetadataArchiveStoreConnector.processArchiveContents(archive, contentProcessor);
+
+       assertEquals(contentProcessor.elements, Arrays.asList("properties",
+                                                             "attributeTypeDef",
+                                                             "typeDef",
+                                                             "typeDefPatch",
+                                                             "entity",
+                                                             "entity",
+                                                             "relationship",
+                                                             "classification"));
+   }
+
+
+   /**
+    * Records the kind of each element it receives.
+    */
+   private static class RecordingContentProcessor implements OpenMetadataArchiveContentProcessor
+   {
+       private List<String> elements = new ArrayList<>();
+
+       public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties) { elements.add("properties"); }
+       public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef) { elements.add("attributeTypeDef"); }
+       public void processNewTypeDef(TypeDef typeDef) { elements.add("typeDef"); }
+       public void processTypeDefPatch(TypeDefPatch typeDefPatch) { elements.add("typeDefPatch"); }
+       public void processEntity(EntityDetail entity) { elements.add("entity"); }
+       public void processRelationship(Relationship relationship) { elements.add("relationship"); }
+       public void processClassification(ClassificationEntityExtension classification) { elements.add("classification"); }
+   }
 }
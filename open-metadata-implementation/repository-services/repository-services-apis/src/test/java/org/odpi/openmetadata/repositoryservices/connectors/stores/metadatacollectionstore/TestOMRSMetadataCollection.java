@@ -0,0 +1,132 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Validate the default implementations of the batch retrieval methods of OMRSMetadataCollection.
+ */
+public class TestOMRSMetadataCollection
+{
+    /**
+     * Default constructor
+     */
+    public TestOMRSMetadataCollection()
+    {
+    }
+
+
+    /**
+     * Unknown entities are skipped and each entity is returned once, in the order of the requested GUIDs.
+     */
+    @Test
+    public void testGetEntityDetails() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = new StubMetadataCollection(Arrays.asList("guid1", "guid2"));
+
+        List<EntityDetail> entities = metadataCollection.getEntityDetails("testUser",
+                                                                          Arrays.asList("guid2", "unknown", "guid1", "guid2"),
+                                                                          null);
+
+        List<String> guids = new ArrayList<>();
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        assertEquals(guids, Arrays.asList("guid2", "guid1"));
+        assertNull(metadataCollection.getEntityDetails("testUser", Collections.singletonList("unknown"), null));
+        assertNull(metadataCollection.getEntityDetails("testUser", null, null));
+    }
+
+
+    /**
+     * Unknown relationships are skipped and each relationship is returned once, in the order of the requested GUIDs.
+     */
+    @Test
+    public void testGetRelationships() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = new StubMetadataCollection(Arrays.asList("guid1", "guid2"));
+
+        List<Relationship> relationships = metadataCollection.getRelationships("testUser",
+                                                                               Arrays.asList("guid1", "guid1", "unknown", "guid2"),
+                                                                               null);
+
+        List<String> guids = new ArrayList<>();
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        assertEquals(guids, Arrays.asList("guid1", "guid2"));
+        assertNull(metadataCollection.getRelationships("testUser", Collections.singletonList("unknown"), null));
+    }
+
+
+    /**
+     * Metadata collection that knows a fixed set of instance GUIDs.
+     */
+    private static class StubMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private List<String> knownGUIDs;
+
+
+        StubMetadataCollection(List<String> knownGUIDs)
+        {
+            super(null, "testRepository", null, null, "testMetadataCollectionId");
+
+            this.knownGUIDs = knownGUIDs;
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException
+        {
+            if (! knownGUIDs.contains(guid))
+            {
+                throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(guid, "getEntityDetail", repositoryName),
+                                                  this.getClass().getName(),
+                                                  "getEntityDetail");
+            }
+
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID(guid);
+
+            return entity;
+        }
+
+
+        @Override
+        public Relationship getRelationship(String userId,
+                                            String guid) throws RelationshipNotKnownException
+        {
+            if (! knownGUIDs.contains(guid))
+            {
+                throw new RelationshipNotKnownException(OMRSErrorCode.RELATIONSHIP_NOT_KNOWN.getMessageDefinition(guid, "getRelationship", repositoryName),
+                                                        this.getClass().getName(),
+                                                        "getRelationship");
+            }
+
+            Relationship relationship = new Relationship();
+            relationship.setGUID(guid);
+
+            return relationship;
+        }
+    }
+}
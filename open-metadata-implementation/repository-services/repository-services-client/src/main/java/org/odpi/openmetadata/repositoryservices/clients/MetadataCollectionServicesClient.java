@@ -1228,6 +1228,48 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Null means none of the
+     * entities were found.
+     * @throws InvalidParameterException     a guid is null or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName           = "getEntityDetails";
+        final String operationSpecificURL = "instances/entities/by-guids";
+
+        InstanceGUIDListRequest requestBody = new InstanceGUIDListRequest();
+        requestBody.setGUIDs(guids);
+        requestBody.setAsOfTime(asOfTime);
+        EntityListResponse restResult = this.callEntityListPostRESTCall(methodName,
+                                                                        restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                        requestBody,
+                                                                        userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getEntities();
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1948,6 +1990,48 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return a list of relationships in a single request.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Null means none of
+     * the relationships were found.
+     * @throws InvalidParameterException     a guid is null or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName           = "getRelationships";
+        final String operationSpecificURL = "instances/relationships/by-guids";
+
+        InstanceGUIDListRequest requestBody = new InstanceGUIDListRequest();
+        requestBody.setGUIDs(guids);
+        requestBody.setAsOfTime(asOfTime);
+        RelationshipListResponse restResult = this.callRelationshipListPostRESTCall(methodName,
+                                                                                    restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                                    requestBody,
+                                                                                    userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getRelationships();
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -0,0 +1,409 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * OMRSArchiveLoader passes the contents of one open metadata archive to the local repository as the archive is read.
+ * Type definitions are passed one at a time.  Entities and relationships are passed in batches of a bounded size
+ * so that large archives never need to be held in memory.  All of the pending entities are passed before the first
+ * batch of relationships.  The progress of large archives is reported in the audit log.
+ *
+ * It is possible that the archive has been processed before and so any duplicates detected are ignored.
+ * However, conflicting TypeDefs and instances are detected.  Any problems found in applying the archive contents
+ * are recorded on the audit log by the processors.
+ */
+class OMRSArchiveLoader implements OpenMetadataArchiveContentProcessor
+{
+    private static final String actionDescription = "Process Open Metadata Archive";
+
+    private final String                              archiveSource;
+    private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+    private final OMRSInstanceEventProcessorInterface instanceProcessor;
+    private final AuditLog                            auditLog;
+    private final int                                 batchSize;
+    private final int                                 progressReportInterval;
+
+    /*
+     * Set up from the archive properties.
+     */
+    private OpenMetadataArchiveProperties archiveProperties          = null;
+    private String                        archiveId                  = null;
+    private String                        typeOriginatorServerType   = null;
+    private String                        originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
+    private InstanceProvenanceType        provenanceType             = InstanceProvenanceType.CONTENT_PACK;
+
+    private List<EntityDetail>            pendingEntities            = new ArrayList<>();
+    private List<Relationship>            pendingRelationships       = new ArrayList<>();
+
+    private int                           typeCount                  = 0;
+    private int                           instanceCount              = 0;
+    private int                           nextProgressReport;
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveSource source of the archive - such as file name
+     * @param typeDefProcessor processor of type definitions found in the archive
+     * @param instanceProcessor processor of instances found in the archive.  It may be null
+     *                          if there is no local repository configured for this server.
+     * @param auditLog audit log for the archive manager
+     * @param batchSize maximum number of instances passed to the instance processor in one batch
+     * @param progressReportInterval number of instances between two progress messages
+     */
+    OMRSArchiveLoader(String                              archiveSource,
+                      OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                      OMRSInstanceEventProcessorInterface instanceProcessor,
+                      AuditLog                            auditLog,
+                      int                                 batchSize,
+                      int                                 progressReportInterval)
+    {
+        this.archiveSource          = archiveSource;
+        this.typeDefProcessor       = typeDefProcessor;
+        this.instanceProcessor      = instanceProcessor;
+        this.auditLog               = auditLog;
+        this.batchSize              = batchSize;
+        this.progressReportInterval = progressReportInterval;
+        this.nextProgressReport     = progressReportInterval;
+    }
+
+
+    /**
+     * Process the header of the archive.  It is needed to process the rest of the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    @Override
+    public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+    {
+        this.archiveProperties = archiveProperties;
+
+        auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+
+        String originatorName = archiveProperties.getOriginatorName();
+
+        /*
+         * Originator name can not be null since it is used as the userId for calls to the repository
+         */
+        if (originatorName == null)
+        {
+            originatorName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
+        }
+
+        archiveId = originatorName + " (" + archiveProperties.getArchiveVersion() + ")";
+
+        if (archiveProperties.getArchiveType() != null)
+        {
+            typeOriginatorServerType = archiveProperties.getArchiveType().getName();
+        }
+
+        if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+        {
+            provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
+            originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+        }
+    }
+
+
+    /**
+     * Pass an attribute type definition to the type definition processor.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    @Override
+    public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+    {
+        if ((attributeTypeDef != null) && (archiveProperties != null) && (typeDefProcessor != null))
+        {
+            typeDefProcessor.processNewAttributeTypeDefEvent(archiveId,
+                                                             archiveProperties.getArchiveGUID(),
+                                                             archiveProperties.getArchiveName(),
+                                                             typeOriginatorServerType,
+                                                             archiveProperties.getOriginatorOrganization(),
+                                                             attributeTypeDef);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a new type definition to the type definition processor.
+     *
+     * @param typeDef type definition
+     */
+    @Override
+    public void processNewTypeDef(TypeDef typeDef)
+    {
+        if ((typeDef != null) && (archiveProperties != null) && (typeDefProcessor != null))
+        {
+            typeDefProcessor.processNewTypeDefEvent(archiveId,
+                                                    archiveProperties.getArchiveGUID(),
+                                                    archiveProperties.getArchiveName(),
+                                                    typeOriginatorServerType,
+                                                    archiveProperties.getOriginatorOrganization(),
+                                                    typeDef);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Pass a type definition patch to the type definition processor.
+     *
+     * @param typeDefPatch type definition patch
+     */
+    @Override
+    public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+    {
+        if ((typeDefPatch != null) && (archiveProperties != null) && (typeDefProcessor != null))
+        {
+            typeDefProcessor.processUpdatedTypeDefEvent(archiveId,
+                                                        archiveProperties.getArchiveGUID(),
+                                                        archiveProperties.getArchiveName(),
+                                                        typeOriginatorServerType,
+                                                        archiveProperties.getOriginatorOrganization(),
+                                                        typeDefPatch);
+            typeCount ++;
+        }
+    }
+
+
+    /**
+     * Add an entity to the pending batch of entities.
+     *
+     * @param entity entity
+     */
+    @Override
+    public void processEntity(EntityDetail entity)
+    {
+        if ((entity != null) && (archiveProperties != null) && (instanceProcessor != null))
+        {
+            setInstanceAuditHeader(entity);
+            pendingEntities.add(entity);
+
+            if (pendingEntities.size() >= batchSize)
+            {
+                passPendingEntities();
+            }
+        }
+    }
+
+
+    /**
+     * Add a relationship to the pending batch of relationships.  The pending entities are passed first since
+     * the relationship may link them.
+     *
+     * @param relationship relationship
+     */
+    @Override
+    public void processRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && (archiveProperties != null) && (instanceProcessor != null))
+        {
+            passPendingEntities();
+
+            setInstanceAuditHeader(relationship);
+            pendingRelationships.add(relationship);
+
+            if (pendingRelationships.size() >= batchSize)
+            {
+                passPendingRelationships();
+            }
+        }
+    }
+
+
+    /**
+     * Set up the header of a classification.  Classifications are not yet passed to the local repository.
+     *
+     * @param classificationEntityExtension classification and the entity it is attached to
+     */
+    @Override
+    public void processClassification(ClassificationEntityExtension classificationEntityExtension)
+    {
+        if ((classificationEntityExtension != null) && (archiveProperties != null) && (instanceProcessor != null))
+        {
+            Classification classification = classificationEntityExtension.getClassification();
+
+            this.setInstanceAuditHeader(classification);
+
+            classificationEntityExtension.setClassification(classification);
+        }
+    }
+
+
+    /**
+     * Pass the last batches of instances to the local repository and report the outcome of the archive
+     * processing.  This is called once the whole archive has been read.
+     */
+    void complete()
+    {
+        if (archiveProperties != null)
+        {
+            passPendingInstances();
+
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                     Integer.toString(instanceCount),
+                                                                                     archiveProperties.getArchiveName()));
+        }
+        else
+        {
+            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+        }
+    }
+
+
+    /**
+     * Return whether the header of the archive has been processed.
+     *
+     * @return boolean flag
+     */
+    boolean isStarted()
+    {
+        return archiveProperties != null;
+    }
+
+
+    /**
+     * Pass the pending batches of instances to the local repository.  This is called directly when the archive
+     * store stopped reading the archive because of an error, so the instances read before the error are kept.
+     */
+    void passPendingInstances()
+    {
+        passPendingEntities();
+        passPendingRelationships();
+    }
+
+
+    private void passPendingEntities()
+    {
+        if (! pendingEntities.isEmpty())
+        {
+            passBatch(pendingEntities, new ArrayList<>());
+            pendingEntities = new ArrayList<>();
+        }
+    }
+
+
+    private void passPendingRelationships()
+    {
+        if (! pendingRelationships.isEmpty())
+        {
+            passBatch(new ArrayList<>(), pendingRelationships);
+            pendingRelationships = new ArrayList<>();
+        }
+    }
+
+
+    /**
+     * The instances are passed to the local repository as a batch so that repositories that support bulk loading
+     * can store them with fewer transactions.  Each instance is still validated individually.
+     *
+     * @param entities entities of the batch
+     * @param relationships relationships of the batch
+     */
+    private void passBatch(List<EntityDetail> entities,
+                           List<Relationship> relationships)
+    {
+        InstanceGraph archiveInstances = new InstanceGraph();
+
+        archiveInstances.setEntities(entities);
+        archiveInstances.setRelationships(relationships);
+
+        instanceProcessor.processInstanceBatchEvent(archiveId,
+                                                    archiveProperties.getArchiveGUID(),
+                                                    archiveProperties.getArchiveName(),
+                                                    originatorServerType,
+                                                    archiveProperties.getOriginatorOrganization(),
+                                                    archiveInstances);
+
+        instanceCount = instanceCount + entities.size() + relationships.size();
+
+        if (instanceCount >= nextProgressReport)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.ARCHIVE_LOADING_PROGRESS.getMessageDefinition(Integer.toString(instanceCount),
+                                                                                            archiveProperties.getArchiveName()));
+
+            while (nextProgressReport <= instanceCount)
+            {
+                nextProgressReport = nextProgressReport + progressReportInterval;
+            }
+        }
+    }
+
+
+    /**
+     * Set up the header of an archive instance.
+     *
+     * @param instance instance to fill in
+     */
+    private void setInstanceAuditHeader(InstanceAuditHeader instance)
+    {
+        String metadataCollectionId   = archiveProperties.getArchiveGUID();
+        String metadataConnectionName = archiveProperties.getArchiveName();
+        String originatorName         = archiveProperties.getOriginatorName();
+        Date   creationTime           = archiveProperties.getCreationDate();
+        String originatorLicense      = archiveProperties.getOriginatorLicense();
+
+        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+        {
+            if (instance.getMetadataCollectionId() == null)
+            {
+                instance.setMetadataCollectionId(metadataCollectionId);
+            }
+
+            if (instance.getMetadataCollectionName() == null)
+            {
+                instance.setMetadataCollectionName(metadataConnectionName);
+            }
+
+            if (instance.getCreatedBy() == null)
+            {
+                instance.setCreatedBy(originatorName);
+            }
+
+            if (instance.getCreateTime() == null)
+            {
+                instance.setCreateTime(creationTime);
+            }
+
+            if (instance.getInstanceProvenanceType() == null)
+            {
+                instance.setInstanceProvenanceType(provenanceType);
+            }
+
+            if (instance.getInstanceLicense() == null)
+            {
+                instance.setInstanceLicense(originatorLicense);
+            }
+        }
+        else /* assume this is a content pack and set up instances consistently */
+        {
+            instance.setMetadataCollectionId(metadataCollectionId);
+            instance.setMetadataCollectionName(metadataConnectionName);
+            instance.setCreatedBy(originatorName);
+            instance.setCreateTime(creationTime);
+            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
+            instance.setInstanceLicense(originatorLicense);
+        }
+    }
+}
@@ -3,23 +3,17 @@
 package org.odpi.openmetadata.repositoryservices.archivemanager;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
-import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesSnapshot;
 
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
-import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -28,6 +22,13 @@ import java.util.List;
  */
 public class OMRSArchiveManager
 {
+    /*
+     * The instances of an archive are passed to the local repository in batches of at most instanceBatchSize
+     * instances.  The progress is reported every progressReportInterval instances.
+     */
+    private static final int instanceBatchSize      = 1000;
+    private static final int progressReportInterval = 10000;
+
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private OMRSInstanceEventProcessorInterface     localInstanceEventProcessor = null;
@@ -132,17 +133,20 @@ public class OMRSArchiveManager
      */
     private void processOpenMetadataTypes()
     {
-        OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
-        OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+        /*
+         * The open metadata types are built once and shared by all of the servers in the JVM.
+         */
+        OpenMetadataArchive openMetadataTypes = OpenMetadataTypesSnapshot.getOpenMetadataArchive();
 
-        repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
+        repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypes.getArchiveProperties().getArchiveGUID());
         processOpenMetadataArchive(openMetadataTypes, "Open Metadata Types", repositoryContentManager, localInstanceEventProcessor);
     }
 
 
     /**
      * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  The contents are passed to the repository as they are read from the
+     * archive store, so large archives do not need to fit in memory.
      *
      * @param archiveStore open metadata archive  to process
      * @param archiveSource source of the archive - such as file name
@@ -160,17 +164,29 @@ public class OMRSArchiveManager
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
              * metadata instances.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            OMRSArchiveLoader archiveLoader = new OMRSArchiveLoader(archiveSource,
+                                                                    typeDefProcessor,
+                                                                    instanceProcessor,
+                                                                    auditLog,
+                                                                    instanceBatchSize,
+                                                                    progressReportInterval);
 
-            if (archiveContent == null)
+            if (archiveStore.processArchiveContents(archiveLoader))
             {
-                final String     actionDescription = "Process Open Metadata Archive";
-
-                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+                archiveLoader.complete();
+            }
+            else if (archiveLoader.isStarted())
+            {
+                /*
+                 * The archive store has reported why it stopped reading the archive.
+                 */
+                archiveLoader.passPendingInstances();
             }
             else
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                final String     actionDescription = "Process Open Metadata Archive";
+
+                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
             }
         }
     }
@@ -190,342 +206,14 @@ public class OMRSArchiveManager
                                             OMRSTypeDefEventProcessorInterface    typeDefProcessor,
                                             OMRSInstanceEventProcessorInterface   instanceProcessor)
     {
-        final String     actionDescription = "Process Open Metadata Archive";
-
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
-
-        if (archiveProperties != null)
-        {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
-
-
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
-
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
-
-
-            if (archiveTypeStore != null)
-            {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
-            }
-
-            if (archiveInstanceStore != null)
-            {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
-            }
-
-            auditLog.logMessage(actionDescription,
-                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
-                                                                                     Integer.toString(instanceCount),
-                                                                                     archiveProperties.getArchiveName()));
-        }
-        else
-        {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
-        }
-    }
-
-
-    /**
-     * The TypeStore is in two parts.  First there is an optional list of patches to existing TypeDefs.
-     * Then an optional list of new TypeDefs.  It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties of the archive used for logging
-     * @param archiveTypeStore TypeStore from the archive
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @return type count
-     */
-    private int  processTypeDefStore(OpenMetadataArchiveProperties          archiveProperties,
-                                     OpenMetadataArchiveTypeStore           archiveTypeStore,
-                                     OMRSTypeDefEventProcessorInterface     typeDefProcessor)
-    {
-        List<TypeDefPatch>     typeDefPatches       = archiveTypeStore.getTypeDefPatches();
-        List<AttributeTypeDef> newAttributeTypeDefs = archiveTypeStore.getAttributeTypeDefs();
-        List<TypeDef>          newTypeDefs          = archiveTypeStore.getNewTypeDefs();
-        int                    typeCount            = 0;
-
-        if (typeDefProcessor != null)
-        {
-            String       sourceName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String       originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
-            String       originatorServerName = archiveProperties.getArchiveName();
-            String       originatorServerType = null;
-            String       originatorName = archiveProperties.getOriginatorName();
-            String       archiveVersion = archiveProperties.getArchiveVersion();
-            String       originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-
-            /*
-             * Originator name can not be null since it is used as the userId for calls to the repository
-             */
-            if (originatorName == null)
-            {
-                originatorName = sourceName;
-            }
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
-
-            if (archiveProperties.getArchiveType() != null)
-            {
-                originatorServerType = archiveProperties.getArchiveType().getName();
-            }
-
-            if (newAttributeTypeDefs != null)
-            {
-                for (AttributeTypeDef newAttributeTypeDef : newAttributeTypeDefs)
-                {
-                    if (newAttributeTypeDef != null)
-                    {
-                        typeDefProcessor.processNewAttributeTypeDefEvent(archiveId,
-                                                                         originatorMetadataCollectionId,
-                                                                         originatorServerName,
-                                                                         originatorServerType,
-                                                                         originatorOrganizationName,
-                                                                         newAttributeTypeDef);
-
-                        typeCount ++;
-                    }
-                }
-            }
-
-            if (newTypeDefs != null)
-            {
-                for (TypeDef newTypeDef : newTypeDefs)
-                {
-                    if (newTypeDef != null)
-                    {
-                        typeDefProcessor.processNewTypeDefEvent(archiveId,
-                                                                originatorMetadataCollectionId,
-                                                                originatorServerName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                newTypeDef);
-                        typeCount ++;
-                    }
-                }
-            }
-
-            if (typeDefPatches != null)
-            {
-                for (TypeDefPatch typeDefPatch : typeDefPatches)
-                {
-                    if (typeDefPatch != null)
-                    {
-                        typeDefProcessor.processUpdatedTypeDefEvent(archiveId,
-                                                                    originatorMetadataCollectionId,
-                                                                    originatorServerName,
-                                                                    originatorServerType,
-                                                                    originatorOrganizationName,
-                                                                    typeDefPatch);
-                        typeCount ++;
-                    }
-                }
-            }
-        }
-
-        return typeCount;
-    }
-
-
-    /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
-     *
-     * It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting instances are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
-     */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
-    {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
-
-        if (instanceProcessor != null)
-        {
-            String                 sourceName                 = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 archiveVersion             = archiveProperties.getArchiveVersion();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
-
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
-            {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
-            }
-
-
-            if (entities != null)
-            {
-                for (EntityDetail entity : entities)
-                {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
-
-                        instanceProcessor.processNewEntityEvent(archiveId,
-                                                                homeMetadataCollectionId,
-                                                                archiveName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                entity);
-
-                        instanceCount++;
-                    }
-                }
-            }
-
-
-            if (relationships != null)
-            {
-                for (Relationship relationship : relationships)
-                {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                      homeMetadataCollectionId,
-                                                                      archiveName,
-                                                                      originatorServerType,
-                                                                      originatorOrganizationName,
-                                                                      relationship);
-
-                        instanceCount ++;
-                    }
-                }
-            }
-
-
-            if (classifications != null)
-            {
-                for (ClassificationEntityExtension classificationEntityExtension : classifications)
-                {
-                    if (classificationEntityExtension != null)
-                    {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
-                        // Todo
-                        /* new method required
-                        instanceProcessor.processNewClassificationEvent(archiveId,
-                                                                        homeMetadataCollectionId,
-                                                                        originatorServerName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        classificationEntityExtension);
-
-                        instanceCount ++;
-                        */
-                    }
-                }
-            }
-        }
-
-        return instanceCount;
-    }
-
-
-    /**
-     * Set up the header of an archive instance.
-     *
-     * @param metadataCollectionId home metadata collection id
-     * @param metadataConnectionName name of the metadata collection
-     * @param originatorName originator name
-     * @param creationTime creation time of archive
-     * @param provenanceType type of archive
-     * @param originatorLicense any license info
-     * @param instance instance to fill in
-     */
-    private void setInstanceAuditHeader(String                 metadataCollectionId,
-                                        String                 metadataConnectionName,
-                                        String                 originatorName,
-                                        Date                   creationTime,
-                                        InstanceProvenanceType provenanceType,
-                                        String                 originatorLicense,
-                                        InstanceAuditHeader    instance)
-    {
-        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
-        {
-            if (instance.getMetadataCollectionId() == null)
-            {
-                instance.setMetadataCollectionId(metadataCollectionId);
-            }
-
-            if (instance.getMetadataCollectionName() == null)
-            {
-                instance.setMetadataCollectionName(metadataConnectionName);
-            }
-
-            if (instance.getCreatedBy() == null)
-            {
-                instance.setCreatedBy(originatorName);
-            }
-
-            if (instance.getCreateTime() == null)
-            {
-                instance.setCreateTime(creationTime);
-            }
-
-            if (instance.getInstanceProvenanceType() == null)
-            {
-                instance.setInstanceProvenanceType(provenanceType);
-            }
-
-            if (instance.getInstanceLicense() == null)
-            {
-                instance.setInstanceLicense(originatorLicense);
-            }
-        }
-        else /* assume this is a content pack and set up instances consistently */
-        {
-            instance.setMetadataCollectionId(metadataCollectionId);
-            instance.setMetadataCollectionName(metadataConnectionName);
-            instance.setCreatedBy(originatorName);
-            instance.setCreateTime(creationTime);
-            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
-            instance.setInstanceLicense(originatorLicense);
-        }
+        OMRSArchiveLoader archiveLoader = new OMRSArchiveLoader(archiveSource,
+                                                                typeDefProcessor,
+                                                                instanceProcessor,
+                                                                auditLog,
+                                                                instanceBatchSize,
+                                                                progressReportInterval);
+
+        OpenMetadataArchiveStoreConnector.processArchiveContents(archiveContent, archiveLoader);
+        archiveLoader.complete();
     }
 }
@@ -6,6 +6,8 @@ import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperti
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.Map;
+
 /**
  * EnterpriseOMRSConnection provides a valid connection for the EnterpriseOMRSConnector.
  */
@@ -26,4 +28,18 @@ public class EnterpriseOMRSConnection extends ConnectionProperties
         connectorType.setConnectorProviderClassName(EnterpriseOMRSConnectorProvider.class.getName());
         connectionBean.setConnectorType(connectorType);
     }
+
+
+    /**
+     * Constructor that sets up the connector with the configuration properties from the
+     * enterprise access configuration.
+     *
+     * @param configurationProperties properties controlling federation (null means use the defaults)
+     */
+    public EnterpriseOMRSConnection(Map<String, Object> configurationProperties)
+    {
+        this();
+
+        super.getConnectionBean().setConfigurationProperties(configurationProperties);
+    }
 }
@@ -14,11 +14,14 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedQueryCursor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedQueryCursorCache;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.*;
@@ -61,6 +64,17 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     private String                            localMetadataCollectionId;
     private AuditLog                          auditLog;
 
+    /*
+     * Cursors for the paged queries that are in progress
+     */
+    private static final int  maxQueryCursors    = 100;
+    private static final long queryCursorTimeout = 5 * 60 * 1000;
+
+    private FederatedQueryCursorCache<EntityDetail> entityQueryCursors       = new FederatedQueryCursorCache<>(maxQueryCursors,
+                                                                                                               queryCursorTimeout);
+    private FederatedQueryCursorCache<Relationship> relationshipQueryCursors = new FederatedQueryCursorCache<>(maxQueryCursors,
+                                                                                                               queryCursorTimeout);
+
 
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection Id.
@@ -133,7 +147,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -1060,6 +1074,68 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The request is issued to each
+     * repository in parallel and the results are combined.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Null means none of the
+     * entities were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl   federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
+        GetEntitiesExecutor executor          = new GetEntitiesExecutor(userId,
+                                                                        guids,
+                                                                        asOfTime,
+                                                                        localMetadataCollectionId,
+                                                                        auditLog,
+                                                                        repositoryValidator,
+                                                                        methodName);
+
+        /*
+         * Ready to process the request.  The request is issued to all repositories and the results combined.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1132,7 +1208,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1251,7 +1327,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByPropertyExecutor executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                               entityTypeGUID,
                                                                                               matchProperties,
@@ -1357,7 +1433,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesExecutor executor       = new FindEntitiesExecutor(userId,
                                                                        entityTypeGUID,
                                                                        entitySubtypeGUIDs,
@@ -1374,6 +1450,38 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                        repositoryValidator,
                                                                        methodName);
 
+        /*
+         * When cursors are enabled, a paged query continues from the position that the previous page
+         * reached in each repository.
+         */
+        FederatedQueryCursor<EntityDetail> queryCursor = null;
+        String                             queryKey    = null;
+
+        if ((enterpriseParentConnector.isFederatedQueryCursors()) && (pageSize > 0))
+        {
+            queryKey = this.getQueryKey(userId,
+                                        methodName,
+                                        entityTypeGUID,
+                                        entitySubtypeGUIDs,
+                                        matchProperties,
+                                        limitResultsByStatus,
+                                        matchClassifications,
+                                        asOfTime,
+                                        sequencingProperty,
+                                        sequencingOrder,
+                                        pageSize);
+
+            queryCursor = entityQueryCursors.getCursor(queryKey, fromEntityElement);
+
+            if (queryCursor == null)
+            {
+                queryCursor = new FederatedQueryCursor<>(OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty,
+                                                                                                         sequencingOrder));
+            }
+
+            executor.setQueryCursor(queryCursor);
+        }
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1381,7 +1489,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getResults(enterpriseParentConnector);
+        List<EntityDetail> results = executor.getResults(enterpriseParentConnector);
+
+        if ((queryCursor != null) && (results != null))
+        {
+            entityQueryCursors.saveCursor(queryKey, queryCursor);
+        }
+
+        return results;
     }
 
 
@@ -1469,7 +1584,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByClassificationExecutor executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                           entityTypeGUID,
                                                                                                           classificationName,
@@ -1577,7 +1692,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1752,6 +1867,68 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships.  The request is issued to each repository in parallel and the results
+     * are combined.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Null means none of the
+     * relationships were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl        federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
+        GetRelationshipsExecutor executor          = new GetRelationshipsExecutor(userId,
+                                                                                  guids,
+                                                                                  asOfTime,
+                                                                                  localMetadataCollectionId,
+                                                                                  auditLog,
+                                                                                  repositoryValidator,
+                                                                                  methodName);
+
+        /*
+         * Ready to process the request.  The request is issued to all repositories and the results combined.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be received as a series of
      * pages.
@@ -1830,7 +2007,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1846,6 +2023,38 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                     repositoryValidator,
                                                                                     methodName);
 
+        /*
+         * When cursors are enabled, a paged query continues from the position that the previous page
+         * reached in each repository.
+         */
+        FederatedQueryCursor<Relationship> queryCursor = null;
+        String                             queryKey    = null;
+
+        if ((enterpriseParentConnector.isFederatedQueryCursors()) && (pageSize > 0))
+        {
+            queryKey = this.getQueryKey(userId,
+                                        methodName,
+                                        relationshipTypeGUID,
+                                        relationshipSubtypeGUIDs,
+                                        matchProperties,
+                                        limitResultsByStatus,
+                                        null,
+                                        asOfTime,
+                                        sequencingProperty,
+                                        sequencingOrder,
+                                        pageSize);
+
+            queryCursor = relationshipQueryCursors.getCursor(queryKey, fromRelationshipElement);
+
+            if (queryCursor == null)
+            {
+                queryCursor = new FederatedQueryCursor<>(OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty,
+                                                                                                               sequencingOrder));
+            }
+
+            executor.setQueryCursor(queryCursor);
+        }
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1853,7 +2062,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getResults(enterpriseParentConnector);
+        List<Relationship> results = executor.getResults(enterpriseParentConnector);
+
+        if ((queryCursor != null) && (results != null))
+        {
+            relationshipQueryCursors.saveCursor(queryKey, queryCursor);
+        }
+
+        return results;
     }
 
 
@@ -1935,7 +2151,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -2039,7 +2255,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -4512,6 +4728,63 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create the federation control for a query that is issued to all of the repositories.  The
+     * parent connector supplies the worker threads (if federation is parallel) and the time limit.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName name of calling method
+     * @return federation control for the query
+     */
+    private FederationControl getParallelFederationControl(String                        userId,
+                                                           List<OMRSRepositoryConnector> cohortConnectors,
+                                                           String                        methodName)
+    {
+        return new ParallelFederationControl(userId,
+                                             cohortConnectors,
+                                             enterpriseParentConnector.getFederationExecutor(),
+                                             enterpriseParentConnector.getFederationTimeout(),
+                                             auditLog,
+                                             methodName);
+    }
+
+
+    /**
+     * Build the key that identifies a paged query in the query cursor caches.  It is made from all of the
+     * query parameters except the starting element.
+     *
+     * @param userId calling user
+     * @param methodName name of the query method
+     * @param typeGUID unique identifier of the instance type
+     * @param subtypeGUIDs unique identifiers of the instance subtypes
+     * @param matchProperties properties to match
+     * @param limitResultsByStatus statuses to match
+     * @param matchClassifications classifications to match
+     * @param asOfTime time of the query
+     * @param sequencingProperty property used to sequence the results
+     * @param sequencingOrder sequencing order of the results
+     * @param pageSize maximum number of results per page
+     * @return query key
+     */
+    private String getQueryKey(String                userId,
+                               String                methodName,
+                               String                typeGUID,
+                               List<String>          subtypeGUIDs,
+                               SearchProperties      matchProperties,
+                               List<InstanceStatus>  limitResultsByStatus,
+                               SearchClassifications matchClassifications,
+                               Date                  asOfTime,
+                               String                sequencingProperty,
+                               SequencingOrder       sequencingOrder,
+                               int                   pageSize)
+    {
+        return userId + "|" + methodName + "|" + typeGUID + "|" + subtypeGUIDs + "|" + matchProperties + "|"
+                       + limitResultsByStatus + "|" + matchClassifications + "|" + (asOfTime == null ? null : asOfTime.getTime()) + "|"
+                       + sequencingProperty + "|" + sequencingOrder + "|" + pageSize;
+    }
+
+
     /**
      * Verify that a cohort member's metadata collection is not null.
      *
@@ -20,6 +20,12 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -34,6 +40,19 @@ import java.util.List;
  *     repositories in the connected open metadata repository cohort(s).  It does by registering as an OMRSConnectorConsumer
  *     with the OMRSConnectorManager to be notified when connectors to new open metadata repositories are available.
  * </p>
+ * <p>
+ *     Federated queries are issued to the repositories in parallel using a bounded pool of worker threads.
+ *     The configuration properties of the connection control the federation:
+ * </p>
+ * <ul>
+ *     <li>federationMode - "parallel" (the default) or "sequential" to call each repository in turn.</li>
+ *     <li>federationThreadCount - maximum number of worker threads (default 10).</li>
+ *     <li>federationTimeout - milliseconds to wait for each repository to respond to a federated query, measured from when its request starts
+ *     (default 60000, zero means wait forever).</li>
+ *     <li>federatedQueryCursors - true to page through the results of findEntities and findRelationships with a
+ *     cursor that merges the sequenced results from each repository and continues from the end of the previous page
+ *     (default false).</li>
+ * </ul>
  */
 public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector implements OMRSConnectorConsumer
 {
@@ -47,6 +66,22 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
     private String callingServiceName = null;
 
+    private ExecutorService                     federationExecutor        = null;
+    private long                                federationTimeout         = defaultFederationTimeout;
+    private boolean                             federatedQueryCursors     = false;
+
+    public static final String federationModeProperty        = "federationMode";
+    public static final String federationThreadCountProperty = "federationThreadCount";
+    public static final String federationTimeoutProperty     = "federationTimeout";
+    public static final String federatedQueryCursorsProperty = "federatedQueryCursors";
+
+    public static final String parallelFederationMode   = "parallel";
+    public static final String sequentialFederationMode = "sequential";
+
+    private static final int  defaultFederationThreadCount = 10;
+    private static final int  federationQueueSizePerThread = 10;
+    private static final long defaultFederationTimeout     = 60000;
+
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
     /**
@@ -123,6 +158,8 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             auditLog.logMessage(actionDescription, OMRSAuditCode.STARTING_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
         }
 
+        this.startFederationExecutor();
+
         if (connectorManager != null)
         {
             this.connectorConsumerId = connectorManager.registerConnectorConsumer(this);
@@ -160,11 +197,117 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             connectorManager.unregisterConnectorConsumer(connectorConsumerId);
         }
 
+        if (federationExecutor != null)
+        {
+            federationExecutor.shutdownNow();
+            federationExecutor = null;
+        }
+
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
     }
 
 
+    /**
+     * Set up the federation options and the worker threads for federated queries from the configuration
+     * properties of the connection.
+     * No worker threads are created if the federation mode is sequential.
+     */
+    private void startFederationExecutor()
+    {
+        String federationMode = parallelFederationMode;
+        int    threadCount    = defaultFederationThreadCount;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object modeProperty        = configurationProperties.get(federationModeProperty);
+                Object threadCountProperty = configurationProperties.get(federationThreadCountProperty);
+                Object timeoutProperty     = configurationProperties.get(federationTimeoutProperty);
+                Object cursorsProperty     = configurationProperties.get(federatedQueryCursorsProperty);
+
+                if (modeProperty != null)
+                {
+                    federationMode = modeProperty.toString();
+                }
+
+                if (threadCountProperty instanceof Number)
+                {
+                    threadCount = ((Number)threadCountProperty).intValue();
+                }
+
+                if (timeoutProperty instanceof Number)
+                {
+                    federationTimeout = Math.max(((Number)timeoutProperty).longValue(), 0);
+                }
+
+                if (cursorsProperty != null)
+                {
+                    federatedQueryCursors = Boolean.parseBoolean(cursorsProperty.toString());
+                }
+            }
+        }
+
+        if ((! sequentialFederationMode.equalsIgnoreCase(federationMode)) && (threadCount > 0))
+        {
+            final String        threadNamePrefix = "EnterpriseFederation-" + callingServiceName + "-";
+            final AtomicInteger threadNumber     = new AtomicInteger(0);
+
+            ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threadCount,
+                                                                   threadCount,
+                                                                   60,
+                                                                   TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(threadCount * federationQueueSizePerThread),
+                                                                   (runnable) ->
+                                                                   {
+                                                                       Thread thread = new Thread(runnable,
+                                                                                                  threadNamePrefix + threadNumber.incrementAndGet());
+                                                                       thread.setDaemon(true);
+                                                                       return thread;
+                                                                   });
+
+            threadPool.allowCoreThreadTimeOut(true);
+            federationExecutor = threadPool;
+        }
+    }
+
+
+    /**
+     * Return the worker threads for federated queries.
+     *
+     * @return executor service or null if the repositories are to be called in turn
+     */
+    ExecutorService getFederationExecutor()
+    {
+        return federationExecutor;
+    }
+
+
+    /**
+     * Return the number of milliseconds to wait for the repositories to respond to a federated query.
+     *
+     * @return timeout in milliseconds (zero means wait forever)
+     */
+    long getFederationTimeout()
+    {
+        return federationTimeout;
+    }
+
+
+    /**
+     * Return whether paged queries should use cursors to continue from the end of the previous page.
+     *
+     * @return boolean flag
+     */
+    boolean isFederatedQueryCursors()
+    {
+        return federatedQueryCursors;
+    }
+
+
     /**
      * Returns the metadata collection to the repository where the supplied classification can be updated, ie its home repository.
      *
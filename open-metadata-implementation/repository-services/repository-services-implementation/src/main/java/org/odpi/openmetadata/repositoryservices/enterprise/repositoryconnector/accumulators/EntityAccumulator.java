@@ -214,6 +214,49 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Extract the results for a page built by a query cursor.  The entities are returned in the sequence of the page,
+     * each one being the latest version received with its classifications merged from all of its copies.
+     *
+     * @param repositoryConnector enterprise connector
+     * @param entityGUIDs unique identifiers of the entities in the page in sequence
+     * @return list of entities
+     */
+    public synchronized List<EntityDetail> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                      List<String>                      entityGUIDs)
+    {
+        if (accumulatedEntities.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector);
+
+        List<EntityDetail>  results = new ArrayList<>();
+
+        for (String entityGUID : entityGUIDs)
+        {
+            EntityDetail accumulatedEntity = accumulatedEntities.get(entityGUID);
+
+            if (accumulatedEntity != null)
+            {
+                EntityDetail resultEntity = new EntityDetail(accumulatedEntity);
+
+                resultEntity.setClassifications(accumulatedClassifications.get(entityGUID));
+
+                results.add(resultEntity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the list of entities that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
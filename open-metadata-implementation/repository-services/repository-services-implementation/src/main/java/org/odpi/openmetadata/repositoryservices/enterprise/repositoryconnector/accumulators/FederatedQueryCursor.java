@@ -0,0 +1,413 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * FederatedQueryCursor keeps the position of a paged federated query in each of the repositories that
+ * it is issued to.  The executors fill a buffer for each repository with the next results in the repository's
+ * sequence, starting from where the previous request to that repository stopped.  The pages returned to the
+ * caller are built by merging the buffers in the sequencing order (a k-way merge).  This means the next page
+ * of results continues from the end of the previous page rather than re-retrieving the earlier results
+ * from every repository.
+ *
+ * Instances returned by more than one repository are only returned once.  The copies of an instance that are
+ * merged into the same page are all passed back with the page so that the accumulator can select the latest version
+ * and merge the classifications.  The cursor remembers a limited number of the most recently returned GUIDs
+ * so a copy that turns up in a later page is dropped as long as its GUID is still remembered.
+ *
+ * The merge stops if the buffer of a repository that has more results runs out, because its next result may
+ * sort ahead of the results in the other buffers.  Only the repositories that were successfully called for the page
+ * being built can stop the merge.  A repository whose request failed is retried when the next page is requested.
+ *
+ * This class may be called simultaneously from many different threads so it must be thread-safe.
+ *
+ * @param <T> type of instance
+ */
+public class FederatedQueryCursor<T extends InstanceHeader>
+{
+    private static final int defaultMaxReturnedGUIDs = 10000;
+
+    private final Comparator<T>                 comparator;
+    private final Map<String, RepositoryBuffer> repositoryBuffers = new LinkedHashMap<>();
+    private final Set<String>                   returnedGUIDs;
+    private int                                 nextElement       = 0;
+    private long                                lastUsedTime      = System.currentTimeMillis();
+
+
+    /**
+     * Constructor for a new query.
+     *
+     * @param comparator comparator for the sequencing order of the query - null means the results are not sequenced
+     */
+    public FederatedQueryCursor(Comparator<T> comparator)
+    {
+        this(comparator, defaultMaxReturnedGUIDs);
+    }
+
+
+    /**
+     * Constructor for a new query that sets the number of returned GUIDs remembered for removing duplicates.
+     *
+     * @param comparator comparator for the sequencing order of the query - null means the results are not sequenced
+     * @param maxReturnedGUIDs maximum number of returned GUIDs to remember
+     */
+    public FederatedQueryCursor(Comparator<T> comparator,
+                                int           maxReturnedGUIDs)
+    {
+        this.comparator = comparator;
+        this.returnedGUIDs = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest)
+            {
+                return size() > maxReturnedGUIDs;
+            }
+        });
+    }
+
+
+    /**
+     * Return the element number of the first result in the next page.
+     *
+     * @return element number
+     */
+    public synchronized int getNextElement()
+    {
+        return nextElement;
+    }
+
+
+    /**
+     * Return the time that this cursor was last used to retrieve a page of results.
+     *
+     * @return time in milliseconds
+     */
+    public synchronized long getLastUsedTime()
+    {
+        return lastUsedTime;
+    }
+
+
+    /**
+     * Return the element number to use in the next request to a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository
+     * @return element number in the repository's sequence of results
+     */
+    public synchronized int getRepositoryNextElement(String metadataCollectionId)
+    {
+        RepositoryBuffer repositoryBuffer = repositoryBuffers.get(metadataCollectionId);
+
+        if (repositoryBuffer == null)
+        {
+            return 0;
+        }
+
+        return repositoryBuffer.nextRepositoryElement;
+    }
+
+
+    /**
+     * Return the number of additional results needed from a repository to be able to build the requested page.
+     * The repository must supply enough results to fill the page on its own, because the merge does not know
+     * in advance which repositories the results will come from.
+     *
+     * The repository is expected to supply its results for the page being built once this has been called.
+     *
+     * @param metadataCollectionId unique identifier of the repository
+     * @param fromElement starting element of the requested page
+     * @param pageSize maximum number of results in the requested page
+     * @return number of results to retrieve - zero means the buffer holds enough, or the repository has no more results
+     */
+    public synchronized int getResultsNeeded(String metadataCollectionId,
+                                             int    fromElement,
+                                             int    pageSize)
+    {
+        int              resultsRequired  = Math.max(fromElement - nextElement, 0) + pageSize;
+        RepositoryBuffer repositoryBuffer = repositoryBuffers.computeIfAbsent(metadataCollectionId, RepositoryBuffer::new);
+
+        repositoryBuffer.upToDate = true;
+
+        if (repositoryBuffer.exhausted)
+        {
+            return 0;
+        }
+
+        return Math.max(resultsRequired - repositoryBuffer.results.size(), 0);
+    }
+
+
+    /**
+     * Save the results retrieved from a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository
+     * @param results results from the repository (in the repository's sequence)
+     * @param requestedResults the number of results that were requested - fewer results means the repository has
+     *                         no more results
+     */
+    public synchronized void addResults(String  metadataCollectionId,
+                                        List<T> results,
+                                        int     requestedResults)
+    {
+        RepositoryBuffer repositoryBuffer = repositoryBuffers.computeIfAbsent(metadataCollectionId, RepositoryBuffer::new);
+
+        if (results != null)
+        {
+            for (T result : results)
+            {
+                if (result != null)
+                {
+                    repositoryBuffer.results.addLast(result);
+                }
+            }
+
+            repositoryBuffer.nextRepositoryElement = repositoryBuffer.nextRepositoryElement + results.size();
+        }
+
+        if ((results == null) || (results.size() < requestedResults))
+        {
+            repositoryBuffer.exhausted = true;
+        }
+    }
+
+
+    /**
+     * Record that the latest request to a repository failed.  The repository can not stop the merge of the page that
+     * is being built so that the other repositories can still return results.
+     *
+     * @param metadataCollectionId unique identifier of the repository
+     */
+    public synchronized void captureRepositoryFailure(String metadataCollectionId)
+    {
+        repositoryBuffers.computeIfAbsent(metadataCollectionId, RepositoryBuffer::new).upToDate = false;
+    }
+
+
+    /**
+     * Build the requested page by merging the buffered results from each repository.  If the page starts beyond the
+     * end of the previous page, the results in between are skipped.
+     *
+     * @param fromElement starting element of the requested page
+     * @param pageSize maximum number of results in the page
+     * @return page of results - no GUIDs means no more results
+     */
+    public synchronized Page<T> getPage(int fromElement,
+                                        int pageSize)
+    {
+        lastUsedTime = System.currentTimeMillis();
+
+        if (fromElement > nextElement)
+        {
+            this.mergeResults(fromElement - nextElement);
+        }
+
+        Page<T> page = this.mergeResults(pageSize);
+
+        for (RepositoryBuffer repositoryBuffer : repositoryBuffers.values())
+        {
+            repositoryBuffer.upToDate = false;
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Take the next results in sequence from the repository buffers.  The merge stops early if a repository
+     * that has more results has nothing left in its buffer.  Once the page is full, any further copies of the
+     * instances in the page that are next in sequence are added to the page too.
+     *
+     * @param resultCount maximum number of results to take
+     * @return merged results
+     */
+    private Page<T> mergeResults(int resultCount)
+    {
+        Page<T>                       page         = new Page<>();
+        PriorityQueue<RepositoryHead> heads        = new PriorityQueue<>();
+        long                          arrivalOrder = 0;
+
+        for (RepositoryBuffer repositoryBuffer : repositoryBuffers.values())
+        {
+            if (! repositoryBuffer.results.isEmpty())
+            {
+                heads.add(new RepositoryHead(repositoryBuffer, arrivalOrder++));
+            }
+            else if (this.isWaitingForResults(repositoryBuffer))
+            {
+                return page;
+            }
+        }
+
+        while (! heads.isEmpty())
+        {
+            RepositoryHead head     = heads.peek();
+            T              instance = head.repositoryBuffer.results.peekFirst();
+            String         guid     = instance.getGUID();
+
+            if ((page.guids.size() >= resultCount) && (! page.guids.contains(guid)))
+            {
+                break;
+            }
+
+            heads.poll();
+            head.repositoryBuffer.results.pollFirst();
+
+            if (guid != null)
+            {
+                if (page.guids.contains(guid))
+                {
+                    page.addInstance(head.repositoryBuffer.metadataCollectionId, instance);
+                }
+                else if (returnedGUIDs.add(guid))
+                {
+                    page.guids.add(guid);
+                    page.addInstance(head.repositoryBuffer.metadataCollectionId, instance);
+                    nextElement++;
+                }
+            }
+
+            if (! head.repositoryBuffer.results.isEmpty())
+            {
+                heads.add(new RepositoryHead(head.repositoryBuffer, arrivalOrder++));
+            }
+            else if (this.isWaitingForResults(head.repositoryBuffer))
+            {
+                break;
+            }
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Return whether the merge must wait for more results from a repository before it can continue.
+     *
+     * @param repositoryBuffer buffer for the repository
+     * @return boolean flag
+     */
+    private boolean isWaitingForResults(RepositoryBuffer repositoryBuffer)
+    {
+        return (repositoryBuffer.results.isEmpty()) && (! repositoryBuffer.exhausted) && (repositoryBuffer.upToDate);
+    }
+
+
+    /**
+     * A page of results from the cursor.  It lists the GUIDs of the instances in the page in sequence along with
+     * all of the copies of these instances that were retrieved, organized by the repository they came from.
+     *
+     * @param <T> type of instance
+     */
+    public static class Page<T extends InstanceHeader>
+    {
+        private final Set<String>          guids             = new LinkedHashSet<>();
+        private final Map<String, List<T>> repositoryResults = new LinkedHashMap<>();
+
+
+        /**
+         * Return the GUIDs of the instances in the page in sequence.
+         *
+         * @return list of GUIDs
+         */
+        public List<String> getGUIDs()
+        {
+            return new ArrayList<>(guids);
+        }
+
+
+        /**
+         * Return the copies of the instances in the page, organized by the repository that returned them.
+         *
+         * @return map from metadata collection id to instances
+         */
+        public Map<String, List<T>> getRepositoryResults()
+        {
+            return repositoryResults;
+        }
+
+
+        /**
+         * Add a copy of an instance to the page.
+         *
+         * @param metadataCollectionId unique identifier of the repository that returned the instance
+         * @param instance instance
+         */
+        private void addInstance(String metadataCollectionId,
+                                 T      instance)
+        {
+            repositoryResults.computeIfAbsent(metadataCollectionId, id -> new ArrayList<>()).add(instance);
+        }
+    }
+
+
+    /**
+     * The results retrieved from a single repository that have not yet been returned.
+     */
+    private class RepositoryBuffer
+    {
+        private final String        metadataCollectionId;
+        private final ArrayDeque<T> results               = new ArrayDeque<>();
+        private int                 nextRepositoryElement = 0;
+        private boolean             exhausted             = false;
+        private boolean             upToDate              = false;
+
+
+        RepositoryBuffer(String metadataCollectionId)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+        }
+    }
+
+
+    /**
+     * The entry for a repository in the merge.  Repositories are ordered by their next result.  Ties (and
+     * all results if there is no sequencing order) are taken in the order the repositories entered the merge.
+     */
+    private class RepositoryHead implements Comparable<RepositoryHead>
+    {
+        private final RepositoryBuffer repositoryBuffer;
+        private final long             arrivalOrder;
+
+
+        RepositoryHead(RepositoryBuffer repositoryBuffer,
+                       long             arrivalOrder)
+        {
+            this.repositoryBuffer = repositoryBuffer;
+            this.arrivalOrder = arrivalOrder;
+        }
+
+
+        @Override
+        public int compareTo(RepositoryHead other)
+        {
+            int result = 0;
+
+            if (comparator != null)
+            {
+                result = comparator.compare(repositoryBuffer.results.peekFirst(), other.repositoryBuffer.results.peekFirst());
+            }
+
+            if (result == 0)
+            {
+                result = Long.compare(arrivalOrder, other.arrivalOrder);
+            }
+
+            return result;
+        }
+    }
+}
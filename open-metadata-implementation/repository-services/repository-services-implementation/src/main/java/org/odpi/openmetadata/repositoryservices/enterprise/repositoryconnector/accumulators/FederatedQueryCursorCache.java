@@ -0,0 +1,111 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FederatedQueryCursorCache holds the cursors for the paged federated queries that are in progress.  A cursor
+ * is filed under the query and the element number of the next page it can return.  It is removed from the cache
+ * while a page is being retrieved so each cursor is only used by one request at a time.
+ *
+ * The cache holds a limited number of cursors.  The least recently used cursors are discarded when the cache is full
+ * and cursors that have not been used for a while are discarded when the cache is accessed.
+ *
+ * @param <T> type of instance
+ */
+public class FederatedQueryCursorCache<T extends InstanceHeader>
+{
+    private final int                                  maxCursors;
+    private final long                                 cursorTimeout;
+    private final Map<String, FederatedQueryCursor<T>> cursors;
+
+
+    /**
+     * Constructor
+     *
+     * @param maxCursors maximum number of cursors to keep
+     * @param cursorTimeout number of milliseconds that a cursor is kept for after it was last used
+     */
+    public FederatedQueryCursorCache(int  maxCursors,
+                                     long cursorTimeout)
+    {
+        this.maxCursors = maxCursors;
+        this.cursorTimeout = cursorTimeout;
+        this.cursors = new LinkedHashMap<String, FederatedQueryCursor<T>>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FederatedQueryCursor<T>> eldest)
+            {
+                return size() > FederatedQueryCursorCache.this.maxCursors;
+            }
+        };
+    }
+
+
+    /**
+     * Remove and return the cursor that can continue a query from the requested element.
+     *
+     * @param queryKey identifier of the query and its parameters
+     * @param fromElement starting element of the requested page
+     * @return cursor or null if there is no cursor for this page of the query
+     */
+    public synchronized FederatedQueryCursor<T> getCursor(String queryKey,
+                                                          int    fromElement)
+    {
+        this.removeExpiredCursors();
+
+        return cursors.remove(getCursorKey(queryKey, fromElement));
+    }
+
+
+    /**
+     * Save a cursor after a page has been retrieved, so it can be used to retrieve the following page.
+     *
+     * @param queryKey identifier of the query and its parameters
+     * @param cursor cursor for the query
+     */
+    public synchronized void saveCursor(String                  queryKey,
+                                        FederatedQueryCursor<T> cursor)
+    {
+        cursors.put(getCursorKey(queryKey, cursor.getNextElement()), cursor);
+    }
+
+
+    /**
+     * Remove the cursors that have not been used recently.
+     */
+    private void removeExpiredCursors()
+    {
+        long                              expiryTime = System.currentTimeMillis() - cursorTimeout;
+        Iterator<FederatedQueryCursor<T>> iterator   = cursors.values().iterator();
+
+        while (iterator.hasNext())
+        {
+            if (iterator.next().getLastUsedTime() < expiryTime)
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Build the key for a cursor in the cache.
+     *
+     * @param queryKey identifier of the query and its parameters
+     * @param fromElement starting element of the next page
+     * @return cursor key
+     */
+    private static String getCursorKey(String queryKey,
+                                       int    fromElement)
+    {
+        return queryKey + "@" + fromElement;
+    }
+}
@@ -129,6 +129,45 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Extract the results for a page built by a query cursor.  The relationships are returned in the sequence of
+     * the page, each one being the latest version received.
+     *
+     * @param repositoryConnector enterprise connector
+     * @param relationshipGUIDs unique identifiers of the relationships in the page in sequence
+     * @return list of relationships
+     */
+    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       List<String>                      relationshipGUIDs)
+    {
+        if (accumulatedRelationships.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector);
+
+        List<Relationship>  results = new ArrayList<>();
+
+        for (String relationshipGUID : relationshipGUIDs)
+        {
+            Relationship accumulatedRelationship = accumulatedRelationships.get(relationshipGUID);
+
+            if (accumulatedRelationship != null)
+            {
+                results.add(accumulatedRelationship);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the list of relationships that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
@@ -2,24 +2,47 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
 
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The executor is cloned for each repository and the clones share the executor's accumulator to gather the results.
+ * The worker threads come from a bounded pool owned by the enterprise connector.  Each repository has
+ * its own time limit to respond, measured from when its request starts to run.  Requests to
+ * repositories that do not respond within the time limit are cancelled and the results from
+ * the other repositories are returned.  Timeouts and failures are recorded in the executor's accumulator
+ * so they are logged and reported along with the results.
+ *
+ * If there is no worker pool (sequential federation is configured) or the executor can not be cloned,
+ * each repository is called in turn on the caller's thread.  Unlike the SequentialFederationControl,
+ * every repository is called, whatever the executor returns.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private ExecutorService federationExecutor = null;
+    private long            federationTimeout  = 0;
+    private AuditLog        auditLog           = null;
 
 
     /**
-     * Constructor for a federated query
+     * Constructor for a federated query that calls each repository in turn.
      *
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
@@ -30,7 +53,31 @@ public class ParallelFederationControl extends FederationControlBase
                                      String                        methodName)
     {
         super(userId, cohortConnectors, methodName);
+    }
+
 
+    /**
+     * Constructor for a federated query that calls the repositories in parallel.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param federationExecutor worker threads for calling the repositories - null means call them in turn
+     * @param federationTimeout number of milliseconds to wait for the repositories to respond - zero means wait forever
+     * @param auditLog logging destination for cancelled requests
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     ExecutorService               federationExecutor,
+                                     long                          federationTimeout,
+                                     AuditLog                      auditLog,
+                                     String                        methodName)
+    {
+        super(userId, cohortConnectors, methodName);
+
+        this.federationExecutor = federationExecutor;
+        this.federationTimeout = federationTimeout;
+        this.auditLog = auditLog;
     }
 
 
@@ -44,6 +91,42 @@ public class ParallelFederationControl extends FederationControlBase
     public void executeCommand(RepositoryExecutor executor) throws RepositoryErrorException
     {
         if (super.cohortConnectors != null)
+        {
+            if ((federationExecutor == null) || (! (executor instanceof CloneableRepositoryExecutor)) || (cohortConnectors.size() < 2))
+            {
+                for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+                {
+                    if (cohortConnector != null)
+                    {
+                        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                        String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+                        executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                    }
+                }
+            }
+            else
+            {
+                this.executeCommandInParallel((CloneableRepositoryExecutor)executor);
+            }
+        }
+    }
+
+
+    /**
+     * Issue the federated command to each repository on its own worker thread and wait for the
+     * responses.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void executeCommandInParallel(CloneableRepositoryExecutor executor) throws RepositoryErrorException
+    {
+        List<FederatedRequest> requests     = new ArrayList<>();
+        boolean                firstRequest = true;
+
+        try
         {
             for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
             {
@@ -53,9 +136,255 @@ public class ParallelFederationControl extends FederationControlBase
 
                     String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                    /*
+                     * The original executor is used for the first repository and clones for the rest.
+                     * They all share the same accumulator.
+                     */
+                    RepositoryExecutor repositoryExecutor = executor;
+
+                    if (firstRequest)
+                    {
+                        firstRequest = false;
+                    }
+                    else
+                    {
+                        repositoryExecutor = executor.getClone();
+                    }
+
+                    FederatedRequest request = new FederatedRequest(metadataCollectionId, metadataCollection, repositoryExecutor);
+
+                    requests.add(request);
+                    this.submitRequest(request);
+                }
+            }
+
+            this.waitForRequests(executor, requests);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            /*
+             * Any requests still running are no longer wanted.
+             */
+            for (FederatedRequest request : requests)
+            {
+                request.cancel();
+            }
+        }
+    }
+
+
+    /**
+     * Pass a request to the worker threads.  If the pool is shutting down or its queue is full, the request runs
+     * on the caller's thread.
+     *
+     * @param request call to a single repository
+     */
+    private void submitRequest(FederatedRequest request)
+    {
+        try
+        {
+            federationExecutor.execute(request.getTask());
+        }
+        catch (RejectedExecutionException rejected)
+        {
+            request.getTask().run();
+        }
+    }
+
+
+    /**
+     * Wait for the requests to the repositories to complete.  Each repository has its own time limit, measured from
+     * when its request starts to run on a worker thread.  A request that is still waiting for a worker thread when
+     * the time limit has passed since it was submitted is also treated as timed out.  Requests that time out
+     * are cancelled.  Timeouts and failures are recorded in the executor's accumulator so they are reported with
+     * the results.
+     *
+     * @param executor executor that shares its accumulator with the requests
+     * @param requests requests to the repositories
+     * @throws InterruptedException the calling thread has been interrupted
+     */
+    private void waitForRequests(CloneableRepositoryExecutor executor,
+                                 List<FederatedRequest>      requests) throws InterruptedException
+    {
+        List<FederatedRequest> pendingRequests = new ArrayList<>(requests);
+
+        while (! pendingRequests.isEmpty())
+        {
+            FederatedRequest         nextRequest  = null;
+            long                     nextDeadline = Long.MAX_VALUE;
+            long                     currentTime  = System.currentTimeMillis();
+            Iterator<FederatedRequest> iterator   = pendingRequests.iterator();
+
+            while (iterator.hasNext())
+            {
+                FederatedRequest request = iterator.next();
+
+                if (request.getTask().isDone())
+                {
+                    this.checkRequest(executor, request);
+                    iterator.remove();
+                }
+                else if (federationTimeout > 0)
+                {
+                    long deadline = request.getDeadline(federationTimeout);
+
+                    if (currentTime >= deadline)
+                    {
+                        this.timeoutRequest(executor, request);
+                        iterator.remove();
+                    }
+                    else if (deadline < nextDeadline)
+                    {
+                        nextRequest  = request;
+                        nextDeadline = deadline;
+                    }
+                }
+                else if (nextRequest == null)
+                {
+                    nextRequest = request;
                 }
             }
+
+            if (nextRequest != null)
+            {
+                try
+                {
+                    if (federationTimeout > 0)
+                    {
+                        nextRequest.getTask().get(Math.max(nextDeadline - System.currentTimeMillis(), 1), TimeUnit.MILLISECONDS);
+                    }
+                    else
+                    {
+                        nextRequest.getTask().get();
+                    }
+                }
+                catch (TimeoutException | ExecutionException | CancellationException error)
+                {
+                    /*
+                     * Processed on the next pass through the pending requests.
+                     */
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check the outcome of a completed request.  The executors capture the exceptions from the repositories in the
+     * accumulator so an exception here is an unexpected error in the executor itself.  It is recorded
+     * as a failure of the repository so it is logged and reported.  The other repositories may still have
+     * useful results.
+     *
+     * @param executor executor that shares its accumulator with the request
+     * @param request completed request
+     * @throws InterruptedException the calling thread has been interrupted
+     */
+    private void checkRequest(CloneableRepositoryExecutor executor,
+                              FederatedRequest            request) throws InterruptedException
+    {
+        try
+        {
+            request.getTask().get();
+        }
+        catch (ExecutionException error)
+        {
+            executor.captureRequestFailure(request.getMetadataCollectionId(), error.getCause());
+        }
+        catch (CancellationException error)
+        {
+            executor.captureRequestFailure(request.getMetadataCollectionId(), error);
+        }
+    }
+
+
+    /**
+     * Cancel a request that has not completed in time and record the timeout.
+     *
+     * @param executor executor that shares its accumulator with the request
+     * @param request request that has timed out
+     */
+    private void timeoutRequest(CloneableRepositoryExecutor executor,
+                                FederatedRequest            request)
+    {
+        request.cancel();
+
+        executor.captureRequestTimeout(request.getMetadataCollectionId(), federationTimeout);
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(methodName,
+                                OMRSAuditCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition(methodName,
+                                                                                             request.getMetadataCollectionId(),
+                                                                                             Long.toString(federationTimeout)));
+        }
+    }
+
+
+    /**
+     * FederatedRequest is the call to a single repository.  It records when it was submitted and when it started
+     * to run so that its time limit can be measured from when it started.
+     */
+    private static class FederatedRequest
+    {
+        private final String        metadataCollectionId;
+        private final FutureTask<?> task;
+        private final long          submitTime = System.currentTimeMillis();
+        private volatile long       startTime  = 0L;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionId repository that the request is sent to
+         * @param metadataCollection metadata collection for the repository
+         * @param repositoryExecutor executor for the request
+         */
+        FederatedRequest(String                 metadataCollectionId,
+                         OMRSMetadataCollection metadataCollection,
+                         RepositoryExecutor     repositoryExecutor)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+            this.task = new FutureTask<>(() ->
+                                         {
+                                             startTime = System.currentTimeMillis();
+                                             repositoryExecutor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                                         }, null);
+        }
+
+
+        String getMetadataCollectionId()
+        {
+            return metadataCollectionId;
+        }
+
+
+        FutureTask<?> getTask()
+        {
+            return task;
+        }
+
+
+        /**
+         * Return the time that the request must complete by.
+         *
+         * @param timeout number of milliseconds that the request may run for
+         * @return time in milliseconds
+         */
+        long getDeadline(long timeout)
+        {
+            long requestStartTime = startTime;
+
+            return ((requestStartTime == 0L) ? submitTime : requestStartTime) + timeout;
+        }
+
+
+        void cancel()
+        {
+            task.cancel(true);
         }
     }
 }
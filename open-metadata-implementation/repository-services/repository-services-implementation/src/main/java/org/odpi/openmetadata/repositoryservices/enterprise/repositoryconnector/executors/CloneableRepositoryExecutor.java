@@ -6,7 +6,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
  * CloneableRepositoryExecutor describes the interface for a repository executor that can be cloned to run
  * in parallel.  They use a shared accumulator to gather and assemble the result.
  */
-public interface CloneableRepositoryExecutor
+public interface CloneableRepositoryExecutor extends RepositoryExecutor
 {
     /**
      * Return a clone of this executor with the same command parameters and accumulator instance.
@@ -14,4 +14,24 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Record that the request to a repository was cancelled because it did not complete in time.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param timeout number of milliseconds that the request was allowed to run for
+     */
+    void captureRequestTimeout(String metadataCollectionId,
+                               long   timeout);
+
+
+    /**
+     * Record that the request to a repository failed with an exception that the executor did not handle.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param error exception from the request
+     */
+    void captureRequestFailure(String    metadataCollectionId,
+                               Throwable error);
 }
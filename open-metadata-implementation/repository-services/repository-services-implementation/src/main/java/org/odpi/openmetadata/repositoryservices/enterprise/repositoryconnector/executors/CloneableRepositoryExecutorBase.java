@@ -4,6 +4,8 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryAccumulatorBase;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
 
 /**
@@ -12,12 +14,69 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private QueryAccumulatorBase queryAccumulator;
+
+
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.queryAccumulator = accumulator;
+
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Record that the request to a repository was cancelled because it did not complete in time.
+     * The timeout is returned as a RepositoryErrorException if no repository returns results.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param timeout number of milliseconds that the request was allowed to run for
+     */
+    @Override
+    public void captureRequestTimeout(String metadataCollectionId,
+                                      long   timeout)
+    {
+        queryAccumulator.captureException(metadataCollectionId,
+                                          new RepositoryErrorException(OMRSErrorCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition(methodName,
+                                                                                                                                    metadataCollectionId,
+                                                                                                                                    Long.toString(timeout)),
+                                                                       this.getClass().getName(),
+                                                                       methodName));
+    }
+
+
+    /**
+     * Record that the request to a repository failed with an exception that the executor did not handle.
+     * The accumulator logs the exception and returns it if no repository returns results.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param error exception from the request
+     */
+    @Override
+    public void captureRequestFailure(String    metadataCollectionId,
+                                      Throwable error)
+    {
+        Exception exception;
+
+        if (error instanceof Exception)
+        {
+            exception = (Exception) error;
+        }
+        else
+        {
+            exception = new RepositoryErrorException(OMRSErrorCode.FEDERATED_REQUEST_FAILED.getMessageDefinition(methodName,
+                                                                                                                 metadataCollectionId,
+                                                                                                                 error.getClass().getName(),
+                                                                                                                 error.getMessage()),
+                                                     this.getClass().getName(),
+                                                     methodName,
+                                                     error);
+        }
+
+        queryAccumulator.captureGenericException(methodName, metadataCollectionId, exception);
+    }
 }
@@ -12,10 +12,12 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedQueryCursor;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * FindEntitiesExecutor is the executor for the findEntities request.
@@ -30,6 +32,8 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
 
     private EntityAccumulator accumulator;
 
+    private FederatedQueryCursor<EntityDetail> queryCursor = null;
+
     /**
      * Create the executor.  The parameters provide the parameters for issuing the requests and
      * combining the results.
@@ -156,19 +160,37 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindEntitiesExecutor(userId,
-                                        instanceTypeGUID,
-                                        instanceSubtypeGUIDs,
-                                        matchProperties,
-                                        startingElement,
-                                        limitResultsByStatus,
-                                        matchClassifications,
-                                        asOfTime,
-                                        sequencingProperty,
-                                        sequencingOrder,
-                                        pageSize,
-                                        accumulator,
-                                        methodName);
+        FindEntitiesExecutor clone = new FindEntitiesExecutor(userId,
+                                                              instanceTypeGUID,
+                                                              instanceSubtypeGUIDs,
+                                                              matchProperties,
+                                                              startingElement,
+                                                              limitResultsByStatus,
+                                                              matchClassifications,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              pageSize,
+                                                              accumulator,
+                                                              methodName);
+
+        clone.queryCursor = queryCursor;
+
+        return clone;
+    }
+
+
+    /**
+     * Switch the executor into cursor mode.  Rather than retrieving the requested page from each repository,
+     * the executor retrieves the next results from each repository (continuing from the previous request
+     * that used the cursor) until the cursor has enough results from the repository to build the page.
+     * The page is then built by merging the results from all of the repositories.
+     *
+     * @param queryCursor cursor for the query
+     */
+    public void setQueryCursor(FederatedQueryCursor<EntityDetail> queryCursor)
+    {
+        this.queryCursor = queryCursor;
     }
 
 
@@ -184,22 +206,42 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
     {
         try
         {
-            /*
-             * Issue the request
-             */
-            List<EntityDetail> results = metadataCollection.findEntities(userId,
-                                                                         instanceTypeGUID,
-                                                                         instanceSubtypeGUIDs,
-                                                                         matchProperties,
-                                                                         startingElement,
-                                                                         limitResultsByStatus,
-                                                                         matchClassifications,
-                                                                         asOfTime,
-                                                                         sequencingProperty,
-                                                                         sequencingOrder,
-                                                                         pageSize);
+            if (queryCursor == null)
+            {
+                /*
+                 * Issue the request
+                 */
+                List<EntityDetail> results = metadataCollection.findEntities(userId,
+                                                                             instanceTypeGUID,
+                                                                             instanceSubtypeGUIDs,
+                                                                             matchProperties,
+                                                                             startingElement,
+                                                                             limitResultsByStatus,
+                                                                             matchClassifications,
+                                                                             asOfTime,
+                                                                             sequencingProperty,
+                                                                             sequencingOrder,
+                                                                             pageSize);
+
+                accumulator.addEntities(results, metadataCollectionId);
+            }
+            else
+            {
+                try
+                {
+                    this.fillQueryCursor(metadataCollectionId, metadataCollection);
+                }
+                catch (Exception error)
+                {
+                    queryCursor.captureRepositoryFailure(metadataCollectionId);
+                    throw error;
+                }
 
-            accumulator.addEntities(results, metadataCollectionId);
+                /*
+                 * The results are held in the cursor - this records that the repository responded.
+                 */
+                accumulator.addEntities(null, metadataCollectionId);
+            }
         }
         catch (InvalidParameterException error)
         {
@@ -238,6 +280,54 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
     }
 
 
+    /**
+     * Retrieve the next results from the repository until the cursor has enough to build the requested page.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private void fillQueryCursor(String                 metadataCollectionId,
+                                 OMRSMetadataCollection metadataCollection) throws InvalidParameterException,
+                                                                                   TypeErrorException,
+                                                                                   RepositoryErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   PagingErrorException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        /*
+         * Each request is for a single page since the repository may limit the page size.  A short page means
+         * the repository has no more results.
+         */
+        while (queryCursor.getResultsNeeded(metadataCollectionId, startingElement, pageSize) > 0)
+        {
+            List<EntityDetail> results = metadataCollection.findEntities(userId,
+                                                                         instanceTypeGUID,
+                                                                         instanceSubtypeGUIDs,
+                                                                         matchProperties,
+                                                                         queryCursor.getRepositoryNextElement(metadataCollectionId),
+                                                                         limitResultsByStatus,
+                                                                         matchClassifications,
+                                                                         asOfTime,
+                                                                         sequencingProperty,
+                                                                         sequencingOrder,
+                                                                         pageSize);
+
+            queryCursor.addResults(metadataCollectionId, results, pageSize);
+        }
+    }
+
+
     /**
      * Return the results or exception.
      *
@@ -265,6 +355,22 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
     {
         if (accumulator.resultsReturned())
         {
+            if (queryCursor != null)
+            {
+                /*
+                 * The copies of each instance in the page are passed through the accumulator so the latest
+                 * version is returned.
+                 */
+                FederatedQueryCursor.Page<EntityDetail> page = queryCursor.getPage(startingElement, pageSize);
+
+                for (Map.Entry<String, List<EntityDetail>> repositoryResults : page.getRepositoryResults().entrySet())
+                {
+                    accumulator.addEntities(repositoryResults.getValue(), repositoryResults.getKey());
+                }
+
+                return accumulator.getResults(repositoryConnector, page.getGUIDs());
+            }
+
             return accumulator.getResults(repositoryConnector);
         }
 
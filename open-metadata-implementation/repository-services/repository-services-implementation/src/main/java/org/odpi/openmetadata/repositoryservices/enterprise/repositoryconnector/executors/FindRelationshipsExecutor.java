@@ -10,11 +10,13 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedQueryCursor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -28,6 +30,8 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
 
     private RelationshipAccumulator accumulator;
 
+    private FederatedQueryCursor<Relationship> queryCursor = null;
+
     /**
      * Create the executor.  The parameters provide the parameters for issuing the requests and
      * combining the results.
@@ -152,18 +156,36 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
      */
     public CloneableRepositoryExecutor getClone()
     {
-        return new FindRelationshipsExecutor(userId,
-                                             instanceTypeGUID,
-                                             instanceSubtypeGUIDs,
-                                             matchProperties,
-                                             startingElement,
-                                             limitResultsByStatus,
-                                             asOfTime,
-                                             sequencingProperty,
-                                             sequencingOrder,
-                                             pageSize,
-                                             accumulator,
-                                             methodName);
+        FindRelationshipsExecutor clone = new FindRelationshipsExecutor(userId,
+                                                                        instanceTypeGUID,
+                                                                        instanceSubtypeGUIDs,
+                                                                        matchProperties,
+                                                                        startingElement,
+                                                                        limitResultsByStatus,
+                                                                        asOfTime,
+                                                                        sequencingProperty,
+                                                                        sequencingOrder,
+                                                                        pageSize,
+                                                                        accumulator,
+                                                                        methodName);
+
+        clone.queryCursor = queryCursor;
+
+        return clone;
+    }
+
+
+    /**
+     * Switch the executor into cursor mode.  Rather than retrieving the requested page from each repository,
+     * the executor retrieves the next results from each repository (continuing from the previous request
+     * that used the cursor) until the cursor has enough results from the repository to build the page.
+     * The page is then built by merging the results from all of the repositories.
+     *
+     * @param queryCursor cursor for the query
+     */
+    public void setQueryCursor(FederatedQueryCursor<Relationship> queryCursor)
+    {
+        this.queryCursor = queryCursor;
     }
 
 
@@ -179,21 +201,41 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
     {
         try
         {
-            /*
-             * Issue the request
-             */
-            List<Relationship> results = metadataCollection.findRelationships(userId,
-                                                                              instanceTypeGUID,
-                                                                              instanceSubtypeGUIDs,
-                                                                              matchProperties,
-                                                                              startingElement,
-                                                                              limitResultsByStatus,
-                                                                              asOfTime,
-                                                                              sequencingProperty,
-                                                                              sequencingOrder,
-                                                                              pageSize);
+            if (queryCursor == null)
+            {
+                /*
+                 * Issue the request
+                 */
+                List<Relationship> results = metadataCollection.findRelationships(userId,
+                                                                                  instanceTypeGUID,
+                                                                                  instanceSubtypeGUIDs,
+                                                                                  matchProperties,
+                                                                                  startingElement,
+                                                                                  limitResultsByStatus,
+                                                                                  asOfTime,
+                                                                                  sequencingProperty,
+                                                                                  sequencingOrder,
+                                                                                  pageSize);
+
+                accumulator.addRelationships(results, metadataCollectionId);
+            }
+            else
+            {
+                try
+                {
+                    this.fillQueryCursor(metadataCollectionId, metadataCollection);
+                }
+                catch (Exception error)
+                {
+                    queryCursor.captureRepositoryFailure(metadataCollectionId);
+                    throw error;
+                }
 
-            accumulator.addRelationships(results, metadataCollectionId);
+                /*
+                 * The results are held in the cursor - this records that the repository responded.
+                 */
+                accumulator.addRelationships(null, metadataCollectionId);
+            }
         }
         catch (InvalidParameterException error)
         {
@@ -232,6 +274,53 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
     }
 
 
+    /**
+     * Retrieve the next results from the repository until the cursor has enough to build the requested page.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  relationships.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private void fillQueryCursor(String                 metadataCollectionId,
+                                 OMRSMetadataCollection metadataCollection) throws InvalidParameterException,
+                                                                                   TypeErrorException,
+                                                                                   RepositoryErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   PagingErrorException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        /*
+         * Each request is for a single page since the repository may limit the page size.  A short page means
+         * the repository has no more results.
+         */
+        while (queryCursor.getResultsNeeded(metadataCollectionId, startingElement, pageSize) > 0)
+        {
+            List<Relationship> results = metadataCollection.findRelationships(userId,
+                                                                              instanceTypeGUID,
+                                                                              instanceSubtypeGUIDs,
+                                                                              matchProperties,
+                                                                              queryCursor.getRepositoryNextElement(metadataCollectionId),
+                                                                              limitResultsByStatus,
+                                                                              asOfTime,
+                                                                              sequencingProperty,
+                                                                              sequencingOrder,
+                                                                              pageSize);
+
+            queryCursor.addResults(metadataCollectionId, results, pageSize);
+        }
+    }
+
+
     /**
      * Return the results of the combined requests.
      *
@@ -258,6 +347,22 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
     {
         if (accumulator.resultsReturned())
         {
+            if (queryCursor != null)
+            {
+                /*
+                 * The copies of each instance in the page are passed through the accumulator so the latest
+                 * version is returned.
+                 */
+                FederatedQueryCursor.Page<Relationship> page = queryCursor.getPage(startingElement, pageSize);
+
+                for (Map.Entry<String, List<Relationship>> repositoryResults : page.getRepositoryResults().entrySet())
+                {
+                    accumulator.addRelationships(repositoryResults.getValue(), repositoryResults.getKey());
+                }
+
+                return accumulator.getResults(repositoryConnector, page.getGUIDs());
+            }
+
             return accumulator.getResults(repositoryConnector);
         }
 
@@ -12,9 +12,22 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorExc
 
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 
 /**
  * OMRSRepositoryEventPublisher publishes TypeDef and Instance OMRS Events to the supplied OMRSTopicConnector.
+ * <p>
+ *     Optionally, instance events can be grouped into batch events.  A batch is sent when it holds the maximum
+ *     number of instance events, when its first event has waited for the batch interval, or before a TypeDef event
+ *     is sent, so the events are always published in the order they occurred.  Batching is only used when all
+ *     members of the cohort are able to process batch events.
+ * </p>
  */
 public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
 {
@@ -24,6 +37,12 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
     private OMRSTopicConnector         omrsTopicConnector;
     private AuditLog                   auditLog;
 
+    private int                        instanceEventBatchSize     = 0;
+    private long                       instanceEventBatchInterval = 0;
+    private List<OMRSInstanceEvent>    instanceEventBatch         = new ArrayList<>();
+    private ScheduledExecutorService   batchTimer                 = null;
+    private ScheduledFuture<?>         batchTimeout               = null;
+
 
     /**
      * Typical constructor sets up the local metadata collection id for events.
@@ -62,6 +81,40 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
     }
 
 
+    /**
+     * Constructor for a publisher that groups instance events into batch events.
+     *
+     * @param publisherName  name of the cohort (or enterprise virtual repository) that this event publisher
+     *                       is sending events to.
+     * @param topicConnector OMRS Topic to send requests on
+     * @param instanceEventBatchSize maximum number of instance events in a batch event - zero or one means
+     *                               send each instance event on its own
+     * @param instanceEventBatchInterval maximum time in milliseconds that an instance event waits for its
+     *                                   batch to fill
+     * @param auditLog audit log for this component.
+     */
+    public OMRSRepositoryEventPublisher(String             publisherName,
+                                        OMRSTopicConnector topicConnector,
+                                        int                instanceEventBatchSize,
+                                        long               instanceEventBatchInterval,
+                                        AuditLog           auditLog)
+    {
+        this(publisherName, topicConnector, auditLog);
+
+        if (instanceEventBatchSize > 1)
+        {
+            this.instanceEventBatchSize = instanceEventBatchSize;
+            this.instanceEventBatchInterval = Math.max(instanceEventBatchInterval, 1);
+            this.batchTimer = Executors.newSingleThreadScheduledExecutor((runnable) ->
+                                                                         {
+                                                                             Thread batchThread = new Thread(runnable, "OMRSRepositoryEventPublisher batch timer: " + publisherName);
+                                                                             batchThread.setDaemon(true);
+                                                                             return batchThread;
+                                                                         });
+        }
+    }
+
+
     /**
      * Set up a new security verifier (the handler runs with a default verifier until this
      * method is called).
@@ -97,6 +150,11 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
         log.debug("typeDefEvent: " + typeDefEvent);
         log.debug("localEventOriginator: " + typeDefEvent.getEventOriginator());
 
+        /*
+         * Any waiting instance events occurred before this TypeDef event so they are sent first.
+         */
+        this.flushInstanceEvents();
+
         try
         {
             omrsTopicConnector.sendTypeDefEvent(typeDefEvent);
@@ -136,7 +194,14 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
 
             if (validatedEvent != null)
             {
-                omrsTopicConnector.sendInstanceEvent(instanceEvent);
+                if (batchTimer == null)
+                {
+                    omrsTopicConnector.sendInstanceEvent(instanceEvent);
+                }
+                else
+                {
+                    this.addToInstanceEventBatch(instanceEvent);
+                }
             }
         }
         catch (Exception error)
@@ -149,4 +214,93 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
             log.debug("Exception: ", error);
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Add an instance event to the current batch.  The batch is sent if it is full, otherwise the timer
+     * is set up to send it once the first event has waited for the batch interval.
+     *
+     * @param instanceEvent validated event
+     */
+    private void addToInstanceEventBatch(OMRSInstanceEvent instanceEvent)
+    {
+        synchronized (instanceEventBatch)
+        {
+            instanceEventBatch.add(instanceEvent);
+
+            if (instanceEventBatch.size() >= instanceEventBatchSize)
+            {
+                this.flushInstanceEvents();
+            }
+            else if (batchTimeout == null)
+            {
+                batchTimeout = batchTimer.schedule(this::flushInstanceEvents, instanceEventBatchInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+
+    /**
+     * Send any instance events that are waiting in the current batch.  The send is made while holding the batch
+     * so that batches are published in order.
+     */
+    public void flushInstanceEvents()
+    {
+        String actionDescription = "Send Instance Event Batch";
+
+        synchronized (instanceEventBatch)
+        {
+            if (batchTimeout != null)
+            {
+                batchTimeout.cancel(false);
+                batchTimeout = null;
+            }
+
+            if (instanceEventBatch.isEmpty())
+            {
+                return;
+            }
+
+            List<OMRSInstanceEvent> batch = new ArrayList<>(instanceEventBatch);
+
+            instanceEventBatch.clear();
+
+            log.debug("Sending batch of " + batch.size() + " instance events for cohort: " + eventProcessorName);
+
+            try
+            {
+                if (batch.size() == 1)
+                {
+                    omrsTopicConnector.sendInstanceEvent(batch.get(0));
+                }
+                else
+                {
+                    omrsTopicConnector.sendInstanceEventBatch(batch);
+                }
+            }
+            catch (Exception error)
+            {
+                auditLog.logException(actionDescription,
+                                      OMRSAuditCode.SEND_INSTANCE_EVENT_ERROR.getMessageDefinition(eventProcessorName),
+                                      "instanceEventBatch {" + batch.toString() + "}",
+                                      error);
+
+                log.debug("Exception: ", error);
+            }
+        }
+    }
+
+
+    /**
+     * Send any waiting instance events and stop the batch timer.  Called when the cohort is disconnecting.
+     */
+    public void disconnect()
+    {
+        this.flushInstanceEvents();
+
+        if (batchTimer != null)
+        {
+            batchTimer.shutdownNow();
+        }
+    }
+}
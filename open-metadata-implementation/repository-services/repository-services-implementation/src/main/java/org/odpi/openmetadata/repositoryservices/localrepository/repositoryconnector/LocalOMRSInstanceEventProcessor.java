@@ -23,6 +23,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -1756,9 +1758,6 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
-
-            localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
-                                                                instances);
         }
         catch (Exception error)
         {
@@ -1766,6 +1765,104 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                            methodName,
                                            originatorServerName,
                                            originatorMetadataCollectionId);
+            return;
+        }
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Each instance is checked in the same way as an instance received in a single event.  The instances
+         * that pass the checks are passed to the local repository in one request so that it can store them
+         * together.
+         */
+        List<EntityDetail> entitiesToSave      = new ArrayList<>();
+        List<Relationship> relationshipsToSave = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (verifyReferenceEntityToSave(sourceName,
+                                                                     methodName,
+                                                                     originatorMetadataCollectionId,
+                                                                     originatorServerName,
+                                                                     entity)))
+                {
+                    entitiesToSave.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (verifyReferenceRelationshipToSave(sourceName,
+                                                                                 methodName,
+                                                                                 originatorMetadataCollectionId,
+                                                                                 originatorServerName,
+                                                                                 relationship)))
+                {
+                    relationshipsToSave.add(relationship);
+                }
+            }
+        }
+
+        if (entitiesToSave.isEmpty() && relationshipsToSave.isEmpty())
+        {
+            return;
+        }
+
+        InstanceGraph instancesToSave = new InstanceGraph();
+
+        instancesToSave.setEntities(entitiesToSave);
+        instancesToSave.setRelationships(relationshipsToSave);
+
+        try
+        {
+            localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
+                                                                instancesToSave);
+        }
+        catch (Exception batchError)
+        {
+            /*
+             * The repository may have stopped part way through the batch.  Saving the instances one at a time
+             * means that only the instances that are in error are lost, and they are logged individually.
+             */
+            log.debug("Unable to save batch of reference copies; saving instances individually", batchError);
+
+            for (EntityDetail entity : entitiesToSave)
+            {
+                try
+                {
+                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+                }
+                catch (Exception error)
+                {
+                    handleUnexpectedErrorFromEvent(error,
+                                                   methodName,
+                                                   originatorServerName,
+                                                   originatorMetadataCollectionId);
+                }
+            }
+
+            for (Relationship relationship : relationshipsToSave)
+            {
+                try
+                {
+                    localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(), relationship);
+                }
+                catch (Exception error)
+                {
+                    handleUnexpectedErrorFromEvent(error,
+                                                   methodName,
+                                                   originatorServerName,
+                                                   originatorMetadataCollectionId);
+                }
+            }
         }
     }
 
@@ -2214,6 +2311,45 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                        String       originatorMetadataCollectionId,
                                        String       originatorServerName,
                                        EntityDetail entity)
+    {
+        if (verifyReferenceEntityToSave(sourceName,
+                                        methodName,
+                                        originatorMetadataCollectionId,
+                                        originatorServerName,
+                                        entity))
+        {
+            try
+            {
+                localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+            }
+            catch (Exception error)
+            {
+                handleUnexpectedErrorFromEvent(error,
+                                               methodName,
+                                               originatorServerName,
+                                               originatorMetadataCollectionId);
+            }
+        }
+    }
+
+
+    /**
+     * Check whether an incoming reference entity should be saved in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the new entity
+     * @return boolean flag indicating that the entity is valid and a newer version than any stored copy
+     */
+    private boolean verifyReferenceEntityToSave(String       sourceName,
+                                                String       methodName,
+                                                String       originatorMetadataCollectionId,
+                                                String       originatorServerName,
+                                                EntityDetail entity)
     {
         try
         {
@@ -2230,21 +2366,13 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                                               entity.getGUID());
 
             /*
-             * Verify that the incoming instance is compatible with the stored instance.
+             * Verify that the incoming instance is compatible with the stored instance and
+             * that the rules allow the entity to be saved.
              */
-            if (compareAndValidateReferenceInstance(originatorServerName,
-                                                    entity,
-                                                    storedEntity,
-                                                    methodName))
-            {
-                /*
-                 * Verify that the rules allow the entity to be saved
-                 */
-                if (verifyEventToSave(sourceName, entity))
-                {
-                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
-                }
-            }
+            return (compareAndValidateReferenceInstance(originatorServerName,
+                                                        entity,
+                                                        storedEntity,
+                                                        methodName)) && (verifyEventToSave(sourceName, entity));
         }
         catch (Exception error)
         {
@@ -2253,6 +2381,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                            originatorServerName,
                                            originatorMetadataCollectionId);
         }
+
+        return false;
     }
 
 
@@ -2463,6 +2593,46 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                              String       originatorMetadataCollectionId,
                                              String       originatorServerName,
                                              Relationship relationship)
+    {
+        if (verifyReferenceRelationshipToSave(sourceName,
+                                              methodName,
+                                              originatorMetadataCollectionId,
+                                              originatorServerName,
+                                              relationship))
+        {
+            try
+            {
+                localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                      relationship);
+            }
+            catch (Exception error)
+            {
+                handleUnexpectedErrorFromEvent(error,
+                                               methodName,
+                                               originatorServerName,
+                                               originatorMetadataCollectionId);
+            }
+        }
+    }
+
+
+    /**
+     * Check whether an incoming reference relationship should be saved in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param relationship                   details of the relationship
+     * @return boolean flag indicating that the relationship is valid and permitted by the rules
+     */
+    private boolean verifyReferenceRelationshipToSave(String       sourceName,
+                                                      String       methodName,
+                                                      String       originatorMetadataCollectionId,
+                                                      String       originatorServerName,
+                                                      Relationship relationship)
     {
         try
         {
@@ -2475,11 +2645,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                                 relationship,
                                                                 methodName);
 
-            if (verifyEventToSave(sourceName, relationship))
-            {
-                localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
-                                                                      relationship);
-            }
+            return verifyEventToSave(sourceName, relationship);
         }
         catch (Exception error)
         {
@@ -2488,6 +2654,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                            originatorServerName,
                                            originatorMetadataCollectionId);
         }
+
+        return false;
     }
 
 
@@ -1875,6 +1875,45 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
         return this.getValidatedEntity(userId, entity);
     }
 
+
+    /**
+     * Return the header, classifications and properties of a list of entities.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 the current version.
+     * @return list of the entities that were found, in the order of the requested guids.  Null means none of the
+     * entities were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public  List<EntityDetail> getEntityDetails(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> entities = realMetadataCollection.getEntityDetails(userId, guids, asOfTime);
+
+        return this.securityVerifyReadEntityList(userId, entities);
+    }
+
     
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
@@ -2488,6 +2527,45 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 the current version.
+     * @return list of the relationships that were found, in the order of the requested guids.  Null means none of
+     * the relationships were found.
+     * @throws InvalidParameterException a guid is null or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public  List<Relationship> getRelationships(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<Relationship> relationships = realMetadataCollection.getRelationships(userId, guids, asOfTime);
+
+        return this.securityVerifyReadRelationshipList(userId, relationships);
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -0,0 +1,336 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING;
+
+/**
+ * InstanceSearchPredicate is the implementation of OMRSInstanceSearchPredicate returned by the
+ * OMRSRepositoryContentValidator.  The regular expressions in the search criteria are compiled when the search
+ * criteria are set up and the results of the type checks are remembered for each type that is seen.  The matching
+ * of the properties is delegated back to the validator so that the results are the same as those from its
+ * verify methods.  A predicate is created for a single request and is not designed to be shared between threads.
+ */
+class InstanceSearchPredicate implements OMRSInstanceSearchPredicate
+{
+    private enum SearchStyle
+    {
+        INSTANCE_PROPERTIES,
+        SEARCH_PROPERTIES,
+        SEARCH_CRITERIA
+    }
+
+    private final OMRSRepositoryContentValidator   repositoryValidator;
+    private final String                           sourceName;
+    private final String                           instanceTypeGUID;
+    private final List<String>                     subtypeGUIDs;
+    private final List<InstanceStatus>             limitResultsByStatus;
+    private final List<String>                     limitResultsByClassification;
+    private final String                           methodName;
+
+    private final Map<String, Boolean>             typeMatches      = new HashMap<>();
+    private final Map<String, SearchStringMatcher> compiledMatchers = new HashMap<>();
+
+    private SearchStyle           searchStyle          = SearchStyle.INSTANCE_PROPERTIES;
+    private InstanceProperties    matchProperties      = null;
+    private MatchCriteria         matchCriteria        = null;
+    private SearchProperties      searchProperties     = null;
+    private SearchClassifications matchClassifications = null;
+    private String                searchCriteria       = null;
+
+
+    /**
+     * Constructor sets up the header-based search criteria.
+     *
+     * @param repositoryValidator validator that performs the property matching
+     * @param sourceName source of the request (used for logging)
+     * @param instanceTypeGUID unique identifier of the type (or null for all types)
+     * @param subtypeGUIDs list of unique identifiers of the subtypes to include (or null)
+     * @param limitResultsByStatus list of valid statuses (null means all statuses except DELETED)
+     * @param limitResultsByClassification list of classifications an entity must have (or null)
+     * @param methodName name of the method requiring the search
+     */
+    InstanceSearchPredicate(OMRSRepositoryContentValidator repositoryValidator,
+                            String                         sourceName,
+                            String                         instanceTypeGUID,
+                            List<String>                   subtypeGUIDs,
+                            List<InstanceStatus>           limitResultsByStatus,
+                            List<String>                   limitResultsByClassification,
+                            String                         methodName)
+    {
+        this.repositoryValidator = repositoryValidator;
+        this.sourceName = sourceName;
+        this.instanceTypeGUID = instanceTypeGUID;
+        this.subtypeGUIDs = subtypeGUIDs;
+        this.limitResultsByStatus = limitResultsByStatus;
+        this.limitResultsByClassification = limitResultsByClassification;
+        this.methodName = methodName;
+    }
+
+
+    /**
+     * Set up a search based on instance properties and match criteria.
+     *
+     * @param matchProperties the properties to match (or null)
+     * @param matchCriteria rule on how the match should occur
+     */
+    void setInstanceProperties(InstanceProperties matchProperties,
+                               MatchCriteria      matchCriteria)
+    {
+        this.searchStyle = SearchStyle.INSTANCE_PROPERTIES;
+        this.matchProperties = matchProperties;
+        this.matchCriteria = matchCriteria;
+
+        if (matchProperties != null)
+        {
+            Iterator<String> propertyNames = matchProperties.getPropertyNames();
+
+            while (propertyNames.hasNext())
+            {
+                String matchValueString = repositoryValidator.getStringFromPropertyValue(matchProperties.getPropertyValue(propertyNames.next()));
+
+                if (matchValueString != null)
+                {
+                    /*
+                     * The validator uses the value as either a full match or a contains match depending
+                     * on the type of the instance's property.
+                     */
+                    this.compile(matchValueString);
+                    this.compile(".*" + matchValueString + ".*");
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Set up a search based on property and classification conditions.
+     *
+     * @param searchProperties the property-based conditions to match (or null)
+     * @param matchClassifications the classification-based conditions to match (or null)
+     */
+    void setSearchProperties(SearchProperties      searchProperties,
+                             SearchClassifications matchClassifications)
+    {
+        this.searchStyle = SearchStyle.SEARCH_PROPERTIES;
+        this.searchProperties = searchProperties;
+        this.matchClassifications = matchClassifications;
+
+        this.compileConditions(searchProperties);
+
+        if ((matchClassifications != null) && (matchClassifications.getConditions() != null))
+        {
+            for (ClassificationCondition condition : matchClassifications.getConditions())
+            {
+                if (condition != null)
+                {
+                    this.compileConditions(condition.getMatchProperties());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Set up a search based on a regular expression that is tested against all of the string property values.
+     *
+     * @param searchCriteria regular expression for testing the property values
+     */
+    void setSearchCriteria(String searchCriteria)
+    {
+        this.searchStyle = SearchStyle.SEARCH_CRITERIA;
+        this.searchCriteria = searchCriteria;
+
+        this.compile(searchCriteria);
+    }
+
+
+    /**
+     * Compile the regular expressions used in the LIKE conditions.
+     *
+     * @param searchProperties property-based conditions (may be null)
+     */
+    private void compileConditions(SearchProperties searchProperties)
+    {
+        if ((searchProperties != null) && (searchProperties.getConditions() != null))
+        {
+            for (PropertyCondition condition : searchProperties.getConditions())
+            {
+                if (condition != null)
+                {
+                    if ((condition.getOperator() == PropertyComparisonOperator.LIKE) &&
+                        (condition.getValue() instanceof PrimitivePropertyValue) &&
+                        (((PrimitivePropertyValue) condition.getValue()).getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING))
+                    {
+                        this.compile(condition.getValue().valueAsString());
+                    }
+
+                    this.compileConditions(condition.getNestedConditions());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Compile a regular expression for this request.  A regular expression that is not valid is skipped here
+     * so that the error is reported in the same way as the validator's verify methods when it is used.
+     *
+     * @param regex regular expression
+     */
+    private void compile(String regex)
+    {
+        if ((regex != null) && (! compiledMatchers.containsKey(regex)))
+        {
+            try
+            {
+                compiledMatchers.put(regex, repositoryValidator.getSearchStringMatcher(regex, null));
+            }
+            catch (PatternSyntaxException error)
+            {
+                /*
+                 * Reported when the regular expression is evaluated.
+                 */
+            }
+        }
+    }
+
+
+    /**
+     * Return a boolean indicating whether the instance is of the requested type.  The result is remembered
+     * for each type so that the type hierarchy is only checked once per type.
+     *
+     * @param instance instance to test
+     * @return boolean result
+     */
+    private boolean matchesType(InstanceHeader instance)
+    {
+        if ((instanceTypeGUID == null) && (subtypeGUIDs == null))
+        {
+            return true;
+        }
+
+        InstanceType instanceType = instance.getType();
+
+        if ((instanceType == null) || (instanceType.getTypeDefGUID() == null))
+        {
+            return repositoryValidator.verifyInstanceType(sourceName, instanceTypeGUID, subtypeGUIDs, instance);
+        }
+
+        Boolean result = typeMatches.get(instanceType.getTypeDefGUID());
+
+        if (result == null)
+        {
+            result = repositoryValidator.verifyInstanceType(sourceName, instanceTypeGUID, subtypeGUIDs, instance);
+            typeMatches.put(instanceType.getTypeDefGUID(), result);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesHeader(InstanceHeader instance)
+    {
+        if (instance == null)
+        {
+            return false;
+        }
+
+        if ((! this.matchesType(instance)) || (! repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, instance)))
+        {
+            return false;
+        }
+
+        if ((limitResultsByClassification != null) && (instance instanceof EntitySummary))
+        {
+            return repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, (EntitySummary) instance);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                     InstanceProperties  instanceProperties) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        switch (searchStyle)
+        {
+            case SEARCH_PROPERTIES:
+                return repositoryValidator.verifyMatchingInstancePropertyValues(searchProperties,
+                                                                                instanceHeader,
+                                                                                instanceProperties,
+                                                                                compiledMatchers);
+
+            case SEARCH_CRITERIA:
+                return repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                                       instanceProperties,
+                                                                                       searchCriteria,
+                                                                                       methodName,
+                                                                                       compiledMatchers);
+
+            default:
+                return repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                instanceHeader,
+                                                                                instanceProperties,
+                                                                                matchCriteria,
+                                                                                compiledMatchers);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(InstanceHeader instance) throws InvalidParameterException,
+                                                           RepositoryErrorException
+    {
+        if (! this.matchesHeader(instance))
+        {
+            return false;
+        }
+
+        if ((matchClassifications != null) && (instance instanceof EntitySummary))
+        {
+            if (! repositoryValidator.verifyMatchingClassifications(matchClassifications, (EntitySummary) instance, compiledMatchers))
+            {
+                return false;
+            }
+        }
+
+        InstanceProperties instanceProperties = null;
+
+        if (instance instanceof EntityDetail)
+        {
+            instanceProperties = ((EntityDetail) instance).getProperties();
+        }
+        else if (instance instanceof Relationship)
+        {
+            instanceProperties = ((Relationship) instance).getProperties();
+        }
+
+        return this.matchesProperties(instance, instanceProperties);
+    }
+}
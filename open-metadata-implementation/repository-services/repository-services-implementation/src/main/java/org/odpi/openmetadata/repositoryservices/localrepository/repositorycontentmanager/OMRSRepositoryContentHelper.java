@@ -401,36 +401,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
 
         validateRepositoryContentManager(methodName);
 
-        List<String>  subTypeNames = new ArrayList<>();
-        List<TypeDef> typeDefs = repositoryContentManager.getKnownTypeDefs();
-
-        if (typeDefs != null)
-        {
-            for (TypeDef typeDef : typeDefs)
-            {
-                if (typeDef != null)
-                {
-                    if (! superTypeName.equals(typeDef.getName()))
-                    {
-                        if (repositoryContentManager.isTypeOf(sourceName,
-                                                              typeDef.getName(),
-                                                              superTypeName))
-                        {
-                            subTypeNames.add(typeDef.getName());
-                        }
-                    }
-                }
-            }
-        }
-
-        if (subTypeNames.isEmpty())
-        {
-            return null;
-        }
-        else
-        {
-            return subTypeNames;
-        }
+        return repositoryContentManager.getSubTypesOf(sourceName, superTypeName);
     }
 
 
@@ -2141,6 +2112,62 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
     }
 
 
+    /**
+     * Return the comparator that sequences entities in the same order as formatEntityResults.  This is used
+     * when results that are already sequenced by several repositories are merged.
+     *
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return comparator or null if the results are not sequenced
+     */
+    public static Comparator<EntityDetail> getEntityComparator(String          sequencingProperty,
+                                                               SequencingOrder sequencingOrder)
+    {
+        if ((sequencingOrder == null) || (sequencingOrder.equals(SequencingOrder.ANY)))
+        {
+            return null;
+        }
+
+        if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(one.getProperties(),
+                                                                               two.getProperties(),
+                                                                               sequencingProperty,
+                                                                               sequencingOrder);
+        }
+
+        return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+    }
+
+
+    /**
+     * Return the comparator that sequences relationships in the same order as formatRelationshipResults.  This is used
+     * when results that are already sequenced by several repositories are merged.
+     *
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return comparator or null if the results are not sequenced
+     */
+    public static Comparator<Relationship> getRelationshipComparator(String          sequencingProperty,
+                                                                     SequencingOrder sequencingOrder)
+    {
+        if ((sequencingOrder == null) || (sequencingOrder.equals(SequencingOrder.ANY)))
+        {
+            return null;
+        }
+
+        if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(one.getProperties(),
+                                                                               two.getProperties(),
+                                                                               sequencingProperty,
+                                                                               sequencingOrder);
+        }
+
+        return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+    }
+
+
     /**
      * Compare the two instances and determine the sort order based on the nominated non-property sort order.
      *
@@ -50,19 +50,27 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private String                          localServerUserId;             /* initialized in the constructor */
     private OMRSRepositoryEventManager      outboundRepositoryEventManager = null;
     private String                          openTypesOriginGUID            = null;
-    private Map<String, TypeDef>            knownTypeDefGUIDs              = new HashMap<>();
-    private Map<String, TypeDef>            knownTypeDefNames              = new HashMap<>();
+    private Map<String, TypeDef>            knownTypeDefGUIDs              = Collections.synchronizedMap(new HashMap<>());
+    private Map<String, TypeDef>            knownTypeDefNames              = Collections.synchronizedMap(new HashMap<>());
     private Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs     = new HashMap<>();
     private Map<String, AttributeTypeDef>   knownAttributeTypeDefNames     = new HashMap<>();
     private Map<String, TypeDef>            activeTypeDefGUIDs             = new HashMap<>();
     private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
+    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = Collections.synchronizedMap(new HashMap<>());
     private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
     private Map<String, Set<String>>        knownPropertyToTypeDefNames    = new HashMap<>();
 
+    /*
+     * Immutable snapshot of the type hierarchy.  It is discarded whenever the known TypeDefs change and rebuilt
+     * when it is next needed.  This means loading a whole archive of TypeDefs builds it once rather than once per TypeDef.
+     * The rebuild runs on the threads that read the hierarchy while TypeDefs may still be being added, which is why
+     * the known TypeDef maps are synchronized.
+     */
+    private volatile TypeDefHierarchy       typeDefHierarchy               = null;
+
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -165,6 +173,58 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             log.debug("New Known Type {} from {}. Full TypeDef: {}", newTypeDef.getName(), sourceName, newTypeDef);
         }
         cacheTypeDefPropertyLookup(sourceName, newTypeDef);
+        refreshTypeDefHierarchy();
+    }
+
+
+    /**
+     * Discard the snapshot of the type hierarchy because the known TypeDefs have changed.  The lazily evaluated
+     * super type lists are also discarded since they may refer to the old definitions.
+     */
+    private synchronized void refreshTypeDefHierarchy()
+    {
+        typeDefSuperTypes.clear();
+        typeDefHierarchy = null;
+    }
+
+
+    /**
+     * Return the snapshot of the type hierarchy, rebuilding it from the known TypeDefs if they have changed
+     * since it was last built.
+     *
+     * @return type hierarchy
+     */
+    private TypeDefHierarchy getTypeDefHierarchy()
+    {
+        TypeDefHierarchy hierarchy = typeDefHierarchy;
+
+        if (hierarchy == null)
+        {
+            synchronized (this)
+            {
+                if (typeDefHierarchy == null)
+                {
+                    List<TypeDef> typeDefs;
+                    Set<String>   typeDefGUIDs;
+
+                    synchronized (knownTypeDefNames)
+                    {
+                        typeDefs = new ArrayList<>(knownTypeDefNames.values());
+                    }
+
+                    synchronized (knownTypeDefGUIDs)
+                    {
+                        typeDefGUIDs = new HashSet<>(knownTypeDefGUIDs.keySet());
+                    }
+
+                    typeDefHierarchy = new TypeDefHierarchy(typeDefs, typeDefGUIDs);
+                }
+
+                hierarchy = typeDefHierarchy;
+            }
+        }
+
+        return hierarchy;
     }
 
 
@@ -219,6 +279,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         log.debug("Removed Type {} from {}", obsoleteTypeDefName, sourceName);
         uncacheTypeDefPropertyLookup(sourceName, obsoleteTypeDefName);
+        refreshTypeDefHierarchy();
     }
 
 
@@ -323,8 +384,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
                 activeTypeDefNames.remove(obsoleteTypeDefName);
 
-                log.debug("Deleted Active TypeDef " + obsoleteTypeDefName + " from " + sourceName);
+                log.debug("Deleted Active TypeDef {} from {}", obsoleteTypeDefName, sourceName);
             }
+
+            refreshTypeDefHierarchy();
         }
     }
 
@@ -507,7 +570,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
                     if (superTypeName != null)
                     {
-                        log.debug(typeName + " has super type " + superTypeName);
+                        log.debug("{} has super type {}", typeName, superTypeName);
 
                         typeHierarchy.add(superTypeLink);
 
@@ -525,13 +588,13 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         }
                         else
                         {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
+                            log.error("{} supertype is not known in TypeDef cache", superTypeName);
                             throwContentManagerLogicError(sourceName, methodName, thisMethodName);
                         }
                     }
                     else
                     {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
+                        log.error("Corrupted TypeDef cache, no name for {}", superTypeLink);
                         throwContentManagerLogicError(sourceName, methodName, thisMethodName);
                     }
                 }
@@ -543,7 +606,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             }
             else
             {
-                log.error(typeName + " type is not known in TypeDef cache");
+                log.error("{} type is not known in TypeDef cache", typeName);
                 throwContentManagerLogicError(sourceName, methodName, thisMethodName);
             }
         }
@@ -580,7 +643,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOf";
 
-        log.debug("isTypeOf: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeName = " + expectedTypeName);
+        log.debug("isTypeOf: sourceName = {}; actualTypeName = {}; expectedTypeName = {}", sourceName, actualTypeName, expectedTypeName);
 
         if (expectedTypeName == null)
         {
@@ -608,6 +671,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        /*
+         * The snapshot of the type hierarchy answers the question for all well-formed types.
+         */
+        Boolean isTypeOf = this.getTypeDefHierarchy().isTypeOf(actualTypeName, expectedTypeName);
+
+        if (isTypeOf != null)
+        {
+            return isTypeOf;
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
@@ -625,7 +698,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         return true;
                     }
 
-                    log.debug("No match with " + superType.getName());
+                    log.debug("No match with {}", superType.getName());
                 }
             }
         }
@@ -654,7 +727,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOfByGUID";
 
-        log.debug("IsTypeOfByGUID: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeGUID = " + expectedTypeGUID);
+        log.debug("IsTypeOfByGUID: sourceName = {}; actualTypeName = {}; expectedTypeGUID = {}", sourceName, actualTypeName, expectedTypeGUID);
 
         if (expectedTypeGUID == null)
         {
@@ -684,10 +757,20 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        /*
+         * The snapshot of the type hierarchy answers the question for all well-formed types.
+         */
+        Boolean isTypeOf = this.getTypeDefHierarchy().isTypeOfByGUID(actualTypeName, expectedTypeGUID);
+
+        if (isTypeOf != null)
+        {
+            return isTypeOf;
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
-       List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
 
         if (typeHierarchy != null)
         {
@@ -700,7 +783,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         log.debug("SuperType match success");
                         return true;
                     }
-                    log.debug("No match with " + superType.getGUID());
+                    log.debug("No match with {}", superType.getGUID());
                 }
             }
         }
@@ -709,6 +792,58 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Return the list of type names for all of the subtypes of a type.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param superTypeName name of the super type - this value is not included in the result.
+     * @return list of type names (a null means the type is not know or it has no sub types)
+     */
+    List<String>  getSubTypesOf(String sourceName,
+                                String superTypeName)
+    {
+        TypeDefHierarchy hierarchy = this.getTypeDefHierarchy();
+
+        if (hierarchy.isComplete())
+        {
+            return hierarchy.getSubTypeNames(superTypeName);
+        }
+
+        /*
+         * At least one type has a broken super type chain so work through the TypeDefs one at a time
+         * so that the problem is reported.
+         */
+        List<String>  subTypeNames = new ArrayList<>();
+        List<TypeDef> typeDefs = this.getKnownTypeDefs();
+
+        if (typeDefs != null)
+        {
+            for (TypeDef typeDef : typeDefs)
+            {
+                if (typeDef != null)
+                {
+                    if (! superTypeName.equals(typeDef.getName()))
+                    {
+                        if (this.isTypeOf(sourceName, typeDef.getName(), superTypeName))
+                        {
+                            subTypeNames.add(typeDef.getName());
+                        }
+                    }
+                }
+            }
+        }
+
+        if (subTypeNames.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return subTypeNames;
+        }
+    }
+
+
     /**
      * Return the InstanceType that matches the supplied type name.  If the type name is not recognized,
      * of the category is incorrect, a logic exception is thrown.
@@ -1561,20 +1696,33 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                       List<TypeDef> typeDefs,
                                       String        methodName) throws RepositoryErrorException
     {
-        for (TypeDef typeDef : typeDefs)
+        boolean newTypeDefs = false;
+
+        try
         {
-            if (validTypeId(sourceName, typeDef.getGUID(), typeDef.getName()))
+            for (TypeDef typeDef : typeDefs)
             {
-                if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
+                if (validTypeId(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
+                    {
+                        knownTypeDefNames.put(typeDef.getName(), typeDef);
+                        newTypeDefs = true;
+                    }
+                }
+                else
+                {
+                    throw new RepositoryErrorException(OMRSErrorCode.CONFLICTING_ENTERPRISE_TYPEDEFS.getMessageDefinition(),
+                                                       this.getClass().getName(),
+                                                       methodName);
                 }
             }
-            else
+        }
+        finally
+        {
+            if (newTypeDefs)
             {
-                throw new RepositoryErrorException(OMRSErrorCode.CONFLICTING_ENTERPRISE_TYPEDEFS.getMessageDefinition(),
-                                                   this.getClass().getName(),
-                                                   methodName);
+                refreshTypeDefHierarchy();
             }
         }
     }
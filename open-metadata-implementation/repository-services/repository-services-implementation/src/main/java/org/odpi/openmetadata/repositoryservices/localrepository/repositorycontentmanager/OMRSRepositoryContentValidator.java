@@ -10,6 +10,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -32,6 +33,22 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
     private        OMRSRepositoryContentManager    repositoryContentManager;
 
+    /*
+     * Recently used regular expressions from searches are kept in their compiled form.
+     */
+    private static final int                       SEARCH_STRING_CACHE_SIZE = 500;
+    private final Map<String, SearchStringMatcher> searchStringMatcherCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, SearchStringMatcher>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SearchStringMatcher> eldest)
+                {
+                    return size() > SEARCH_STRING_CACHE_SIZE;
+                }
+            });
+
     private enum MatchOption
     {
         RegexFullMatch,
@@ -3680,6 +3697,24 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     @Override
     public int countMatchingPropertyValues(InstanceProperties       matchProperties,
                                            InstanceProperties       instanceProperties) throws InvalidParameterException
+    {
+        return this.countMatchingPropertyValues(matchProperties, instanceProperties, null);
+    }
+
+
+    /**
+     * Count the number of matching property values that an instance has using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param matchProperties the properties to match.
+     * @param instanceProperties the properties from the instance.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return integer count of the matching properties.
+     * @throws InvalidParameterException invalid search criteria
+     */
+    int countMatchingPropertyValues(InstanceProperties               matchProperties,
+                                    InstanceProperties               instanceProperties,
+                                    Map<String, SearchStringMatcher> compiledMatchers) throws InvalidParameterException
     {
         final String  methodName = "countMatchingPropertyValues";
         int           matchingProperties = 0;
@@ -3803,7 +3838,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (this.getSearchStringMatcher(matchPropertyValueString, compiledMatchers).matches(instancePropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3842,11 +3877,13 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
      * @param propertyMap map with the properties
      * @param propertyName name of the property to test
      * @param expectedValue expected value
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
      * @return boolean result
      */
     private  boolean  checkStringPropertyValue(Map<String, InstancePropertyValue>   propertyMap,
                                                String                               propertyName,
-                                               String                               expectedValue)
+                                               String                               expectedValue,
+                                               Map<String, SearchStringMatcher>     compiledMatchers)
     {
         boolean                 result = false;
         InstancePropertyValue   instancePropertyValue = propertyMap.get(propertyName);
@@ -3862,7 +3899,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (expectedValue.matches(matchValue))
+                        if (this.getSearchStringMatcher(matchValue, compiledMatchers).matches(expectedValue))
                         {
                             result = true;
                         }
@@ -3939,6 +3976,25 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public int countMatchingHeaderPropertyValues(InstanceProperties       matchProperties,
                                                  InstanceAuditHeader      instanceHeader,
                                                  InstanceProperties       instanceProperties)
+    {
+        return this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, null);
+    }
+
+
+    /**
+     * Count the number of matching header property values that an instance has using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader  the header properties from the instance.
+     * @param instanceProperties  the effectivity dates.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return integer count of the matching properties.
+     */
+    private int countMatchingHeaderPropertyValues(InstanceProperties               matchProperties,
+                                                  InstanceAuditHeader              instanceHeader,
+                                                  InstanceProperties               instanceProperties,
+                                                  Map<String, SearchStringMatcher> compiledMatchers)
     {
         final String metadataCollectionIdPropertyName = "metadataCollectionId";
         final String metadataCollectionNamePropertyName = "metadataCollectionName";
@@ -3959,27 +4015,27 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
             if (propertyMap != null)
             {
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName()))
+                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID()))
+                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy(), compiledMatchers))
                 {
                     matchingProperties ++;
                 }
@@ -4023,11 +4079,33 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceAuditHeader  instanceHeader,
                                                         InstanceProperties   instanceProperties,
                                                         MatchCriteria        matchCriteria) throws InvalidParameterException
+    {
+        return this.verifyMatchingInstancePropertyValues(matchProperties, instanceHeader, instanceProperties, matchCriteria, null);
+    }
+
+
+    /**
+     * Determine if the instance properties match the match criteria using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @param matchCriteria  rule on how the match should occur.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return boolean flag indicating whether the two sets of properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    boolean verifyMatchingInstancePropertyValues(InstanceProperties               matchProperties,
+                                                 InstanceAuditHeader              instanceHeader,
+                                                 InstanceProperties               instanceProperties,
+                                                 MatchCriteria                    matchCriteria,
+                                                 Map<String, SearchStringMatcher> compiledMatchers) throws InvalidParameterException
     {
         if (matchProperties != null && matchProperties.getInstanceProperties() != null)
         {
-            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties) +
-                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties);
+            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties, compiledMatchers) +
+                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, compiledMatchers);
 
             switch (matchCriteria)
             {
@@ -4108,6 +4186,26 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public boolean verifyMatchingInstancePropertyValues(SearchProperties    matchProperties,
                                                         InstanceAuditHeader instanceHeader,
                                                         InstanceProperties  instanceProperties) throws InvalidParameterException
+    {
+        return this.verifyMatchingInstancePropertyValues(matchProperties, instanceHeader, instanceProperties, null);
+    }
+
+
+    /**
+     * Determine if the instance properties match the property-based conditions using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param matchProperties  the property-based conditions to match.
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return boolean flag indicating whether the two sets of properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    boolean verifyMatchingInstancePropertyValues(SearchProperties                 matchProperties,
+                                                 InstanceAuditHeader              instanceHeader,
+                                                 InstanceProperties               instanceProperties,
+                                                 Map<String, SearchStringMatcher> compiledMatchers) throws InvalidParameterException
     {
         final String methodName = "verifyMatchingInstancePropertyValues";
         if (matchProperties == null)
@@ -4119,7 +4217,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
         for (PropertyCondition condition : conditions)
         {
             // Simplest way: this will also short-circuit to true immediately if nested conditions is null
-            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties);
+            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties, compiledMatchers);
             String propertyName = condition.getProperty();
             InstancePropertyValue testValue = condition.getValue();
             InstancePropertyValue actualValue = null;
@@ -4220,7 +4318,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                             else
                             {
                                 String actual = actualValue.valueAsString();
-                                matchesProperties = actual.matches(test);
+                                matchesProperties = this.getSearchStringMatcher(test, compiledMatchers).matches(actual);
                             }
                         }
                         else
@@ -4270,6 +4368,24 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     @Override
     public boolean verifyMatchingClassifications(SearchClassifications matchClassifications,
                                                  EntitySummary         entity) throws InvalidParameterException
+    {
+        return this.verifyMatchingClassifications(matchClassifications, entity, null);
+    }
+
+
+    /**
+     * Determine if the instance properties match the classification-based conditions using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param matchClassifications  the classification-based conditions to match.
+     * @param entity  the entity instance.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return boolean flag indicating whether the classifications match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    boolean verifyMatchingClassifications(SearchClassifications            matchClassifications,
+                                          EntitySummary                    entity,
+                                          Map<String, SearchStringMatcher> compiledMatchers) throws InvalidParameterException
     {
         if (matchClassifications == null)
         {
@@ -4297,7 +4413,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                 {
                     if (classificationName.equals(classification.getName()))
                     {
-                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties());
+                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties(), compiledMatchers);
                     }
                 }
                 matchingClassificationCount += (isClassified && classificationMatches) ? 1 : 0;
@@ -4438,6 +4554,28 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                                InstanceProperties  properties,
                                                                String              searchCriteria,
                                                                String              methodName) throws RepositoryErrorException
+    {
+        return this.verifyInstancePropertiesMatchSearchCriteria(sourceName, properties, searchCriteria, methodName, null);
+    }
+
+
+    /**
+     * Search for property values matching the search criteria (a regular expression) using the supplied compiled
+     * regular expressions where possible.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteria regular expression for testing the property values
+     * @param methodName name of the method requiring the search.
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    boolean verifyInstancePropertiesMatchSearchCriteria(String                           sourceName,
+                                                        InstanceProperties               properties,
+                                                        String                           searchCriteria,
+                                                        String                           methodName,
+                                                        Map<String, SearchStringMatcher> compiledMatchers) throws RepositoryErrorException
     {
         if (properties == null)
         {
@@ -4462,7 +4600,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (this.getSearchStringMatcher(searchCriteria, compiledMatchers).matches(stringProperty))
                                 {
                                     return true;
                                 }
@@ -4476,7 +4614,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (this.getSearchStringMatcher(searchCriteria, compiledMatchers).matches(enumValue))
                             {
                                 return true;
                             }
@@ -4489,7 +4627,8 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         structPropertyValue.getAttributes(),
                                                                         searchCriteria,
-                                                                        methodName))
+                                                                        methodName,
+                                                                        compiledMatchers))
                         {
                             return true;
                         }
@@ -4501,7 +4640,8 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         arrayPropertyValue.getArrayValues(),
                                                                         searchCriteria,
-                                                                        methodName))
+                                                                        methodName,
+                                                                        compiledMatchers))
                         {
                             return true;
                         }
@@ -4513,7 +4653,8 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         mapPropertyValue.getMapValues(),
                                                                         searchCriteria,
-                                                                        methodName))
+                                                                        methodName,
+                                                                        compiledMatchers))
                         {
                             return true;
                         }
@@ -4652,6 +4793,120 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstanceSearchPredicate getInstancePropertiesPredicate(String               sourceName,
+                                                                      String               instanceTypeGUID,
+                                                                      List<String>         subtypeGUIDs,
+                                                                      List<InstanceStatus> limitResultsByStatus,
+                                                                      List<String>         limitResultsByClassification,
+                                                                      InstanceProperties   matchProperties,
+                                                                      MatchCriteria        matchCriteria,
+                                                                      String               methodName)
+    {
+        InstanceSearchPredicate predicate = new InstanceSearchPredicate(this,
+                                                                        sourceName,
+                                                                        instanceTypeGUID,
+                                                                        subtypeGUIDs,
+                                                                        limitResultsByStatus,
+                                                                        limitResultsByClassification,
+                                                                        methodName);
+
+        predicate.setInstanceProperties(matchProperties, matchCriteria);
+
+        return predicate;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstanceSearchPredicate getSearchPropertiesPredicate(String                sourceName,
+                                                                    String                instanceTypeGUID,
+                                                                    List<String>          subtypeGUIDs,
+                                                                    List<InstanceStatus>  limitResultsByStatus,
+                                                                    SearchProperties      matchProperties,
+                                                                    SearchClassifications matchClassifications,
+                                                                    String                methodName)
+    {
+        InstanceSearchPredicate predicate = new InstanceSearchPredicate(this,
+                                                                        sourceName,
+                                                                        instanceTypeGUID,
+                                                                        subtypeGUIDs,
+                                                                        limitResultsByStatus,
+                                                                        null,
+                                                                        methodName);
+
+        predicate.setSearchProperties(matchProperties, matchClassifications);
+
+        return predicate;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstanceSearchPredicate getSearchCriteriaPredicate(String               sourceName,
+                                                                  String               instanceTypeGUID,
+                                                                  List<String>         subtypeGUIDs,
+                                                                  List<InstanceStatus> limitResultsByStatus,
+                                                                  List<String>         limitResultsByClassification,
+                                                                  String               searchCriteria,
+                                                                  String               methodName)
+    {
+        InstanceSearchPredicate predicate = new InstanceSearchPredicate(this,
+                                                                        sourceName,
+                                                                        instanceTypeGUID,
+                                                                        subtypeGUIDs,
+                                                                        limitResultsByStatus,
+                                                                        limitResultsByClassification,
+                                                                        methodName);
+
+        predicate.setSearchCriteria(searchCriteria);
+
+        return predicate;
+    }
+
+
+    /**
+     * Return the compiled form of a regular expression.  The matchers compiled for the current request are
+     * checked first, then the cache of recently used regular expressions.  If the regular expression has
+     * not been seen before, it is compiled and added to the cache.
+     *
+     * @param regex regular expression
+     * @param compiledMatchers regular expressions compiled for the request (may be null)
+     * @return compiled matcher
+     * @throws java.util.regex.PatternSyntaxException the regular expression is not valid
+     */
+    SearchStringMatcher getSearchStringMatcher(String                           regex,
+                                               Map<String, SearchStringMatcher> compiledMatchers)
+    {
+        SearchStringMatcher matcher = null;
+
+        if (compiledMatchers != null)
+        {
+            matcher = compiledMatchers.get(regex);
+        }
+
+        if (matcher == null)
+        {
+            matcher = searchStringMatcherCache.get(regex);
+
+            if (matcher == null)
+            {
+                matcher = new SearchStringMatcher(regex);
+                searchStringMatcherCache.put(regex, matcher);
+            }
+        }
+
+        return matcher;
+    }
+
+
     /**
      * Throw a logic error exception if this object does not have a repository content manager.
      * This would occur if if is being used in an environment where the OMRS has not been properly
@@ -0,0 +1,209 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import java.util.regex.Pattern;
+
+/**
+ * SearchStringMatcher is the compiled form of a regular expression used in a search.  It gives the same
+ * result as String.matches(regex).  The regular expressions produced by the repository helper's
+ * getExactMatchRegex, getStartsWithRegex, getEndsWithRegex and getContainsRegex methods, along with
+ * regular expressions that contain no special characters, are recognized and tested with simple string
+ * operations.  All other regular expressions are compiled into a Pattern once when the matcher is created.
+ */
+class SearchStringMatcher
+{
+    private static final String QUOTE_START = "\\Q";
+    private static final String QUOTE_END   = "\\E";
+    private static final String ANY_CHARS   = ".*";
+    private static final String REGEX_CHARS = "\\^$.|?*+()[]{}";
+
+    private enum MatchStyle
+    {
+        EXACT,
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS,
+        REGEX
+    }
+
+    private final String     regex;
+    private final MatchStyle matchStyle;
+    private final String     literal;
+    private final Pattern    pattern;
+
+
+    /**
+     * Compile the regular expression.
+     *
+     * @param regex regular expression from the search
+     * @throws java.util.regex.PatternSyntaxException the regular expression is not valid
+     */
+    SearchStringMatcher(String regex)
+    {
+        this.regex = regex;
+
+        String quoted = regex;
+        boolean leadingWildcard = false;
+        boolean trailingWildcard = false;
+
+        if (quoted.startsWith(ANY_CHARS))
+        {
+            leadingWildcard = true;
+            quoted = quoted.substring(ANY_CHARS.length());
+        }
+
+        if (quoted.endsWith(ANY_CHARS) && (! quoted.endsWith("\\" + ANY_CHARS)))
+        {
+            trailingWildcard = true;
+            quoted = quoted.substring(0, quoted.length() - ANY_CHARS.length());
+        }
+
+        String extractedLiteral = getLiteral(quoted);
+
+        if ((extractedLiteral == null) && (! leadingWildcard) && (! trailingWildcard) && (isLiteral(regex)))
+        {
+            extractedLiteral = regex;
+        }
+
+        if (extractedLiteral == null)
+        {
+            this.matchStyle = MatchStyle.REGEX;
+            this.literal = null;
+            this.pattern = Pattern.compile(regex);
+        }
+        else
+        {
+            if (leadingWildcard && trailingWildcard)
+            {
+                this.matchStyle = MatchStyle.CONTAINS;
+            }
+            else if (leadingWildcard)
+            {
+                this.matchStyle = MatchStyle.ENDS_WITH;
+            }
+            else if (trailingWildcard)
+            {
+                this.matchStyle = MatchStyle.STARTS_WITH;
+            }
+            else
+            {
+                this.matchStyle = MatchStyle.EXACT;
+            }
+
+            this.literal = extractedLiteral;
+            this.pattern = null;
+        }
+    }
+
+
+    /**
+     * Return the literal from a quoted regular expression, such as the one returned from getExactMatchRegex,
+     * or null if the regular expression is anything else.
+     *
+     * @param quoted regular expression
+     * @return literal string or null
+     */
+    private static String getLiteral(String quoted)
+    {
+        if ((quoted.startsWith(QUOTE_START)) &&
+            (quoted.endsWith(QUOTE_END)) &&
+            (quoted.length() >= QUOTE_START.length() + QUOTE_END.length()) &&
+            (quoted.indexOf(QUOTE_END) == quoted.length() - QUOTE_END.length()))
+        {
+            return quoted.substring(QUOTE_START.length(), quoted.length() - QUOTE_END.length());
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a boolean indicating whether the regular expression has no special characters and so
+     * only matches itself.
+     *
+     * @param regex regular expression
+     * @return boolean result
+     */
+    private static boolean isLiteral(String regex)
+    {
+        for (int i = 0; i < regex.length(); i++)
+        {
+            if (REGEX_CHARS.indexOf(regex.charAt(i)) != -1)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return a boolean indicating whether the value contains a line terminator.  The "." in the wildcards
+     * does not match line terminators so these values must be tested with the full regular expression.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    private static boolean hasLineTerminator(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            if ((c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029'))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return the regular expression that this matcher was created from.
+     *
+     * @return regular expression
+     */
+    String getRegex()
+    {
+        return regex;
+    }
+
+
+    /**
+     * Return a boolean indicating whether the whole of the value matches the regular expression.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    boolean matches(String value)
+    {
+        if (matchStyle == MatchStyle.EXACT)
+        {
+            return literal.equals(value);
+        }
+        else if (matchStyle == MatchStyle.REGEX)
+        {
+            return pattern.matcher(value).matches();
+        }
+        else if (hasLineTerminator(value))
+        {
+            return Pattern.matches(regex, value);
+        }
+
+        switch (matchStyle)
+        {
+            case STARTS_WITH:
+                return value.startsWith(literal);
+
+            case ENDS_WITH:
+                return value.endsWith(literal);
+
+            default:
+                return value.contains(literal);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TypeDefHierarchy is an immutable snapshot of the type hierarchy of the TypeDefs known to the
+ * OMRSRepositoryContentManager.  Each TypeDef is given a dense integer identifier and the ancestors and descendants
+ * of each type are precomputed as bit sets so type comparisons do not need to walk the super type links.
+ * The content manager builds a new snapshot whenever its TypeDefs change and publishes it with a single
+ * reference assignment so it can be read from any thread without locking.
+ *
+ * When a type is not in the snapshot, or its super type chain is broken, the methods return null and the caller
+ * uses the original TypeDefs to work out (and report on) the answer.
+ */
+class TypeDefHierarchy
+{
+    private final Map<String, Integer> typeIdsByName = new HashMap<>();
+    private final Map<String, Integer> typeIdsByGUID = new HashMap<>();
+    private final String[]             typeNames;
+    private final BitSet[]             ancestors;
+    private final BitSet[]             descendants;
+    private final BitSet               registeredTypes = new BitSet();
+    private final boolean              complete;
+
+
+    /**
+     * Build the snapshot.
+     *
+     * @param typeDefs all known TypeDefs
+     * @param registeredTypeDefGUIDs unique identifiers of the TypeDefs that are returned from getSubTypeNames
+     */
+    TypeDefHierarchy(Collection<TypeDef> typeDefs,
+                     Set<String>         registeredTypeDefGUIDs)
+    {
+        List<TypeDef> typeDefList = new ArrayList<>();
+
+        for (TypeDef typeDef : typeDefs)
+        {
+            if ((typeDef != null) && (typeDef.getName() != null) && (! typeIdsByName.containsKey(typeDef.getName())))
+            {
+                int typeId = typeDefList.size();
+
+                typeDefList.add(typeDef);
+                typeIdsByName.put(typeDef.getName(), typeId);
+
+                if (typeDef.getGUID() != null)
+                {
+                    typeIdsByGUID.put(typeDef.getGUID(), typeId);
+
+                    if (registeredTypeDefGUIDs.contains(typeDef.getGUID()))
+                    {
+                        registeredTypes.set(typeId);
+                    }
+                }
+            }
+        }
+
+        int typeCount = typeDefList.size();
+
+        typeNames = new String[typeCount];
+        ancestors = new BitSet[typeCount];
+        descendants = new BitSet[typeCount];
+
+        boolean allChainsComplete = true;
+
+        for (int typeId = 0; typeId < typeCount; typeId++)
+        {
+            typeNames[typeId] = typeDefList.get(typeId).getName();
+            descendants[typeId] = new BitSet(typeCount);
+
+            BitSet      typeAncestors = new BitSet(typeCount);
+            TypeDefLink superTypeLink = typeDefList.get(typeId).getSuperType();
+
+            typeAncestors.set(typeId);
+
+            while (superTypeLink != null)
+            {
+                Integer superTypeId = null;
+
+                if (superTypeLink.getName() != null)
+                {
+                    superTypeId = typeIdsByName.get(superTypeLink.getName());
+                }
+
+                if ((superTypeId == null) || (typeAncestors.get(superTypeId)))
+                {
+                    /*
+                     * Unknown super type or a loop in the hierarchy.
+                     */
+                    typeAncestors = null;
+                    allChainsComplete = false;
+                    break;
+                }
+
+                typeAncestors.set(superTypeId);
+                superTypeLink = typeDefList.get(superTypeId).getSuperType();
+            }
+
+            ancestors[typeId] = typeAncestors;
+        }
+
+        for (int typeId = 0; typeId < typeCount; typeId++)
+        {
+            if (ancestors[typeId] != null)
+            {
+                for (int ancestorId = ancestors[typeId].nextSetBit(0); ancestorId >= 0; ancestorId = ancestors[typeId].nextSetBit(ancestorId + 1))
+                {
+                    descendants[ancestorId].set(typeId);
+                }
+            }
+        }
+
+        this.complete = allChainsComplete;
+    }
+
+
+    /**
+     * Return the ancestors (including itself) of the named type or null if they are not known.
+     *
+     * @param typeName name of the type
+     * @return bit set of type identifiers or null
+     */
+    private BitSet getAncestors(String typeName)
+    {
+        if (typeName != null)
+        {
+            Integer typeId = typeIdsByName.get(typeName);
+
+            if (typeId != null)
+            {
+                return ancestors[typeId];
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return whether the actual type is the expected type or one of its subtypes.
+     *
+     * @param actualTypeName name of the type of the instance
+     * @param expectedTypeName name of the expected type
+     * @return boolean result or null if the snapshot can not answer the question
+     */
+    Boolean isTypeOf(String actualTypeName,
+                     String expectedTypeName)
+    {
+        BitSet  typeAncestors  = this.getAncestors(actualTypeName);
+        Integer expectedTypeId = typeIdsByName.get(expectedTypeName);
+
+        if ((typeAncestors == null) || (expectedTypeId == null))
+        {
+            return null;
+        }
+
+        return typeAncestors.get(expectedTypeId);
+    }
+
+
+    /**
+     * Return whether the actual type is the expected type or one of its subtypes.
+     *
+     * @param actualTypeName name of the type of the instance
+     * @param expectedTypeGUID unique identifier of the expected type
+     * @return boolean result or null if the snapshot can not answer the question
+     */
+    Boolean isTypeOfByGUID(String actualTypeName,
+                           String expectedTypeGUID)
+    {
+        BitSet  typeAncestors  = this.getAncestors(actualTypeName);
+        Integer expectedTypeId = typeIdsByGUID.get(expectedTypeGUID);
+
+        if ((typeAncestors == null) || (expectedTypeId == null))
+        {
+            return null;
+        }
+
+        return typeAncestors.get(expectedTypeId);
+    }
+
+
+    /**
+     * Return whether every known type has a complete super type chain.  If not, the callers that need
+     * to look at every type should use the original TypeDefs so the broken chain is reported.
+     *
+     * @return boolean flag
+     */
+    boolean isComplete()
+    {
+        return complete;
+    }
+
+
+    /**
+     * Return the names of the registered subtypes of the named type (not including the type itself).
+     *
+     * @param superTypeName name of the super type
+     * @return list of type names or null if the type is not known or has no subtypes
+     */
+    List<String> getSubTypeNames(String superTypeName)
+    {
+        if (superTypeName != null)
+        {
+            Integer superTypeId = typeIdsByName.get(superTypeName);
+
+            if (superTypeId != null)
+            {
+                BitSet       subTypes     = descendants[superTypeId];
+                List<String> subTypeNames = new ArrayList<>();
+
+                for (int typeId = subTypes.nextSetBit(0); typeId >= 0; typeId = subTypes.nextSetBit(typeId + 1))
+                {
+                    if ((typeId != superTypeId) && (registeredTypes.get(typeId)))
+                    {
+                        subTypeNames.add(typeNames[typeId]);
+                    }
+                }
+
+                if (! subTypeNames.isEmpty())
+                {
+                    return subTypeNames;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -81,6 +81,9 @@ public class OMRSCohortManager
      * @param cohortTopicConnection Connection to the cohort's OMRS Topic.
      * @param enterpriseTopicConnector Connector to the federated OMRS Topic.
      * @param inboundEventExchangeRule rule for processing inbound events.
+     * @param instanceEventBatchSize maximum number of instance events from the local repository to send in a
+     *                               batch event - zero or one means send each instance event on its own.
+     * @param instanceEventBatchInterval maximum time in milliseconds that an instance event waits for its batch.
      */
     public void initialize(String                           cohortName,
                            String                           localMetadataCollectionId,
@@ -95,7 +98,9 @@ public class OMRSCohortManager
                            OMRSCohortRegistryStore          cohortRegistryStore,
                            Connection                       cohortTopicConnection,
                            OMRSTopicConnector               cohortTopicConnector,
-                           OMRSRepositoryEventExchangeRule  inboundEventExchangeRule)
+                           OMRSRepositoryEventExchangeRule  inboundEventExchangeRule,
+                           int                              instanceEventBatchSize,
+                           long                             instanceEventBatchInterval)
     {
         final String   actionDescription = "Initialize Cohort Manager";
 
@@ -168,6 +173,8 @@ public class OMRSCohortManager
                      */
                     outboundRepositoryEventPublisher = new OMRSRepositoryEventPublisher(cohortName,
                                                                                         cohortTopicConnector,
+                                                                                        instanceEventBatchSize,
+                                                                                        instanceEventBatchInterval,
                                                                                         auditLog.createNewAuditLog(OMRSAuditingComponent.EVENT_PUBLISHER));
 
                     localRepositoryEventManager.registerRepositoryEventProcessor(outboundRepositoryEventPublisher);
@@ -393,6 +400,11 @@ public class OMRSCohortManager
         {
             cohortConnectionStatus = CohortConnectionStatus.DISCONNECTING;
 
+            if (outboundRepositoryEventPublisher != null)
+            {
+                outboundRepositoryEventPublisher.disconnect();
+            }
+
             if (cohortRegistry != null)
             {
                 cohortRegistry.disconnectFromCohort(permanent);
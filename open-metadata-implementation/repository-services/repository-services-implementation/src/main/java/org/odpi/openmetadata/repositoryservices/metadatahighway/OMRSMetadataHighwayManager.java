@@ -211,7 +211,9 @@ public class OMRSMetadataHighwayManager
                                      cohortRegistryStore,
                                      cohortConfig.getCohortOMRSTopicConnection(),
                                      cohortTopicConnector,
-                                     inboundEventExchangeRule);
+                                     inboundEventExchangeRule,
+                                     cohortConfig.getInstanceEventBatchSize(),
+                                     cohortConfig.getInstanceEventBatchInterval());
 
             /*
              * The cohort manager is only added to the list if it initializes successfully.
@@ -2001,6 +2001,69 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities and the optional time used to determine
+     *                        which version of the entities that is desired.
+     * @return EntityListResponse:
+     * list of the entities that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  EntityListResponse getEntityDetails(String                  serverName,
+                                                String                  userId,
+                                                InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getEntityDetails";
+
+        log.debug("Calling method: " + methodName);
+
+        EntityListResponse response = new EntityListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guidListRequest != null)
+            {
+                response.setEntities(metadataCollection.getEntityDetails(userId,
+                                                                         guidListRequest.getGUIDs(),
+                                                                         guidListRequest.getAsOfTime()));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -3584,6 +3647,69 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return a list of relationships.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships and the optional time used to determine
+     *                        which version of the relationships that is desired.
+     * @return RelationshipListResponse:
+     * list of the relationships that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  RelationshipListResponse getRelationships(String                  serverName,
+                                                      String                  userId,
+                                                      InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getRelationships";
+
+        log.debug("Calling method: " + methodName);
+
+        RelationshipListResponse response = new RelationshipListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guidListRequest != null)
+            {
+                response.setRelationships(metadataCollection.getRelationships(userId,
+                                                                              guidListRequest.getGUIDs(),
+                                                                              guidListRequest.getAsOfTime()));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -0,0 +1,188 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the OMRSArchiveLoader passes the instances of an archive to the local repository in batches of
+ * a bounded size, with the pending entities before the relationships that may link them.
+ */
+public class TestOMRSArchiveLoader
+{
+    @Test
+    void testBatches()
+    {
+        List<String>      batches = new ArrayList<>();
+        OMRSArchiveLoader loader  = getLoader(batches);
+
+        loader.processArchiveProperties(getArchiveProperties());
+        assertTrue(loader.isStarted());
+
+        for (String guid : new String[]{"entity1", "entity2", "entity3", "entity4", "entity5"})
+        {
+            loader.processEntity(getEntity(guid));
+        }
+
+        assertEquals(batches, Arrays.asList("[entity1, entity2] []", "[entity3, entity4] []"));
+
+        /*
+         * The pending entity is passed before the first relationship.
+         */
+        for (String guid : new String[]{"relationship1", "relationship2", "relationship3"})
+        {
+            loader.processRelationship(getRelationship(guid));
+        }
+
+        assertEquals(batches, Arrays.asList("[entity1, entity2] []",
+                                            "[entity3, entity4] []",
+                                            "[entity5] []",
+                                            "[] [relationship1, relationship2]"));
+
+        loader.complete();
+
+        assertEquals(batches.get(batches.size() - 1), "[] [relationship3]");
+        assertEquals(batches.size(), 5);
+    }
+
+
+    @Test
+    void testPendingInstancesOfUnreadableArchive()
+    {
+        List<String>      batches = new ArrayList<>();
+        OMRSArchiveLoader loader  = getLoader(batches);
+
+        assertFalse(loader.isStarted());
+
+        loader.processArchiveProperties(getArchiveProperties());
+        loader.processEntity(getEntity("entity1"));
+        loader.processRelationship(getRelationship("relationship1"));
+
+        assertEquals(batches, Arrays.asList("[entity1] []"));
+
+        loader.passPendingInstances();
+
+        assertEquals(batches, Arrays.asList("[entity1] []", "[] [relationship1]"));
+    }
+
+
+    @Test
+    void testInstancesBeforeArchivePropertiesIgnored()
+    {
+        List<String>      batches = new ArrayList<>();
+        OMRSArchiveLoader loader  = getLoader(batches);
+
+        loader.processEntity(getEntity("entity1"));
+        loader.complete();
+
+        assertTrue(batches.isEmpty());
+    }
+
+
+    /**
+     * Return a loader with a batch size of 2 that records the batches passed to the local repository.
+     *
+     * @param batches list of batches described by the GUIDs of their entities and relationships
+     * @return archive loader
+     */
+    private OMRSArchiveLoader getLoader(List<String> batches)
+    {
+        OMRSInstanceEventProcessorInterface instanceProcessor =
+                (OMRSInstanceEventProcessorInterface) Proxy.newProxyInstance(OMRSInstanceEventProcessorInterface.class.getClassLoader(),
+                                                                             new Class<?>[]{OMRSInstanceEventProcessorInterface.class},
+                                                                             (proxy, method, args) ->
+                                                                             {
+                                                                                 if ("processInstanceBatchEvent".equals(method.getName()))
+                                                                                 {
+                                                                                     batches.add(getGUIDs((InstanceGraph) args[5]));
+                                                                                 }
+                                                                                 return null;
+                                                                             });
+
+        AuditLog auditLog = new AuditLog(new AuditLogDestination(null)
+        {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord)
+            {
+            }
+        }, 0, "TestOMRSArchiveLoader", "Tests the archive loader", null);
+
+        return new OMRSArchiveLoader("testArchive", null, instanceProcessor, auditLog, 2, 100);
+    }
+
+
+    private OpenMetadataArchiveProperties getArchiveProperties()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("testArchiveGUID");
+        archiveProperties.setArchiveName("testArchive");
+        archiveProperties.setArchiveType(OpenMetadataArchiveType.CONTENT_PACK);
+
+        return archiveProperties;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+
+        return relationship;
+    }
+
+
+    private String getGUIDs(InstanceGraph instances)
+    {
+        List<String> entityGUIDs       = new ArrayList<>();
+        List<String> relationshipGUIDs = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                entityGUIDs.add(entity.getGUID());
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                relationshipGUIDs.add(relationship.getGUID());
+            }
+        }
+
+        return entityGUIDs + " " + relationshipGUIDs;
+    }
+}
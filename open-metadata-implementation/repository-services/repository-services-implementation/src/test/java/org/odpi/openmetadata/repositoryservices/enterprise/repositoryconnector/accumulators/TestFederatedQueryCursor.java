@@ -0,0 +1,196 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+
+/**
+ * Verify that the FederatedQueryCursor merges the results from each repository in sequence, removes duplicates
+ * and continues from the end of the previous page.
+ */
+public class TestFederatedQueryCursor
+{
+    private static final Comparator<EntityDetail> guidOrder = Comparator.comparing(EntityDetail::getGUID);
+
+
+    @Test
+    void testMergeInSequence()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(guidOrder);
+
+        cursor.addResults("repo1", getEntities("a", "c", "e"), 3);
+        cursor.addResults("repo2", getEntities("b", "c", "d"), 3);
+
+        assertEquals(cursor.getPage(0, 3).getGUIDs(), getGUIDs(getEntities("a", "b", "c")));
+        assertEquals(cursor.getNextElement(), 3);
+    }
+
+
+    @Test
+    void testContinueFromPreviousPage()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(guidOrder);
+
+        cursor.addResults("repo1", getEntities("a", "d"), 2);
+        cursor.addResults("repo2", getEntities("b", "c"), 2);
+
+        assertEquals(cursor.getPage(0, 2).getGUIDs(), getGUIDs(getEntities("a", "b")));
+
+        /*
+         * The next page needs two more results from each repository, less the ones still buffered.
+         */
+        assertEquals(cursor.getResultsNeeded("repo1", 2, 2), 1);
+        assertEquals(cursor.getResultsNeeded("repo2", 2, 2), 1);
+        assertEquals(cursor.getRepositoryNextElement("repo1"), 2);
+
+        cursor.addResults("repo1", getEntities("f"), 1);
+        cursor.addResults("repo2", new ArrayList<>(), 1);
+
+        assertEquals(cursor.getResultsNeeded("repo2", 2, 2), 0);
+        assertEquals(cursor.getPage(2, 2).getGUIDs(), getGUIDs(getEntities("c", "d")));
+        assertEquals(cursor.getPage(4, 2).getGUIDs(), getGUIDs(getEntities("f")));
+    }
+
+
+    @Test
+    void testCopiesPassedToAccumulator()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(guidOrder);
+        EntityAccumulator                  accumulator = new EntityAccumulator(null, null, null);
+        List<EntityDetail>                 repo1Results = getEntities("a", "b");
+        List<EntityDetail>                 repo2Results = getEntities("b", "c");
+
+        repo1Results.get(1).setVersion(1);
+        repo2Results.get(0).setVersion(2);
+
+        cursor.addResults("repo1", repo1Results, 2);
+        cursor.addResults("repo2", repo2Results, 2);
+
+        FederatedQueryCursor.Page<EntityDetail> page = cursor.getPage(0, 2);
+
+        assertEquals(page.getGUIDs(), getGUIDs(getEntities("a", "b")));
+        assertEquals(page.getRepositoryResults().get("repo2").size(), 1);
+
+        for (Map.Entry<String, List<EntityDetail>> repositoryResults : page.getRepositoryResults().entrySet())
+        {
+            accumulator.addEntities(repositoryResults.getValue(), repositoryResults.getKey());
+        }
+
+        List<EntityDetail> results = accumulator.getResults(null, page.getGUIDs());
+
+        assertEquals(getGUIDs(results), page.getGUIDs());
+        assertEquals(results.get(1).getVersion(), 2);
+    }
+
+
+    @Test
+    void testMergeWaitsForRepository()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(guidOrder);
+
+        assertEquals(cursor.getResultsNeeded("repo1", 0, 3), 3);
+        assertEquals(cursor.getResultsNeeded("repo2", 0, 3), 3);
+
+        cursor.addResults("repo1", getEntities("a", "b", "c", "d"), 4);
+        cursor.addResults("repo2", getEntities("e"), 1);
+
+        /*
+         * Repo1 has more results that may come before "e" so the merge stops when its buffer is empty.
+         */
+        assertEquals(cursor.getPage(0, 6).getGUIDs(), getGUIDs(getEntities("a", "b", "c", "d")));
+        assertEquals(cursor.getNextElement(), 4);
+    }
+
+
+    @Test
+    void testFailedRepositoryDoesNotStopMerge()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(guidOrder);
+
+        assertEquals(cursor.getResultsNeeded("repo1", 0, 2), 2);
+        assertEquals(cursor.getResultsNeeded("repo2", 0, 2), 2);
+
+        cursor.addResults("repo1", getEntities("a", "b"), 2);
+        cursor.captureRepositoryFailure("repo2");
+
+        assertEquals(cursor.getPage(0, 2).getGUIDs(), getGUIDs(getEntities("a", "b")));
+
+        /*
+         * The failed repository is retried for the next page.
+         */
+        assertEquals(cursor.getResultsNeeded("repo2", 2, 2), 2);
+        assertEquals(cursor.getRepositoryNextElement("repo2"), 0);
+    }
+
+
+    @Test
+    void testReturnedGUIDsBounded()
+    {
+        FederatedQueryCursor<EntityDetail> cursor = new FederatedQueryCursor<>(null, 2);
+
+        cursor.addResults("repo1", getEntities("a", "b", "c", "d", "a"), 5);
+
+        /*
+         * Only the last two GUIDs are remembered so the second copy of "a" is not recognized.
+         */
+        assertEquals(cursor.getPage(0, 2).getGUIDs(), getGUIDs(getEntities("a", "b")));
+        assertEquals(cursor.getPage(2, 2).getGUIDs(), getGUIDs(getEntities("c", "d")));
+        assertEquals(cursor.getPage(4, 2).getGUIDs(), getGUIDs(getEntities("a")));
+    }
+
+
+    @Test
+    void testCursorCache()
+    {
+        FederatedQueryCursorCache<EntityDetail> cache  = new FederatedQueryCursorCache<>(10, 60000);
+        FederatedQueryCursor<EntityDetail>      cursor = new FederatedQueryCursor<>(null);
+
+        cursor.addResults("repo1", getEntities("a", "b", "c"), 3);
+        cursor.getPage(0, 2);
+        cache.saveCursor("query", cursor);
+
+        assertNull(cache.getCursor("query", 0));
+        assertSame(cache.getCursor("query", 2), cursor);
+        assertNull(cache.getCursor("query", 2));
+    }
+
+
+    private List<EntityDetail> getEntities(String... guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+}
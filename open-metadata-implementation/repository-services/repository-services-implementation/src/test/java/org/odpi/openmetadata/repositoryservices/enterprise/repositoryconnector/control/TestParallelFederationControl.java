@@ -0,0 +1,316 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the ParallelFederationControl calls every repository, runs the calls concurrently when it has
+ * worker threads and stops waiting for repositories that do not respond in time.
+ */
+public class TestParallelFederationControl
+{
+    private static final long repositoryDelay = 300;
+
+    private ExecutorService federationExecutor;
+
+
+    @BeforeClass
+    void startExecutor()
+    {
+        federationExecutor = Executors.newFixedThreadPool(4);
+    }
+
+
+    @AfterClass
+    void stopExecutor()
+    {
+        federationExecutor.shutdownNow();
+    }
+
+
+    @Test
+    void testSequentialFederation() throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("repo1", "repo2", "repo3");
+        RecordingExecutor             executor         = new RecordingExecutor(Collections.emptyMap());
+
+        new ParallelFederationControl("testUser", cohortConnectors, "testSequentialFederation").executeCommand(executor);
+
+        assertEquals(executor.getCompletedRequests().size(), 3);
+        assertEquals(executor.getThreads().size(), 1);
+        assertTrue(executor.getThreads().containsKey(Thread.currentThread().getName()));
+    }
+
+
+    @Test
+    void testParallelFederation() throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("repo1", "repo2", "repo3", "repo4");
+        Map<String, Long>             delays           = new HashMap<>();
+
+        for (String metadataCollectionId : new String[]{"repo1", "repo2", "repo3", "repo4"})
+        {
+            delays.put(metadataCollectionId, repositoryDelay);
+        }
+
+        RecordingExecutor executor  = new RecordingExecutor(delays);
+        long              startTime = System.currentTimeMillis();
+
+        new ParallelFederationControl("testUser",
+                                      cohortConnectors,
+                                      federationExecutor,
+                                      10000,
+                                      null,
+                                      "testParallelFederation").executeCommand(executor);
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        assertEquals(executor.getCompletedRequests().size(), 4);
+        assertFalse(executor.getThreads().containsKey(Thread.currentThread().getName()));
+        assertTrue(elapsedTime < repositoryDelay * 3, "Requests were not issued in parallel: " + elapsedTime);
+    }
+
+
+    @Test
+    void testFederationTimeout() throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("repo1", "slowRepo", "repo3");
+        RecordingExecutor             executor         = new RecordingExecutor(Collections.singletonMap("slowRepo", 30000L));
+        long                          startTime        = System.currentTimeMillis();
+
+        new ParallelFederationControl("testUser",
+                                      cohortConnectors,
+                                      federationExecutor,
+                                      repositoryDelay,
+                                      null,
+                                      "testFederationTimeout").executeCommand(executor);
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        assertEquals(executor.getCompletedRequests().size(), 2);
+        assertFalse(executor.getCompletedRequests().containsKey("slowRepo"));
+        assertTrue(elapsedTime < 10000, "Slow request was not cancelled: " + elapsedTime);
+        assertEquals(executor.getTimedOutRequests().keySet(), Collections.singleton("slowRepo"));
+        assertTrue(executor.getFailedRequests().isEmpty());
+    }
+
+
+    @Test
+    void testTimeoutPerRepository() throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("repo1", "repo2");
+        Map<String, Long>             delays           = new HashMap<>();
+        ExecutorService               singleWorker     = Executors.newSingleThreadExecutor();
+
+        delays.put("repo1", repositoryDelay);
+        delays.put("repo2", repositoryDelay);
+
+        RecordingExecutor executor = new RecordingExecutor(delays);
+
+        try
+        {
+            /*
+             * The requests run one after the other.  Together they take longer than the time limit,
+             * but each one completes within its own time limit.
+             */
+            new ParallelFederationControl("testUser",
+                                          cohortConnectors,
+                                          singleWorker,
+                                          repositoryDelay * 3 / 2,
+                                          null,
+                                          "testTimeoutPerRepository").executeCommand(executor);
+        }
+        finally
+        {
+            singleWorker.shutdownNow();
+        }
+
+        assertEquals(executor.getCompletedRequests().size(), 2);
+        assertTrue(executor.getTimedOutRequests().isEmpty());
+    }
+
+
+    @Test
+    void testFederationFailure() throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("repo1", "brokenRepo", "repo3");
+        RecordingExecutor             executor         = new RecordingExecutor(Collections.emptyMap());
+
+        new ParallelFederationControl("testUser",
+                                      cohortConnectors,
+                                      federationExecutor,
+                                      10000,
+                                      null,
+                                      "testFederationFailure").executeCommand(executor);
+
+        assertEquals(executor.getCompletedRequests().size(), 2);
+        assertEquals(executor.getFailedRequests().keySet(), Collections.singleton("brokenRepo"));
+        assertTrue(executor.getFailedRequests().get("brokenRepo") instanceof IllegalStateException);
+        assertTrue(executor.getTimedOutRequests().isEmpty());
+    }
+
+
+    private List<OMRSRepositoryConnector> getCohortConnectors(String... metadataCollectionIds)
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        for (String metadataCollectionId : metadataCollectionIds)
+        {
+            OMRSMetadataCollection cohortMetadataCollection = new OMRSMetadataCollectionBase(null,
+                                                                                             metadataCollectionId,
+                                                                                             null,
+                                                                                             null,
+                                                                                             metadataCollectionId)
+            {
+                @Override
+                public String getMetadataCollectionId(String userId)
+                {
+                    return metadataCollectionId;
+                }
+            };
+
+            cohortConnectors.add(new OMRSRepositoryConnector()
+            {
+                @Override
+                public OMRSMetadataCollection getMetadataCollection()
+                {
+                    return cohortMetadataCollection;
+                }
+            });
+        }
+
+        return cohortConnectors;
+    }
+
+
+    /**
+     * Executor that records the repositories it has called and the threads it ran on.  The clones share
+     * the records, just like the real executors share an accumulator.  A request to brokenRepo throws an exception.
+     */
+    private static class RecordingExecutor implements CloneableRepositoryExecutor
+    {
+        private final Map<String, Long>      delays;
+        private final Map<String, Boolean>   completedRequests;
+        private final Map<String, Boolean>   threads;
+        private final Map<String, Long>      timedOutRequests;
+        private final Map<String, Throwable> failedRequests;
+
+
+        RecordingExecutor(Map<String, Long> delays)
+        {
+            this(delays,
+                 Collections.synchronizedMap(new HashMap<>()),
+                 Collections.synchronizedMap(new HashMap<>()),
+                 Collections.synchronizedMap(new HashMap<>()),
+                 Collections.synchronizedMap(new HashMap<>()));
+        }
+
+
+        private RecordingExecutor(Map<String, Long>      delays,
+                                  Map<String, Boolean>   completedRequests,
+                                  Map<String, Boolean>   threads,
+                                  Map<String, Long>      timedOutRequests,
+                                  Map<String, Throwable> failedRequests)
+        {
+            this.delays = delays;
+            this.completedRequests = completedRequests;
+            this.threads = threads;
+            this.timedOutRequests = timedOutRequests;
+            this.failedRequests = failedRequests;
+        }
+
+
+        public CloneableRepositoryExecutor getClone()
+        {
+            return new RecordingExecutor(delays, completedRequests, threads, timedOutRequests, failedRequests);
+        }
+
+
+        public void captureRequestTimeout(String metadataCollectionId,
+                                          long   timeout)
+        {
+            timedOutRequests.put(metadataCollectionId, timeout);
+        }
+
+
+        public void captureRequestFailure(String    metadataCollectionId,
+                                          Throwable error)
+        {
+            failedRequests.put(metadataCollectionId, error);
+        }
+
+
+        public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                                OMRSMetadataCollection metadataCollection)
+        {
+            threads.put(Thread.currentThread().getName(), true);
+
+            if ("brokenRepo".equals(metadataCollectionId))
+            {
+                throw new IllegalStateException("Test failure");
+            }
+
+            Long delay = delays.get(metadataCollectionId);
+
+            if (delay != null)
+            {
+                try
+                {
+                    Thread.sleep(delay);
+                }
+                catch (InterruptedException cancelled)
+                {
+                    return false;
+                }
+            }
+
+            completedRequests.put(metadataCollectionId, true);
+
+            return true;
+        }
+
+
+        Map<String, Boolean> getCompletedRequests()
+        {
+            return completedRequests;
+        }
+
+
+        Map<String, Boolean> getThreads()
+        {
+            return threads;
+        }
+
+
+        Map<String, Long> getTimedOutRequests()
+        {
+            return timedOutRequests;
+        }
+
+
+        Map<String, Throwable> getFailedRequests()
+        {
+            return failedRequests;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.eventmanagement;
+
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventType;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Verify that the OMRSRepositoryEventPublisher groups instance events into batches and keeps the events
+ * in the order they occurred.
+ */
+public class TestOMRSRepositoryEventPublisher
+{
+    @Test
+    void testUnbatchedEvents()
+    {
+        RecordingTopicConnector      topicConnector = new RecordingTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("testCohort", topicConnector, null);
+
+        publisher.sendInstanceEvent("testCohort", getInstanceEvent("guid1"));
+        publisher.sendInstanceEvent("testCohort", getInstanceEvent("guid2"));
+
+        assertEquals(topicConnector.getSentEvents(), Arrays.asList("guid1", "guid2"));
+    }
+
+
+    @Test
+    void testFullBatch()
+    {
+        RecordingTopicConnector      topicConnector = new RecordingTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("testCohort", topicConnector, 3, 60000, null);
+
+        try
+        {
+            for (String guid : new String[]{"guid1", "guid2", "guid3", "guid4"})
+            {
+                publisher.sendInstanceEvent("testCohort", getInstanceEvent(guid));
+            }
+
+            assertEquals(topicConnector.getSentEvents(), Arrays.asList("[guid1, guid2, guid3]"));
+
+            /*
+             * A TypeDef event sends the waiting instance events first.
+             */
+            publisher.sendTypeDefEvent("testCohort", new OMRSTypeDefEvent(OMRSTypeDefEventType.NEW_TYPEDEF_EVENT, new EntityDef()));
+
+            assertEquals(topicConnector.getSentEvents(), Arrays.asList("[guid1, guid2, guid3]", "guid4", "TypeDef"));
+        }
+        finally
+        {
+            publisher.disconnect();
+        }
+    }
+
+
+    @Test
+    void testBatchInterval() throws Exception
+    {
+        RecordingTopicConnector      topicConnector = new RecordingTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("testCohort", topicConnector, 100, 100, null);
+
+        try
+        {
+            publisher.sendInstanceEvent("testCohort", getInstanceEvent("guid1"));
+            publisher.sendInstanceEvent("testCohort", getInstanceEvent("guid2"));
+
+            assertEquals(topicConnector.getSentEvents().size(), 0);
+
+            long endTime = System.currentTimeMillis() + 10000;
+
+            while ((topicConnector.getSentEvents().isEmpty()) && (System.currentTimeMillis() < endTime))
+            {
+                Thread.sleep(20);
+            }
+
+            assertEquals(topicConnector.getSentEvents(), Arrays.asList("[guid1, guid2]"));
+        }
+        finally
+        {
+            publisher.disconnect();
+        }
+    }
+
+
+    private OMRSInstanceEvent getInstanceEvent(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+    }
+
+
+    /**
+     * Topic connector that records the events it is asked to send rather than sending them.
+     */
+    private static class RecordingTopicConnector extends OMRSTopicConnector
+    {
+        private final List<String> sentEvents = new ArrayList<>();
+
+
+        @Override
+        public synchronized void sendTypeDefEvent(OMRSTypeDefEvent typeDefEvent)
+        {
+            sentEvents.add("TypeDef");
+        }
+
+
+        @Override
+        public synchronized void sendInstanceEvent(OMRSInstanceEvent instanceEvent)
+        {
+            sentEvents.add(instanceEvent.getEntity().getGUID());
+        }
+
+
+        @Override
+        public synchronized void sendInstanceEventBatch(List<OMRSInstanceEvent> instanceEvents)
+        {
+            List<String> guids = new ArrayList<>();
+
+            for (OMRSInstanceEvent instanceEvent : instanceEvents)
+            {
+                guids.add(instanceEvent.getEntity().getGUID());
+            }
+
+            sentEvents.add(guids.toString());
+        }
+
+
+        synchronized List<String> getSentEvents()
+        {
+            return new ArrayList<>(sentEvents);
+        }
+    }
+}
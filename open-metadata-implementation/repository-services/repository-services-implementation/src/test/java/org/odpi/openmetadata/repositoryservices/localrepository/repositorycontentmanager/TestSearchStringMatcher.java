@@ -0,0 +1,64 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Verify that SearchStringMatcher gives the same results as String.matches for the literal
+ * regular expressions it recognizes and for general regular expressions.
+ */
+public class TestSearchStringMatcher
+{
+    private static final String[] values = new String[] { "", "Customer", "customer", "CustomerAccount", "NewCustomer",
+                                                          "A Customer Record", "Customer\nAccount", "a\\b", "a.b", "aXb",
+                                                          "Cust", "\\E" };
+
+    private static final String[] searchStrings = new String[] { "Customer", "", "a.b", "a\\b", "\\E", "Cust.*" };
+
+
+    private void verifyMatches(String regex)
+    {
+        SearchStringMatcher matcher = new SearchStringMatcher(regex);
+
+        for (String value : values)
+        {
+            assertEquals(matcher.matches(value), value.matches(regex), "regex=" + regex + " value=" + value);
+        }
+    }
+
+
+    @Test
+    public void testLiteralRegexes()
+    {
+        for (String searchString : searchStrings)
+        {
+            String quoted = Pattern.quote(searchString);
+
+            verifyMatches(quoted);
+            verifyMatches(quoted + ".*");
+            verifyMatches(".*" + quoted);
+            verifyMatches(".*" + quoted + ".*");
+            verifyMatches("(?i)" + quoted);
+        }
+    }
+
+
+    @Test
+    public void testPlainRegexes()
+    {
+        verifyMatches("Customer");
+        verifyMatches("");
+        verifyMatches("Cust.*");
+        verifyMatches(".*Customer.*");
+        verifyMatches("a.b");
+        verifyMatches("[Cc]ustomer");
+        verifyMatches("Customer|Cust");
+        verifyMatches(".*");
+        verifyMatches("a\\.*");
+    }
+}
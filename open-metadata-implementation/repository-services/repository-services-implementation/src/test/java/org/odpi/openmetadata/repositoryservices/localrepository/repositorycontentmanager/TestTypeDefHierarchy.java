@@ -0,0 +1,102 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that TypeDefHierarchy answers type comparisons from its precomputed bit sets and
+ * defers to the caller when a super type chain is broken.
+ */
+public class TestTypeDefHierarchy
+{
+    private TypeDef getTypeDef(String name, TypeDef superType)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID(name + "-guid");
+        typeDef.setName(name);
+
+        if (superType != null)
+        {
+            TypeDefLink superTypeLink = new TypeDefLink();
+
+            superTypeLink.setGUID(superType.getGUID());
+            superTypeLink.setName(superType.getName());
+            typeDef.setSuperType(superTypeLink);
+        }
+
+        return typeDef;
+    }
+
+
+    private Set<String> getGUIDs(List<TypeDef> typeDefs)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (TypeDef typeDef : typeDefs)
+        {
+            guids.add(typeDef.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @Test
+    public void testCompleteHierarchy()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+        TypeDef dataSet       = getTypeDef("DataSet", asset);
+        TypeDef process       = getTypeDef("Process", asset);
+
+        List<TypeDef>    typeDefs  = Arrays.asList(referenceable, asset, dataSet, process);
+        TypeDefHierarchy hierarchy = new TypeDefHierarchy(typeDefs, getGUIDs(typeDefs));
+
+        assertTrue(hierarchy.isComplete());
+        assertTrue(hierarchy.isTypeOf("DataSet", "Referenceable"));
+        assertTrue(hierarchy.isTypeOf("DataSet", "DataSet"));
+        assertFalse(hierarchy.isTypeOf("Asset", "DataSet"));
+        assertFalse(hierarchy.isTypeOf("Process", "DataSet"));
+        assertTrue(hierarchy.isTypeOfByGUID("Process", "Asset-guid"));
+        assertFalse(hierarchy.isTypeOfByGUID("Referenceable", "Asset-guid"));
+        assertNull(hierarchy.isTypeOf("Unknown", "Asset"));
+        assertNull(hierarchy.isTypeOf("Asset", "Unknown"));
+
+        assertEquals(new HashSet<>(hierarchy.getSubTypeNames("Referenceable")),
+                     new HashSet<>(Arrays.asList("Asset", "DataSet", "Process")));
+        assertNull(hierarchy.getSubTypeNames("DataSet"));
+        assertNull(hierarchy.getSubTypeNames("Unknown"));
+    }
+
+
+    @Test
+    public void testUnregisteredAndBrokenTypes()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+        TypeDef orphan        = getTypeDef("Orphan", getTypeDef("Missing", null));
+
+        List<TypeDef> registered = new ArrayList<>(Arrays.asList(referenceable, orphan));
+        List<TypeDef> typeDefs   = Arrays.asList(referenceable, asset, orphan);
+
+        TypeDefHierarchy hierarchy = new TypeDefHierarchy(typeDefs, getGUIDs(registered));
+
+        assertFalse(hierarchy.isComplete());
+        assertTrue(hierarchy.isTypeOf("Asset", "Referenceable"));
+        assertNull(hierarchy.isTypeOf("Orphan", "Referenceable"));
+        assertNull(hierarchy.getSubTypeNames("Referenceable"));
+    }
+}
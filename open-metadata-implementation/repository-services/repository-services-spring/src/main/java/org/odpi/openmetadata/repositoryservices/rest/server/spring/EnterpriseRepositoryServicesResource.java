@@ -484,6 +484,31 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities and the optional time used to determine
+     *                        which version of the entities that is desired.
+     * @return EntityListResponse:
+     * list of the entities that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public  EntityListResponse getEntityDetails(@PathVariable String                  serverName,
+                                                @PathVariable String                  userId,
+                                                @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getEntityDetails(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -868,6 +893,31 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of relationships.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships and the optional time used to determine
+     *                        which version of the relationships that is desired.
+     * @return RelationshipListResponse:
+     * list of the relationships that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/relationships/by-guids")
+
+    public  RelationshipListResponse getRelationships(@PathVariable String                  serverName,
+                                                      @PathVariable String                  userId,
+                                                      @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getRelationships(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be broken into pages.
      *
@@ -725,6 +725,31 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities and the optional time used to determine
+     *                        which version of the entities that is desired.
+     * @return EntityListResponse:
+     * list of the entities that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public  EntityListResponse getEntityDetails(@PathVariable String                  serverName,
+                                                @PathVariable String                  userId,
+                                                @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getEntityDetails(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1136,6 +1161,31 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of relationships.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships and the optional time used to determine
+     *                        which version of the relationships that is desired.
+     * @return RelationshipListResponse:
+     * list of the relationships that were found, in the order of the requested guids or
+     * InvalidParameterException a guid is null or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/relationships/by-guids")
+
+    public  RelationshipListResponse getRelationships(@PathVariable String                  serverName,
+                                                      @PathVariable String                  userId,
+                                                      @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getRelationships(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
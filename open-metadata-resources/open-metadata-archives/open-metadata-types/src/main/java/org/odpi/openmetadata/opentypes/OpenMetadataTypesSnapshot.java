@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.opentypes;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+
+
+/**
+ * OpenMetadataTypesSnapshot provides a single copy of the open metadata types archive to all of the servers
+ * running in the JVM.  Building the archive from OpenMetadataTypesArchive is a significant part of the time
+ * taken to start a server, so it is built the first time it is requested and then shared.
+ *
+ * Since the TypeDefs in the archive are shared, they must be treated as immutable: anything that needs to change
+ * a TypeDef works on a clone.
+ */
+public class OpenMetadataTypesSnapshot
+{
+    private static volatile OpenMetadataArchive openMetadataTypes = null;
+
+
+    /**
+     * Private constructor since the methods are static.
+     */
+    private OpenMetadataTypesSnapshot()
+    {
+    }
+
+
+    /**
+     * Return the open metadata types archive.  It is built on the first call and then shared.
+     *
+     * @return open metadata archive containing the open metadata types
+     */
+    public static OpenMetadataArchive getOpenMetadataArchive()
+    {
+        OpenMetadataArchive archive = openMetadataTypes;
+
+        if (archive == null)
+        {
+            synchronized (OpenMetadataTypesSnapshot.class)
+            {
+                if (openMetadataTypes == null)
+                {
+                    openMetadataTypes = new OpenMetadataTypesArchive().getOpenMetadataArchive();
+                }
+
+                archive = openMetadataTypes;
+            }
+        }
+
+        return archive;
+    }
+}
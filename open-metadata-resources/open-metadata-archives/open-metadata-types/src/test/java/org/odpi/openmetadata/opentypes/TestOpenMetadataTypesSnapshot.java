@@ -0,0 +1,34 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.opentypes;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test that the shared snapshot of the open metadata types matches the archive and is only built once.
+ */
+public class TestOpenMetadataTypesSnapshot
+{
+    @Test
+    public void testSnapshotMatchesArchive()
+    {
+        OpenMetadataArchive snapshot = OpenMetadataTypesSnapshot.getOpenMetadataArchive();
+
+        assertNotNull(snapshot);
+        assertEquals(snapshot, new OpenMetadataTypesArchive().getOpenMetadataArchive());
+    }
+
+
+    @Test
+    public void testSnapshotIsShared()
+    {
+        assertSame(OpenMetadataTypesSnapshot.getOpenMetadataArchive(), OpenMetadataTypesSnapshot.getOpenMetadataArchive());
+    }
+}